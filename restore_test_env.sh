@@ -27,7 +27,8 @@ echo "2. clean 3 immuable csv only keep header..."
 echo "aID,iID,sID,status,applyDate,acceptedByStudent" > "$DATA_DIR/applications.csv"
 echo "requestID,aID,sID,status,requestDate" > "$DATA_DIR/withdrawals.csv"
 echo "rID,sID,iID,submissionDate,approved,summary" > "$DATA_DIR/reports.csv"
-echo "   ✅ applications.csv, withdrawals.csv, reports.csv cleaned"
+rm -f "$DATA_DIR"/*.journal "$DATA_DIR"/*.snapshot "$DATA_DIR/inbox.csv" 2>/dev/null
+echo "   ✅ applications.csv, withdrawals.csv, reports.csv cleaned, journals, snapshot and inboxes removed"
 
 echo ""
 echo "3. cleaning srcTest csv..."
@@ -34,6 +34,9 @@ restore_environment() {
     echo "requestID,aID,sID,status,requestDate" > "$DATA_DIR/withdrawals.csv"
     echo "rID,sID,iID,submissionDate,approved,summary" > "$DATA_DIR/reports.csv"
 
+    # Remove journals left behind by JOURNALED mode, any binary snapshot and the inboxes
+    rm -f "$DATA_DIR"/*.journal "$DATA_DIR"/*.snapshot "$DATA_DIR/inbox.csv" 2>/dev/null
+
     # Clear srcTest directory
     rm -f "$TEST_DIR/srcTest/*.csv" 2>/dev/null
 
@@ -150,6 +153,27 @@ test_files=(
     "ReportSummaryFilterTest"
     "DateValidationTest"
     "InternshipCreationValidationTest"
+    "RepositoryJournalTest"
+    "RepositoryWriteBehindTest"
+    "RepositoryTransactionTest"
+    "RepositoryIndexTest"
+    "RepositoryLoadTest"
+    "CSVCodecTest"
+    "RepositoryConcurrencyTest"
+    "RepositoryVersionTest"
+    "SessionManagerTest"
+    "ApiServerTest"
+    "NotificationServiceTest"
+    "InboxManagerTest"
+    "ChangeFeedTest"
+    "ReportStatisticsTest"
+    "ReportFilterTest"
+    "QueryPlannerTest"
+    "ParallelReportTest"
+    "ReportCacheTest"
+    "ReportExportTest"
+    "ApplicationCubeTest"
+    "CSVStreamReaderTest"
     # enumTest - Not an executable test (no main method)
 )
 
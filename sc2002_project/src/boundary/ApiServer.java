@@ -0,0 +1,524 @@
+package boundary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import controller.CompanyController;
+import controller.LoginController;
+import controller.StaffController;
+import controller.StudentController;
+import controller.SystemController;
+import entities.Application;
+import entities.CompanyRepresentative;
+import entities.InboxMessage;
+import entities.Internship;
+import entities.Report;
+import entities.Student;
+import entities.WithdrawalRequest;
+import enums.CubeDimension;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.ReportCategory;
+import enums.UserRole;
+import services.Session;
+import utils.InputValidator;
+import utils.Json;
+
+/**
+ * Headless front end: serves the student, company representative and staff
+ * operations as a JSON API over HTTP, on the JDK's built-in server.
+ *
+ * Clients log in with POST /api/login and send the returned token as
+ * "Authorization: Bearer &lt;token&gt;" on every other request. Each request is handled
+ * on its own virtual thread where the JVM has them (Java 21+), so requests blocked on
+ * file I/O do not hold up others; older JVMs use a fixed pool of platform threads.
+ *
+ * Responses are JSON objects or arrays. Errors are {"error": message} with status
+ * 400 for invalid input, 401 without a valid session, 403 for another role's endpoint,
+ * 404 for unknown resources and 409 when the operation is refused (e.g. limits reached).
+ */
+public class ApiServer {
+	private static final int BACKLOG = 1024;
+	private static final int MAX_BODY_BYTES = 64 * 1024;
+	private static final int PLATFORM_THREADS = Runtime.getRuntime().availableProcessors() * 8;
+
+	static {
+		// the server writes headers and body separately; without this, Nagle's algorithm
+		// and delayed ACKs add ~40 ms to every response
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private final SystemController sys;
+	private final LoginController loginCtrl;
+	private final StudentController studentCtrl;
+	private final CompanyController companyCtrl;
+	private final StaffController staffCtrl;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final List<Route> routes = new ArrayList<>();
+
+	/**
+	 * Creates a server listening on the loopback interface only, so that it cannot be
+	 * reached from other machines. Call start() to begin serving.
+	 * @param sys system controller
+	 * @param port TCP port, or 0 for any free port
+	 * @throws IOException if the port cannot be bound
+	 */
+	public ApiServer(SystemController sys, int port) throws IOException {
+		this(sys, null, port);
+	}
+
+	/**
+	 * Creates a server listening on the given interface. Call start() to begin serving.
+	 * @param sys system controller
+	 * @param host host name or address to bind, e.g. "0.0.0.0" for all interfaces; null for loopback
+	 * @param port TCP port, or 0 for any free port
+	 * @throws IOException if the port cannot be bound or the host is unknown
+	 */
+	public ApiServer(SystemController sys, String host, int port) throws IOException {
+		this.sys = sys;
+		this.loginCtrl = new LoginController(sys.accounts(), sys.sessions());
+		this.studentCtrl = new StudentController(sys);
+		this.companyCtrl = new CompanyController(sys);
+		this.staffCtrl = new StaffController(sys);
+		InetAddress address = host == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(host);
+		this.server = HttpServer.create(new InetSocketAddress(address, port), BACKLOG);
+		this.executor = newRequestExecutor();
+		server.setExecutor(executor);
+		server.createContext("/api/", this::handle);
+		registerRoutes();
+	}
+
+	public void start() { server.start(); }
+
+	/** Stops accepting requests and waits briefly for those in progress. */
+	public void stop() {
+		server.stop(1);
+		executor.shutdown();
+	}
+
+	/** @return the port the server listens on */
+	public int getPort() { return server.getAddress().getPort(); }
+
+	/** @return the address the server listens on */
+	public InetAddress getAddress() { return server.getAddress().getAddress(); }
+
+	/** @return true if requests run on virtual threads */
+	public static boolean usesVirtualThreads() {
+		try {
+			Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	// Looked up reflectively, so the project still builds and runs on JDKs before 21
+	private static ExecutorService newRequestExecutor() {
+		if (usesVirtualThreads()) {
+			try {
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (ReflectiveOperationException e) {
+				// fall through to platform threads
+			}
+		}
+		return Executors.newFixedThreadPool(PLATFORM_THREADS);
+	}
+
+	private void registerRoutes() {
+		route("POST", "/api/login", null, this::login);
+		route("POST", "/api/logout", Role.ANY, call -> {
+			call.session.invalidate();
+			return Reply.ok();
+		});
+
+		// inbox, for every signed-in user
+		route("GET", "/api/inbox", Role.ANY, call -> {
+			String userID = call.session.getUser().getID();
+			int page = Integer.parseInt(call.query.getOrDefault("page", "0"));
+			int size = Integer.parseInt(call.query.getOrDefault("size", "20"));
+			return Reply.json(200, "{\"unread\":" + sys.inbox().getUnreadCount(userID)
+				+ ",\"total\":" + sys.inbox().getMessageCount(userID)
+				+ ",\"messages\":" + Json.array(sys.inbox().getPage(userID, page, size), ApiServer::inboxMessage) + "}");
+		});
+		route("POST", "/api/inbox/read", Role.ANY, call -> {
+			sys.inbox().markAllRead(call.session.getUser().getID());
+			return Reply.ok();
+		});
+
+		// student
+		route("GET", "/api/student/internships", Role.STUDENT,
+			call -> Reply.json(200, Json.array(studentCtrl.viewAvailable(student(call)), ApiServer::internship)));
+		route("GET", "/api/student/applications", Role.STUDENT,
+			call -> Reply.json(200, Json.array(studentCtrl.myApplications(student(call)), ApiServer::application)));
+		route("POST", "/api/student/applications", Role.STUDENT,
+			call -> studentCtrl.apply(student(call), call.field("internshipID"))
+				? Reply.created() : Reply.refused("Application was not accepted"));
+		route("POST", "/api/student/applications/{id}/accept", Role.STUDENT,
+			call -> studentCtrl.acceptOffer(student(call), call.param("id"))
+				? Reply.ok() : Reply.refused("Offer could not be accepted"));
+		route("POST", "/api/student/withdrawals", Role.STUDENT,
+			call -> studentCtrl.requestWithdrawal(student(call), call.field("applicationID"))
+				? Reply.created() : Reply.error(404, "Application not found"));
+
+		// company representative
+		route("GET", "/api/company/internships", Role.COMPANY_REP,
+			call -> Reply.json(200, Json.array(companyCtrl.getInternships(rep(call)), ApiServer::internship)));
+		route("POST", "/api/company/internships", Role.COMPANY_REP, this::createInternship);
+		route("PUT", "/api/company/internships/{id}", Role.COMPANY_REP, this::modifyInternship);
+		route("DELETE", "/api/company/internships/{id}", Role.COMPANY_REP, call -> {
+			companyCtrl.removeInternship(rep(call), call.param("id"));
+			return Reply.ok();
+		});
+		route("POST", "/api/company/internships/{id}/visibility", Role.COMPANY_REP, call -> {
+			ownInternship(call, call.param("id"));
+			return companyCtrl.setVisibility(rep(call), call.param("id"), call.flag("visible"))
+				? Reply.ok() : Reply.refused("Visibility can only be changed while the internship is pending");
+		});
+		route("GET", "/api/company/internships/{id}/applications", Role.COMPANY_REP, call -> {
+			ownInternship(call, call.param("id"));
+			return Reply.json(200, Json.array(companyCtrl.getApplicants(call.param("id")), ApiServer::application));
+		});
+		route("POST", "/api/company/applications/{id}/decision", Role.COMPANY_REP, call -> {
+			Application a = sys.repository().findApplication(call.param("id"));
+			if (a == null) throw new NotFound("Application not found");
+			ownInternship(call, a.getInternshipID());
+			companyCtrl.decideApplication(a.getApplicationID(), call.flag("approve"));
+			return Reply.ok();
+		});
+
+		// staff
+		route("GET", "/api/staff/companies/pending", Role.STAFF,
+			call -> Reply.json(200, Json.array(staffCtrl.pendingCompanies(), ApiServer::companyRep)));
+		route("POST", "/api/staff/companies/{id}/decision", Role.STAFF, call -> {
+			if (sys.repository().findCompanyRep(call.param("id")) == null) throw new NotFound("Company representative not found");
+			staffCtrl.decideCompany(call.param("id"), call.flag("approve"));
+			return Reply.ok();
+		});
+		route("GET", "/api/staff/internships", Role.STAFF, call -> {
+			String status = call.query.getOrDefault("status", InternshipStatus.PENDING.name());
+			return Reply.json(200, Json.array(staffCtrl.internshipsByStatus(InternshipStatus.valueOf(status.toUpperCase())), ApiServer::internship));
+		});
+		route("POST", "/api/staff/internships/{id}/decision", Role.STAFF, call -> {
+			if (sys.repository().findInternship(call.param("id")) == null) throw new NotFound("Internship not found");
+			staffCtrl.decideInternship(call.param("id"), call.flag("approve"));
+			return Reply.ok();
+		});
+		route("POST", "/api/staff/applications/{id}/decision", Role.STAFF, call -> {
+			if (sys.repository().findApplication(call.param("id")) == null) throw new NotFound("Application not found");
+			staffCtrl.decideApplication(call.param("id"), call.flag("approve"));
+			return Reply.ok();
+		});
+		route("GET", "/api/staff/withdrawals/pending", Role.STAFF,
+			call -> Reply.json(200, Json.array(staffCtrl.pendingWithdrawals(), ApiServer::withdrawal)));
+		route("POST", "/api/staff/withdrawals/{id}/decision", Role.STAFF, call -> {
+			if (sys.repository().findWithdrawal(call.param("id")) == null) throw new NotFound("Withdrawal request not found");
+			staffCtrl.decideWithdrawal(call.param("id"), call.flag("approve"));
+			return Reply.ok();
+		});
+		route("POST", "/api/staff/reports", Role.STAFF, call -> {
+			// every field other than the category is a report filter
+			Map<String, String> filters = new HashMap<>(call.body);
+			String category = filters.remove("category");
+			Report r = staffCtrl.generateReport(category == null ? ReportCategory.SUMMARY : ReportCategory.valueOf(category.toUpperCase()), filters);
+			return Reply.json(201, report(r));
+		});
+		// e.g. ?groupBy=COMPANY,WEEK,LEVEL&from=2025-01-01&to=2025-12-31
+		route("GET", "/api/staff/applications/cube", Role.STAFF, call -> {
+			String groupBy = call.query.getOrDefault("groupBy", "");
+			List<CubeDimension> dimensions = new ArrayList<>();
+			for (String d : groupBy.split(",")) {
+				if (!d.isBlank()) dimensions.add(CubeDimension.valueOf(d.trim().toUpperCase()));
+			}
+			Map<List<String>, Long> counts = sys.repository().getApplicationCube()
+				.rollUp(call.query.get("from"), call.query.get("to"), dimensions.toArray(new CubeDimension[0]));
+			return Reply.json(200, Json.array(new ArrayList<>(counts.entrySet()),
+				e -> "{\"key\":" + Json.array(e.getKey(), Json::quote) + ",\"count\":" + e.getValue() + "}"));
+		});
+	}
+
+	private Reply login(Call call) {
+		UserRole role = UserRole.valueOf(call.field("role").toUpperCase());
+		Session s = loginCtrl.startSession(call.field("id"), call.field("password"), role);
+		if (s == null) return Reply.error(401, "Invalid credentials");
+		return Reply.json(200, "{\"token\":" + Json.quote(s.getToken())
+			+ ",\"id\":" + Json.quote(s.getUser().getID())
+			+ ",\"name\":" + Json.quote(s.getUser().getName())
+			+ ",\"role\":" + Json.quote(s.getUser().getRole().name()) + "}");
+	}
+
+	private Reply createInternship(Call call) {
+		String openDate = call.date("openingDate");
+		String closeDate = call.date("closingDate");
+		Internship i = companyCtrl.createInternship(rep(call), call.field("title"), call.field("description"),
+			InternshipLevel.valueOf(call.field("level").toUpperCase()), call.field("preferredMajor"),
+			openDate, closeDate, call.count("slots"));
+		return Reply.json(201, internship(i));
+	}
+
+	private Reply modifyInternship(Call call) {
+		String iID = call.param("id");
+		ownInternship(call, iID);
+		companyCtrl.modifyInternship(rep(call), iID, call.field("title"), call.field("description"),
+			call.field("preferredMajor"), call.date("openingDate"), call.date("closingDate"), call.count("slots"));
+		return Reply.json(200, internship(sys.repository().findInternship(iID)));
+	}
+
+	// Other representatives' internships are reported as missing, so their IDs cannot be probed
+	private void ownInternship(Call call, String iID) {
+		Internship i = sys.repository().findInternship(iID);
+		if (i == null || !i.getCompanyRepID().equals(call.session.getUser().getID())) throw new NotFound("Internship not found");
+	}
+
+	private static Student student(Call call) { return (Student) call.session.getUser(); }
+	private static CompanyRepresentative rep(Call call) { return (CompanyRepresentative) call.session.getUser(); }
+
+	private void handle(HttpExchange ex) throws IOException {
+		Reply reply;
+		try {
+			reply = dispatch(ex);
+		} catch (NotFound e) {
+			reply = Reply.error(404, e.getMessage());
+		} catch (IllegalArgumentException e) {
+			reply = Reply.error(400, e.getMessage());
+		} catch (IllegalStateException e) {
+			reply = Reply.error(409, e.getMessage());
+		} catch (Exception e) {
+			System.err.println("Error handling " + ex.getRequestMethod() + " " + ex.getRequestURI() + ": " + e);
+			reply = Reply.error(500, "Internal server error");
+		}
+		byte[] body = reply.json.getBytes(StandardCharsets.UTF_8);
+		ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		ex.sendResponseHeaders(reply.status, body.length);
+		try (OutputStream out = ex.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private Reply dispatch(HttpExchange ex) throws Exception {
+		String[] path = ex.getRequestURI().getPath().split("/");
+		boolean pathMatched = false;
+		for (Route r : routes) {
+			Map<String, String> params = r.match(path);
+			if (params == null) continue;
+			pathMatched = true;
+			if (!r.method.equals(ex.getRequestMethod())) continue;
+
+			Session session = null;
+			if (r.role != null) {
+				session = sys.sessions().find(bearerToken(ex));
+				if (session == null) return Reply.error(401, "Not logged in");
+				if (r.role != Role.ANY && session.getUser().getRole() != r.role.userRole) {
+					return Reply.error(403, "Not available to " + session.getUser().getRole());
+				}
+			}
+			Map<String, String> body = Json.parseObject(readBody(ex));
+			return r.handler.handle(new Call(session, params, body, parseQuery(ex.getRequestURI().getRawQuery())));
+		}
+		return pathMatched ? Reply.error(405, "Method not allowed") : Reply.error(404, "No such endpoint");
+	}
+
+	private static String bearerToken(HttpExchange ex) {
+		String auth = ex.getRequestHeaders().getFirst("Authorization");
+		if (auth == null || !auth.startsWith("Bearer ")) return null;
+		return auth.substring("Bearer ".length()).trim();
+	}
+
+	private static String readBody(HttpExchange ex) throws IOException {
+		try (InputStream in = ex.getRequestBody()) {
+			byte[] b = in.readNBytes(MAX_BODY_BYTES + 1);
+			if (b.length > MAX_BODY_BYTES) throw new IllegalArgumentException("Request body too large");
+			return new String(b, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static Map<String, String> parseQuery(String query) {
+		Map<String, String> q = new LinkedHashMap<>();
+		if (query == null || query.isEmpty()) return q;
+		for (String pair : query.split("&")) {
+			int eq = pair.indexOf('=');
+			String name = eq < 0 ? pair : pair.substring(0, eq);
+			String value = eq < 0 ? "" : pair.substring(eq + 1);
+			q.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+		}
+		return q;
+	}
+
+	private void route(String method, String pattern, Role role, Handler handler) {
+		routes.add(new Route(method, pattern.split("/"), role, handler));
+	}
+
+	// JSON views of the entities; passwords are never included
+
+	private static String internship(Internship i) {
+		return "{\"id\":" + Json.quote(i.getInternshipID())
+			+ ",\"title\":" + Json.quote(i.getTitle())
+			+ ",\"description\":" + Json.quote(i.getDescription())
+			+ ",\"level\":" + Json.quote(i.getLevel().name())
+			+ ",\"preferredMajor\":" + Json.quote(i.getPreferredMajor())
+			+ ",\"openingDate\":" + Json.quote(i.getOpeningDate())
+			+ ",\"closingDate\":" + Json.quote(i.getClosingDate())
+			+ ",\"status\":" + Json.quote(i.getStatus().name())
+			+ ",\"companyName\":" + Json.quote(i.getCompanyName())
+			+ ",\"companyRepID\":" + Json.quote(i.getCompanyRepID())
+			+ ",\"slots\":" + i.getSlots()
+			+ ",\"visible\":" + i.isVisible() + "}";
+	}
+
+	private static String application(Application a) {
+		return "{\"id\":" + Json.quote(a.getApplicationID())
+			+ ",\"internshipID\":" + Json.quote(a.getInternshipID())
+			+ ",\"studentID\":" + Json.quote(a.getStudentID())
+			+ ",\"status\":" + Json.quote(a.getStatus().name())
+			+ ",\"applyDate\":" + Json.quote(a.getApplyDate())
+			+ ",\"acceptedByStudent\":" + a.isAcceptedByStudent() + "}";
+	}
+
+	private static String withdrawal(WithdrawalRequest w) {
+		return "{\"id\":" + Json.quote(w.getRequestID())
+			+ ",\"applicationID\":" + Json.quote(w.getApplicationID())
+			+ ",\"studentID\":" + Json.quote(w.getStudentID())
+			+ ",\"status\":" + Json.quote(w.getStatus().name())
+			+ ",\"requestDate\":" + Json.quote(w.getRequestDate()) + "}";
+	}
+
+	private static String companyRep(CompanyRepresentative c) {
+		return "{\"id\":" + Json.quote(c.getID())
+			+ ",\"name\":" + Json.quote(c.getName())
+			+ ",\"companyName\":" + Json.quote(c.getCompanyName())
+			+ ",\"department\":" + Json.quote(c.getDepartment())
+			+ ",\"position\":" + Json.quote(c.getPosition())
+			+ ",\"approved\":" + c.isApproved() + "}";
+	}
+
+	private static String inboxMessage(InboxMessage m) {
+		return "{\"seq\":" + m.getSequence()
+			+ ",\"date\":" + Json.quote(m.getDate())
+			+ ",\"message\":" + Json.quote(m.getMessage()) + "}";
+	}
+
+	private static String report(Report r) {
+		return "{\"id\":" + Json.quote(r.getID())
+			+ ",\"category\":" + Json.quote(r.getCategory().name())
+			+ ",\"generatedDate\":" + Json.quote(r.getGeneratedDate())
+			+ ",\"content\":" + Json.quote(r.getContent()) + "}";
+	}
+
+	private enum Role {
+		ANY(null), STUDENT(UserRole.STUDENT), COMPANY_REP(UserRole.COMPANY_REP), STAFF(UserRole.STAFF);
+
+		final UserRole userRole;
+		Role(UserRole userRole) { this.userRole = userRole; }
+	}
+
+	private interface Handler { Reply handle(Call call) throws Exception; }
+
+	private static class Route {
+		final String method;
+		final String[] pattern;
+		final Role role;
+		final Handler handler;
+
+		Route(String method, String[] pattern, Role role, Handler handler) {
+			this.method = method;
+			this.pattern = pattern;
+			this.role = role;
+			this.handler = handler;
+		}
+
+		// Path parameters by name, or null if the path does not match
+		Map<String, String> match(String[] path) {
+			if (path.length != pattern.length) return null;
+			Map<String, String> params = new HashMap<>();
+			for (int k = 0; k < path.length; k++) {
+				if (pattern[k].startsWith("{")) {
+					params.put(pattern[k].substring(1, pattern[k].length() - 1), path[k]);
+				} else if (!pattern[k].equals(path[k])) {
+					return null;
+				}
+			}
+			return params;
+		}
+	}
+
+	private static class Call {
+		final Session session;
+		final Map<String, String> params;
+		final Map<String, String> body;
+		final Map<String, String> query;
+
+		Call(Session session, Map<String, String> params, Map<String, String> body, Map<String, String> query) {
+			this.session = session;
+			this.params = params;
+			this.body = body;
+			this.query = query;
+		}
+
+		String param(String name) { return params.get(name); }
+
+		String field(String name) {
+			String v = body.get(name);
+			if (v == null || v.isBlank()) throw new IllegalArgumentException("Missing field '" + name + "'");
+			return v.trim();
+		}
+
+		boolean flag(String name) {
+			String v = field(name);
+			if (!v.equals("true") && !v.equals("false")) throw new IllegalArgumentException("Field '" + name + "' must be true or false");
+			return Boolean.parseBoolean(v);
+		}
+
+		int number(String name) { return Integer.parseInt(field(name)); }
+
+		int count(String name) {
+			int n = number(name);
+			if (n < 0) throw new IllegalArgumentException("Field '" + name + "' cannot be negative");
+			return n;
+		}
+
+		String date(String name) {
+			String v = field(name);
+			if (!InputValidator.validDate(v)) throw new IllegalArgumentException("Field '" + name + "' must be a date (YYYY-MM-DD)");
+			return v;
+		}
+	}
+
+	private static class Reply {
+		final int status;
+		final String json;
+
+		Reply(int status, String json) {
+			this.status = status;
+			this.json = json;
+		}
+
+		static Reply json(int status, String json) { return new Reply(status, json); }
+		static Reply ok() { return new Reply(200, "{\"ok\":true}"); }
+		static Reply created() { return new Reply(201, "{\"ok\":true}"); }
+		static Reply refused(String message) { return error(409, message); }
+		static Reply error(int status, String message) { return new Reply(status, "{\"error\":" + Json.quote(message) + "}"); }
+	}
+
+	private static class NotFound extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		NotFound(String message) { super(message); }
+	}
+}
@@ -12,6 +12,7 @@ import entities.Application;
 import entities.CompanyRepresentative;
 import entities.Internship;
 import enums.InternshipLevel;
+import utils.NotificationService;
 
 public class CompanyMainUI extends MainUI{
 	private SystemController sys;
@@ -38,6 +39,7 @@ public class CompanyMainUI extends MainUI{
 	public void show() {
 		Scanner sc = new Scanner(System.in);
 		while (true) {
+			NotificationService.getDefault().flush();
 			System.out.println("\n======= Company Representative Menu =======");
 			System.out.println("1 Create Internship");
 			System.out.println("2 View My Internships");
@@ -47,7 +49,8 @@ public class CompanyMainUI extends MainUI{
 			System.out.println("6 Approve/Reject Application");
 			System.out.println("7 Toggle Internship Visibility");
 			System.out.println("8 Change Password");
-			System.out.println("9 Logout");
+			System.out.println("9 " + new InboxUI(sys).label(companyRep));
+			System.out.println("10 Logout");
 			System.out.print("Select: ");
 			String s = sc.nextLine().trim();
 			switch (s) {
@@ -385,6 +388,9 @@ public class CompanyMainUI extends MainUI{
 				new ChangePasswordUI(sys).show(companyRep);
 				break;
 			case "9":
+				new InboxUI(sys).show(companyRep);
+				break;
+			case "10":
 				if (new LogoutUI().confirm()) {
 					return;
 				}
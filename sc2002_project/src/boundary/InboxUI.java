@@ -0,0 +1,60 @@
+package boundary;
+
+import java.util.List;
+import java.util.Scanner;
+
+import controller.SystemController;
+import entities.InboxMessage;
+import entities.User;
+import services.InboxManager;
+
+/**
+ * UI for reading a user's notification inbox, newest first, one page at a time.
+ * Messages count as read once the inbox has been opened.
+ */
+public class InboxUI {
+	private static final int PAGE_SIZE = 10;
+	private SystemController sys;
+
+	public InboxUI(SystemController sys) { this.sys = sys; }
+
+	/**
+	 * @param u the user
+	 * @return menu label showing the unread count
+	 */
+	public String label(User u) {
+		int unread = sys.inbox().getUnreadCount(u.getID());
+		return unread == 0 ? "Notifications" : "Notifications (" + unread + " unread)";
+	}
+
+	public void show(User u) {
+		InboxManager inbox = sys.inbox();
+		Scanner sc = new Scanner(System.in);
+		int unread = inbox.getUnreadCount(u.getID());
+		int total = inbox.getMessageCount(u.getID());
+		inbox.markAllRead(u.getID());
+		int page = 0;
+		while (true) {
+			System.out.println("\n======= Notifications =======");
+			List<InboxMessage> l = inbox.getPage(u.getID(), page, PAGE_SIZE);
+			if (l.isEmpty()) {
+				System.out.println("No notifications");
+			}
+			for (InboxMessage m : l) {
+				String marker = m.getSequence() > total - unread ? "* " : "  ";
+				System.out.println(marker + m.getDate() + "  " + m.getMessage());
+			}
+			int pages = Math.max(1, (total + PAGE_SIZE - 1) / PAGE_SIZE);
+			System.out.println("Page " + (page + 1) + " of " + pages + (unread > 0 ? "  (* new)" : ""));
+			System.out.print("N next, P previous, Enter to go back: ");
+			String s = sc.nextLine().trim().toUpperCase();
+			if (s.equals("N") && page + 1 < pages) {
+				page++;
+			} else if (s.equals("P") && page > 0) {
+				page--;
+			} else if (s.isEmpty()) {
+				return;
+			}
+		}
+	}
+}
@@ -10,6 +10,7 @@ import entities.Staff;
 import entities.Student;
 import entities.User;
 import enums.UserRole;
+import services.Session;
 
 public class LoginUI {
 	private SystemController sys;
@@ -43,10 +44,11 @@ public class LoginUI {
 		System.out.print("Password: ");
 		String pw = sc.next();
 
-		User u = new LoginController(sys.accounts()).login(id, pw, role);
-		if (u == null) return;
+		Session session = new LoginController(sys.accounts(), sys.sessions()).startSession(id, pw, role);
+		if (session == null) return;
 
-		SessionController.setCurrentUser(u);
+		SessionController.setCurrentSession(session);
+		User u = session.getUser();
 
 		// route to respective UIs
 		switch(role) {
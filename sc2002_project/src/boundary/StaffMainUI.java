@@ -1,5 +1,6 @@
 package boundary;
 
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
@@ -7,7 +8,9 @@ import java.util.Scanner;
 import controller.StaffController;
 import controller.SystemController;
 import entities.Staff;
+import enums.ExportFormat;
 import enums.ReportCategory;
+import utils.NotificationService;
 
 public class StaffMainUI extends MainUI {
 	private SystemController sys;
@@ -23,6 +26,7 @@ public class StaffMainUI extends MainUI {
     public void show() {
         Scanner sc = new Scanner(System.in);
         while (true) {
+            NotificationService.getDefault().flush();
             System.out.println("\n======= Staff Menu =======");
             System.out.println("1 Approve Company Registrations");
             System.out.println("2 Approve Internships");
@@ -30,7 +34,8 @@ public class StaffMainUI extends MainUI {
             System.out.println("4 Generate Report");
             System.out.println("5 View Reports");
             System.out.println("6 Change Password");
-            System.out.println("7 Logout");
+            System.out.println("7 Export Report Data");
+            System.out.println("8 Logout");
             System.out.print("Select: ");
             String s = sc.nextLine().trim();
             switch(s) {
@@ -67,6 +72,9 @@ public class StaffMainUI extends MainUI {
             	new ChangePasswordUI(sys).show(staff);
             	break;
             case "7":
+            	exportReportData(sc);
+            	break;
+            case "8":
             	if (new LogoutUI().confirm()) {
             		return;
             	}
@@ -78,6 +86,29 @@ public class StaffMainUI extends MainUI {
         }
     }
 
+    private void exportReportData(Scanner sc) {
+        System.out.println("\n======= Export Report Data =======");
+        System.out.print("Format (CSV/JSONL): ");
+        String format = sc.nextLine().trim().toUpperCase();
+        System.out.print("File: ");
+        String file = sc.nextLine().trim();
+        System.out.print("Filters (e.g. status=PENDING,startDate=2025-01-01; blank for all): ");
+        Map<String,String> filters = new HashMap<>();
+        for (String f : sc.nextLine().split(",")) {
+            String[] kv = f.split("=", 2);
+            if (kv.length == 2) filters.put(kv[0].trim(), kv[1].trim());
+        }
+        if (file.isEmpty()) {
+            System.out.println("Export failed: no file given");
+            return;
+        }
+        try {
+            staffCtrl.exportReportData(filters, ExportFormat.valueOf(format), Paths.get(file));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+    }
+
     private void viewReports(Scanner sc) {
         System.out.println("\n======= View Reports =======");
         System.out.println("Filter by category:");
@@ -8,6 +8,7 @@ import controller.SystemController;
 import entities.Application;
 import entities.Internship;
 import entities.Student;
+import utils.NotificationService;
 
 public class StudentMainUI extends MainUI {
 	private SystemController sys;
@@ -24,6 +25,7 @@ public class StudentMainUI extends MainUI {
 	public void show() {
 		Scanner sc = new Scanner(System.in);
 		while (true) {
+			NotificationService.getDefault().flush();
 			System.out.println("\n======= Student Menu =======");
 			System.out.println("1 View Available Internships");
 			System.out.println("2 Apply for Internship");
@@ -31,7 +33,8 @@ public class StudentMainUI extends MainUI {
 			System.out.println("4 Withdraw Application");
 			System.out.println("5 Accept Offer");
 			System.out.println("6 Change Password");
-			System.out.println("7 Logout");
+			System.out.println("7 " + new InboxUI(sys).label(student));
+			System.out.println("8 Logout");
 			System.out.print("Select: ");
 
 			String s = sc.next();
@@ -97,6 +100,9 @@ public class StudentMainUI extends MainUI {
 				new ChangePasswordUI(sys).show(student);
 				break;
 			case "7":
+				new InboxUI(sys).show(student);
+				break;
+			case "8":
 				if (new LogoutUI().confirm()) {
 					return;
 				}
@@ -3,6 +3,7 @@ package boundary;
 import java.util.Scanner;
 
 import controller.SystemController;
+import utils.NotificationService;
 
 public class WelcomeUI {
 	private SystemController sys;
@@ -11,6 +12,7 @@ public class WelcomeUI {
     public void start() {
         Scanner sc = new Scanner(System.in);
         while (true) {
+            NotificationService.getDefault().flush();
             System.out.println("\n======= Internship Placement Management System =======");
             System.out.println("Welcome to the Internship Management System!");
             System.out.println("1 Login");
@@ -5,6 +5,7 @@ import java.util.List;
 import entities.Application;
 import entities.CompanyRepresentative;
 import entities.Internship;
+import entities.Repository;
 import enums.ApplicationStatus;
 import enums.InternshipLevel;
 import utils.NotificationService;
@@ -14,18 +15,22 @@ public class CompanyController {
 	
 	public CompanyController(SystemController sys) { this.sys = sys; }
 
-	public void createInternship(CompanyRepresentative c, String title, String desc, InternshipLevel lvl, String preferredMajor, String openDate, String closeDate, int slots) {
+	public Internship createInternship(CompanyRepresentative c, String title, String desc, InternshipLevel lvl, String preferredMajor, String openDate, String closeDate, int slots) {
+		if (slots < 0) {
+			throw new IllegalArgumentException("Slots cannot be negative: " + slots);
+		}
 		Internship i = sys.internships().createInternship(title, desc, lvl, preferredMajor, openDate, closeDate, c.getCompanyName(), c.getID(), slots);
-		NotificationService.notify("Internship '" + i.getInternshipID() + "' applied");
+		NotificationService.notify(() -> "Internship '" + i.getInternshipID() + "' applied");
+		return i;
 	}
 
 	public void decideApplication(String aID, boolean approve) {
 		if (approve) {
 			sys.applications().staffSetApplicationStatus(aID, ApplicationStatus.SUCCESSFUL);
-			NotificationService.notify("Application '" + aID + "' status set to '" + String.valueOf(ApplicationStatus.SUCCESSFUL) + "'");
+			NotificationService.notify(() -> "Application '" + aID + "' status set to '" + String.valueOf(ApplicationStatus.SUCCESSFUL) + "'");
 		} else {
 			sys.applications().staffSetApplicationStatus(aID, ApplicationStatus.UNSUCCESSFUL);
-			NotificationService.notify("Application '" + aID + "' status set to '" + String.valueOf(ApplicationStatus.UNSUCCESSFUL) + "'");
+			NotificationService.notify(() -> "Application '" + aID + "' status set to '" + String.valueOf(ApplicationStatus.UNSUCCESSFUL) + "'");
 		}
 	}
 	
@@ -33,52 +38,69 @@ public class CompanyController {
 
 	public List<Application> getApplicants(String iID) { return sys.repository().getApplicationsByInternship(iID); }
 
+	/**
+	 * Shows or hides a PENDING internship. The change is made on the transaction's copy and
+	 * retried if the internship changes concurrently, so a staff decision made in the
+	 * meantime is seen by the status check instead of being overwritten.
+	 */
 	public boolean setVisibility(CompanyRepresentative c, String iID, boolean visible) {
-		Internship i = sys.repository().findInternship(iID);
-		if (i == null) {
-			System.out.println("Error: Internship not found");
-			return false;
-		}
-		if (!i.getCompanyRepID().equals(c.getID())) {
-			System.out.println("Error: You can only modify your own internships");
-			return false;
-		}
-		// Check if internship can be edited (only PENDING internships can be edited)
-		if (i.getStatus() != enums.InternshipStatus.PENDING) {
-			System.out.println("Error: Cannot edit internship after it has been " +
-				i.getStatus().toString().toLowerCase() + " by Career Center Staff. " +
-				"Only PENDING internships can be modified.");
-			return false;
-		}
-		i.setVisible(visible);
-		sys.repository().updateInternship(i);
-		NotificationService.notify("Internship '" + iID + "' visibility set to '" + String.valueOf(visible).toUpperCase() + "'");
-		return true;
+		boolean changed = Repository.retryOnConflict(() -> sys.repository().inTransaction(tx -> {
+			Internship i = tx.findInternship(iID);
+			if (i == null) {
+				System.out.println("Error: Internship not found");
+				return false;
+			}
+			if (!i.getCompanyRepID().equals(c.getID())) {
+				System.out.println("Error: You can only modify your own internships");
+				return false;
+			}
+			// Check if internship can be edited (only PENDING internships can be edited)
+			if (i.getStatus() != enums.InternshipStatus.PENDING) {
+				System.out.println("Error: Cannot edit internship after it has been " +
+					i.getStatus().toString().toLowerCase() + " by Career Center Staff. " +
+					"Only PENDING internships can be modified.");
+				return false;
+			}
+			i.setVisible(visible);
+			tx.updateInternship(i);
+			return true;
+		}));
+		if (changed) NotificationService.notify(() -> "Internship '" + iID + "' visibility set to '" + String.valueOf(visible).toUpperCase() + "'");
+		return changed;
 	}
 
+	/**
+	 * Changes the details of a PENDING internship, on the transaction's copy and retried
+	 * like setVisibility. If a new value is rejected, nothing is changed.
+	 */
 	public void modifyInternship(CompanyRepresentative c, String iID, String title, String desc, String preferredMajor, String openDate, String closeDate, int slots) {
-		Internship i = sys.repository().findInternship(iID);
-		if (i == null) {
-			throw new IllegalArgumentException("Internship not found");
-		}
-		if (!i.getCompanyRepID().equals(c.getID())) {
-			throw new IllegalStateException("Cannot modify internship belonging to another company representative");
-		}
-		// Check if internship can be edited (only PENDING internships can be edited)
-		if (i.getStatus() != enums.InternshipStatus.PENDING) {
-			throw new IllegalStateException("Cannot modify internship after it has been " +
-				i.getStatus().toString().toLowerCase() + " by Career Center Staff. " +
-				"Only PENDING internships can be modified.");
+		if (slots < 0) {
+			throw new IllegalArgumentException("Slots cannot be negative: " + slots);
 		}
-		// Update fields
-		i.setTitle(title);
-		i.setDescription(desc);
-		i.setPreferredMajor(preferredMajor);
-		i.setOpeningDate(openDate);
-		i.setClosingDate(closeDate);
-		i.setSlots(slots);
-		sys.repository().updateInternship(i);
-		NotificationService.notify("Internship '" + iID + "' modified successfully");
+		Repository.retryOnConflict(() -> sys.repository().runInTransaction(tx -> {
+			Internship i = tx.findInternship(iID);
+			if (i == null) {
+				throw new IllegalArgumentException("Internship not found");
+			}
+			if (!i.getCompanyRepID().equals(c.getID())) {
+				throw new IllegalStateException("Cannot modify internship belonging to another company representative");
+			}
+			// Check if internship can be edited (only PENDING internships can be edited)
+			if (i.getStatus() != enums.InternshipStatus.PENDING) {
+				throw new IllegalStateException("Cannot modify internship after it has been " +
+					i.getStatus().toString().toLowerCase() + " by Career Center Staff. " +
+					"Only PENDING internships can be modified.");
+			}
+			// Update fields
+			i.setTitle(title);
+			i.setDescription(desc);
+			i.setPreferredMajor(preferredMajor);
+			i.setOpeningDate(openDate);
+			i.setClosingDate(closeDate);
+			i.setSlots(slots);
+			tx.updateInternship(i);
+		}));
+		NotificationService.notify(() -> "Internship '" + iID + "' modified successfully");
 	}
 
 	public void removeInternship(CompanyRepresentative c, String iID) {
@@ -96,6 +118,6 @@ public class CompanyController {
 				"Only PENDING internships can be removed.");
 		}
 		sys.repository().removeInternship(iID);
-		NotificationService.notify("Internship '" + iID + "' removed successfully");
+		NotificationService.notify(() -> "Internship '" + iID + "' removed successfully");
 	}
 }
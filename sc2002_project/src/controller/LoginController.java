@@ -3,14 +3,23 @@ package controller;
 import entities.User;
 import enums.UserRole;
 import services.AccountManager;
+import services.Session;
+import services.SessionManager;
 
 /**
- * Handles user authentication for all user types.
+ * Handles user authentication for all user types, and opens sessions for
+ * authenticated users.
  */
 public class LoginController {
 	private AccountManager accountMgr;
+	private SessionManager sessions;
 	
-    public LoginController(AccountManager accountMgr) { this.accountMgr = accountMgr; }
+    public LoginController(AccountManager accountMgr) { this(accountMgr, null); }
+
+    public LoginController(AccountManager accountMgr, SessionManager sessions) {
+        this.accountMgr = accountMgr;
+        this.sessions = sessions;
+    }
     
     /**
      * Authenticates a user with provided credentials.
@@ -22,4 +31,20 @@ public class LoginController {
     public User login(String id, String pw, UserRole role) {
         return accountMgr.authenticate(id, pw, role);
     }
+
+    /**
+     * Authenticates a user and opens a session for them.
+     * @param id user ID
+     * @param pw password
+     * @param role expected user role
+     * @return the new session, or null if authentication fails
+     * @throws IllegalStateException if this controller has no session manager
+     */
+    public Session startSession(String id, String pw, UserRole role) {
+        if (sessions == null) {
+            throw new IllegalStateException("No session manager configured");
+        }
+        User u = login(id, pw, role);
+        return u == null ? null : sessions.create(u);
+    }
 }
\ No newline at end of file
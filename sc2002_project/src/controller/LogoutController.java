@@ -1,10 +1,25 @@
 package controller;
 
+import services.Session;
+
 public class LogoutController {
-	
+
+	/**
+	 * Logs out the console user, ending their session.
+	 */
 	public static void logout() {
+		Session s = SessionController.getCurrentSession();
+		if (s != null) s.invalidate();
 		SessionController.clear();
 		System.out.println("Logged out");
 	}
-	
+
+	/**
+	 * Ends one session, for front ends that serve several users.
+	 * @param session the session to end
+	 */
+	public static void logout(Session session) {
+		session.invalidate();
+	}
+
 }
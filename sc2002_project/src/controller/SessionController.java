@@ -1,11 +1,27 @@
 package controller;
 
 import entities.User;
+import services.Session;
 
+/**
+ * Remembers the session of the person using the console UI.
+ * Sessions themselves live in the SessionManager, which can hold any number of them;
+ * front ends serving several users look sessions up there by token instead.
+ */
 public class SessionController {
-	private static User currentUser;
-	
+	private static volatile Session currentSession;
+	private static volatile User currentUser;
+
+	public static void setCurrentSession(Session session) {
+		currentSession = session;
+		currentUser = session == null ? null : session.getUser();
+	}
+	public static Session getCurrentSession() { return currentSession; }
+
 	public static void setCurrentUser(User user) { currentUser = user; }
 	public static User getCurrentUser() { return currentUser; }
-	public static void clear() { currentUser = null; }
-}
\ No newline at end of file
+	public static void clear() {
+		currentSession = null;
+		currentUser = null;
+	}
+}
@@ -1,15 +1,19 @@
 package controller;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
 import entities.Application;
 import entities.CompanyRepresentative;
 import entities.Internship;
+import entities.ReportExport;
 import entities.ReportSummary;
+import entities.Repository;
 import entities.WithdrawalRequest;
 import enums.ApplicationStatus;
 import enums.ApprovalStatus;
+import enums.ExportFormat;
 import enums.InternshipStatus;
 import enums.ReportCategory;
 import utils.IDGenerator;
@@ -20,21 +24,38 @@ public class StaffController {
 	
 	public StaffController(SystemController sys) { this.sys = sys; }
 
+	/**
+	 * Approves or rejects a company representative. The decision is made on the transaction's
+	 * copy, so the stored representative only changes once it commits.
+	 */
 	public void decideCompany(String id, boolean approve) {
-		CompanyRepresentative c = sys.repository().findCompanyRep(id);
-		c.setApproved(approve);
-		sys.repository().updateCompanyRep(c);
-		NotificationService.notify("Company representative '" + id + "' " + (approve ? "approved" : "rejected"));
+		boolean decided = Repository.retryOnConflict(() -> sys.repository().inTransaction(tx -> {
+			CompanyRepresentative c = tx.findCompanyRep(id);
+			if (c == null) {
+				System.out.println("Error: Company representative not found with ID: " + id);
+				return false;
+			}
+			c.setApproved(approve);
+			tx.updateCompanyRep(c);
+			return true;
+		}));
+		if (decided) NotificationService.notify(() -> "Company representative '" + id + "' " + (approve ? "approved" : "rejected"));
 	}
 	
+	/**
+	 * Approves or rejects an internship. Retried if the internship changes concurrently,
+	 * so the decision is never silently overwritten or applied to stale data.
+	 */
 	public void decideInternship(String iID, boolean approve) {
-		Internship i = sys.repository().findInternship(iID);
-		if (i != null) {
+		boolean decided = Repository.retryOnConflict(() -> sys.repository().inTransaction(tx -> {
+			Internship i = tx.findInternship(iID);
+			if (i == null) return false;
 			i.setStatus(approve ? InternshipStatus.APPROVED : InternshipStatus.REJECTED);
 			if (approve) i.setVisible(true);
-			sys.repository().updateInternship(i);
-			NotificationService.notify("Internship '" + iID + "' " + (approve ? "approved" : "rejected"));
-		}
+			tx.updateInternship(i);
+			return true;
+		}));
+		if (decided) NotificationService.notify(() -> "Internship '" + iID + "' " + (approve ? "approved" : "rejected"));
 	}
 	
 	public void decideApplication(String aID, boolean approve) {
@@ -45,76 +66,101 @@ public class StaffController {
 		}
 	}
 
+	/**
+	 * Decides a withdrawal request. The request, its application and the freed
+	 * internship slot are updated in one transaction, retried on a concurrent change.
+	 */
 	public void decideWithdrawal(String wID, boolean approve) {
-		WithdrawalRequest w = sys.repository().findWithdrawal(wID);
-		if (w != null) {
+		boolean approved = Repository.retryOnConflict(() -> sys.repository().inTransaction(tx -> {
+			WithdrawalRequest w = tx.findWithdrawal(wID);
+			if (w == null) return false;
 			w.setStatus(approve ? ApprovalStatus.APPROVED : ApprovalStatus.REJECTED);
-			sys.repository().updateWithdrawal(w);
-			if (approve) {
-				// set application withdrawn
-				Application a = sys.repository().findApplication(w.getApplicationID());
-				if (a != null) {
-					a.setStatus(ApplicationStatus.WITHDRAWN);
-					sys.repository().updateApplication(a);
-					// if accepted earlier and acceptedByStudent true, free a slot
-					if (a.isAcceptedByStudent()) {
-						Internship i = sys.repository().findInternship(a.getInternshipID());
-						if (i != null) {
-							i.setSlots(i.getSlots()+1);
-							if (i.getStatus()==InternshipStatus.FILLED && i.getSlots()>0) i.setStatus(InternshipStatus.APPROVED);
-							sys.repository().updateInternship(i);
-						}
+			tx.updateWithdrawal(w);
+			if (!approve) return false;
+			// set application withdrawn
+			Application a = tx.findApplication(w.getApplicationID());
+			if (a != null) {
+				a.setStatus(ApplicationStatus.WITHDRAWN);
+				tx.updateApplication(a);
+				// if accepted earlier and acceptedByStudent true, free a slot
+				if (a.isAcceptedByStudent()) {
+					Internship i = tx.findInternship(a.getInternshipID());
+					if (i != null) {
+						i.releaseSlot();
+						tx.updateInternship(i);
 					}
 				}
-				NotificationService.notify("Withdrawal request '" + wID + "' approved");
 			}
-		}
+			return true;
+		}));
+		if (approved) NotificationService.notify(() -> "Withdrawal request '" + wID + "' approved");
 	}
 	
-	public void generateReport(ReportCategory category, Map<String,String> filters) {
-		ReportSummary r = new ReportSummary(IDGenerator.nextReportID(), category);
-		r.generate(sys.repository(), filters);
-		sys.repository().updateReport(r);
-		System.out.println("Report '" + r.getID() + "' generated");
+	/**
+	 * Generates and saves a report, or returns the one already generated with the same
+	 * category and filters if the data has not changed since.
+	 */
+	public ReportSummary generateReport(ReportCategory category, Map<String,String> filters) {
+		boolean[] generated = {false};
+		ReportSummary r = sys.reports().get(category, filters, () -> {
+			ReportSummary s = new ReportSummary(IDGenerator.nextReportID(), category);
+			s.generate(sys.repository(), filters);
+			sys.repository().updateReport(s);
+			generated[0] = true;
+			return s;
+		});
+		System.out.println("Report '" + r.getID() + "' " + (generated[0] ? "generated" : "is up to date"));
+		return r;
 	}
 	
+	/**
+	 * Exports the internships, applications and withdrawal requests matching report
+	 * filters to a file, printing the progress.
+	 */
+	public long exportReportData(Map<String,String> filters, ExportFormat format, Path target) {
+		long rows = new ReportExport(sys.repository()).export(filters, format, target,
+			(n, bytes) -> System.out.println("Exported " + n + " rows (" + bytes / 1024 + " KB)"));
+		System.out.println("Report data exported to " + target);
+		return rows;
+	}
+
+	public List<CompanyRepresentative> pendingCompanies() { return sys.repository().getPendingCompanyReps(); }
+
+	public List<Internship> internshipsByStatus(InternshipStatus status) { return sys.repository().getInternshipsByStatus(status); }
+
+	public List<WithdrawalRequest> pendingWithdrawals() { return sys.repository().getWithdrawalsByStatus(ApprovalStatus.PENDING); }
+
 	public void getPendingCompanies() {
-		List<CompanyRepresentative> l = sys.repository().getAllCompanyReps();
+		List<CompanyRepresentative> l = pendingCompanies();
 		if (l.isEmpty()) System.out.println("No pending company representative applications");
 		else {
 			for (CompanyRepresentative c : l) {
-				if (!c.isApproved()) {
-					System.out.println(c.getID() + " " + c.getName());
-					System.out.println("Company: "+c.getCompanyName());
-					System.out.println("---------------------------------------------");
-				}
+				System.out.println(c.getID() + " " + c.getName());
+				System.out.println("Company: "+c.getCompanyName());
+				System.out.println("---------------------------------------------");
 			}
 		}
 	}
 
 	public void getPendingInternships() {
-		List<Internship> l = sys.repository().getAllInternships();
+		List<Internship> l = internshipsByStatus(InternshipStatus.PENDING);
 		if (l.isEmpty()) System.out.println("No pending internships");
 		else {	
 			for (Internship i : l) {
-				if (i.getStatus()==InternshipStatus.PENDING) {
-					System.out.println(i.getInternshipID()+" "+i.getTitle());
-				}
+				System.out.println(i.getInternshipID()+" "+i.getTitle());
 			}
 		}
 	}
 	
 	public void getWithdrawals() {
-		List<WithdrawalRequest> l = sys.repository().getAllWithdrawals();
+		List<WithdrawalRequest> l = pendingWithdrawals();
 		if (l.isEmpty()) System.out.println("No pending withdrawal requests");
 		else {
 			for (WithdrawalRequest w : l) {
-				if (w.getStatus()==ApprovalStatus.PENDING) {
-					System.out.println(w.getRequestID());
-					System.out.println("Application ID: " + w.getApplicationID());
-					System.out.println("Student ID: " + w.getStudentID());
-					System.out.println("-----------------------------------");
-				}
+				System.out.println(w.getRequestID());
+				System.out.println("Application ID: " + w.getApplicationID());
+				System.out.println("Student ID: " + w.getStudentID());
+				System.out.println("-----------------------------------");
 			}
 		}
 	}
@@ -55,16 +55,18 @@ public class StudentController {
 	 * Creates a new withdrawal request pending staff approval.
 	 * @param s the student
 	 * @param aID application ID to withdraw from
+	 * @return true if the request was created
 	 */
-	public void requestWithdrawal(Student s, String aID) {
+	public boolean requestWithdrawal(Student s, String aID) {
 		Application a = sys.repository().findApplication(aID);
 		if (a == null || !a.getStudentID().equals(s.getID())) {
 			System.out.println("Withdrawal failed");
-			return;
+			return false;
 		}
 		String wID = IDGenerator.nextWithdrawalID();
 		WithdrawalRequest w = new WithdrawalRequest(wID, aID, s.getID(), ApprovalStatus.PENDING, DataUtility.currentDate());
 		sys.repository().updateWithdrawal(w);
-		NotificationService.notify("Withdrawal '" + wID + "' requested");
+		NotificationService.notify(() -> "Withdrawal '" + wID + "' requested");
+		return true;
 	}
 }
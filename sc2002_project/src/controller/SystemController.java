@@ -3,27 +3,54 @@ package controller;
 import entities.Repository;
 import services.AccountManager;
 import services.ApplicationManager;
+import services.InboxManager;
 import services.InternshipManager;
+import services.ReportCache;
+import services.SessionManager;
 
 /**
  * Main system controller that acts as a facade to all service managers.
- * Provides centralized access to account, internship, and application management.
+ * Provides centralized access to account, internship, application, session and inbox management,
+ * and to the cache of generated reports.
  */
 public class SystemController {
 	private Repository repo;
 	private AccountManager accountMgr;
 	private InternshipManager internshipMgr;
 	private ApplicationManager applicationMgr;
+	private SessionManager sessionMgr;
+	// created on first use, since it follows every repository change from then on
+	private volatile InboxManager inboxMgr;
+	private ReportCache reportCache;
 
 	public SystemController(Repository repo) {
 		this.repo = repo;
 		this.accountMgr = new AccountManager(repo);
 		this.internshipMgr = new InternshipManager(repo);
 		this.applicationMgr = new ApplicationManager(repo);
+		this.sessionMgr = new SessionManager();
+		this.reportCache = new ReportCache(repo);
 	}
 
 	public AccountManager accounts() { return accountMgr; }
 	public InternshipManager internships() { return internshipMgr; }
 	public ApplicationManager applications() { return applicationMgr; }
+	public SessionManager sessions() { return sessionMgr; }
+
+	/**
+	 * Gets the inbox manager, creating it on first use. Only changes made after that reach
+	 * the inboxes, so a process that serves inboxes should call this when it starts.
+	 * @return the inbox manager
+	 */
+	public InboxManager inbox() {
+		InboxManager m = inboxMgr;
+		if (m != null) return m;
+		synchronized (this) {
+			if (inboxMgr == null) { inboxMgr = new InboxManager(repo); }
+			return inboxMgr;
+		}
+	}
+
+	public ReportCache reports() { return reportCache; }
 	public Repository repository() { return repo; }
 }
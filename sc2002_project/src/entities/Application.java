@@ -5,6 +5,8 @@ import enums.ApplicationStatus;
 /**
  * Represents a student's application to an internship position.
  * Tracks application status, dates, and whether the student accepted an offer.
+ * The version counts committed changes and is used by the Repository to reject stale writes;
+ * it is 0 until the application is first stored.
  */
 public class Application {
 	private String aID;
@@ -13,6 +15,7 @@ public class Application {
 	private ApplicationStatus status;
 	private String applyDate;
 	private boolean acceptedByStudent;
+	private int version;
 
 	public Application(String aID, String iID, String sID, ApplicationStatus status, String applyDate, boolean acceptedByStudent) {
 		this.aID = aID;
@@ -69,7 +72,7 @@ public class Application {
         return lower.equals("true") || lower.equals("false");
     }
 
-	public String[] toCSVRow() { return new String[] {aID, iID, sID, status.name(), applyDate, String.valueOf(acceptedByStudent)}; }
+	public String[] toCSVRow() { return new String[] {aID, iID, sID, status.name(), applyDate, String.valueOf(acceptedByStudent), String.valueOf(version)}; }
 
 	public static Application fromCSVRow(String[] s) {
 //check the length of csv row
@@ -102,7 +105,10 @@ public class Application {
 
 		ApplicationStatus status = ApplicationStatus.valueOf(statusStr);
 		boolean acceptedByStudent = Boolean.valueOf(acceptedStr);
-		return new Application(aID, iID, sID, status, date, acceptedByStudent);
+		Application a = new Application(aID, iID, sID, status, date, acceptedByStudent);
+		// rows written before versioning have no version column
+		a.version = s.length > 6 ? Integer.parseInt(s[6]) : 1;
+		return a;
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid value in CSV row: " + e.getMessage());
         }
@@ -116,4 +122,6 @@ public class Application {
 	public String getApplyDate() { return applyDate; }
 	public boolean isAcceptedByStudent() { return acceptedByStudent; }
 	public void setAcceptedByStudent(boolean b) { this.acceptedByStudent = b; }
+	public int getVersion() { return version; }
+	void setVersion(int version) { this.version = version; }
 }
@@ -0,0 +1,161 @@
+package entities;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import enums.ApplicationStatus;
+import enums.CubeDimension;
+import enums.InternshipLevel;
+
+/**
+ * Counts of applications per apply date, company, internship level and status. The
+ * repository keeps them up to date as applications are made and decided, so roll-ups
+ * over any of these dimensions add up counters instead of reading the applications;
+ * their cost depends on the number of days and companies, not of applications.
+ *
+ * Company and level are those of the application's internship; an application whose
+ * internship is not known is counted without them. Entities are changed in place, so
+ * the cube remembers the cell each application was counted in and the company and
+ * level of each internship, and moves the counts when they change.
+ * Can be read while it is written to; writers are serialized on the cube.
+ */
+public final class ApplicationCube {
+	private record Slice(String company, InternshipLevel level, ApplicationStatus status) { }
+
+	private record Cell(String day, Slice slice) { }
+
+	private record Owner(String company, InternshipLevel level) { }
+
+	private final NavigableMap<String, Map<Slice, AtomicLong>> days = new ConcurrentSkipListMap<>();
+	// guarded by this: cell each application is counted in, and each internship's company and level
+	private final Map<String, Cell> counted = new HashMap<>();
+	private final Map<String, Owner> owners = new HashMap<>();
+
+	synchronized void put(Application a) {
+		Owner o = owners.get(a.getInternshipID());
+		Cell cell = new Cell(a.getApplyDate(), new Slice(o == null ? null : o.company(), o == null ? null : o.level(), a.getStatus()));
+		Cell old = counted.put(a.getApplicationID(), cell);
+		if (cell.equals(old)) return;
+		if (old != null) { add(old, -1); }
+		add(cell, 1);
+	}
+
+	synchronized void remove(String applicationID) {
+		Cell old = counted.remove(applicationID);
+		if (old != null) { add(old, -1); }
+	}
+
+	/**
+	 * Records the company and level of an internship, and moves its applications if
+	 * they changed.
+	 * @param applications the internship's applications
+	 */
+	synchronized void putInternship(Internship i, Iterable<Application> applications) {
+		Owner o = new Owner(i.getCompanyName(), i.getLevel());
+		if (o.equals(owners.put(i.getInternshipID(), o))) return;
+		for (Application a : applications) { put(a); }
+	}
+
+	synchronized void clear() {
+		days.clear();
+		counted.clear();
+		owners.clear();
+	}
+
+	private void add(Cell cell, long n) {
+		days.computeIfAbsent(cell.day(), k -> new ConcurrentHashMap<>()).computeIfAbsent(cell.slice(), k -> new AtomicLong()).addAndGet(n);
+	}
+
+	/**
+	 * Counts the applications in a date range with the given company, level and status.
+	 * @param fromDay first apply date, inclusive, or null for no lower bound
+	 * @param toDay last apply date, inclusive, or null for no upper bound
+	 * @param companyName the company, or null for any
+	 * @param level the level, or null for any
+	 * @param status the status, or null for any
+	 * @return the number of matching applications
+	 */
+	public long count(String fromDay, String toDay, String companyName, InternshipLevel level, ApplicationStatus status) {
+		long n = 0;
+		for (Map<Slice, AtomicLong> day : range(fromDay, toDay).values()) {
+			for (Map.Entry<Slice, AtomicLong> e : day.entrySet()) {
+				Slice s = e.getKey();
+				if ((companyName == null || companyName.equals(s.company())) && (level == null || level == s.level())
+						&& (status == null || status == s.status())) {
+					n += e.getValue().get();
+				}
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * Counts the applications in a date range per combination of the given dimensions,
+	 * e.g. COMPANY, WEEK, LEVEL for the applications per company per week by level.
+	 * Combinations without applications are left out.
+	 * @param fromDay first apply date, inclusive, or null for no lower bound
+	 * @param toDay last apply date, inclusive, or null for no upper bound
+	 * @param groupBy the dimensions to keep; none gives the total
+	 * @return counts keyed by the values of the dimensions, in the order given, with
+	 * levels and statuses by name; null stands for an unknown company or level
+	 */
+	public Map<List<String>, Long> rollUp(String fromDay, String toDay, CubeDimension... groupBy) {
+		Map<List<String>, Long> counts = new LinkedHashMap<>();
+		for (Map.Entry<String, Map<Slice, AtomicLong>> day : range(fromDay, toDay).entrySet()) {
+			String date = day.getKey();
+			String week = null;
+			for (Map.Entry<Slice, AtomicLong> e : day.getValue().entrySet()) {
+				long n = e.getValue().get();
+				if (n == 0) continue;
+				Slice s = e.getKey();
+				String[] key = new String[groupBy.length];
+				for (int k = 0; k < groupBy.length; k++) {
+					key[k] = switch (groupBy[k]) {
+					case DAY -> date;
+					case WEEK -> week != null ? week : (week = weekOf(date));
+					case MONTH -> date.length() >= 7 ? date.substring(0, 7) : date;
+					case COMPANY -> s.company();
+					case LEVEL -> s.level() == null ? null : s.level().name();
+					case STATUS -> s.status().name();
+					};
+				}
+				counts.merge(Arrays.asList(key), n, Long::sum);
+			}
+		}
+		return counts;
+	}
+
+	/** @return number of non-empty cells, which bounds the cost of a roll-up */
+	public int getCellCount() {
+		int n = 0;
+		for (Map<Slice, AtomicLong> day : days.values()) {
+			for (AtomicLong c : day.values()) { if (c.get() != 0) n++; }
+		}
+		return n;
+	}
+
+	private NavigableMap<String, Map<Slice, AtomicLong>> range(String from, String to) {
+		if (from != null && to != null && from.compareTo(to) > 0) return new ConcurrentSkipListMap<>();
+		NavigableMap<String, Map<Slice, AtomicLong>> r = from == null ? days : days.tailMap(from, true);
+		return to == null ? r : r.headMap(to, true);
+	}
+
+	// The Monday of the date's week, or the date itself if it cannot be parsed
+	private static String weekOf(String date) {
+		try {
+			return LocalDate.parse(date).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString();
+		} catch (RuntimeException e) {
+			return date;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package entities;
+
+import enums.ChangeType;
+
+/**
+ * One change in the repository's change feed: an entity as it was stored before
+ * and after a single update or removal, numbered in the order the changes were made.
+ *
+ * The images are kept as the CSV rows that were written, so they cannot be changed
+ * afterwards; getBefore() and getAfter() build a detached copy of the entity on
+ * every call.
+ * @param <T> entity type
+ */
+public final class ChangeEvent<T> {
+	private final long seq;
+	private final ChangeType type;
+	private final Class<T> entityType;
+	private final String file;
+	private final String id;
+	private final String[] before;
+	private final String[] after;
+
+	ChangeEvent(long seq, Class<T> entityType, String file, String id, String[] before, String[] after) {
+		this.seq = seq;
+		this.type = before == null ? ChangeType.INSERT : after == null ? ChangeType.DELETE : ChangeType.UPDATE;
+		this.entityType = entityType;
+		this.file = file;
+		this.id = id;
+		this.before = before;
+		this.after = after;
+	}
+
+	/**
+	 * Views this event as a change of the given entity type.
+	 * @param type the entity class, e.g. Application.class
+	 * @return this event, or null if it changed another type of entity
+	 */
+	@SuppressWarnings("unchecked")
+	public <E> ChangeEvent<E> as(Class<E> type) { return type == entityType ? (ChangeEvent<E>) this : null; }
+
+	/** @return position of the change in the feed; every change gets the next number */
+	public long getSequence() { return seq; }
+	public ChangeType getType() { return type; }
+	public Class<T> getEntityType() { return entityType; }
+	public String getID() { return id; }
+
+	/** @return a copy of the entity before the change, or null for an INSERT */
+	public T getBefore() { return image(before); }
+
+	/** @return a copy of the entity after the change, or null for a DELETE */
+	public T getAfter() { return image(after); }
+
+	private T image(String[] row) { return row == null ? null : entityType.cast(Repository.parse(file, row)); }
+
+	@Override
+	public String toString() { return seq + " " + type + " " + entityType.getSimpleName() + " " + id; }
+}
@@ -0,0 +1,206 @@
+package entities;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ordered feed of the changes written to a repository, so that reports, caches and
+ * inboxes can follow the data instead of rescanning it. Every update and removal
+ * becomes one ChangeEvent with the next sequence number, in the order the changes
+ * were applied across all tables. The changes committed by a transaction are recorded
+ * together once all of them are applied, so their events are consecutive.
+ *
+ * The most recent events are retained, so a consumer that knows the last sequence
+ * it applied can resume from it, either by reading (readSince) or by subscribing
+ * (subscribe(long, ChangeListener)). One that has fallen further behind than the
+ * retention gets an IllegalStateException and must rescan the repository.
+ * Sequence numbers start at 1 each time the repository is loaded.
+ *
+ * To give every event its before image, the feed keeps the last written row of each
+ * entity; it is created on the first call to Repository.changes(). Thread-safe.
+ *
+ * Giving every change across all tables its place in one order has a cost: writers on
+ * different tables briefly take the feed's lock one after the other to number their
+ * changes. Only the numbering is done under it. Before images are kept per table under
+ * the table locks, and listeners are called outside the lock, one writer at a time; a
+ * writer that finds another one delivering leaves its events to it instead of waiting.
+ */
+public class ChangeFeed {
+	public static final int DEFAULT_RETENTION = 10_000;
+
+	private final int retention;
+	/** A change with its before image, waiting for its sequence number. */
+	record Change(Class<?> type, String file, String id, String[] before, String[] after) { }
+
+	private record Subscriber(ChangeListener listener, long afterSeq) { }
+
+	private final ArrayDeque<ChangeEvent<?>> recent = new ArrayDeque<>(); // guarded by this
+	// each listener gets the events numbered after the sequence it subscribed at; changed under this
+	private final List<Subscriber> listeners = new CopyOnWriteArrayList<>();
+	// events numbered but not yet given to the listeners, in sequence order; added to under this
+	private final ConcurrentLinkedQueue<ChangeEvent<?>> undelivered = new ConcurrentLinkedQueue<>();
+	// held by the one thread giving events to the listeners
+	private final ReentrantLock delivering = new ReentrantLock();
+	// last written row of every entity, keyed by data file, then ID; each table's map is guarded by its table lock
+	private final Map<String, Map<String, String[]>> images = new ConcurrentHashMap<>();
+	private volatile long lastSeq;
+
+	ChangeFeed(int retention) {
+		if (retention <= 0) {
+			throw new IllegalArgumentException("Retention must be positive: " + retention);
+		}
+		this.retention = retention;
+	}
+
+	/** @return sequence number of the latest change, 0 before the first one */
+	public long getLastSequence() { return lastSeq; }
+
+	/** @return sequence number of the oldest change that can still be read */
+	public synchronized long getOldestSequence() { return recent.isEmpty() ? lastSeq + 1 : recent.peekFirst().getSequence(); }
+
+	/**
+	 * Reads the retained changes that follow a sequence number.
+	 * @param afterSeq the last sequence the caller has seen, 0 for the start of the feed
+	 * @param max maximum number of events to return
+	 * @return the events after afterSeq, oldest first; empty if there are none yet
+	 * @throws IllegalStateException if some of those changes are no longer retained
+	 */
+	public synchronized List<ChangeEvent<?>> readSince(long afterSeq, int max) {
+		checkRetained(afterSeq);
+		List<ChangeEvent<?>> l = new ArrayList<>();
+		long skip = afterSeq - getOldestSequence() + 1;
+		for (ChangeEvent<?> e : recent) {
+			if (l.size() == max) break;
+			if (skip-- > 0) continue;
+			l.add(e);
+		}
+		return l;
+	}
+
+	/**
+	 * Follows the changes made from now on.
+	 * @param listener receives each change
+	 */
+	public synchronized void subscribe(ChangeListener listener) { listeners.add(new Subscriber(listener, lastSeq)); }
+
+	/**
+	 * Replays the retained changes after a sequence number, then follows new ones,
+	 * without a change being missed or delivered twice in between.
+	 * @param afterSeq the last sequence the listener has applied
+	 * @param listener receives each change
+	 * @throws IllegalStateException if some of the changes after afterSeq are no longer retained
+	 */
+	public void subscribe(long afterSeq, ChangeListener listener) {
+		// no other thread delivers until the replay is done, so newer events come after it
+		delivering.lock();
+		try {
+			List<ChangeEvent<?>> replay;
+			synchronized (this) {
+				replay = readSince(afterSeq, Integer.MAX_VALUE);
+				listeners.add(new Subscriber(listener, lastSeq));
+			}
+			for (ChangeEvent<?> e : replay) { deliver(listener, e); }
+		} finally {
+			delivering.unlock();
+		}
+		deliverPending();
+	}
+
+	public synchronized void unsubscribe(ChangeListener listener) { listeners.removeIf(s -> s.listener().equals(listener)); }
+
+	// Records the current row of an entity without reporting a change, when the feed is created
+	void seed(String file, String id, String[] row) {
+		images.computeIfAbsent(file, k -> new HashMap<>()).put(id, row);
+	}
+
+	/**
+	 * Records a change and delivers it to the listeners. Called with the table lock held.
+	 * @param after the row now stored, or null if the entity was removed
+	 */
+	void record(Class<?> type, String file, String id, String[] after) {
+		Change c = change(type, file, id, after);
+		synchronized (this) { append(c); }
+		deliverPending();
+	}
+
+	/**
+	 * Records several changes, e.g. those of one transaction, and numbers them under one
+	 * hold of the feed, so no change to another table is numbered between them. Called
+	 * with the table locks of the changes held.
+	 * @param changes the changes, each made with change()
+	 */
+	void recordTogether(List<Change> changes) {
+		if (changes.isEmpty()) return;
+		synchronized (this) {
+			for (Change c : changes) { append(c); }
+		}
+		deliverPending();
+	}
+
+	/**
+	 * Updates the before image of an entity for a change. Called with the table lock held,
+	 * in the order the changes are recorded.
+	 * @param after the row now stored, or null if the entity was removed
+	 * @return the change to record
+	 */
+	Change change(Class<?> type, String file, String id, String[] after) {
+		Map<String, String[]> table = images.computeIfAbsent(file, k -> new HashMap<>());
+		String[] before = after == null ? table.remove(id) : table.put(id, after);
+		return new Change(type, file, id, before, after);
+	}
+
+	// Numbers a change and retains it, unless an entity that was never stored was removed; caller holds this
+	private void append(Change c) {
+		if (c.before() == null && c.after() == null) return;
+		ChangeEvent<?> e = new ChangeEvent<>(lastSeq + 1, c.type(), c.file(), c.id(), c.before(), c.after());
+		recent.addLast(e);
+		if (recent.size() > retention) { recent.removeFirst(); }
+		lastSeq = e.getSequence();
+		if (!listeners.isEmpty()) { undelivered.add(e); }
+	}
+
+	// Gives the undelivered events to the listeners in sequence order. If another thread is
+	// already delivering, returns at once: that thread checks the queue again after it lets go.
+	private void deliverPending() {
+		// a listener that wrote to the repository would otherwise get later events first
+		if (delivering.isHeldByCurrentThread()) return;
+		while (!undelivered.isEmpty()) {
+			if (!delivering.tryLock()) return;
+			try {
+				ChangeEvent<?> e;
+				while ((e = undelivered.poll()) != null) {
+					for (Subscriber s : listeners) {
+						if (e.getSequence() > s.afterSeq()) deliver(s.listener(), e);
+					}
+				}
+			} finally {
+				delivering.unlock();
+			}
+		}
+	}
+
+	private void checkRetained(long afterSeq) {
+		if (afterSeq < 0 || afterSeq > lastSeq) {
+			throw new IllegalArgumentException("No change with sequence " + afterSeq + " (last is " + lastSeq + ")");
+		}
+		if (afterSeq + 1 < getOldestSequence()) {
+			throw new IllegalStateException("Changes after " + afterSeq + " are no longer retained (oldest is " + getOldestSequence() + ")");
+		}
+	}
+
+	// A failing listener must not fail a write that has already been applied
+	private static void deliver(ChangeListener l, ChangeEvent<?> e) {
+		try {
+			l.changed(e);
+		} catch (RuntimeException ex) {
+			System.err.println("Error in change listener: " + ex.getMessage());
+		}
+	}
+}
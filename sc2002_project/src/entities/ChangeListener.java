@@ -0,0 +1,15 @@
+package entities;
+
+/**
+ * Receives the events of a ChangeFeed, one at a time and in sequence order.
+ * Called on a writing thread, with that writer's table locks held but not the feed's
+ * lock; while one writer is delivering, other writers leave their events to it. So
+ * listeners should return quickly and must not write to the repository themselves.
+ */
+public interface ChangeListener {
+
+	/**
+	 * @param event the change, with the entity before and after it
+	 */
+	void changed(ChangeEvent<?> event);
+}
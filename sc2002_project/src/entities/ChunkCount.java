@@ -0,0 +1,50 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToIntFunction;
+
+/**
+ * Counts entities into report cells on a fork/join pool, for ReportStatistics.
+ * The task splits chunks off its rows and forks them until fewer than CHUNK_ROWS
+ * are left, counts those, then adds the counts of the chunks it split off.
+ * @param <T> entity type
+ */
+class ChunkCount<T> extends RecursiveTask<long[]> {
+	private static final long serialVersionUID = 1L;
+	static final int CHUNK_ROWS = 16_384;
+
+	private final Spliterator<T> rows;
+	private final int cells;
+	// cell an entity is counted in, or -1 if it does not match
+	private final ToIntFunction<T> cell;
+
+	ChunkCount(Spliterator<T> rows, int cells, ToIntFunction<T> cell) {
+		this.rows = rows;
+		this.cells = cells;
+		this.cell = cell;
+	}
+
+	@Override
+	protected long[] compute() {
+		List<ChunkCount<T>> forked = new ArrayList<>();
+		Spliterator<T> split;
+		while (rows.estimateSize() > CHUNK_ROWS && (split = rows.trySplit()) != null) {
+			ChunkCount<T> task = new ChunkCount<>(split, cells, cell);
+			task.fork();
+			forked.add(task);
+		}
+		long[] counts = new long[cells];
+		rows.forEachRemaining(e -> {
+			int c = cell.applyAsInt(e);
+			if (c >= 0) counts[c]++;
+		});
+		for (ChunkCount<T> task : forked) {
+			long[] partial = task.join();
+			for (int k = 0; k < cells; k++) { counts[k] += partial[k]; }
+		}
+		return counts;
+	}
+}
@@ -0,0 +1,30 @@
+package entities;
+
+/**
+ * Thrown when a write is based on an older version of an entity than the one stored,
+ * because another writer changed it in the meantime. Nothing has been written when it
+ * is thrown, so the caller can read the entity again and retry.
+ */
+public class ConflictException extends IllegalStateException {
+	private static final long serialVersionUID = 1L;
+
+	private final String entityID;
+
+	public ConflictException(String entityID, int expected, int actual) {
+		super("Entity " + entityID + " was changed concurrently: version " + expected + " is stale, stored version is " + actual);
+		this.entityID = entityID;
+	}
+
+	/**
+	 * Creates the exception for a transaction that could not take a table lock without
+	 * risking a deadlock with another transaction.
+	 * @param file data file whose lock stayed busy
+	 */
+	public ConflictException(String file) {
+		super("Table " + file + " is locked by another transaction");
+		this.entityID = null;
+	}
+
+	/** @return ID of the entity that changed, or null if the conflict was over a table lock */
+	public String getEntityID() { return entityID; }
+}
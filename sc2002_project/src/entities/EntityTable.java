@@ -0,0 +1,166 @@
+package entities;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A map from entity ID to entity that keeps insertion order like a LinkedHashMap,
+ * but can be read while it is being written to.
+ *
+ * Lookups go to a hash map; iteration walks a skip list keyed by insertion sequence,
+ * and like any concurrent collection it is weakly consistent. Putting an ID that is
+ * already present keeps its position. Writers must not run concurrently with each
+ * other; the repository serializes them with its table locks.
+ * A null ID is never present, as in a LinkedHashMap without a null key, rather than
+ * being rejected by the hash map.
+ * @param <T> entity type
+ */
+class EntityTable<T> extends AbstractMap<String, T> {
+	private record Slot<T>(long seq, T value) { }
+
+	private final Map<String, Slot<T>> slots = new ConcurrentHashMap<>();
+	private final ConcurrentSkipListMap<Long, Map.Entry<String, T>> order = new ConcurrentSkipListMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+
+	@Override
+	public T get(Object id) {
+		if (id == null) return null;
+		Slot<T> s = slots.get(id);
+		return s == null ? null : s.value();
+	}
+
+	@Override
+	public boolean containsKey(Object id) { return id != null && slots.containsKey(id); }
+
+	@Override
+	public T put(String id, T value) {
+		Slot<T> old = slots.get(id);
+		long seq = old == null ? sequence.incrementAndGet() : old.seq();
+		order.put(seq, new SimpleImmutableEntry<>(id, value));
+		slots.put(id, new Slot<>(seq, value));
+		return old == null ? null : old.value();
+	}
+
+	@Override
+	public T remove(Object id) {
+		if (id == null) return null;
+		Slot<T> old = slots.remove(id);
+		if (old == null) return null;
+		order.remove(old.seq());
+		return old.value();
+	}
+
+	@Override
+	public int size() { return slots.size(); }
+
+	@Override
+	public void clear() {
+		slots.clear();
+		order.clear();
+	}
+
+	@Override
+	public Set<Map.Entry<String, T>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<Map.Entry<String, T>> iterator() {
+				Iterator<Map.Entry<String, T>> it = order.values().iterator();
+				return new Iterator<>() {
+					private Map.Entry<String, T> last;
+
+					@Override
+					public boolean hasNext() { return it.hasNext(); }
+
+					@Override
+					public Map.Entry<String, T> next() { return last = it.next(); }
+
+					@Override
+					public void remove() {
+						if (last == null) throw new IllegalStateException();
+						EntityTable.this.remove(last.getKey());
+						last = null;
+					}
+				};
+			}
+
+			@Override
+			public int size() { return slots.size(); }
+		};
+	}
+
+	/**
+	 * The entities in insertion order. Unlike the entry set, the values can be split
+	 * into ranges of insertion sequence, so that reports can count them on several workers.
+	 */
+	@Override
+	public Collection<T> values() {
+		return new AbstractCollection<>() {
+			@Override
+			public Iterator<T> iterator() {
+				Iterator<Map.Entry<String, T>> it = entrySet().iterator();
+				return new Iterator<>() {
+					@Override
+					public boolean hasNext() { return it.hasNext(); }
+
+					@Override
+					public T next() { return it.next().getValue(); }
+
+					@Override
+					public void remove() { it.remove(); }
+				};
+			}
+
+			@Override
+			public Spliterator<T> spliterator() { return new Values(1, sequence.get() + 1); }
+
+			@Override
+			public int size() { return slots.size(); }
+		};
+	}
+
+	// The entities inserted with sequence numbers from (inclusive) to (exclusive). Removed
+	// entities leave gaps in the sequence, so the size is an upper bound.
+	private final class Values implements Spliterator<T> {
+		private long from;
+		private final long to;
+		private Iterator<Map.Entry<String, T>> it; // opened on the first read
+
+		Values(long from, long to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (it == null) { it = order.subMap(from, true, to, false).values().iterator(); }
+			if (!it.hasNext()) return false;
+			action.accept(it.next().getValue());
+			return true;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			if (it != null || to - from < 2) return null;
+			long mid = from + (to - from) / 2;
+			Values lower = new Values(from, mid);
+			from = mid;
+			return lower;
+		}
+
+		@Override
+		public long estimateSize() { return to - from; }
+
+		@Override
+		public int characteristics() { return ORDERED | NONNULL | CONCURRENT; }
+	}
+}
@@ -0,0 +1,13 @@
+package entities;
+
+/**
+ * Receives the progress of a ReportExport, on the exporting thread.
+ */
+public interface ExportProgress {
+
+	/**
+	 * @param rows number of rows exported so far
+	 * @param bytes number of bytes written to the file so far
+	 */
+	void exported(long rows, long bytes);
+}
@@ -0,0 +1,50 @@
+package entities;
+
+/**
+ * A notification delivered to one user's inbox. Inboxes are append-only, so a
+ * message never changes once delivered; its sequence number is its position in
+ * the recipient's inbox, starting at 1.
+ */
+public class InboxMessage {
+	private final int seq;
+	private final String recipientID;
+	private final String date; // YYYY-MM-DD
+	private final String message;
+
+	public InboxMessage(int seq, String recipientID, String date, String message) {
+		if (seq < 1) {
+			throw new IllegalArgumentException("Sequence number must be positive: " + seq);
+		}
+		if (recipientID == null || recipientID.trim().isEmpty()) {
+			throw new IllegalArgumentException("Recipient ID cannot be empty");
+		}
+		this.seq = seq;
+		this.recipientID = recipientID;
+		this.date = date;
+		this.message = message;
+	}
+
+	public String[] toCSVRow() { return new String[] {String.valueOf(seq), recipientID, date, message}; }
+
+	/**
+	 * Creates a message from a CSV row.
+	 * @param row seq, recipientID, date, message
+	 * @return the message
+	 * @throws IllegalArgumentException if the row is invalid
+	 */
+	public static InboxMessage fromCSVRow(String[] row) {
+		if (row.length != 4) {
+			throw new IllegalArgumentException("Invalid inbox message row: expected 4 fields, got " + row.length);
+		}
+		try {
+			return new InboxMessage(Integer.parseInt(row[0]), row[1], row[2], row[3]);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid sequence number: " + row[0]);
+		}
+	}
+
+	public int getSequence() { return seq; }
+	public String getRecipientID() { return recipientID; }
+	public String getDate() { return date; }
+	public String getMessage() { return message; }
+}
@@ -10,6 +10,12 @@ import enums.InternshipStatus;
  * Date format: YYYY-MM-DD
  * Opening date must be before closing date.
  * Slots must be positive.
+ *
+ * Taking the last slot marks the internship FILLED and freeing one reopens it. Offers are
+ * accepted and withdrawn inside a Repository transaction, which holds the internship table
+ * lock and rejects a stale copy, so the slot count and the status are changed together.
+ * The version counts committed changes and is used by the Repository to reject stale writes;
+ * it is 0 until the internship is first stored.
  */
 public class Internship {
 	private String iID;
@@ -24,6 +30,7 @@ public class Internship {
 	private String cID;
 	private int slots;
 	private boolean visible;
+	private int version;
 
 	public Internship(String iID, String title, String desc, InternshipLevel lvl, String preferredMajor, String openDate, String closeDate, InternshipStatus status, String companyName, String cID, int slots, boolean visible) {
 		this.iID = iID;
@@ -80,7 +87,27 @@ public class Internship {
 	 * Converts internship data to CSV row format.
 	 * @return array containing all internship fields
 	 */
-	public String[] toCSVRow() { return new String[] {iID, title, desc, lvl.name(), preferredMajor, openDate, closeDate, status.name(), companyName, cID, String.valueOf(slots), String.valueOf(visible)}; }
+	public String[] toCSVRow() { return new String[] {iID, title, desc, lvl.name(), preferredMajor, openDate, closeDate, status.name(), companyName, cID, String.valueOf(slots), String.valueOf(visible), String.valueOf(version)}; }
+
+	/**
+	 * Takes one slot for an accepted offer. Taking the last slot marks the internship FILLED.
+	 * @return false if no slot was left
+	 */
+	public boolean reserveSlot() {
+		if (slots == 0) return false;
+		slots--;
+		if (slots == 0) status = InternshipStatus.FILLED;
+		return true;
+	}
+
+	/**
+	 * Gives back a slot, e.g. when an accepted offer is withdrawn.
+	 * A FILLED internship becomes APPROVED again.
+	 */
+	public void releaseSlot() {
+		slots++;
+		if (status == InternshipStatus.FILLED) status = InternshipStatus.APPROVED;
+	}
 
 	private static boolean isValidDate(String date) {
 		try {
@@ -127,14 +154,14 @@ public class Internship {
 	/**
 	 * Parses a CSV row and creates an Internship object.
 	 * Validates all fields including dates, slots, and required text fields.
-	 * @param s CSV row with 12 fields
+	 * @param s CSV row with 12 fields, or 13 with the version
 	 * @return new Internship instance
 	 * @throws IllegalArgumentException if validation fails
 	 */
 	public static Internship fromCSVRow(String[] s) {
 		// Check CSV row length
-		if (s == null || s.length != 12) {
-			throw new IllegalArgumentException("Invalid CSV row: expected 12 fields, got " + (s == null ? 0 : s.length));
+		if (s == null || (s.length != 12 && s.length != 13)) {
+			throw new IllegalArgumentException("Invalid CSV row: expected 12 or 13 fields, got " + (s == null ? 0 : s.length));
 		}
 
 		try {
@@ -182,7 +209,12 @@ public class Internship {
 			int slots = Integer.parseInt(slotsStr);
 			boolean visible = Boolean.valueOf(visibleStr);
 
-			return new Internship(iID, title, desc, lvl, major, openDate, closeDate, status, company, cID, slots, visible);
+			// the constructor validates new postings; a filled one legitimately has no slots left
+			boolean filled = status == InternshipStatus.FILLED && slots == 0;
+			Internship i = new Internship(iID, title, desc, lvl, major, openDate, closeDate, status, company, cID, filled ? 1 : slots, visible);
+			if (filled) { i.setSlots(0); }
+			i.version = s.length == 13 ? Integer.parseInt(s[12]) : 1;
+			return i;
 		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException("Invalid value in CSV row: " + e.getMessage());
 		}
@@ -200,9 +232,16 @@ public class Internship {
 	public String getCompanyName() { return companyName; }
 	public String getCompanyRepID() { return cID; }
 	public int getSlots() { return slots; }
-	public void setSlots(int slots) { this.slots = slots; }
+	public void setSlots(int slots) {
+		if (slots < 0) {
+			throw new IllegalArgumentException("Slots cannot be negative: " + slots);
+		}
+		this.slots = slots;
+	}
 	public boolean isVisible() { return visible; }
 	public void setVisible(boolean visible) { this.visible = visible; }
+	public int getVersion() { return version; }
+	void setVersion(int version) { this.version = version; }
 
 	// Setters for modifying internship details
 	public void setTitle(String title) {
@@ -0,0 +1,45 @@
+package entities;
+
+import java.util.function.Supplier;
+
+import enums.AccessPath;
+
+/**
+ * How the repository finds the entities of one type that match a report filter:
+ * the access path it chose, the key it uses and how many candidates it expected.
+ * Candidates are then tested against the whole filter, so the plan only decides
+ * how much is read. Returned by Repository.explain for diagnostics.
+ * @param <T> entity type
+ */
+public final class QueryPlan<T> {
+	private final Class<T> entityType;
+	private final AccessPath path;
+	private final String key;
+	private final long estimatedRows;
+	private final Supplier<Iterable<T>> rows;
+
+	QueryPlan(Class<T> entityType, AccessPath path, String key, long estimatedRows, Supplier<Iterable<T>> rows) {
+		this.entityType = entityType;
+		this.path = path;
+		this.key = key;
+		this.estimatedRows = estimatedRows;
+		this.rows = rows;
+	}
+
+	public Class<T> getEntityType() { return entityType; }
+	public AccessPath getAccessPath() { return path; }
+
+	/** @return the looked up key, e.g. "studentID=U1234567A", or empty for a scan */
+	public String getKey() { return key; }
+
+	/** @return number of candidates the plan reads */
+	public long getEstimatedRows() { return estimatedRows; }
+
+	// The candidates, read when the query runs
+	Iterable<T> rows() { return rows.get(); }
+
+	@Override
+	public String toString() {
+		return entityType.getSimpleName() + ": " + path + (key.isEmpty() ? "" : " " + key) + " (" + estimatedRows + " rows)";
+	}
+}
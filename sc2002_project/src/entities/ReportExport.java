@@ -0,0 +1,159 @@
+package entities;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+
+import enums.ExportFormat;
+import utils.CSVEncoder;
+import utils.Json;
+
+/**
+ * Exports the internships, applications and withdrawal requests that match the
+ * filters of a summary report as rows, in the columns of their data files.
+ *
+ * Rows are read along the repository's query plans and written to the file as they
+ * are found, so memory use does not grow with the size of the export. The export is
+ * written to a ".part" file next to the target and only moved over it when complete.
+ * It can be cancelled by interrupting the exporting thread, e.g. by cancelling the
+ * Future it runs in; the partial file is then deleted.
+ */
+public class ReportExport {
+	// rows between two progress reports
+	public static final int PROGRESS_ROWS = 10_000;
+
+	private final Repository repo;
+
+	public ReportExport(Repository repo) { this.repo = repo; }
+
+	/**
+	 * Exports the matching rows to a file, replacing it if it exists.
+	 * @param filters report filters, as for ReportSummary; may be null
+	 * @param format the file format
+	 * @param target the file to write
+	 * @param progress told every PROGRESS_ROWS rows and when done; may be null
+	 * @return number of rows exported
+	 * @throws CancellationException if the thread is interrupted during the export
+	 * @throws IllegalStateException if the file cannot be written
+	 */
+	public long export(Map<String, String> filters, ExportFormat format, Path target, ExportProgress progress) {
+		ReportFilter filter = ReportFilter.compile(filters);
+		Path part = target.resolveSibling(target.getFileName() + ".part");
+		try {
+			long rows;
+			try (Sections out = new Sections(format, Files.newOutputStream(part), progress)) {
+				out.write(Repository.INTERNSHIPS_FILE, repo.planInternships(filter).rows(), filter::matches);
+				out.write(Repository.APPLICATIONS_FILE, repo.planApplications(filter).rows(), filter::matches);
+				out.write(Repository.WITHDRAWALS_FILE, repo.planWithdrawals(filter).rows(), filter::matches);
+				rows = out.finish();
+			}
+			Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return rows;
+		} catch (IOException e) {
+			deletePart(part);
+			throw new IllegalStateException("Failed to export report data to " + target, e);
+		} catch (RuntimeException e) {
+			deletePart(part);
+			throw e;
+		}
+	}
+
+	private static void deletePart(Path part) {
+		try {
+			Files.deleteIfExists(part);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	// Writes the rows of each data file as one section of the export
+	private static class Sections implements AutoCloseable {
+		private final ExportFormat format;
+		private final Counted bytes;
+		private final Writer out;
+		private final ExportProgress progress;
+		private final CSVEncoder encoder = new CSVEncoder();
+		private final StringBuilder line = new StringBuilder();
+		private long rows;
+
+		Sections(ExportFormat format, OutputStream file, ExportProgress progress) {
+			this.format = format;
+			this.bytes = new Counted(file);
+			this.out = new BufferedWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8), 1 << 16);
+			this.progress = progress;
+		}
+
+		<T> void write(String file, Iterable<T> candidates, Predicate<T> filter) throws IOException {
+			String type = Repository.entityType(file).getSimpleName();
+			String[] header = Repository.header(file);
+			if (format == ExportFormat.CSV) {
+				encoder.write(prepend("type", header), out);
+				out.write('\n');
+			}
+			for (T e : candidates) {
+				if (Thread.currentThread().isInterrupted()) {
+					throw new CancellationException("Export cancelled after " + rows + " rows");
+				}
+				if (!filter.test(e)) continue;
+				String[] row = Repository.rowOf(e);
+				if (format == ExportFormat.CSV) {
+					encoder.write(prepend(type, row), out);
+				} else {
+					line.setLength(0);
+					line.append("{\"type\":").append(Json.quote(type));
+					for (int k = 0; k < header.length; k++) {
+						line.append(',').append(Json.quote(header[k])).append(':').append(Json.quote(k < row.length ? row[k] : null));
+					}
+					out.append(line).append('}');
+				}
+				out.write('\n');
+				if (++rows % PROGRESS_ROWS == 0 && progress != null) { progress.exported(rows, bytes.count); }
+			}
+		}
+
+		long finish() throws IOException {
+			out.flush();
+			if (progress != null) { progress.exported(rows, bytes.count); }
+			return rows;
+		}
+
+		@Override
+		public void close() throws IOException { out.close(); }
+
+		private static String[] prepend(String first, String[] row) {
+			String[] l = new String[row.length + 1];
+			l[0] = first;
+			System.arraycopy(row, 0, l, 1, row.length);
+			return l;
+		}
+	}
+
+	// Counts the bytes written through it
+	private static class Counted extends FilterOutputStream {
+		long count;
+
+		Counted(OutputStream out) { super(out); }
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+}
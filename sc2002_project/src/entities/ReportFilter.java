@@ -0,0 +1,148 @@
+package entities;
+
+import java.util.EnumSet;
+import java.util.Map;
+
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+/**
+ * Report filters, compiled once from the filter map so that testing an entity
+ * does no map lookups or parsing. Filters with an empty value are ignored.
+ *
+ * Internships:
+ * - status: (PENDING, APPROVED, REJECTED, FILLED)
+ * - level: (BASIC, INTERMEDIATE, ADVANCED)
+ * - companyName: part of the name, ignoring case
+ * - preferredMajor
+ * - startDate: (closingDate >= startDate)
+ * - endDate: (openingDate <= endDate)
+ * - visible: (true/false)
+ *
+ * Applications:
+ * - status: (PENDING, SUCCESSFUL, UNSUCCESSFUL, WITHDRAWN)
+ * - studentID
+ * - internshipID
+ * - startDate, endDate: (apply date within the range)
+ * - acceptedByStudent: (true/false)
+ *
+ * Withdrawal requests:
+ * - status: (PENDING, APPROVED, REJECTED)
+ * - studentID
+ * - applicationID
+ * - startDate, endDate: (request date within the range)
+ *
+ * The status filter applies to every entity type; a status name that does not
+ * exist for a type matches none of its entities.
+ */
+public final class ReportFilter {
+	public static final ReportFilter NONE = new ReportFilter(null);
+
+	private final boolean empty;
+	// null where the filter is not set
+	private final EnumSet<InternshipStatus> internshipStatus;
+	private final EnumSet<ApplicationStatus> applicationStatus;
+	private final EnumSet<ApprovalStatus> withdrawalStatus;
+	private final EnumSet<InternshipLevel> level;
+	private final String companyName; // lower case
+	private final String preferredMajor;
+	private final String studentID;
+	private final String internshipID;
+	private final String applicationID;
+	private final String startDate;
+	private final String endDate;
+	private final Boolean visible;
+	private final Boolean acceptedByStudent;
+
+	private ReportFilter(Map<String, String> filters) {
+		String status = value(filters, "status");
+		this.internshipStatus = parse(InternshipStatus.class, status);
+		this.applicationStatus = parse(ApplicationStatus.class, status);
+		this.withdrawalStatus = parse(ApprovalStatus.class, status);
+		this.level = parse(InternshipLevel.class, value(filters, "level"));
+		String company = value(filters, "companyName");
+		this.companyName = company == null ? null : company.toLowerCase();
+		this.preferredMajor = value(filters, "preferredMajor");
+		this.studentID = value(filters, "studentID");
+		this.internshipID = value(filters, "internshipID");
+		this.applicationID = value(filters, "applicationID");
+		this.startDate = value(filters, "startDate");
+		this.endDate = value(filters, "endDate");
+		String v = value(filters, "visible");
+		this.visible = v == null ? null : Boolean.parseBoolean(v);
+		String a = value(filters, "acceptedByStudent");
+		this.acceptedByStudent = a == null ? null : Boolean.parseBoolean(a);
+		boolean any = false;
+		if (filters != null) {
+			for (String value : filters.values()) { any |= value != null && !value.isEmpty(); }
+		}
+		this.empty = !any;
+	}
+
+	/**
+	 * @param filters filter values by name; may be null
+	 * @return the compiled filters
+	 */
+	public static ReportFilter compile(Map<String, String> filters) {
+		return filters == null || filters.isEmpty() ? NONE : new ReportFilter(filters);
+	}
+
+	/** @return true if every entity matches */
+	public boolean isEmpty() { return empty; }
+
+	public boolean matches(Internship i) {
+		return (internshipStatus == null || internshipStatus.contains(i.getStatus()))
+			&& (level == null || level.contains(i.getLevel()))
+			&& (companyName == null || (i.getCompanyName() != null && i.getCompanyName().toLowerCase().contains(companyName)))
+			&& (preferredMajor == null || preferredMajor.equals(i.getPreferredMajor()))
+			&& (startDate == null || i.getClosingDate().compareTo(startDate) >= 0)
+			&& (endDate == null || i.getOpeningDate().compareTo(endDate) <= 0)
+			&& (visible == null || visible == i.isVisible());
+	}
+
+	public boolean matches(Application a) {
+		return (applicationStatus == null || applicationStatus.contains(a.getStatus()))
+			&& (studentID == null || studentID.equals(a.getStudentID()))
+			&& (internshipID == null || internshipID.equals(a.getInternshipID()))
+			&& inRange(a.getApplyDate())
+			&& (acceptedByStudent == null || acceptedByStudent == a.isAcceptedByStudent());
+	}
+
+	public boolean matches(WithdrawalRequest w) {
+		return (withdrawalStatus == null || withdrawalStatus.contains(w.getStatus()))
+			&& (studentID == null || studentID.equals(w.getStudentID()))
+			&& (applicationID == null || applicationID.equals(w.getApplicationID()))
+			&& inRange(w.getRequestDate());
+	}
+
+	// Filter values for the query planner, null where not set
+	EnumSet<InternshipStatus> internshipStatuses() { return internshipStatus; }
+	EnumSet<ApplicationStatus> applicationStatuses() { return applicationStatus; }
+	EnumSet<ApprovalStatus> withdrawalStatuses() { return withdrawalStatus; }
+	String studentID() { return studentID; }
+	String internshipID() { return internshipID; }
+	String startDate() { return startDate; }
+	String endDate() { return endDate; }
+
+	private boolean inRange(String date) {
+		return (startDate == null || date.compareTo(startDate) >= 0)
+			&& (endDate == null || date.compareTo(endDate) <= 0);
+	}
+
+	private static String value(Map<String, String> filters, String key) {
+		String v = filters == null ? null : filters.get(key);
+		return v == null || v.isEmpty() ? null : v;
+	}
+
+	// The set of constants named exactly value, empty if there is none, or null without a value
+	private static <E extends Enum<E>> EnumSet<E> parse(Class<E> type, String value) {
+		if (value == null) return null;
+		EnumSet<E> s = EnumSet.noneOf(type);
+		for (E e : type.getEnumConstants()) {
+			if (e.name().equals(value)) s.add(e);
+		}
+		return s;
+	}
+}
@@ -0,0 +1,127 @@
+package entities;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntPredicate;
+
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+/**
+ * Counts of internships, applications and withdrawal requests by status, level,
+ * visibility and student acceptance, as shown in summary reports.
+ *
+ * The repository keeps these counts up to date on every change (see
+ * Repository.getStatistics()), so a summary of all data does not read the entities
+ * at all; a summary of filtered data tests and counts each entity in one pass with of(),
+ * optionally in chunks on several cores.
+ * The counts are stored per combination of attributes, so every breakdown is a sum
+ * over a fixed number of counters.
+ */
+public class ReportStatistics {
+	private static final int STATUSES = InternshipStatus.values().length;
+	private static final int LEVELS = InternshipLevel.values().length;
+	static final int INTERNSHIP_CELLS = STATUSES * LEVELS * 2;
+	static final int APPLICATION_CELLS = ApplicationStatus.values().length * 2;
+	static final int WITHDRAWAL_CELLS = ApprovalStatus.values().length;
+
+	private final long[] internships;
+	private final long[] applications;
+	private final long[] withdrawals;
+
+	ReportStatistics(long[] internships, long[] applications, long[] withdrawals) {
+		this.internships = internships;
+		this.applications = applications;
+		this.withdrawals = withdrawals;
+	}
+
+	/**
+	 * Counts the given entities.
+	 * @param internships internships to count
+	 * @param applications applications to count
+	 * @param withdrawals withdrawal requests to count
+	 * @return their statistics
+	 */
+	public static ReportStatistics of(Collection<Internship> internships, Collection<Application> applications, Collection<WithdrawalRequest> withdrawals) {
+		return of(internships, applications, withdrawals, ReportFilter.NONE);
+	}
+
+	/**
+	 * Counts the given entities that match a filter.
+	 * @param internships internships to test
+	 * @param applications applications to test
+	 * @param withdrawals withdrawal requests to test
+	 * @param filter the compiled report filters
+	 * @return the statistics of the matching entities
+	 */
+	public static ReportStatistics of(Iterable<Internship> internships, Iterable<Application> applications, Iterable<WithdrawalRequest> withdrawals, ReportFilter filter) {
+		long[] i = new long[INTERNSHIP_CELLS];
+		long[] a = new long[APPLICATION_CELLS];
+		long[] w = new long[WITHDRAWAL_CELLS];
+		for (Internship e : internships) {
+			if (filter.matches(e)) i[internshipCell(e)]++;
+		}
+		for (Application e : applications) {
+			if (filter.matches(e)) a[applicationCell(e)]++;
+		}
+		for (WithdrawalRequest e : withdrawals) {
+			if (filter.matches(e)) w[withdrawalCell(e)]++;
+		}
+		return new ReportStatistics(i, a, w);
+	}
+
+	/**
+	 * Counts the given entities that match a filter like of(), but splits each of them
+	 * into chunks that are tested and counted on a fork/join pool, and adds up the
+	 * partial counts. The result is the same as of() gives.
+	 * @param internships internships to test
+	 * @param applications applications to test
+	 * @param withdrawals withdrawal requests to test
+	 * @param filter the compiled report filters
+	 * @param pool the pool to count on
+	 * @return the statistics of the matching entities
+	 */
+	public static ReportStatistics of(Iterable<Internship> internships, Iterable<Application> applications, Iterable<WithdrawalRequest> withdrawals,
+			ReportFilter filter, ForkJoinPool pool) {
+		ChunkCount<Internship> i = new ChunkCount<>(internships.spliterator(), INTERNSHIP_CELLS, e -> filter.matches(e) ? internshipCell(e) : -1);
+		ChunkCount<Application> a = new ChunkCount<>(applications.spliterator(), APPLICATION_CELLS, e -> filter.matches(e) ? applicationCell(e) : -1);
+		ChunkCount<WithdrawalRequest> w = new ChunkCount<>(withdrawals.spliterator(), WITHDRAWAL_CELLS, e -> filter.matches(e) ? withdrawalCell(e) : -1);
+		return pool.invoke(ForkJoinTask.adapt(() -> {
+			ForkJoinTask.invokeAll(i, a, w);
+			return new ReportStatistics(i.join(), a.join(), w.join());
+		}));
+	}
+
+	static int internshipCell(Internship i) { return (i.getStatus().ordinal() * LEVELS + i.getLevel().ordinal()) * 2 + (i.isVisible() ? 1 : 0); }
+	static int applicationCell(Application a) { return a.getStatus().ordinal() * 2 + (a.isAcceptedByStudent() ? 1 : 0); }
+	static int withdrawalCell(WithdrawalRequest w) { return w.getStatus().ordinal(); }
+
+	public long getInternshipCount() { return sum(internships, cell -> true); }
+
+	public long getInternshipCount(InternshipStatus status) { return sum(internships, cell -> cell / (LEVELS * 2) == status.ordinal()); }
+
+	public long getInternshipCount(InternshipLevel level) { return sum(internships, cell -> cell / 2 % LEVELS == level.ordinal()); }
+
+	public long getVisibleInternshipCount() { return sum(internships, cell -> cell % 2 == 1); }
+
+	public long getApplicationCount() { return sum(applications, cell -> true); }
+
+	public long getApplicationCount(ApplicationStatus status) { return sum(applications, cell -> cell / 2 == status.ordinal()); }
+
+	public long getAcceptedApplicationCount() { return sum(applications, cell -> cell % 2 == 1); }
+
+	public long getWithdrawalCount() { return sum(withdrawals, cell -> true); }
+
+	public long getWithdrawalCount(ApprovalStatus status) { return withdrawals[status.ordinal()]; }
+
+	private static long sum(long[] counts, IntPredicate cells) {
+		long n = 0;
+		for (int k = 0; k < counts.length; k++) {
+			if (cells.test(k)) n += counts[k];
+		}
+		return n;
+	}
+}
@@ -1,229 +1,1107 @@
 package entities;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import enums.AccessPath;
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipStatus;
+import enums.PersistenceMode;
 import utils.FileHandler;
+import utils.IDGenerator;
 
 /**
  * Central data repository for the internship management system.
  * Handles loading/saving all entity data from CSV files and provides
  * access methods for CRUD operations.
  *
- * All data is stored in memory using HashMaps for quick lookup.
- * Changes are persisted to CSV files immediately when update methods are called.
+ * All data is stored in memory in EntityTables for quick lookup, in file order. The repository is
+ * thread-safe: reads never block, writes to a table are serialized by that table's lock,
+ * and a transaction holds the locks of the tables it reads or changes until it commits,
+ * so checks made inside a transaction (such as the active application limit) hold when
+ * it commits, while transactions on other tables run alongside it.
+ * In WRITE_THROUGH mode (default) changes are persisted to CSV files immediately
+ * when update methods are called. In JOURNALED mode each change is appended to a
+ * per-entity journal (e.g. applications.journal) and the CSV files are only
+ * rewritten at checkpoints; the journal is replayed on top of the CSV on startup.
+ * In WRITE_BEHIND mode updates only mark the table dirty, and a background flusher
+ * rewrites each dirty CSV file once per flush window. Call close() (or flush())
+ * before exiting so that pending changes are not lost.
+ *
+ * Changes that must succeed or fail together can be made through inTransaction;
+ * they are committed with a single write to the transaction log before the
+ * tables are updated, and replayed from it on startup after a crash.
+ * Every change is also published, with its before and after image, to the
+ * change feed returned by changes().
  */
-public class Repository {
-    private static final String STUDENTS_FILE = "students.csv";
-    private static final String COMPANYREPS_FILE = "companyreps.csv";
-    private static final String STAFFMEMBERS_FILE = "staffmembers.csv";
-    private static final String INTERNSHIPS_FILE = "internships.csv";
-    private static final String APPLICATIONS_FILE = "applications.csv";
-    private static final String WITHDRAWALS_FILE = "withdrawals.csv";
-    private static final String REPORTS_FILE = "reports.csv";
-
-    private Map<String, Student> students = new HashMap<>();
-    private Map<String, CompanyRepresentative> companyReps = new HashMap<>();
-    private Map<String, Staff> staffMembers = new HashMap<>();
-    private Map<String, Internship> internships = new HashMap<>();
-    private Map<String, Application> applications = new HashMap<>();
-    private Map<String, WithdrawalRequest> withdrawals = new HashMap<>();
-    private Map<String, Report> reports = new HashMap<>();
+public class Repository implements AutoCloseable {
+    static final String STUDENTS_FILE = "students.csv";
+    static final String COMPANYREPS_FILE = "companyreps.csv";
+    static final String STAFFMEMBERS_FILE = "staffmembers.csv";
+    static final String INTERNSHIPS_FILE = "internships.csv";
+    static final String APPLICATIONS_FILE = "applications.csv";
+    static final String WITHDRAWALS_FILE = "withdrawals.csv";
+    static final String REPORTS_FILE = "reports.csv";
+    private static final String[] DATA_FILES = {STUDENTS_FILE, COMPANYREPS_FILE, STAFFMEMBERS_FILE, INTERNSHIPS_FILE, APPLICATIONS_FILE, WITHDRAWALS_FILE, REPORTS_FILE};
+    private static final String TRANSACTIONS_FILE = "transactions.journal";
+    // order in which table locks are taken when several are held at once; transactions that
+    // change several tables read them in this order (withdrawal, application, internship)
+    private static final List<String> LOCK_ORDER = List.of(WITHDRAWALS_FILE, APPLICATIONS_FILE, INTERNSHIPS_FILE,
+    	STUDENTS_FILE, COMPANYREPS_FILE, STAFFMEMBERS_FILE, REPORTS_FILE);
+    // how long a transaction waits for a table lock that comes before one it holds in LOCK_ORDER
+    private static final long OUT_OF_ORDER_LOCK_MILLIS = 200;
+
+    private static final String[] STUDENTS_HEADER = {"id", "name", "pw", "email", "year", "major"};
+    private static final String[] COMPANYREPS_HEADER = {"id", "name", "pw", "companyName", "dept", "pos", "approved"};
+    private static final String[] STAFFMEMBERS_HEADER = {"id", "name", "pw", "dept"};
+    private static final String[] INTERNSHIPS_HEADER = {"id", "title", "description", "level", "preferredMajor", "openingDate", "closingDate", "status", "companyName", "repID", "slots", "visible", "version"};
+    private static final String[] APPLICATIONS_HEADER = {"aID", "iID", "sID", "status", "applyDate", "acceptedByStudent", "version"};
+    private static final String[] WITHDRAWALS_HEADER = {"wID", "aID", "sID", "status", "reqDate", "version"};
+    private static final String[] REPORTS_HEADER = {"id", "category", "genDate", "content"};
+    private static final String[] TRANSACTIONS_HEADER = {"txID", "file", "op", "fields"};
+
+    // journal record types: upsert of a full row, or delete by ID
+    private static final String JOURNAL_UPSERT = "U";
+    private static final String JOURNAL_DELETE = "D";
+    // last record of every committed transaction in the transaction log
+    private static final String TX_COMMIT = "COMMIT";
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+    // attempts made by retryOnConflict before the conflict is passed on
+    public static final int CONFLICT_ATTEMPTS = 5;
+    private static final long DEFAULT_FLUSH_WINDOW_MILLIS = 200;
+    // rows per parse task when a table is loaded in parallel
+    private static final int LOAD_CHUNK_ROWS = 4096;
+
+    private final Map<String, Student> students = new EntityTable<>();
+    private final Map<String, CompanyRepresentative> companyReps = new EntityTable<>();
+    private final Map<String, Staff> staffMembers = new EntityTable<>();
+    private final Map<String, Internship> internships = new EntityTable<>();
+    private final Map<String, Application> applications = new EntityTable<>();
+    private final Map<String, WithdrawalRequest> withdrawals = new EntityTable<>();
+    private final Map<String, Report> reports = new EntityTable<>();
+
+    // one write lock per data file; a transaction holds the locks of the tables it touches until it ends
+    private final Map<String, ReentrantLock> tableLocks = new HashMap<>();
+    // guards the transaction log, which commits on disjoint tables share
+    private final Object transactionLog = new Object();
+    private int commitsInProgress = 0;
+    // created by the first call to changes(); written under every table lock
+    private volatile ChangeFeed feed;
+
+    // secondary indexes over applications by student ID, internship ID and "studentID,internshipID";
+    // maintained by reindex() under the table lock, inner maps are keyed by application ID
+    private final Map<String, Map<String, Application>> applicationsByStudent = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Application>> applicationsByInternship = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Application>> applicationsByStudentInternship = new ConcurrentHashMap<>();
+    // internships of each company rep, sorted by internship ID, and how many there are
+    private final Map<String, ConcurrentSkipListMap<String, Internship>> internshipsByCompanyRep = new ConcurrentHashMap<>();
+    private final Map<String, Integer> internshipCountByCompanyRep = new ConcurrentHashMap<>();
+    // status partitions for the staff approval screens
+    private final StatusPartition<Boolean, CompanyRepresentative> companyRepsByApproval = new StatusPartition<>(CompanyRepresentative::isApproved);
+    private final StatusPartition<InternshipStatus, Internship> internshipsByStatus = new StatusPartition<>(Internship::getStatus);
+    private final StatusPartition<ApprovalStatus, WithdrawalRequest> withdrawalsByStatus = new StatusPartition<>(WithdrawalRequest::getStatus);
+    private final StatusPartition<ApplicationStatus, Application> applicationsByStatus = new StatusPartition<>(Application::getStatus);
+    // date indexes for the report query planner
+    private final SortedPartition<String, Internship> internshipsByClosingDate = new SortedPartition<>(Internship::getClosingDate);
+    private final SortedPartition<String, Application> applicationsByDate = new SortedPartition<>(Application::getApplyDate);
+    private final SortedPartition<String, WithdrawalRequest> withdrawalsByDate = new SortedPartition<>(WithdrawalRequest::getRequestDate);
+    // counts behind the summary reports, see getStatistics()
+    private final Tally<Internship> internshipTally = new Tally<>(ReportStatistics.INTERNSHIP_CELLS, ReportStatistics::internshipCell);
+    private final Tally<Application> applicationTally = new Tally<>(ReportStatistics.APPLICATION_CELLS, ReportStatistics::applicationCell);
+    private final Tally<WithdrawalRequest> withdrawalTally = new Tally<>(ReportStatistics.WITHDRAWAL_CELLS, ReportStatistics::withdrawalCell);
+    private final ApplicationCube applicationCube = new ApplicationCube();
+
+    private final PersistenceMode mode;
+    private volatile int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    // number of records in each journal since its last checkpoint, keyed by CSV file
+    private final Map<String, Integer> journalSizes = new ConcurrentHashMap<>();
+
+    // WRITE_BEHIND state: tables changed since the last flush, and the background flusher
+    private final Set<String> dirtyFiles = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService flusher;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile long flushWindowMillis = DEFAULT_FLUSH_WINDOW_MILLIS;
+
+    // number of changes handed to persist() and number of full CSV rewrites actually done
+    private final AtomicLong writesRequested = new AtomicLong();
+    // changes to the tables reports are counted from
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final AtomicLong writesPerformed = new AtomicLong();
+    private long transactionCounter = 0;
+    // time spent loading each table, in nanoseconds
+    private final Map<String, Long> loadTimes = new LinkedHashMap<>();
+    private boolean loadedFromSnapshot = false;
+    private boolean snapshotOnClose = false;
+    // counts filtered reports in chunks when set; null counts them on the calling thread
+    private volatile ForkJoinPool reportPool;
 
     /**
      * Creates a new repository instance and loads all data from CSV files.
      */
-    public Repository() { loadAll(); }
+    public Repository() { this(PersistenceMode.WRITE_THROUGH); }
 
     /**
-     * Loads all entity data from CSV files into memory.
-     * Invalid entries are skipped and logged to stderr.
+     * Creates a new repository instance with the given persistence mode
+     * and loads all data from CSV files and journals.
+     * @param mode how changes are persisted
      */
-    private void loadAll() {
-    	List<String[]> l = FileHandler.readCSV(STUDENTS_FILE);
-    	for (String[] s : l) {
-    		try {
-    			Student s1 = Student.fromCSVRow(s);
-    			students.put(s1.getID(), s1);
-    		} catch (IllegalArgumentException e) {
-    			// Skip invalid entries
-    			System.err.println("Skipping invalid student entry: " + e.getMessage());
-    		}
+    public Repository(PersistenceMode mode) { this(mode, false); }
+
+    /**
+     * Creates a new repository instance with the given persistence mode
+     * and loads all data, optionally loading the tables in parallel.
+     * @param mode how changes are persisted
+     * @param parallelLoad whether to load the tables on parallel workers
+     */
+    public Repository(PersistenceMode mode, boolean parallelLoad) {
+    	this.mode = mode;
+    	for (String file : DATA_FILES) { tableLocks.put(file, new ReentrantLock()); }
+    	loadAll(parallelLoad);
+    	if (mode == PersistenceMode.WRITE_BEHIND) {
+    		flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+    			Thread t = new Thread(r, "repository-flusher");
+    			t.setDaemon(true);
+    			return t;
+    		});
     	}
-    	l = FileHandler.readCSV(COMPANYREPS_FILE);
-    	for (String[] s : l) {
+    }
+
+    /**
+     * Loads all entity data into memory, from the binary snapshot if it is newer than
+     * every CSV file and otherwise from the CSV files, one streamed row at a time.
+     * Then replays each entity's journal and the transaction log on top of it.
+     * Secondary indexes are filled as entities are loaded, so they follow file order.
+     * With parallelLoad every table is loaded on its own worker and large files are
+     * parsed in chunks across cores. Invalid entries are skipped and logged to stderr.
+     * Finally the ID counters are seeded from the loaded IDs.
+     */
+    private void loadAll(boolean parallelLoad) {
+    	Map<String, Long> snapshotTimes = Snapshot.isFresh(DATA_FILES) ? Snapshot.read(this, DATA_FILES) : null;
+    	if (snapshotTimes != null) {
+    		loadedFromSnapshot = true;
+    		loadTimes.putAll(snapshotTimes);
+    	} else if (parallelLoad) {
+    		clearTables();
+    		ExecutorService loaders = Executors.newFixedThreadPool(DATA_FILES.length, r -> {
+    			Thread t = new Thread(r, "repository-loader");
+    			t.setDaemon(true);
+    			return t;
+    		});
     		try {
-    			CompanyRepresentative c = CompanyRepresentative.fromCSVRow(s);
-    			companyReps.put(c.getID(), c);
-    		} catch (IllegalArgumentException e) {
-    			// Skip invalid entries
-    			System.err.println("Skipping invalid company rep entry: " + e.getMessage());
+    			Map<String, Future<Long>> loads = new LinkedHashMap<>();
+    			for (String file : DATA_FILES) {
+    				loads.put(file, loaders.submit(() -> timed(() -> loadTable(file, true))));
+    			}
+    			for (Map.Entry<String, Future<Long>> load : loads.entrySet()) {
+    				loadTimes.put(load.getKey(), load.getValue().get());
+    			}
+    		} catch (InterruptedException e) {
+    			Thread.currentThread().interrupt();
+    			throw new IllegalStateException("Interrupted while loading data", e);
+    		} catch (ExecutionException e) {
+    			throw new IllegalStateException("Failed to load data", e.getCause());
+    		} finally {
+    			loaders.shutdown();
     		}
-    	}
-    	l = FileHandler.readCSV(STAFFMEMBERS_FILE);
-    	for (String[] s: l) {
-    		try {
-    			Staff s1 = Staff.fromCSVRow(s);
-    			staffMembers.put(s1.getID(), s1);
-    		} catch (IllegalArgumentException e) {
-    			// Skip invalid entries
-    			System.err.println("Skipping invalid staff entry: " + e.getMessage());
+    	} else {
+    		clearTables();
+    		for (String file : DATA_FILES) {
+    			loadTimes.put(file, timed(() -> loadTable(file, false)));
     		}
     	}
-    	l = FileHandler.readCSV(INTERNSHIPS_FILE);
-    	for (String[] s: l) {
-    		try {
-    			Internship i = Internship.fromCSVRow(s);
-    			internships.put(i.getInternshipID(), i);
-    		} catch (IllegalArgumentException e) {
-    			// Skip invalid entries
-    			System.err.println("Skipping invalid internship entry: " + e.getMessage());
-    		}
+    	// journals are cheap and order-sensitive, so they are always replayed on this thread
+    	for (String file : DATA_FILES) {
+    		long start = System.nanoTime();
+    		replayJournal(file);
+    		loadTimes.merge(file, System.nanoTime() - start, Long::sum);
     	}
-    	l = FileHandler.readCSV(APPLICATIONS_FILE);
-    	for (String[] s: l) {
-    		try {
-    			Application a = Application.fromCSVRow(s);
-    			applications.put(a.getApplicationID(), a);
-    		} catch (IllegalArgumentException e) {
-    			// Skip invalid entries
-    			System.err.println("Skipping invalid application entry: " + e.getMessage());
-    		}
+    	replayTransactions();
+    	IDGenerator.initialize(internships.keySet(), applications.keySet(), withdrawals.keySet(), reports.keySet());
+    }
+
+    /**
+     * Reads one CSV file into its table. When chunked, rows are handed to the common
+     * fork/join pool in chunks of LOAD_CHUNK_ROWS for parsing and validation, and the
+     * results are put into the table in file order so that later rows still win.
+     */
+    private <T> void loadTable(String file, boolean chunked) {
+    	String label = label(file);
+    	if (!chunked) {
+    		FileHandler.readCSV(file, row -> {
+    			T t = parseEntry(file, row, label);
+    			if (t != null) { load(file, t); }
+    		});
+    		return;
     	}
-    	l = FileHandler.readCSV(WITHDRAWALS_FILE);
-    	for (String[] s: l) {
-    		try {
-    			WithdrawalRequest w = WithdrawalRequest.fromCSVRow(s);
-    			withdrawals.put(w.getRequestID(), w);
-    		} catch (IllegalArgumentException e) {
-    			// Skip invalid entries
-    			System.err.println("Skipping invalid withdrawal entry: " + e.getMessage());
+    	List<CompletableFuture<List<T>>> chunks = new ArrayList<>();
+    	List<List<String[]>> pending = new ArrayList<>(List.of(new ArrayList<>()));
+    	FileHandler.readCSV(file, row -> {
+    		List<String[]> chunk = pending.get(0);
+    		chunk.add(row);
+    		if (chunk.size() == LOAD_CHUNK_ROWS) {
+    			chunks.add(CompletableFuture.supplyAsync(() -> parseChunk(file, chunk, label)));
+    			pending.set(0, new ArrayList<>());
     		}
+    	});
+    	chunks.add(CompletableFuture.completedFuture(parseChunk(file, pending.get(0), label)));
+    	for (CompletableFuture<List<T>> chunk : chunks) {
+    		for (T t : chunk.join()) { load(file, t); }
     	}
-    	l = FileHandler.readCSV(REPORTS_FILE);
-    	for (String[] s: l) {
-    		try {
-    			Report r = Report.fromCSVRow(s);
-    			reports.put(r.getID(), r);
-    		} catch (IllegalArgumentException e) {
-    			// Skip invalid entries
-    			System.err.println("Skipping invalid report entry: " + e.getMessage());
-    		}
+    }
+
+    // Puts a loaded entity into its table and indexes; tables are loaded by one thread each
+    void load(String file, Object e) { reindex(file, table(file).put(idOf(e), e), e); }
+
+    // Drops whatever a failed snapshot read left behind
+    private void clearTables() {
+    	for (String file : DATA_FILES) { table(file).clear(); }
+    	dataVersion.incrementAndGet();
+    	applicationsByStudent.clear();
+    	applicationsByInternship.clear();
+    	applicationsByStudentInternship.clear();
+    	internshipsByCompanyRep.clear();
+    	internshipCountByCompanyRep.clear();
+    	companyRepsByApproval.clear();
+    	internshipsByStatus.clear();
+    	withdrawalsByStatus.clear();
+    	applicationsByStatus.clear();
+    	internshipsByClosingDate.clear();
+    	applicationsByDate.clear();
+    	applicationCube.clear();
+    	withdrawalsByDate.clear();
+    	internshipTally.clear();
+    	applicationTally.clear();
+    	withdrawalTally.clear();
+    }
+
+    private <T> List<T> parseChunk(String file, List<String[]> rows, String label) {
+    	List<T> l = new ArrayList<>(rows.size());
+    	for (String[] row : rows) {
+    		T t = parseEntry(file, row, label);
+    		if (t != null) { l.add(t); }
     	}
+    	return l;
     }
-    
-    public void saveStudents() {
-        List<String[]> l = new ArrayList<>();
-        for (Student s : students.values()) { l.add(s.toCSVRow()); }
-        String[] header = {"id", "name", "pw", "email", "year", "major"};
-        FileHandler.writeCSV(STUDENTS_FILE, l, header);
-    }
-    public void saveCompanyReps() {
-        List<String[]> l = new ArrayList<>();
-        for (CompanyRepresentative c : companyReps.values()) { l.add(c.toCSVRow()); }
-        String[] header = {"id", "name", "pw", "companyName", "dept", "pos", "approved"};
-        FileHandler.writeCSV(COMPANYREPS_FILE, l, header);
-    }
-    public void saveStaffMembers() {
-        List<String[]> l = new ArrayList<>();
-        for (Staff s : staffMembers.values()) { l.add(s.toCSVRow()); }
-        String[] header = {"id", "name", "pw", "dept"};
-        FileHandler.writeCSV(STAFFMEMBERS_FILE, l, header);
-    }
-    public void saveInternships() {
-        List<String[]> l = new ArrayList<>();
-        for (Internship i : internships.values()) { l.add(i.toCSVRow()); }
-        String[] header = {"id", "title", "description", "level", "preferredMajor", "openingDate", "closingDate", "status", "companyName", "repID", "slots", "visible"};
-        FileHandler.writeCSV(INTERNSHIPS_FILE, l, header);
-    }
-    public void saveApplications() {
-        List<String[]> l = new ArrayList<>();
-        for (Application a : applications.values()) { l.add(a.toCSVRow()); }
-        String[] header = {"aID", "iID", "sID", "status", "applyDate", "acceptedByStudent"};
-        FileHandler.writeCSV(APPLICATIONS_FILE, l, header);
-    }
-    public void saveWithdrawals() {
-        List<String[]> l = new ArrayList<>();
-        for (WithdrawalRequest w : withdrawals.values()) { l.add(w.toCSVRow()); }
-        String[] header = {"wID", "aID", "sID", "status", "reqDate"};
-        FileHandler.writeCSV(WITHDRAWALS_FILE, l, header);
-    }
-    public void saveReports() {
-        List<String[]> l = new ArrayList<>();
-        for (Report r : reports.values()) { l.add(r.toCSVRow()); }
-        String[] header = {"id", "category", "genDate", "content"};
-        FileHandler.writeCSV(REPORTS_FILE, l, header);
+
+    @SuppressWarnings("unchecked")
+    private static <T> T parseEntry(String file, String[] row, String label) {
+    	try {
+    		return (T) parse(file, row);
+    	} catch (IllegalArgumentException e) {
+    		// Skip invalid entries
+    		System.err.println("Skipping invalid " + label + " entry: " + e.getMessage());
+    		return null;
+    	}
+    }
+
+    private static long timed(Runnable r) {
+    	long start = System.nanoTime();
+    	r.run();
+    	return System.nanoTime() - start;
     }
+
+    /**
+     * Gets how long each table took to load, including its journal replay.
+     * @return load time in milliseconds, keyed by CSV file name in load order
+     */
+    public Map<String, Long> getLoadTimes() {
+    	Map<String, Long> l = new LinkedHashMap<>();
+    	loadTimes.forEach((file, nanos) -> l.put(file, TimeUnit.NANOSECONDS.toMillis(nanos)));
+    	return l;
+    }
+    
+    public void saveStudents() { save(STUDENTS_FILE); }
+    public void saveCompanyReps() { save(COMPANYREPS_FILE); }
+    public void saveStaffMembers() { save(STAFFMEMBERS_FILE); }
+    public void saveInternships() { save(INTERNSHIPS_FILE); }
+    public void saveApplications() { save(APPLICATIONS_FILE); }
+    public void saveWithdrawals() { save(WITHDRAWALS_FILE); }
+    public void saveReports() { save(REPORTS_FILE); }
     
     /**
      * Updates or adds a student record and persists to CSV.
      * @param s the student to update
      */
-    public void updateStudent(Student s) {
-    	students.put(s.getID(), s);
-    	saveStudents();
-    }
+    public void updateStudent(Student s) { upsert(STUDENTS_FILE, s.getID(), s); }
 
     /**
      * Updates or adds a company rep record and persists to CSV.
      * @param c the company representative to update
      */
-    public void updateCompanyRep(CompanyRepresentative c) {
-    	companyReps.put(c.getID(), c);
-    	saveCompanyReps();
-    }
+    public void updateCompanyRep(CompanyRepresentative c) { upsert(COMPANYREPS_FILE, c.getID(), c); }
 
     /**
      * Updates or adds a staff member record and persists to CSV.
      * @param s the staff member to update
      */
-    public void updateStaff(Staff s) {
-    	staffMembers.put(s.getID(), s);
-    	saveStaffMembers();
-    }
+    public void updateStaff(Staff s) { upsert(STAFFMEMBERS_FILE, s.getID(), s); }
 
     /**
      * Updates or adds an internship record and persists to CSV.
      * @param i the internship to update
+     * @throws ConflictException if i is a copy of an older version than the stored one
      */
-    public void updateInternship(Internship i) {
-    	internships.put(i.getInternshipID(), i);
-    	saveInternships();
-    }
+    public void updateInternship(Internship i) { upsert(INTERNSHIPS_FILE, i.getInternshipID(), i); }
 
     /**
      * Updates or adds an application record and persists to CSV.
      * @param a the application to update
+     * @throws ConflictException if a is a copy of an older version than the stored one
      */
-    public void updateApplication(Application a) {
-    	applications.put(a.getApplicationID(), a);
-    	saveApplications();
-    }
+    public void updateApplication(Application a) { upsert(APPLICATIONS_FILE, a.getApplicationID(), a); }
 
     /**
      * Updates or adds a withdrawal request and persists to CSV.
      * @param w the withdrawal request to update
+     * @throws ConflictException if w is a copy of an older version than the stored one
      */
-    public void updateWithdrawal(WithdrawalRequest w) {
-    	withdrawals.put(w.getRequestID(), w);
-    	saveWithdrawals();
-    }
+    public void updateWithdrawal(WithdrawalRequest w) { upsert(WITHDRAWALS_FILE, w.getRequestID(), w); }
 
     /**
      * Updates or adds a report and persists to CSV.
      * @param r the report to update
      */
-    public void updateReport(Report r) {
-    	reports.put(r.getID(), r);
-    	saveReports();
-    }
+    public void updateReport(Report r) { upsert(REPORTS_FILE, r.getID(), r); }
 
+    /**
+     * Removes an internship record and persists the removal.
+     * @param iID the internship ID
+     */
     public void removeInternship(String iID) {
-    	internships.remove(iID);
-    	saveInternships();
+    	ReentrantLock lock = tableLocks.get(INTERNSHIPS_FILE);
+    	lock.lock();
+    	try {
+    		Internship removed = internships.remove(iID);
+    		reindex(INTERNSHIPS_FILE, removed, null);
+    		persist(INTERNSHIPS_FILE, JOURNAL_DELETE, new String[] {iID});
+    		if (removed != null) { publish(INTERNSHIPS_FILE, iID, null); }
+    	} finally {
+    		lock.unlock();
+    	}
+    }
+
+    // Puts an entity into its table and persists it, under the table's lock
+    private void upsert(String file, String id, Object e) {
+    	ReentrantLock lock = tableLocks.get(file);
+    	lock.lock();
+    	try {
+    		Map<String, Object> table = table(file);
+    		stamp(table.get(id), e);
+    		reindex(file, table.put(id, e), e);
+    		String[] row = rowOf(e);
+    		persist(file, JOURNAL_UPSERT, row);
+    		publish(file, id, row);
+    	} finally {
+    		lock.unlock();
+    	}
+    }
+
+    /**
+     * Gets the feed of changes made to this repository, creating it on first use.
+     * Only changes made after that are in the feed.
+     * @return the change feed
+     */
+    public ChangeFeed changes() {
+    	ChangeFeed f = feed;
+    	if (f != null) return f;
+    	List<ReentrantLock> locks = new ArrayList<>();
+    	for (String file : LOCK_ORDER) { locks.add(tableLocks.get(file)); }
+    	locks.forEach(ReentrantLock::lock);
+    	try {
+    		if (feed == null) {
+    			f = new ChangeFeed(ChangeFeed.DEFAULT_RETENTION);
+    			for (String file : DATA_FILES) {
+    				for (Map.Entry<String, Object> e : this.<Object>table(file).entrySet()) { f.seed(file, e.getKey(), rowOf(e.getValue())); }
+    			}
+    			feed = f;
+    		}
+    		return feed;
+    	} finally {
+    		locks.forEach(ReentrantLock::unlock);
+    	}
+    }
+
+    // Adds a change to the feed, if there is one; called with the table lock held
+    private void publish(String file, String id, String[] row) {
+    	ChangeFeed f = feed;
+    	if (f != null) { f.record(entityType(file), file, id, row); }
+    }
+
+    /**
+     * Runs work as one transaction. Changes made through the Transaction are buffered
+     * and committed together when work returns; if work throws, nothing is written.
+     * Entities read through the Transaction are private copies, so the repository never
+     * sees their changes unless the transaction commits.
+     * A transaction takes the lock of each table the first time it reads or changes it and
+     * keeps it until it ends, so transactions on other tables, and readers, never wait for it.
+     * Plain update calls made by the transaction's own thread still proceed; if one changed
+     * an entity the transaction also changes, the commit fails with a ConflictException.
+     * It also fails with one if a table lock taken out of LOCK_ORDER stays busy, since the
+     * holder may be waiting for a table this transaction holds; see retryOnConflict.
+     * @param work the changes to make
+     */
+    public void runInTransaction(Consumer<Transaction> work) {
+    	inTransaction(tx -> {
+    		work.accept(tx);
+    		return null;
+    	});
+    }
+
+    /**
+     * Runs work as one transaction and returns its result.
+     * @param work the changes to make
+     * @return the value returned by work
+     * @see #runInTransaction(Consumer)
+     */
+    public <T> T inTransaction(Function<Transaction, T> work) {
+    	Transaction tx = new Transaction(this);
+    	try {
+    		T result = work.apply(tx);
+    		if (!tx.getWrites().isEmpty()) { commitLocked(tx.getWrites()); }
+    		return result;
+    	} finally {
+    		tx.unlockTables();
+    	}
+    }
+
+    /**
+     * Takes the lock of a table for a transaction, which keeps it until it ends. A table that
+     * comes after every held one in LOCK_ORDER is waited for; any other only for
+     * OUT_OF_ORDER_LOCK_MILLIS, since its holder may be waiting for one of the held tables.
+     * @param file data file to lock
+     * @param held data files whose locks the transaction already holds
+     * @throws ConflictException if the lock stayed busy; nothing has been written, so the transaction can be retried
+     */
+    void lockForTransaction(String file, Collection<String> held) {
+    	ReentrantLock lock = tableLocks.get(file);
+    	int rank = LOCK_ORDER.indexOf(file);
+    	if (held.stream().allMatch(f -> LOCK_ORDER.indexOf(f) < rank)) {
+    		lock.lock();
+    		return;
+    	}
+    	try {
+    		if (lock.tryLock(OUT_OF_ORDER_LOCK_MILLIS, TimeUnit.MILLISECONDS)) return;
+    	} catch (InterruptedException e) {
+    		Thread.currentThread().interrupt();
+    	}
+    	throw new ConflictException(file);
+    }
+
+    // Releases the table locks of a transaction
+    void unlockForTransaction(Collection<String> held) {
+    	for (String file : held) { tableLocks.get(file).unlock(); }
+    }
+
+    /**
+     * Runs work again while it fails with a ConflictException, up to CONFLICT_ATTEMPTS times.
+     * Work must read the entities it changes afresh on every attempt, typically by running
+     * a transaction.
+     * @param work the read-modify-write to run
+     * @return the value returned by the successful attempt
+     * @throws ConflictException if every attempt conflicted
+     */
+    public static <T> T retryOnConflict(Supplier<T> work) {
+    	for (int attempt = 1; ; attempt++) {
+    		try {
+    			return work.get();
+    		} catch (ConflictException e) {
+    			if (attempt == CONFLICT_ATTEMPTS) throw e;
+    		}
+    	}
+    }
+
+    /**
+     * Runs work again while it fails with a ConflictException.
+     * @param work the read-modify-write to run
+     * @see #retryOnConflict(Supplier)
+     */
+    public static void retryOnConflict(Runnable work) {
+    	retryOnConflict(() -> {
+    		work.run();
+    		return null;
+    	});
+    }
+
+    /**
+     * Rewrites every CSV file from memory and empties all journals.
+     * Only has an effect on disk in JOURNALED mode, where it bounds the startup replay.
+     */
+    public void checkpoint() {
+    	for (String file : DATA_FILES) {
+    		ReentrantLock lock = tableLocks.get(file);
+    		lock.lock();
+    		try {
+    			if (journalSizes.getOrDefault(file, 0) > 0) { checkpoint(file); }
+    		} finally {
+    			lock.unlock();
+    		}
+    	}
+    }
+
+    /**
+     * Sets how many journal records an entity may accumulate before its CSV file
+     * is rewritten automatically.
+     * @param interval number of records, must be positive
+     */
+    public void setCheckpointInterval(int interval) {
+    	if (interval <= 0) {
+    		throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+    	}
+    	this.checkpointInterval = interval;
+    }
+
+    public PersistenceMode getPersistenceMode() { return mode; }
+
+    /**
+     * Gets the number of journal records written since the last checkpoint of a CSV file.
+     * @param file CSV file name, e.g. "applications.csv"
+     * @return number of pending journal records
+     */
+    public int getJournalSize(String file) { return journalSizes.getOrDefault(file, 0); }
+
+    /**
+     * Writes every table changed since the last flush to its CSV file, one write per table.
+     * Only has an effect in WRITE_BEHIND mode. Each write runs under its table's lock,
+     * so only writers to that table wait for it. Changes made during a flush schedule the next one.
+     */
+    public void flush() {
+    	flushScheduled.set(false);
+    	for (String file : DATA_FILES) {
+    		if (!dirtyFiles.remove(file)) continue;
+    		ReentrantLock lock = tableLocks.get(file);
+    		lock.lock();
+    		try {
+    			save(file);
+    		} finally {
+    			lock.unlock();
+    		}
+    	}
+    }
+
+    /**
+     * Makes all pending changes durable: flushes WRITE_BEHIND tables and stops the flusher,
+     * or checkpoints the journals in JOURNALED mode.
+     */
+    @Override
+    public void close() {
+    	if (mode == PersistenceMode.WRITE_BEHIND) {
+    		flush();
+    		flusher.shutdown();
+    	} else {
+    		checkpoint();
+    	}
+    	if (snapshotOnClose) { writeSnapshot(); }
+    }
+
+    /**
+     * Writes all tables to a binary snapshot next to the CSV files. On the next start the
+     * snapshot is loaded instead of the CSV files, as long as none of them changed since.
+     * Pending WRITE_BEHIND changes are flushed first, so the CSV files and the snapshot agree.
+     * @return true if the snapshot was written
+     */
+    public boolean writeSnapshot() {
+    	if (mode == PersistenceMode.WRITE_BEHIND) { flush(); }
+    	// hold every lock, so that the snapshot contains no half-committed transaction
+    	for (String file : LOCK_ORDER) { tableLocks.get(file).lock(); }
+    	try {
+    		return Snapshot.write(this, DATA_FILES);
+    	} finally {
+    		for (String file : LOCK_ORDER) { tableLocks.get(file).unlock(); }
+    	}
+    }
+
+    /**
+     * Sets whether close() also writes a binary snapshot, for a fast next start.
+     * @param enabled true to write a snapshot on close
+     */
+    public void setSnapshotOnClose(boolean enabled) { this.snapshotOnClose = enabled; }
+
+    /** @return true if this repository was loaded from the binary snapshot instead of the CSV files */
+    public boolean isLoadedFromSnapshot() { return loadedFromSnapshot; }
+
+    /**
+     * Sets how long the WRITE_BEHIND flusher waits after the first change
+     * before writing, so that all changes made within the window share one write per table.
+     * @param millis window in milliseconds, must not be negative
+     */
+    public void setFlushWindow(long millis) {
+    	if (millis < 0) {
+    		throw new IllegalArgumentException("Flush window cannot be negative: " + millis);
+    	}
+    	this.flushWindowMillis = millis;
+    }
+
+    /** @return number of changes passed to the persistence layer */
+    public long getWritesRequested() { return writesRequested.get(); }
+
+    /** @return number of full CSV file rewrites performed */
+    public long getWritesPerformed() { return writesPerformed.get(); }
+
+    /** @return number of changes that were saved without a CSV rewrite of their own */
+    public long getCoalescedWrites() { return Math.max(0, writesRequested.get() - writesPerformed.get()); }
+
+    // Persists one changed row according to the persistence mode
+    private void persist(String file, String op, String[] row) {
+    	writesRequested.incrementAndGet();
+    	switch (mode) {
+    	case WRITE_THROUGH -> save(file);
+    	case JOURNALED -> journal(file, op, row);
+    	case WRITE_BEHIND -> markDirty(file);
+    	}
+    }
+
+    private void journal(String file, String op, String[] row) {
+    	journal(file, List.<String[]>of(journalRecord(op, row)));
+    }
+
+    private void journal(String file, List<String[]> records) {
+    	FileHandler.appendCSV(FileHandler.journalFile(file), records, journalHeader(file));
+    	if (journalSizes.merge(file, records.size(), Integer::sum) >= checkpointInterval) {
+    		checkpoint(file);
+    	}
+    }
+
+    private static String[] journalRecord(String op, String[] row) {
+    	String[] record = new String[row.length + 1];
+    	record[0] = op;
+    	System.arraycopy(row, 0, record, 1, row.length);
+    	return record;
+    }
+
+    /**
+     * Commits the buffered changes of a transaction. Called with the locks of all written
+     * tables held by the transaction.
+     * The transaction log append is the commit point: once it is on disk the changes are
+     * replayed after a crash, even if the tables below were only partly written.
+     * Commits on other tables may append to the log at the same time, so it is only
+     * emptied once no commit is between its append and its last table write.
+     */
+    private void commitLocked(Map<String, Map<String, Object>> writes) {
+    	// validate every version before the commit point, so a conflict writes nothing
+    	writes.forEach((file, changes) -> changes.forEach((id, e) -> {
+    		if (e != null) { checkVersion(table(file).get(id), e); }
+    	}));
+    	List<String[]> log = new ArrayList<>();
+    	synchronized (transactionLog) {
+    		String txID = System.currentTimeMillis() + "-" + (++transactionCounter);
+    		writes.forEach((file, changes) -> changes.forEach((id, e) ->
+    			log.add(transactionRecord(txID, file, e == null ? JOURNAL_DELETE : JOURNAL_UPSERT, e == null ? new String[] {id} : rowOf(e)))));
+    		log.add(new String[] {txID, TX_COMMIT});
+    		FileHandler.appendCSV(TRANSACTIONS_FILE, log, TRANSACTIONS_HEADER);
+    		commitsInProgress++;
+    	}
+    	boolean applied = false;
+    	try {
+    		applyCommitted(writes);
+    		applied = true;
+    	} finally {
+    		synchronized (transactionLog) {
+    			// every change is in its table now, so the log entries are no longer needed
+    			if (--commitsInProgress == 0 && applied) { FileHandler.writeCSV(TRANSACTIONS_FILE, new ArrayList<>(), TRANSACTIONS_HEADER); }
+    		}
+    	}
+    }
+
+    // Puts the changes of a committed transaction into their tables and persists them,
+    // then adds them to the change feed as consecutive events
+    private void applyCommitted(Map<String, Map<String, Object>> writes) {
+    	ChangeFeed f = feed;
+    	List<ChangeFeed.Change> events = new ArrayList<>();
+    	writes.forEach((file, changes) -> {
+    		Map<String, Object> table = table(file);
+    		List<String[]> records = new ArrayList<>();
+    		changes.forEach((id, e) -> {
+    			if (e == null) {
+    				Object removed = table.remove(id);
+    				reindex(file, removed, null);
+    				records.add(journalRecord(JOURNAL_DELETE, new String[] {id}));
+    				if (removed != null && f != null) { events.add(f.change(entityType(file), file, id, null)); }
+    			} else {
+    				stamp(table.get(id), e);
+    				reindex(file, table.put(id, e), e);
+    				String[] row = rowOf(e);
+    				records.add(journalRecord(JOURNAL_UPSERT, row));
+    				if (f != null) { events.add(f.change(entityType(file), file, id, row)); }
+    			}
+    		});
+    		writesRequested.addAndGet(changes.size());
+    		if (mode == PersistenceMode.JOURNALED) {
+    			journal(file, records);
+    		} else {
+    			// a commit is a durability point, also in WRITE_BEHIND mode
+    			dirtyFiles.remove(file);
+    			save(file);
+    		}
+    	});
+    	if (f != null) { f.recordTogether(events); }
+    }
+
+    private static String[] transactionRecord(String txID, String file, String op, String[] row) {
+    	String[] record = new String[row.length + 3];
+    	record[0] = txID;
+    	record[1] = file;
+    	record[2] = op;
+    	System.arraycopy(row, 0, record, 3, row.length);
+    	return record;
+    }
+
+    /**
+     * Re-applies every transaction in the log that has a commit record, then writes the
+     * affected tables and empties the log. Transactions without a commit record were
+     * interrupted before their commit point and are ignored.
+     */
+    private void replayTransactions() {
+    	if (!FileHandler.exists(TRANSACTIONS_FILE)) return;
+    	Map<String, List<String[]>> pending = new LinkedHashMap<>();
+    	Set<String> committed = new LinkedHashSet<>();
+    	FileHandler.readCSV(TRANSACTIONS_FILE, r -> {
+    		if (r.length == 2 && r[1].equals(TX_COMMIT)) {
+    			committed.add(r[0]);
+    		} else if (r.length >= 4) {
+    			pending.computeIfAbsent(r[0], k -> new ArrayList<>()).add(r);
+    		}
+    	});
+    	Set<String> touched = new LinkedHashSet<>();
+    	for (String txID : committed) {
+    		for (String[] r : pending.getOrDefault(txID, List.of())) {
+    			String file = r[1];
+    			String[] row = Arrays.copyOfRange(r, 3, r.length);
+    			try {
+    				if (r[2].equals(JOURNAL_DELETE)) {
+    					reindex(file, table(file).remove(row[0]), null);
+    				} else {
+    					load(file, parse(file, row));
+    				}
+    				touched.add(file);
+    			} catch (IllegalArgumentException e) {
+    				// Skip invalid entries
+    				System.err.println("Skipping invalid transaction entry: " + e.getMessage());
+    			}
+    		}
+    	}
+    	for (String file : touched) { checkpoint(file); }
+    	FileHandler.writeCSV(TRANSACTIONS_FILE, new ArrayList<>(), TRANSACTIONS_HEADER);
+    }
+
+    // Called with the table lock held; the first change in a window schedules the flush
+    private void markDirty(String file) {
+    	dirtyFiles.add(file);
+    	if (flushScheduled.compareAndSet(false, true)) {
+    		flusher.schedule(this::flush, flushWindowMillis, TimeUnit.MILLISECONDS);
+    	}
+    }
+
+    // Rewrites the CSV file first, then truncates the journal; replaying a journal twice is harmless
+    private void checkpoint(String file) {
+    	save(file);
+    	FileHandler.writeCSV(FileHandler.journalFile(file), new ArrayList<>(), journalHeader(file));
+    	journalSizes.put(file, 0);
+    }
+
+    /**
+     * Applies the journal records of one entity type on top of the loaded CSV data.
+     * Outside JOURNALED mode a leftover journal is folded into the CSV file straight away,
+     * so that it cannot be replayed over newer CSV data later.
+     */
+    private void replayJournal(String file) {
+    	String journal = FileHandler.journalFile(file);
+    	if (!FileHandler.exists(journal)) return;
+    	Map<String, Object> table = table(file);
+    	String label = label(file);
+    	int[] records = {0};
+    	FileHandler.readCSV(journal, r -> {
+    		records[0]++;
+    		if (r.length < 2) {
+    			System.err.println("Skipping invalid " + label + " journal entry: missing fields");
+    			return;
+    		}
+    		try {
+    			if (r[0].equals(JOURNAL_DELETE)) {
+    				reindex(file, table.remove(r[1]), null);
+    			} else {
+    				load(file, parse(file, Arrays.copyOfRange(r, 1, r.length)));
+    			}
+    		} catch (IllegalArgumentException e) {
+    			// Skip invalid entries
+    			System.err.println("Skipping invalid " + label + " journal entry: " + e.getMessage());
+    		}
+    	});
+    	journalSizes.put(file, records[0]);
+    	if (mode != PersistenceMode.JOURNALED && records[0] > 0) {
+    		checkpoint(file);
+    	}
+    }
+
+    private void save(String file) {
+    	FileHandler.writeCSV(file, rows(file), header(file));
+    	writesPerformed.incrementAndGet();
+    }
+
+    private List<String[]> rows(String file) {
+    	return switch (file) {
+    	case STUDENTS_FILE -> rows(students.values(), Student::toCSVRow);
+    	case COMPANYREPS_FILE -> rows(companyReps.values(), CompanyRepresentative::toCSVRow);
+    	case STAFFMEMBERS_FILE -> rows(staffMembers.values(), Staff::toCSVRow);
+    	case INTERNSHIPS_FILE -> rows(internships.values(), Internship::toCSVRow);
+    	case APPLICATIONS_FILE -> rows(applications.values(), Application::toCSVRow);
+    	case WITHDRAWALS_FILE -> rows(withdrawals.values(), WithdrawalRequest::toCSVRow);
+    	case REPORTS_FILE -> rows(reports.values(), Report::toCSVRow);
+    	default -> throw new IllegalArgumentException("Unknown data file: " + file);
+    	};
+    }
+
+    private static <T> List<String[]> rows(Collection<T> values, Function<T, String[]> toRow) {
+    	List<String[]> l = new ArrayList<>();
+    	for (T t : values) { l.add(toRow.apply(t)); }
+    	return l;
+    }
+
+    // Name of an entity type in log messages
+    private static String label(String file) {
+    	return switch (file) {
+    	case STUDENTS_FILE -> "student";
+    	case COMPANYREPS_FILE -> "company rep";
+    	case STAFFMEMBERS_FILE -> "staff";
+    	case INTERNSHIPS_FILE -> "internship";
+    	case APPLICATIONS_FILE -> "application";
+    	case WITHDRAWALS_FILE -> "withdrawal";
+    	case REPORTS_FILE -> "report";
+    	default -> throw new IllegalArgumentException("Unknown data file: " + file);
+    	};
+    }
+
+    static String[] header(String file) {
+    	return switch (file) {
+    	case STUDENTS_FILE -> STUDENTS_HEADER;
+    	case COMPANYREPS_FILE -> COMPANYREPS_HEADER;
+    	case STAFFMEMBERS_FILE -> STAFFMEMBERS_HEADER;
+    	case INTERNSHIPS_FILE -> INTERNSHIPS_HEADER;
+    	case APPLICATIONS_FILE -> APPLICATIONS_HEADER;
+    	case WITHDRAWALS_FILE -> WITHDRAWALS_HEADER;
+    	case REPORTS_FILE -> REPORTS_HEADER;
+    	default -> throw new IllegalArgumentException("Unknown data file: " + file);
+    	};
+    }
+
+    // Looks up an entity by data file and ID, for Transaction
+    Object lookup(String file, String id) { return table(file).get(id); }
+
+    @SuppressWarnings("unchecked")
+    <T> Map<String, T> table(String file) {
+    	Map<String, ?> table = switch (file) {
+    	case STUDENTS_FILE -> students;
+    	case COMPANYREPS_FILE -> companyReps;
+    	case STAFFMEMBERS_FILE -> staffMembers;
+    	case INTERNSHIPS_FILE -> internships;
+    	case APPLICATIONS_FILE -> applications;
+    	case WITHDRAWALS_FILE -> withdrawals;
+    	case REPORTS_FILE -> reports;
+    	default -> throw new IllegalArgumentException("Unknown data file: " + file);
+    	};
+    	return (Map<String, T>) table;
+    }
+
+    // Entity class stored in the given data file
+    static Class<?> entityType(String file) {
+    	return switch (file) {
+    	case STUDENTS_FILE -> Student.class;
+    	case COMPANYREPS_FILE -> CompanyRepresentative.class;
+    	case STAFFMEMBERS_FILE -> Staff.class;
+    	case INTERNSHIPS_FILE -> Internship.class;
+    	case APPLICATIONS_FILE -> Application.class;
+    	case WITHDRAWALS_FILE -> WithdrawalRequest.class;
+    	case REPORTS_FILE -> Report.class;
+    	default -> throw new IllegalArgumentException("Unknown data file: " + file);
+    	};
+    }
+
+    // Parses a CSV row of the given data file into its entity
+    static Object parse(String file, String[] row) {
+    	return switch (file) {
+    	case STUDENTS_FILE -> Student.fromCSVRow(row);
+    	case COMPANYREPS_FILE -> CompanyRepresentative.fromCSVRow(row);
+    	case STAFFMEMBERS_FILE -> Staff.fromCSVRow(row);
+    	case INTERNSHIPS_FILE -> Internship.fromCSVRow(row);
+    	case APPLICATIONS_FILE -> Application.fromCSVRow(row);
+    	case WITHDRAWALS_FILE -> WithdrawalRequest.fromCSVRow(row);
+    	case REPORTS_FILE -> Report.fromCSVRow(row);
+    	default -> throw new IllegalArgumentException("Unknown data file: " + file);
+    	};
+    }
+
+    static String[] rowOf(Object e) {
+    	if (e instanceof Student s) return s.toCSVRow();
+    	if (e instanceof CompanyRepresentative c) return c.toCSVRow();
+    	if (e instanceof Staff s) return s.toCSVRow();
+    	if (e instanceof Internship i) return i.toCSVRow();
+    	if (e instanceof Application a) return a.toCSVRow();
+    	if (e instanceof WithdrawalRequest w) return w.toCSVRow();
+    	if (e instanceof Report r) return r.toCSVRow();
+    	throw new IllegalArgumentException("Not a stored entity: " + e);
+    }
+
+    static String idOf(Object e) {
+    	if (e instanceof User u) return u.getID();
+    	if (e instanceof Internship i) return i.getInternshipID();
+    	if (e instanceof Application a) return a.getApplicationID();
+    	if (e instanceof WithdrawalRequest w) return w.getRequestID();
+    	if (e instanceof Report r) return r.getID();
+    	throw new IllegalArgumentException("Not a stored entity: " + e);
+    }
+
+    // Version of a versioned entity, or -1 for entity types without one
+    static int versionOf(Object e) {
+    	if (e instanceof Internship i) return i.getVersion();
+    	if (e instanceof Application a) return a.getVersion();
+    	if (e instanceof WithdrawalRequest w) return w.getVersion();
+    	return -1;
+    }
+
+    /**
+     * Rejects a write of an entity that was copied from an older version than the stored one.
+     * Writing back the stored instance itself always passes, since in-place changes cannot be
+     * told apart, and so does a newly constructed entity (version 0), which replaces the stored
+     * one deliberately.
+     * @param current the entity stored under the same ID, or null
+     * @param e the entity about to be written
+     */
+    private static void checkVersion(Object current, Object e) {
+    	if (current == null || current == e) return;
+    	int version = versionOf(e);
+    	if (version > 0 && version != versionOf(current)) {
+    		throw new ConflictException(idOf(e), version, versionOf(current));
+    	}
+    }
+
+    // Checks the version of an entity about to be written and advances it; called with the table lock held
+    private static void stamp(Object current, Object e) {
+    	checkVersion(current, e);
+    	int next = current == null ? Math.max(versionOf(e), 1) : versionOf(current) + 1;
+    	if (e instanceof Internship i) i.setVersion(next);
+    	else if (e instanceof Application a) a.setVersion(next);
+    	else if (e instanceof WithdrawalRequest w) w.setVersion(next);
+    }
+
+    /**
+     * Updates the secondary indexes after an entity of the given data file was put or removed.
+     * Must be called for every change to a table, with the table lock held once the repository is loaded.
+     * @param before the entity previously stored under the ID, or null
+     * @param after the entity now stored under the ID, or null if it was removed
+     */
+    private void reindex(String file, Object before, Object after) {
+    	if (!REPORTS_FILE.equals(file)) { dataVersion.incrementAndGet(); }
+    	switch (file) {
+    	case APPLICATIONS_FILE -> {
+    		if (before != null) { unindexApplication((Application) before); }
+    		if (after != null) { indexApplication((Application) after); }
+    		if (after != null) {
+    			Application a = (Application) after;
+    			applicationTally.put(a.getApplicationID(), a);
+    			applicationsByStatus.put(a.getApplicationID(), a);
+    			applicationsByDate.put(a.getApplicationID(), a);
+    			applicationCube.put(a);
+    		} else if (before != null) {
+    			String id = ((Application) before).getApplicationID();
+    			applicationTally.remove(id);
+    			applicationsByStatus.remove(id);
+    			applicationsByDate.remove(id);
+    			applicationCube.remove(id);
+    		}
+    	}
+    	case INTERNSHIPS_FILE -> {
+    		if (before != null) {
+    			Internship i = (Internship) before;
+    			removeFromIndex(internshipsByCompanyRep, i.getCompanyRepID(), i.getInternshipID());
+    			internshipCountByCompanyRep.computeIfPresent(i.getCompanyRepID(), (k, n) -> n == 1 ? null : n - 1);
+    		}
+    		if (after != null) {
+    			Internship i = (Internship) after;
+    			internshipsByCompanyRep.computeIfAbsent(i.getCompanyRepID(), k -> new ConcurrentSkipListMap<>()).put(i.getInternshipID(), i);
+    			internshipCountByCompanyRep.merge(i.getCompanyRepID(), 1, Integer::sum);
+    			internshipsByStatus.put(i.getInternshipID(), i);
+    			internshipTally.put(i.getInternshipID(), i);
+    			internshipsByClosingDate.put(i.getInternshipID(), i);
+    			applicationCube.putInternship(i, applicationsByInternship.getOrDefault(i.getInternshipID(), Map.of()).values());
+    		} else if (before != null) {
+    			String id = ((Internship) before).getInternshipID();
+    			internshipsByStatus.remove(id);
+    			internshipTally.remove(id);
+    			internshipsByClosingDate.remove(id);
+    		}
+    	}
+    	case COMPANYREPS_FILE -> {
+    		if (after != null) { companyRepsByApproval.put(((CompanyRepresentative) after).getID(), (CompanyRepresentative) after); }
+    	}
+    	case WITHDRAWALS_FILE -> {
+    		if (after != null) {
+    			WithdrawalRequest w = (WithdrawalRequest) after;
+    			withdrawalsByStatus.put(w.getRequestID(), w);
+    			withdrawalTally.put(w.getRequestID(), w);
+    			withdrawalsByDate.put(w.getRequestID(), w);
+    		} else if (before != null) {
+    			String id = ((WithdrawalRequest) before).getRequestID();
+    			withdrawalsByStatus.remove(id);
+    			withdrawalTally.remove(id);
+    			withdrawalsByDate.remove(id);
+    		}
+    	}
+    	default -> { }
+    	}
+    }
+
+    private void indexApplication(Application a) {
+    	applicationsByStudent.computeIfAbsent(a.getStudentID(), k -> new EntityTable<>()).put(a.getApplicationID(), a);
+    	applicationsByInternship.computeIfAbsent(a.getInternshipID(), k -> new EntityTable<>()).put(a.getApplicationID(), a);
+    	applicationsByStudentInternship.computeIfAbsent(pairKey(a), k -> new EntityTable<>()).put(a.getApplicationID(), a);
+    }
+
+    private void unindexApplication(Application a) {
+    	removeFromIndex(applicationsByStudent, a.getStudentID(), a.getApplicationID());
+    	removeFromIndex(applicationsByInternship, a.getInternshipID(), a.getApplicationID());
+    	removeFromIndex(applicationsByStudentInternship, pairKey(a), a.getApplicationID());
+    }
+
+    // IDs never contain commas, since they are stored in CSV files
+    private static String pairKey(String sID, String iID) { return sID + "," + iID; }
+    private static String pairKey(Application a) { return pairKey(a.getStudentID(), a.getInternshipID()); }
+
+    private static <T, M extends Map<String, T>> void removeFromIndex(Map<String, M> index, String key, String id) {
+    	Map<String, T> entries = index.get(key);
+    	if (entries == null) return;
+    	entries.remove(id);
+    	if (entries.isEmpty()) { index.remove(key); }
+    }
+
+    private String[] journalHeader(String file) {
+    	String[] header = header(file);
+    	String[] h = new String[header.length + 1];
+    	h[0] = "op";
+    	System.arraycopy(header, 0, h, 1, header.length);
+    	return h;
     }
 
     public Student findStudent(String id) { return students.get(id); }
@@ -261,13 +1139,201 @@ public class Repository {
         return l;
     }
     public List<Application> getApplicationsByStudent(String sID) {
-        List<Application> l = applications.values().stream().filter(a -> a.getStudentID().equals(sID)).collect(Collectors.toList());
-        return l;
+        return new ArrayList<>(applicationsByStudent.getOrDefault(sID, Map.of()).values());
     }
     public List<Application> getApplicationsByInternship(String iID) {
-        List<Application> l = applications.values().stream().filter(a -> a.getInternshipID().equals(iID)).collect(Collectors.toList());
-        return l;
+        return new ArrayList<>(applicationsByInternship.getOrDefault(iID, Map.of()).values());
+    }
+    /**
+     * Gets a student's applications to one internship.
+     * @param sID student ID
+     * @param iID internship ID
+     * @return matching applications, empty if the student never applied
+     */
+    public List<Application> getApplicationsByStudentAndInternship(String sID, String iID) {
+        return new ArrayList<>(applicationsByStudentInternship.getOrDefault(pairKey(sID, iID), Map.of()).values());
+    }
+    /**
+     * Gets the internships posted by a company rep, sorted by internship ID.
+     * @param repID company rep ID
+     * @return the rep's internships
+     */
+    public List<Internship> getInternshipsByCompanyRep(String repID) {
+        return new ArrayList<>(internshipsByCompanyRep.getOrDefault(repID, new ConcurrentSkipListMap<>()).values());
+    }
+    /**
+     * Gets the number of internships posted by a company rep without listing them.
+     * @param repID company rep ID
+     * @return number of internships
+     */
+    public int countInternshipsByCompanyRep(String repID) {
+        return internshipCountByCompanyRep.getOrDefault(repID, 0);
+    }
+    /**
+     * Gets the company reps that are awaiting approval, in the order they registered.
+     * Reads the maintained partition instead of scanning all company reps.
+     * @return unapproved company reps
+     */
+    public List<CompanyRepresentative> getPendingCompanyReps() { return companyRepsByApproval.get(false); }
+    /**
+     * Gets the internships with a status, in the order they entered it.
+     * For PENDING this is the staff approval queue.
+     * @param status internship status
+     * @return internships with that status
+     */
+    public List<Internship> getInternshipsByStatus(InternshipStatus status) { return internshipsByStatus.get(status); }
+    /**
+     * Gets the withdrawal requests with a status, in the order they entered it.
+     * For PENDING this is the staff approval queue.
+     * @param status approval status
+     * @return withdrawal requests with that status
+     */
+    public List<WithdrawalRequest> getWithdrawalsByStatus(ApprovalStatus status) { return withdrawalsByStatus.get(status); }
+
+    /**
+     * Gets the counts shown in a summary report of all data. They are kept up to date
+     * on every change, so this takes constant time however much data there is.
+     * A change made concurrently may be only partly counted.
+     * @return counts by status, level, visibility and acceptance
+     */
+    public ReportStatistics getStatistics() {
+    	return new ReportStatistics(internshipTally.counts(), applicationTally.counts(), withdrawalTally.counts());
+    }
+
+    /**
+     * Gets the summary report counts of the entities that match a filter. Each table is
+     * read along the plan explain() gives for it, and its candidates are tested against
+     * the whole filter; without filters this is getStatistics().
+     * @param filter the compiled report filters
+     * @return counts of the matching entities
+     */
+    public ReportStatistics getStatistics(ReportFilter filter) {
+    	if (filter.isEmpty()) return getStatistics();
+    	ForkJoinPool pool = reportPool;
+    	if (pool != null) {
+    		return ReportStatistics.of(planInternships(filter).rows(), planApplications(filter).rows(), planWithdrawals(filter).rows(), filter, pool);
+    	}
+    	return ReportStatistics.of(planInternships(filter).rows(), planApplications(filter).rows(), planWithdrawals(filter).rows(), filter);
+    }
+
+    /**
+     * Sets how many workers count a filtered report. With more than one, the candidates
+     * of each table are split into chunks that are counted on a fork/join pool of that
+     * size and merged, which gives the same counts as counting them on the calling thread.
+     * Reports of all data read the maintained counts and are not affected.
+     * @param parallelism number of workers; 1 (the default) counts on the calling thread
+     */
+    public void setReportParallelism(int parallelism) {
+    	if (parallelism < 1) {
+    		throw new IllegalArgumentException("Report parallelism must be at least 1: " + parallelism);
+    	}
+    	ForkJoinPool old = reportPool;
+    	reportPool = parallelism == 1 ? null : new ForkJoinPool(parallelism);
+    	if (old != null) { old.shutdown(); }
+    }
+
+    /**
+     * Gets the counts of applications per apply date, company, internship level and
+     * status, kept up to date with every change.
+     * @return the application cube
+     */
+    public ApplicationCube getApplicationCube() { return applicationCube; }
+
+    /**
+     * Gets the version of the data that reports are counted from. It grows on every
+     * change to any table but the reports, so a report generated at the same version
+     * would still read the same.
+     * @return the current data version
+     */
+    public long getDataVersion() { return dataVersion.get(); }
+
+    /** @return number of workers that count a filtered report */
+    public int getReportParallelism() {
+    	ForkJoinPool pool = reportPool;
+    	return pool == null ? 1 : pool.getParallelism();
+    }
+
+    /**
+     * Plans how the internships, applications and withdrawal requests matching a filter
+     * are found. For each table the access path reading the fewest candidates is chosen,
+     * in order of preference: the student or internship ID indexes, the status partitions,
+     * the date indexes, and a scan of the table when none of them applies or the best
+     * of them would read every row anyway.
+     * @param filter the compiled report filters
+     * @return the plan for each of the three tables
+     */
+    public List<QueryPlan<?>> explain(ReportFilter filter) {
+    	return List.of(planInternships(filter), planApplications(filter), planWithdrawals(filter));
     }
+
+    // Plans for one table; the candidates are read in place, not copied
+    QueryPlan<Internship> planInternships(ReportFilter f) {
+    	QueryPlan<Internship> best = null;
+    	best = cheaper(best, byStatus(Internship.class, f.internshipStatuses(), internshipsByStatus));
+    	if (f.startDate() != null) {
+    		// an internship overlaps the range if it closes on or after its start
+    		best = cheaper(best, byDate(Internship.class, "closingDate", f.startDate(), null, internshipsByClosingDate));
+    	}
+    	return orScan(best, Internship.class, internships);
+    }
+
+    QueryPlan<Application> planApplications(ReportFilter f) {
+    	QueryPlan<Application> best = null;
+    	String sID = f.studentID();
+    	String iID = f.internshipID();
+    	if (sID != null && iID != null) {
+    		best = cheaper(best, byID(Application.class, "studentID=" + sID + ",internshipID=" + iID, applicationsByStudentInternship.get(pairKey(sID, iID))));
+    	} else if (sID != null) {
+    		best = cheaper(best, byID(Application.class, "studentID=" + sID, applicationsByStudent.get(sID)));
+    	} else if (iID != null) {
+    		best = cheaper(best, byID(Application.class, "internshipID=" + iID, applicationsByInternship.get(iID)));
+    	}
+    	best = cheaper(best, byStatus(Application.class, f.applicationStatuses(), applicationsByStatus));
+    	if (f.startDate() != null || f.endDate() != null) {
+    		best = cheaper(best, byDate(Application.class, "applyDate", f.startDate(), f.endDate(), applicationsByDate));
+    	}
+    	return orScan(best, Application.class, applications);
+    }
+
+    QueryPlan<WithdrawalRequest> planWithdrawals(ReportFilter f) {
+    	QueryPlan<WithdrawalRequest> best = null;
+    	best = cheaper(best, byStatus(WithdrawalRequest.class, f.withdrawalStatuses(), withdrawalsByStatus));
+    	if (f.startDate() != null || f.endDate() != null) {
+    		best = cheaper(best, byDate(WithdrawalRequest.class, "requestDate", f.startDate(), f.endDate(), withdrawalsByDate));
+    	}
+    	return orScan(best, WithdrawalRequest.class, withdrawals);
+    }
+
+    // Scans the table, read in place without a copy, when no index applies or one would read every row
+    private static <T> QueryPlan<T> orScan(QueryPlan<T> best, Class<T> type, Map<String, T> table) {
+    	int size = table.size();
+    	if (best != null && (best.getEstimatedRows() < size || size == 0)) return best;
+    	return new QueryPlan<>(type, AccessPath.SCAN, "", size, table::values);
+    }
+
+    private static <T> QueryPlan<T> byID(Class<T> type, String key, Map<String, T> index) {
+    	if (index == null) return new QueryPlan<>(type, AccessPath.ID_LOOKUP, key, 0, List::of);
+    	return new QueryPlan<>(type, AccessPath.ID_LOOKUP, key, index.size(), index::values);
+    }
+
+    private static <S, T> QueryPlan<T> byStatus(Class<T> type, Set<S> statuses, StatusPartition<S, T> partition) {
+    	if (statuses == null) return null;
+    	long n = 0;
+    	for (S status : statuses) { n += partition.size(status); }
+    	return new QueryPlan<>(type, AccessPath.STATUS_PARTITION, "status=" + statuses, n, () -> partition.view(statuses));
+    }
+
+    private static <T> QueryPlan<T> byDate(Class<T> type, String field, String from, String to, SortedPartition<String, T> index) {
+    	String key = field + " in [" + (from == null ? "" : from) + ", " + (to == null ? "" : to) + "]";
+    	return new QueryPlan<>(type, AccessPath.DATE_RANGE, key, index.count(from, to), () -> index.range(from, to));
+    }
+
+    // Prefers the earlier plan on a tie, so the more specific indexes come first
+    private static <T> QueryPlan<T> cheaper(QueryPlan<T> best, QueryPlan<T> other) {
+    	if (best == null) return other;
+    	return other == null || other.getEstimatedRows() >= best.getEstimatedRows() ? best : other;
+    }
+
     public List<WithdrawalRequest> getAllWithdrawals() {
         List<WithdrawalRequest> l = new ArrayList<>();
         for (WithdrawalRequest w : withdrawals.values()) { l.add(w); }
@@ -0,0 +1,216 @@
+package entities;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.ReportCategory;
+import utils.FileHandler;
+
+/**
+ * Binary snapshot of all repository tables, used to restart without parsing the CSV files.
+ *
+ * Layout (all numbers big-endian):
+ * magic "SCPS", format version (short),
+ * one dictionary per enum type: count (short), then each constant name,
+ * then for each data file: file name, entity count (int), and the entities' fields in
+ * constructor order, followed by the version for internships, applications and withdrawals.
+ * Strings are an int byte length (-1 for null) followed by UTF-8 bytes,
+ * enums are a byte index into their dictionary, booleans a byte and numbers an int.
+ *
+ * Enum values are decoded through the dictionary, so reordering constants does not break old
+ * snapshots; removing one makes the snapshot unreadable and the repository falls back to CSV.
+ */
+class Snapshot {
+	static final String FILE = "repository.snapshot";
+	private static final int MAGIC = 0x53435053; // "SCPS"
+	private static final short VERSION = 2;
+	private static final Class<?>[] DICTIONARIES = {InternshipLevel.class, InternshipStatus.class, ApplicationStatus.class, ApprovalStatus.class, ReportCategory.class};
+
+	private Snapshot() {}
+
+	/**
+	 * Checks whether the snapshot exists and was written after every data file was last changed.
+	 * @param files CSV files the snapshot covers
+	 * @return true if the snapshot can be loaded instead of the CSV files
+	 */
+	static boolean isFresh(String[] files) {
+		long written = FileHandler.lastModified(FILE);
+		if (written == 0) return false;
+		for (String file : files) {
+			if (FileHandler.lastModified(file) >= written) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Writes all tables of the repository to the snapshot file.
+	 * @return true if the snapshot was written
+	 */
+	static boolean write(Repository repo, String[] files) {
+		return FileHandler.writeBinary(FILE, out -> {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			for (Class<?> type : DICTIONARIES) {
+				Enum<?>[] values = (Enum<?>[]) type.getEnumConstants();
+				out.writeShort(values.length);
+				for (Enum<?> v : values) { writeString(out, v.name()); }
+			}
+			for (String file : files) {
+				Map<String, Object> table = repo.table(file);
+				writeString(out, file);
+				out.writeInt(table.size());
+				for (Object e : table.values()) { writeEntity(out, e); }
+			}
+		});
+	}
+
+	/**
+	 * Reads the snapshot into the repository's tables and indexes, which must be empty.
+	 * @return time spent on each table in nanoseconds, keyed by data file,
+	 *         or null if the snapshot is missing, of another version or damaged
+	 */
+	static Map<String, Long> read(Repository repo, String[] files) {
+		Map<String, Long> times = new LinkedHashMap<>();
+		try (DataInputStream in = FileHandler.openBinary(FILE)) {
+			if (in == null || in.readInt() != MAGIC || in.readShort() != VERSION) return null;
+			Reader r = new Reader(in);
+			for (String file : files) {
+				long start = System.nanoTime();
+				if (!file.equals(r.string())) return null;
+				for (int n = in.readInt(); n > 0; n--) { repo.load(file, r.entity(file)); }
+				times.put(file, System.nanoTime() - start);
+			}
+			return times;
+		} catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			System.err.println("Ignoring unreadable snapshot: " + e);
+			return null;
+		}
+	}
+
+	private static void writeEntity(DataOutputStream out, Object e) throws IOException {
+		if (e instanceof Student s) {
+			writeStrings(out, s.getID(), s.getName(), s.getPassword(), s.getEmail());
+			out.writeInt(s.getYear());
+			writeString(out, s.getMajor());
+		} else if (e instanceof CompanyRepresentative c) {
+			writeStrings(out, c.getID(), c.getName(), c.getPassword(), c.getCompanyName(), c.getDepartment(), c.getPosition());
+			out.writeBoolean(c.isApproved());
+		} else if (e instanceof Staff s) {
+			writeStrings(out, s.getID(), s.getName(), s.getPassword(), s.getDepartment());
+		} else if (e instanceof Internship i) {
+			writeStrings(out, i.getInternshipID(), i.getTitle(), i.getDescription());
+			out.writeByte(i.getLevel().ordinal());
+			writeStrings(out, i.getPreferredMajor(), i.getOpeningDate(), i.getClosingDate());
+			out.writeByte(i.getStatus().ordinal());
+			writeStrings(out, i.getCompanyName(), i.getCompanyRepID());
+			out.writeInt(i.getSlots());
+			out.writeBoolean(i.isVisible());
+			out.writeInt(i.getVersion());
+		} else if (e instanceof Application a) {
+			writeStrings(out, a.getApplicationID(), a.getInternshipID(), a.getStudentID());
+			out.writeByte(a.getStatus().ordinal());
+			writeString(out, a.getApplyDate());
+			out.writeBoolean(a.isAcceptedByStudent());
+			out.writeInt(a.getVersion());
+		} else if (e instanceof WithdrawalRequest w) {
+			writeStrings(out, w.getRequestID(), w.getApplicationID(), w.getStudentID());
+			out.writeByte(w.getStatus().ordinal());
+			writeString(out, w.getRequestDate());
+			out.writeInt(w.getVersion());
+		} else if (e instanceof Report r) {
+			writeString(out, r.getID());
+			out.writeByte(r.getCategory().ordinal());
+			writeStrings(out, r.getGeneratedDate(), r.getContent());
+		} else {
+			throw new IllegalArgumentException("Not a stored entity: " + e);
+		}
+	}
+
+	private static void writeStrings(DataOutputStream out, String... values) throws IOException {
+		for (String v : values) { writeString(out, v); }
+	}
+
+	// DataOutputStream.writeUTF is limited to 64 KB, which report contents can exceed
+	private static void writeString(DataOutputStream out, String v) throws IOException {
+		if (v == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] b = v.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(b.length);
+		out.write(b);
+	}
+
+	/** Decodes one snapshot, holding its enum dictionaries and a reusable string buffer. */
+	private static class Reader {
+		private final DataInputStream in;
+		private final InternshipLevel[] levels;
+		private final InternshipStatus[] internshipStatuses;
+		private final ApplicationStatus[] applicationStatuses;
+		private final ApprovalStatus[] approvalStatuses;
+		private final ReportCategory[] categories;
+		private byte[] buffer = new byte[256];
+
+		Reader(DataInputStream in) throws IOException {
+			this.in = in;
+			levels = dictionary(InternshipLevel.class, new InternshipLevel[in.readShort()]);
+			internshipStatuses = dictionary(InternshipStatus.class, new InternshipStatus[in.readShort()]);
+			applicationStatuses = dictionary(ApplicationStatus.class, new ApplicationStatus[in.readShort()]);
+			approvalStatuses = dictionary(ApprovalStatus.class, new ApprovalStatus[in.readShort()]);
+			categories = dictionary(ReportCategory.class, new ReportCategory[in.readShort()]);
+		}
+
+		// Resolves each stored constant name once; valueOf throws if a constant was removed
+		private <E extends Enum<E>> E[] dictionary(Class<E> type, E[] values) throws IOException {
+			for (int n = 0; n < values.length; n++) { values[n] = Enum.valueOf(type, string()); }
+			return values;
+		}
+
+		Object entity(String file) throws IOException {
+			return switch (file) {
+			case Repository.STUDENTS_FILE -> new Student(string(), string(), string(), string(), in.readInt(), string());
+			case Repository.COMPANYREPS_FILE -> new CompanyRepresentative(string(), string(), string(), string(), string(), string(), in.readBoolean());
+			case Repository.STAFFMEMBERS_FILE -> new Staff(string(), string(), string(), string());
+			case Repository.INTERNSHIPS_FILE -> {
+				Internship i = new Internship(string(), string(), string(), levels[in.readUnsignedByte()], string(), string(), string(),
+					internshipStatuses[in.readUnsignedByte()], string(), string(), in.readInt(), in.readBoolean());
+				i.setVersion(in.readInt());
+				yield i;
+			}
+			case Repository.APPLICATIONS_FILE -> {
+				Application a = new Application(string(), string(), string(), applicationStatuses[in.readUnsignedByte()], string(), in.readBoolean());
+				a.setVersion(in.readInt());
+				yield a;
+			}
+			case Repository.WITHDRAWALS_FILE -> {
+				WithdrawalRequest w = new WithdrawalRequest(string(), string(), string(), approvalStatuses[in.readUnsignedByte()], string());
+				w.setVersion(in.readInt());
+				yield w;
+			}
+			case Repository.REPORTS_FILE -> {
+				ReportSummary r = new ReportSummary(string(), categories[in.readUnsignedByte()]);
+				r.genDate = string();
+				r.content = string();
+				yield r;
+			}
+			default -> throw new IllegalArgumentException("Unknown data file: " + file);
+			};
+		}
+
+		String string() throws IOException {
+			int length = in.readInt();
+			if (length < 0) return null;
+			if (length > buffer.length) { buffer = new byte[Math.max(length, buffer.length * 2)]; }
+			in.readFully(buffer, 0, length);
+			return new String(buffer, 0, length, StandardCharsets.UTF_8);
+		}
+	}
+}
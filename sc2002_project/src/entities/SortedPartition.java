@@ -0,0 +1,44 @@
+package entities;
+
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * A StatusPartition whose keys are ordered, so that the entities of a range of keys
+ * can be found without a scan; the repository uses it to index entities by date.
+ * Dates are stored as YYYY-MM-DD, so they sort as strings.
+ * @param <S> key type
+ * @param <T> entity type
+ */
+class SortedPartition<S extends Comparable<S>, T> extends StatusPartition<S, T> {
+	private final NavigableMap<S, EntityTable<T>> partitions;
+
+	SortedPartition(Function<T, S> key) { this(key, new ConcurrentSkipListMap<>()); }
+
+	private SortedPartition(Function<T, S> key, NavigableMap<S, EntityTable<T>> partitions) {
+		super(key, partitions);
+		this.partitions = partitions;
+	}
+
+	/**
+	 * @param from lowest key, inclusive, or null for no lower bound
+	 * @param to highest key, inclusive, or null for no upper bound
+	 * @return the entities filed under keys in the range, in key order, read while they
+	 * are iterated instead of copied
+	 */
+	Iterable<T> range(S from, S to) { return concat(range(partitions, from, to).values()); }
+
+	/** @return number of entities filed under keys in the range; one step per distinct key */
+	int count(S from, S to) {
+		int n = 0;
+		for (EntityTable<T> p : range(partitions, from, to).values()) { n += p.size(); }
+		return n;
+	}
+
+	private static <S extends Comparable<S>, V> NavigableMap<S, V> range(NavigableMap<S, V> m, S from, S to) {
+		if (from != null && to != null && from.compareTo(to) > 0) return new ConcurrentSkipListMap<>();
+		NavigableMap<S, V> r = from == null ? m : m.tailMap(from, true);
+		return to == null ? r : r.headMap(to, true);
+	}
+}
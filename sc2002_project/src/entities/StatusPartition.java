@@ -0,0 +1,111 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Groups the entities of one table by status, for the repository.
+ * Each partition keeps its entities in the order they entered that status,
+ * so the PENDING partition can be read as a FIFO queue.
+ *
+ * Entities are usually changed in place, so the partition remembers the status
+ * each entity was filed under and moves it when it is put again with a new one.
+ * Can be read while it is written to; writers are serialized by the table lock.
+ * @param <S> status type
+ * @param <T> entity type
+ */
+class StatusPartition<S, T> {
+	private final Function<T, S> status;
+	private final Map<S, EntityTable<T>> partitions;
+	// status each entity is currently filed under, keyed by entity ID
+	private final Map<String, S> filed = new ConcurrentHashMap<>();
+
+	StatusPartition(Function<T, S> status) { this(status, new ConcurrentHashMap<>()); }
+
+	StatusPartition(Function<T, S> status, Map<S, EntityTable<T>> partitions) {
+		this.status = status;
+		this.partitions = partitions;
+	}
+
+	/**
+	 * Files an entity under its current status. An entity whose status did not change
+	 * keeps its position in the partition.
+	 */
+	void put(String id, T e) {
+		S s = status.apply(e);
+		S old = filed.put(id, s);
+		if (old != null && !old.equals(s)) { remove(old, id); }
+		partitions.computeIfAbsent(s, k -> new EntityTable<>()).put(id, e);
+	}
+
+	void remove(String id) {
+		S old = filed.remove(id);
+		if (old != null) { remove(old, id); }
+	}
+
+	/** @return the entities filed under a status, oldest first */
+	List<T> get(S s) {
+		EntityTable<T> p = partitions.get(s);
+		return p == null ? new ArrayList<>() : new ArrayList<>(p.values());
+	}
+
+	/**
+	 * @return the entities filed under any of the statuses, read while they are iterated
+	 * instead of copied; a single status can be split for counting on several workers
+	 */
+	Iterable<T> view(Collection<S> statuses) {
+		if (statuses.size() == 1) {
+			EntityTable<T> p = partitions.get(statuses.iterator().next());
+			return p == null ? List.of() : p.values();
+		}
+		List<EntityTable<T>> parts = new ArrayList<>();
+		for (S s : statuses) {
+			EntityTable<T> p = partitions.get(s);
+			if (p != null) parts.add(p);
+		}
+		return concat(parts);
+	}
+
+	/** @return number of entities filed under a status */
+	int size(S s) {
+		EntityTable<T> p = partitions.get(s);
+		return p == null ? 0 : p.size();
+	}
+
+	void clear() {
+		partitions.clear();
+		filed.clear();
+	}
+
+	// The entities of several partitions, one partition after the other
+	static <T> Iterable<T> concat(Iterable<EntityTable<T>> parts) {
+		return () -> new Iterator<>() {
+			private final Iterator<EntityTable<T>> next = parts.iterator();
+			private Iterator<T> current = Collections.emptyIterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!current.hasNext() && next.hasNext()) { current = next.next().values().iterator(); }
+				return current.hasNext();
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				return current.next();
+			}
+		};
+	}
+
+	private void remove(S s, String id) {
+		Map<String, T> p = partitions.get(s);
+		if (p != null) { p.remove(id); }
+	}
+}
@@ -131,4 +131,5 @@ public class Student extends User {
 	
 	public int getYear() { return year; }
 	public String getMajor() { return major; }
+	public String getEmail() { return email; }
 }
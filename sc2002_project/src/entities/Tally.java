@@ -0,0 +1,53 @@
+package entities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToIntFunction;
+
+/**
+ * Counts the entities of one table per cell, for the repository's report statistics.
+ * A cell is a combination of the attributes being counted, e.g. status and level,
+ * so every breakdown of the table can be summed from a fixed number of counters.
+ *
+ * Entities are usually changed in place, so the tally remembers the cell each entity
+ * was counted in and moves it when it is put again in another one.
+ * Can be read while it is written to; writers are serialized by the table lock.
+ * @param <T> entity type
+ */
+class Tally<T> {
+	private final ToIntFunction<T> cellOf;
+	private final AtomicLongArray counts;
+	// cell each entity is currently counted in, keyed by entity ID
+	private final Map<String, Integer> counted = new ConcurrentHashMap<>();
+
+	Tally(int cells, ToIntFunction<T> cellOf) {
+		this.counts = new AtomicLongArray(cells);
+		this.cellOf = cellOf;
+	}
+
+	void put(String id, T e) {
+		int cell = cellOf.applyAsInt(e);
+		Integer old = counted.put(id, cell);
+		if (old != null && old == cell) return;
+		if (old != null) { counts.decrementAndGet(old); }
+		counts.incrementAndGet(cell);
+	}
+
+	void remove(String id) {
+		Integer old = counted.remove(id);
+		if (old != null) { counts.decrementAndGet(old); }
+	}
+
+	/** @return the count of every cell */
+	long[] counts() {
+		long[] l = new long[counts.length()];
+		for (int k = 0; k < l.length; k++) { l[k] = counts.get(k); }
+		return l;
+	}
+
+	void clear() {
+		for (int k = 0; k < counts.length(); k++) { counts.set(k, 0); }
+		counted.clear();
+	}
+}
@@ -0,0 +1,101 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A group of changes across entity types that is committed to the repository as one unit.
+ * Obtained through Repository.inTransaction; updates are buffered here and only
+ * reach the repository when the transaction commits.
+ *
+ * Entities read through the find methods are private copies of the stored ones, so
+ * changes made to them in place only reach the repository if the transaction commits.
+ * Each copy keeps the version it was read at, and the commit fails with a
+ * ConflictException if the stored entity has changed since.
+ *
+ * The first read or change of a table takes that table's lock, which is held until
+ * the transaction ends, so what it read cannot change before it commits.
+ */
+public class Transaction {
+	private final Repository repo;
+	// pending changes per data file, keyed by entity ID; a null value marks a removal
+	private final Map<String, Map<String, Object>> writes = new LinkedHashMap<>();
+	// copies handed out by the find methods, keyed by data file then ID; null if not found
+	private final Map<String, Map<String, Object>> copies = new HashMap<>();
+	// data files whose locks this transaction holds
+	private final Set<String> locked = new LinkedHashSet<>();
+
+	Transaction(Repository repo) { this.repo = repo; }
+
+	public Student findStudent(String id) { return (Student) find(Repository.STUDENTS_FILE, id); }
+	public CompanyRepresentative findCompanyRep(String id) { return (CompanyRepresentative) find(Repository.COMPANYREPS_FILE, id); }
+	public Staff findStaff(String id) { return (Staff) find(Repository.STAFFMEMBERS_FILE, id); }
+	public Internship findInternship(String id) { return (Internship) find(Repository.INTERNSHIPS_FILE, id); }
+	public Application findApplication(String id) { return (Application) find(Repository.APPLICATIONS_FILE, id); }
+	public WithdrawalRequest findWithdrawal(String id) { return (WithdrawalRequest) find(Repository.WITHDRAWALS_FILE, id); }
+
+	/**
+	 * Gets all applications of a student, including ones added in this transaction.
+	 * @param sID student ID
+	 * @return the student's applications
+	 */
+	public List<Application> getApplicationsByStudent(String sID) {
+		lock(Repository.APPLICATIONS_FILE);
+		List<Application> l = new ArrayList<>();
+		for (Application a : repo.getApplicationsByStudent(sID)) {
+			Application t = findApplication(a.getApplicationID());
+			if (t != null) { l.add(t); }
+		}
+		for (Object o : writes.getOrDefault(Repository.APPLICATIONS_FILE, Map.of()).values()) {
+			Application a = (Application) o;
+			if (a.getStudentID().equals(sID) && !l.contains(a)) { l.add(a); }
+		}
+		return l;
+	}
+
+	public void updateStudent(Student s) { write(Repository.STUDENTS_FILE, s.getID(), s); }
+	public void updateCompanyRep(CompanyRepresentative c) { write(Repository.COMPANYREPS_FILE, c.getID(), c); }
+	public void updateStaff(Staff s) { write(Repository.STAFFMEMBERS_FILE, s.getID(), s); }
+	public void updateInternship(Internship i) { write(Repository.INTERNSHIPS_FILE, i.getInternshipID(), i); }
+	public void updateApplication(Application a) { write(Repository.APPLICATIONS_FILE, a.getApplicationID(), a); }
+	public void updateWithdrawal(WithdrawalRequest w) { write(Repository.WITHDRAWALS_FILE, w.getRequestID(), w); }
+	public void updateReport(Report r) { write(Repository.REPORTS_FILE, r.getID(), r); }
+	public void removeInternship(String iID) { write(Repository.INTERNSHIPS_FILE, iID, null); }
+
+	// Pending changes, read by the repository on commit
+	Map<String, Map<String, Object>> getWrites() { return writes; }
+
+	// Releases the table locks taken by this transaction; called by the repository when it ends
+	void unlockTables() {
+		repo.unlockForTransaction(locked);
+		locked.clear();
+	}
+
+	private void lock(String file) {
+		if (locked.contains(file)) return;
+		repo.lockForTransaction(file, locked);
+		locked.add(file);
+	}
+
+	// Returns the pending write, or else this transaction's copy of the stored entity
+	private Object find(String file, String id) {
+		lock(file);
+		Map<String, Object> pending = writes.get(file);
+		if (pending != null && pending.containsKey(id)) { return pending.get(id); }
+		return copies.computeIfAbsent(file, k -> new HashMap<>()).computeIfAbsent(id, k -> {
+			Object e = repo.lookup(file, id);
+			// the CSV row carries every field including the version, so it makes a faithful copy
+			return e == null ? null : Repository.parse(file, Repository.rowOf(e));
+		});
+	}
+
+	private void write(String file, String id, Object e) {
+		lock(file);
+		writes.computeIfAbsent(file, k -> new LinkedHashMap<>()).put(id, e);
+	}
+}
@@ -8,6 +8,7 @@ public class WithdrawalRequest {
 	private String sID;
 	private ApprovalStatus status;
 	private String reqDate; // YYYY-MM-DD
+	private int version; // committed changes, checked by the Repository on update; 0 until first stored
 
 	public WithdrawalRequest(String wID, String aID, String sID, ApprovalStatus status, String reqDate) {
 		this.wID = wID;
@@ -21,7 +22,7 @@ public class WithdrawalRequest {
 		this.reqDate = reqDate;
 	}
 
-	public String[] toCSVRow() { return new String[] {wID, aID, sID, status.name(), reqDate}; }
+	public String[] toCSVRow() { return new String[] {wID, aID, sID, status.name(), reqDate, String.valueOf(version)}; }
 
 	private static boolean isValidDate(String date) {
 		try {
@@ -58,9 +59,9 @@ public class WithdrawalRequest {
 	}
 
 	public static WithdrawalRequest fromCSVRow(String[] s) {
-		// Check CSV row length
-		if (s == null || s.length != 5) {
-			throw new IllegalArgumentException("Invalid CSV row: expected 5 fields, got " + (s == null ? 0 : s.length));
+		// Check CSV row length; rows written before versioning have no version column
+		if (s == null || (s.length != 5 && s.length != 6)) {
+			throw new IllegalArgumentException("Invalid CSV row: expected 5 or 6 fields, got " + (s == null ? 0 : s.length));
 		}
 
 		try {
@@ -87,7 +88,9 @@ public class WithdrawalRequest {
 			// Parse enum (this will throw if invalid)
 			ApprovalStatus status = ApprovalStatus.valueOf(statusStr);
 
-			return new WithdrawalRequest(wID, aID, sID, status, reqDate);
+			WithdrawalRequest w = new WithdrawalRequest(wID, aID, sID, status, reqDate);
+			w.version = s.length == 6 ? Integer.parseInt(s[5]) : 1;
+			return w;
 		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException("Invalid value in CSV row: " + e.getMessage());
 		}
@@ -99,4 +102,6 @@ public class WithdrawalRequest {
 	public ApprovalStatus getStatus() { return status; }
 	public void setStatus(ApprovalStatus s) { this.status = s; }
 	public String getRequestDate() { return reqDate; }
+	public int getVersion() { return version; }
+	void setVersion(int version) { this.version = version; }
 }
@@ -0,0 +1,12 @@
+package enums;
+
+/**
+ * How a query finds its candidate entities, cheapest first.
+ * ID_LOOKUP - the entities of one student or internship, from an index
+ * STATUS_PARTITION - the entities with the requested status
+ * DATE_RANGE - the entities dated within the requested range, from a date index
+ * SCAN - every entity of the table
+ */
+public enum AccessPath {
+	ID_LOOKUP, STATUS_PARTITION, DATE_RANGE, SCAN
+}
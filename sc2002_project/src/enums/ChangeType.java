@@ -0,0 +1,11 @@
+package enums;
+
+/**
+ * Kind of change in the repository's change feed.
+ * INSERT - an entity was stored under a new ID
+ * UPDATE - a stored entity was written again
+ * DELETE - an entity was removed
+ */
+public enum ChangeType {
+	INSERT, UPDATE, DELETE
+}
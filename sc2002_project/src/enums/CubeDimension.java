@@ -0,0 +1,12 @@
+package enums;
+
+/**
+ * Dimensions an application cube can be rolled up by.
+ * DAY, WEEK, MONTH - the apply date; a week is named by its Monday, a month as YYYY-MM
+ * COMPANY - the company offering the internship
+ * LEVEL - the internship level
+ * STATUS - the application status
+ */
+public enum CubeDimension {
+	DAY, WEEK, MONTH, COMPANY, LEVEL, STATUS
+}
@@ -0,0 +1,10 @@
+package enums;
+
+/**
+ * File formats for exported report data.
+ * CSV - one section per entity type, each with its own header row
+ * JSONL - one JSON object per line
+ */
+public enum ExportFormat {
+	CSV, JSONL
+}
@@ -0,0 +1,10 @@
+package enums;
+
+/**
+ * What a notification does when the notification queue is full.
+ * BLOCK - the caller waits until the dispatcher has made room
+ * DROP - the notification is discarded and counted as dropped
+ */
+public enum OverflowPolicy {
+	BLOCK, DROP
+}
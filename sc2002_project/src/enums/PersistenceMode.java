@@ -0,0 +1,13 @@
+package enums;
+
+/**
+ * How the repository persists entity changes to disk.
+ * WRITE_THROUGH - every update rewrites the whole CSV file of that entity
+ * JOURNALED - every update appends one record to the entity's journal;
+ *             the CSV file is only rewritten at checkpoints
+ * WRITE_BEHIND - updates mark the entity's table dirty and a background flusher
+ *                rewrites each dirty CSV file once per flush window
+ */
+public enum PersistenceMode {
+	WRITE_THROUGH, JOURNALED, WRITE_BEHIND
+}
@@ -1,20 +1,82 @@
 package main;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import boundary.ApiServer;
 import boundary.WelcomeUI;
 import controller.SystemController;
 import entities.Repository;
+import enums.OverflowPolicy;
+import enums.PersistenceMode;
+import services.InboxManager;
+import utils.NotificationService;
+import utils.RollingFileSink;
 
 /**
  * Main entry point for the Internship Placement Management System.
  */
 public class Main {
+	private static final long NOTIFICATION_LOG_BYTES = 10 * 1024 * 1024;
+	private static final int NOTIFICATION_LOG_FILES = 5;
+
 	/**
 	 * Starts the application by initializing the repository and system controller.
+	 * The persistence mode can be chosen with -Dpersistence.mode=JOURNALED or WRITE_BEHIND
+	 * (default WRITE_THROUGH), and the write-behind window with -Dpersistence.flushWindowMillis.
+	 * -Dpersistence.parallelLoad=true loads the data files in parallel, and
+	 * -Dpersistence.reportLoadTimes=true prints how long each file took to load, and
+	 * -Dpersistence.snapshot=true writes a binary snapshot on exit for a faster next start.
+	 * With -Dserver.port=N the system runs headless, serving the JSON API on port N
+	 * instead of the console menus. Notifications can also be written to a rolling log
+	 * file with -Dnotifications.file=path, and -Dnotifications.overflow=DROP drops them
+	 * instead of waiting when they are produced faster than they can be delivered.
+	 * Filtered reports are counted on N cores with -Dreports.parallelism=N.
 	 * @param args command line arguments (not used)
+	 * @throws IOException if the API server cannot bind its port
 	 */
-	public static void main(String[] args) {
-		Repository repo = new Repository();
+	public static void main(String[] args) throws IOException {
+		PersistenceMode mode = PersistenceMode.valueOf(System.getProperty("persistence.mode", PersistenceMode.WRITE_THROUGH.name()));
+		Repository repo = new Repository(mode, Boolean.getBoolean("persistence.parallelLoad"));
+		if (Boolean.getBoolean("persistence.reportLoadTimes")) {
+			repo.getLoadTimes().forEach((file, millis) -> System.out.println("Loaded " + file + " in " + millis + " ms"));
+		}
+		repo.setSnapshotOnClose(Boolean.getBoolean("persistence.snapshot"));
+		String window = System.getProperty("persistence.flushWindowMillis");
+		if (window != null) { repo.setFlushWindow(Long.parseLong(window)); }
+		repo.setReportParallelism(Integer.getInteger("reports.parallelism", 1));
+		NotificationService notifications = NotificationService.getDefault();
+		notifications.setOverflowPolicy(OverflowPolicy.valueOf(System.getProperty("notifications.overflow", OverflowPolicy.BLOCK.name())));
+		String log = System.getProperty("notifications.file");
+		if (log != null) { notifications.addSink(new RollingFileSink(Paths.get(log), NOTIFICATION_LOG_BYTES, NOTIFICATION_LOG_FILES)); }
 		SystemController sys = new SystemController(repo);
+		// both the API and the menus show inboxes, so they follow the changes from the start
+		InboxManager inbox = sys.inbox();
+		String port = System.getProperty("server.port");
+		if (port != null) {
+			// loopback only unless a host is given, e.g. -Dserver.host=0.0.0.0 for all interfaces
+			ApiServer api = new ApiServer(sys, System.getProperty("server.host"), Integer.parseInt(port));
+			// one hook, since the JVM runs hooks concurrently: finish the requests in progress
+			// before writing pending changes, those before the inbox messages they produce,
+			// and those before the notifications still queued
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				api.stop();
+				repo.close();
+				inbox.close();
+				notifications.close();
+			}));
+			api.start();
+			System.out.println("Serving the API on " + api.getAddress().getHostAddress() + " port " + api.getPort()
+				+ (ApiServer.usesVirtualThreads() ? " (virtual threads)" : ""));
+			return;
+		}
+		// write pending changes and fold the journals back into the CSV files on exit,
+		// then the inbox messages they produce and the notifications still queued
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			repo.close();
+			inbox.close();
+			notifications.close();
+		}));
 		new WelcomeUI(sys).start();
 	}
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ module sc2002_project {
     exports controller;
     exports boundary;
 
+    requires jdk.httpserver;
     requires junit;
     requires hamcrest.core;
 }
\ No newline at end of file
@@ -81,7 +81,7 @@ public class AccountManager {
 		}
 		CompanyRepresentative c = new CompanyRepresentative(id, name, pw, companyName, dept, pos, false);
 		repo.updateCompanyRep(c);
-		NotificationService.notify("Registration '" + id + "' requested");
+		NotificationService.notify(() -> "Registration '" + id + "' requested");
 		return true;
 	}
 
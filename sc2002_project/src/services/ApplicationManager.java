@@ -17,57 +17,69 @@ public class ApplicationManager {
 	
 	public ApplicationManager(Repository repo) { this.repo = repo; }
 
+	/**
+	 * Submits an application. The limit and duplicate checks run in the same
+	 * transaction as the insert, so they cannot be bypassed by a concurrent apply.
+	 * The student is only notified once the transaction has committed. The application ID
+	 * is taken once the checks first pass and reused if the transaction is retried.
+	 */
 	public boolean applyForInternship(Student s, String iID) {
-		List<Application> l = repo.getApplicationsByStudent(s.getID());
-
-		// count number of pending + successful applications
-		long active = l.stream().filter(a -> a.getStatus() == ApplicationStatus.PENDING || a.getStatus() == ApplicationStatus.SUCCESSFUL).count();
-		if (active >= 3) {
-			System.out.println("Error: You already have 3 active applications. Maximum limit reached.");
-			return false;
-		}
-
-		// find internship
-		Internship i = repo.findInternship(iID);
-		if (i == null) {
-			System.out.println("Error: Internship not found with ID: " + iID);
-			return false;
-		}
-		if (!i.isVisible()) {
-			System.out.println("Error: This internship is not currently visible to students");
-			return false;
-		}
-
-		if (i.getStatus() != InternshipStatus.APPROVED) {
-			System.out.println("Error: This internship is not approved (Status: " + i.getStatus() + ")");
-			return false;
-		}
-
-		if (i.getStatus() == InternshipStatus.FILLED) {
-			System.out.println("Error: This internship is already filled (no slots available)");
-			return false;
-		}
-
-		String today = DataUtility.currentDate();
-		if (i.getClosingDate().compareTo(today) < 0) {
-			System.out.println("Error: This internship has closed (Closing date: " + i.getClosingDate() + ")");
-			return false;
-		}
-
-		// Check if already applied
-		for (Application existing : l) {
-			if (existing.getInternshipID().equals(iID) &&
-				(existing.getStatus() == ApplicationStatus.PENDING || existing.getStatus() == ApplicationStatus.SUCCESSFUL)) {
-				System.out.println("Error: You have already applied to this internship");
-				return false;
+		// the ID lives outside the retried transaction, so a retry does not use up another one
+		String[] aID = {null};
+		Internship applied = Repository.retryOnConflict(() -> repo.inTransaction(tx -> {
+			List<Application> l = tx.getApplicationsByStudent(s.getID());
+
+			// count number of pending + successful applications
+			long active = l.stream().filter(a -> a.getStatus() == ApplicationStatus.PENDING || a.getStatus() == ApplicationStatus.SUCCESSFUL).count();
+			if (active >= 3) {
+				System.out.println("Error: You already have 3 active applications. Maximum limit reached.");
+				return null;
+			}
+
+			// find internship
+			Internship i = tx.findInternship(iID);
+			if (i == null) {
+				System.out.println("Error: Internship not found with ID: " + iID);
+				return null;
+			}
+			if (!i.isVisible()) {
+				System.out.println("Error: This internship is not currently visible to students");
+				return null;
+			}
+
+			if (i.getStatus() != InternshipStatus.APPROVED) {
+				System.out.println("Error: This internship is not approved (Status: " + i.getStatus() + ")");
+				return null;
+			}
+
+			if (i.getStatus() == InternshipStatus.FILLED) {
+				System.out.println("Error: This internship is already filled (no slots available)");
+				return null;
+			}
+
+			String today = DataUtility.currentDate();
+			if (i.getClosingDate().compareTo(today) < 0) {
+				System.out.println("Error: This internship has closed (Closing date: " + i.getClosingDate() + ")");
+				return null;
 			}
-		}
 
-		// apply
-		String aID = IDGenerator.nextApplicationID();
-		Application a = new Application(aID, iID, s.getID(), ApplicationStatus.PENDING, today, false);
-		repo.updateApplication(a);
-		NotificationService.notify("Application '" + i.getTitle() + "' submitted");
+			// Check if already applied
+			for (Application existing : l) {
+				if (existing.getInternshipID().equals(iID) &&
+					(existing.getStatus() == ApplicationStatus.PENDING || existing.getStatus() == ApplicationStatus.SUCCESSFUL)) {
+					System.out.println("Error: You have already applied to this internship");
+					return null;
+				}
+			}
+
+			// apply
+			if (aID[0] == null) aID[0] = IDGenerator.nextApplicationID();
+			Application a = new Application(aID[0], iID, s.getID(), ApplicationStatus.PENDING, today, false);
+			tx.updateApplication(a);
+			return i;
+		}));
+		if (applied == null) return false;
+		NotificationService.notify(() -> "Application '" + applied.getTitle() + "' submitted");
 		return true;
 	}
 
@@ -75,12 +87,19 @@ public class ApplicationManager {
 
 	public List<Application> getApplicationsForInternship(String iID) { return repo.getApplicationsByInternship(iID); }
 
+	/**
+	 * Sets the outcome of an application, retried if the application changes concurrently
+	 * (e.g. the student withdraws it at the same time). Notifies once the change has committed.
+	 */
 	public void staffSetApplicationStatus(String aID, ApplicationStatus status) {
-		Application a = repo.findApplication(aID);
-		if (a == null) return;
-		a.setStatus(status);
-		repo.updateApplication(a);
-		NotificationService.notify("Application '" + a.getApplicationID() + "' status changed to '" + status + "'");
+		boolean changed = Repository.retryOnConflict(() -> repo.inTransaction(tx -> {
+			Application a = tx.findApplication(aID);
+			if (a == null) return false;
+			a.setStatus(status);
+			tx.updateApplication(a);
+			return true;
+		}));
+		if (changed) NotificationService.notify(() -> "Application '" + aID + "' status changed to '" + status + "'");
 		
 //		Student s = repo.findStudent(a.getStudentID());
 //		if (s != null) NotificationService.notify("Application '" + a.getApplicationID() + "' status changed to '" + status + "'");
@@ -90,31 +109,41 @@ public class ApplicationManager {
 //		}
 	}
 
+	/**
+	 * Accepts an offer, withdraws the student's other applications and takes a slot,
+	 * all in one transaction. Fails without changes if the internship has no slot left.
+	 * The student is only notified once the transaction has committed.
+	 */
 	public boolean studentAcceptOffer(Student s, String aID) {
-		Application a = repo.findApplication(aID);
-		if (a == null) return false;
-		if (!a.getStudentID().equals(s.getID())) return false;
-		if (a.getStatus() != ApplicationStatus.SUCCESSFUL) return false;
-		
-		a.setAcceptedByStudent(true);
-		repo.updateApplication(a);
-		
-		// withdraw all other applications
-		for (Application a1 : repo.getApplicationsByStudent(s.getID())) {
-			if (!a1.getApplicationID().equals(aID)) {
-				a1.setStatus(ApplicationStatus.WITHDRAWN);
-				repo.updateApplication(a1);
+		boolean accepted = Repository.retryOnConflict(() -> repo.inTransaction(tx -> {
+			Application a = tx.findApplication(aID);
+			if (a == null) return false;
+			if (!a.getStudentID().equals(s.getID())) return false;
+			if (a.getStatus() != ApplicationStatus.SUCCESSFUL) return false;
+
+			// take a slot first; the last one marks the internship filled
+			Internship i = tx.findInternship(a.getInternshipID());
+			if (i != null) {
+				if (!i.reserveSlot()) {
+					System.out.println("Error: This internship is already filled (no slots available)");
+					return false;
+				}
+				tx.updateInternship(i);
 			}
-		}
-		
-		// reduce slot count and mark filled if necessary
-		Internship i = repo.findInternship(a.getInternshipID());
-		if (i != null) {
-			i.setSlots(Math.max(0, i.getSlots()-1));
-			if (i.getSlots() == 0) i.setStatus(InternshipStatus.FILLED);
-			repo.updateInternship(i);
-		}
-		NotificationService.notify("Internship '" + aID + "' accepted");
-		return true;
+
+			a.setAcceptedByStudent(true);
+			tx.updateApplication(a);
+
+			// withdraw all other applications
+			for (Application a1 : tx.getApplicationsByStudent(s.getID())) {
+				if (!a1.getApplicationID().equals(aID)) {
+					a1.setStatus(ApplicationStatus.WITHDRAWN);
+					tx.updateApplication(a1);
+				}
+			}
+			return true;
+		}));
+		if (accepted) NotificationService.notify(() -> "Internship '" + aID + "' accepted");
+		return accepted;
 	}
 }
@@ -0,0 +1,276 @@
+package services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import entities.Application;
+import entities.ChangeEvent;
+import entities.ChangeListener;
+import entities.InboxMessage;
+import entities.Internship;
+import entities.Repository;
+import entities.WithdrawalRequest;
+import enums.OverflowPolicy;
+import utils.CSVEncoder;
+import utils.DataUtility;
+import utils.FileHandler;
+import utils.NotificationService;
+
+/**
+ * Per-user notification inboxes, filled from the repository's change feed:
+ * students hear when their applications and withdrawal requests change status, and
+ * company representatives about new applications, accepted offers and decisions on
+ * their internships.
+ *
+ * Inboxes are append-only and kept in memory with a read marker each, so the unread
+ * count of a user is read in O(1) without locking. They are persisted to an outbox file
+ * (inbox.csv) of delivered messages and read markers, which is only ever appended to,
+ * in batches by a background NotificationService. Messages are handed to it without
+ * waiting, since they are sent while the repository holds a table lock: a decision never
+ * waits for the inbox to reach the disk. When the outbox is full, each inbox remembers how
+ * much of it was handed over, and the rest follows on a later send, flush() or close().
+ * Messages not yet written when the process dies are lost, so call close() before
+ * exiting. Thread-safe.
+ */
+public class InboxManager {
+	public static final String INBOX_FILE = "inbox.csv";
+	private static final String[] INBOX_HEADER = {"kind", "seq", "userID", "date", "message"};
+	private static final String KIND_MESSAGE = "M";
+	private static final String KIND_READ = "R";
+	private static final int OUTBOX_CAPACITY = 4096;
+
+	private final Repository repo;
+	private final Map<String, Inbox> inboxes = new ConcurrentHashMap<>();
+	private final NotificationService outbox;
+	private final ChangeListener listener = this::changed;
+	// users whose inbox has messages or a read marker the outbox was too full to take
+	private final Set<String> behind = ConcurrentHashMap.newKeySet();
+	private volatile boolean closed;
+
+	/**
+	 * Loads the inboxes from the outbox file and starts following the repository's changes.
+	 * @param repo the repository
+	 */
+	public InboxManager(Repository repo) {
+		this.repo = repo;
+		// lines are only ever offered, so the policy never makes a sender wait
+		this.outbox = new NotificationService(OUTBOX_CAPACITY, OverflowPolicy.DROP,
+			lines -> FileHandler.appendLines(INBOX_FILE, lines, INBOX_HEADER));
+		if (FileHandler.exists(INBOX_FILE)) { FileHandler.readCSV(INBOX_FILE, this::replay); }
+		repo.changes().subscribe(listener);
+	}
+
+	/**
+	 * Delivers a message to a user's inbox.
+	 * @param userID recipient
+	 * @param message the message
+	 * @return the delivered message
+	 */
+	public InboxMessage send(String userID, String message) {
+		Inbox box = inboxes.computeIfAbsent(userID, k -> new Inbox());
+		InboxMessage m;
+		synchronized (box) {
+			m = new InboxMessage(box.size + 1, userID, DataUtility.currentDate(), message);
+			box.messages.add(m);
+			box.size = box.messages.size();
+			handOver(userID, box);
+		}
+		retryBehind();
+		return m;
+	}
+
+	/**
+	 * @param userID the user
+	 * @return number of messages the user has not read yet
+	 */
+	public int getUnreadCount(String userID) {
+		Inbox box = inboxes.get(userID);
+		if (box == null) return 0;
+		// the marker is read first: it never passes the size it was set from, and the size only grows
+		int read = box.read;
+		return box.size - read;
+	}
+
+	/**
+	 * @param userID the user
+	 * @return number of messages in the user's inbox
+	 */
+	public int getMessageCount(String userID) {
+		Inbox box = inboxes.get(userID);
+		return box == null ? 0 : box.size;
+	}
+
+	/**
+	 * Gets one page of a user's inbox, newest message first. The unread messages are
+	 * the first getUnreadCount(userID) of the whole inbox.
+	 * @param userID the user
+	 * @param page page number, starting at 0
+	 * @param pageSize messages per page
+	 * @return the messages on the page; empty past the end
+	 */
+	public List<InboxMessage> getPage(String userID, int page, int pageSize) {
+		if (page < 0 || pageSize <= 0) {
+			throw new IllegalArgumentException("Page must not be negative and page size must be positive");
+		}
+		Inbox box = inboxes.get(userID);
+		List<InboxMessage> l = new ArrayList<>();
+		if (box == null) return l;
+		synchronized (box) {
+			long end = (long) box.size - (long) page * pageSize;
+			for (long k = end - 1; k >= Math.max(0, end - pageSize); k--) { l.add(box.messages.get((int) k)); }
+		}
+		return l;
+	}
+
+	/**
+	 * Marks every message in a user's inbox as read.
+	 * @param userID the user
+	 */
+	public void markAllRead(String userID) {
+		Inbox box = inboxes.get(userID);
+		if (box == null) return;
+		synchronized (box) {
+			if (box.read == box.size) return;
+			box.read = box.size;
+			handOver(userID, box);
+		}
+		retryBehind();
+	}
+
+	/** Waits until every delivered message and read marker is in the outbox file. */
+	public void flush() {
+		if (closed) return;
+		while (!retryBehind()) {
+			// the outbox is full: wait for its dispatcher to write what it holds
+			outbox.flush();
+		}
+		outbox.flush();
+	}
+
+	/** Stops following the repository and writes what is still queued. */
+	public void close() {
+		repo.changes().unsubscribe(listener);
+		flush();
+		closed = true;
+		outbox.close();
+	}
+
+	/**
+	 * Offers the outbox the messages and read marker of an inbox it does not have yet,
+	 * in sequence order, without waiting. Called with the inbox lock held, so the file
+	 * keeps each inbox in sequence order.
+	 * @return false if the outbox was full; the inbox is then remembered as behind
+	 */
+	private boolean handOver(String userID, Inbox box) {
+		while (box.written < box.size) {
+			if (!outbox.offer(encode(KIND_MESSAGE, box.messages.get(box.written).toCSVRow()))) {
+				behind.add(userID);
+				return false;
+			}
+			box.written++;
+		}
+		if (box.writtenRead < box.read) {
+			if (!outbox.offer(encode(KIND_READ, new String[] {String.valueOf(box.read), userID}))) {
+				behind.add(userID);
+				return false;
+			}
+			box.writtenRead = box.read;
+		}
+		behind.remove(userID);
+		return true;
+	}
+
+	/**
+	 * Hands over the inboxes that fell behind, without waiting.
+	 * @return true if no inbox is behind any more
+	 */
+	private boolean retryBehind() {
+		for (String userID : behind) {
+			Inbox box = inboxes.get(userID);
+			synchronized (box) {
+				if (!handOver(userID, box)) return false;
+			}
+		}
+		return true;
+	}
+
+	// Called by the change feed for every change, with the table lock held
+	private void changed(ChangeEvent<?> event) {
+		ChangeEvent<Application> application = event.as(Application.class);
+		ChangeEvent<WithdrawalRequest> withdrawal = event.as(WithdrawalRequest.class);
+		ChangeEvent<Internship> internship = event.as(Internship.class);
+		if (application != null) {
+			Application before = application.getBefore();
+			Application a = application.getAfter();
+			if (a == null) return;
+			Internship i = repo.findInternship(a.getInternshipID());
+			String title = i == null ? a.getInternshipID() : i.getTitle();
+			if (before == null && i != null) {
+				send(i.getCompanyRepID(), "New application " + a.getApplicationID() + " from " + a.getStudentID() + " for '" + title + "'");
+			} else if (before != null && before.getStatus() != a.getStatus()) {
+				send(a.getStudentID(), "Your application " + a.getApplicationID() + " for '" + title + "' is now " + a.getStatus());
+			}
+			if (a.isAcceptedByStudent() && (before == null || !before.isAcceptedByStudent()) && i != null) {
+				send(i.getCompanyRepID(), a.getStudentID() + " accepted the offer for '" + title + "' (application " + a.getApplicationID() + ")");
+			}
+		} else if (withdrawal != null) {
+			WithdrawalRequest before = withdrawal.getBefore();
+			WithdrawalRequest w = withdrawal.getAfter();
+			if (before != null && w != null && before.getStatus() != w.getStatus()) {
+				send(w.getStudentID(), "Your withdrawal request " + w.getRequestID() + " for application " + w.getApplicationID() + " is now " + w.getStatus());
+			}
+		} else if (internship != null) {
+			Internship before = internship.getBefore();
+			Internship i = internship.getAfter();
+			if (before != null && i != null && before.getStatus() != i.getStatus()) {
+				send(i.getCompanyRepID(), "Your internship '" + i.getTitle() + "' (" + i.getInternshipID() + ") is now " + i.getStatus());
+			}
+		}
+	}
+
+	// Rebuilds the inboxes from one outbox row; only this thread sees them while loading
+	private void replay(String[] row) {
+		try {
+			if (row.length == 5 && row[0].equals(KIND_MESSAGE)) {
+				InboxMessage m = InboxMessage.fromCSVRow(Arrays.copyOfRange(row, 1, row.length));
+				Inbox box = inboxes.computeIfAbsent(m.getRecipientID(), k -> new Inbox());
+				if (m.getSequence() != box.size + 1) {
+					throw new IllegalArgumentException("Message " + m.getSequence() + " out of sequence for " + m.getRecipientID());
+				}
+				box.messages.add(m);
+				box.size = box.messages.size();
+				box.written = box.size;
+			} else if (row.length == 3 && row[0].equals(KIND_READ)) {
+				Inbox box = inboxes.get(row[2]);
+				if (box == null) throw new IllegalArgumentException("Read marker for empty inbox of " + row[2]);
+				box.read = Math.min(box.size, Math.max(box.read, Integer.parseInt(row[1])));
+				box.writtenRead = box.read;
+			} else {
+				throw new IllegalArgumentException("Unknown inbox record");
+			}
+		} catch (IllegalArgumentException e) {
+			// Skip invalid entries
+			System.err.println("Skipping invalid inbox entry: " + e.getMessage());
+		}
+	}
+
+	private static String encode(String kind, String[] fields) {
+		String[] row = new String[fields.length + 1];
+		row[0] = kind;
+		System.arraycopy(fields, 0, row, 1, fields.length);
+		return new CSVEncoder().format(row);
+	}
+
+	private static final class Inbox {
+		private final List<InboxMessage> messages = new ArrayList<>(); // guarded by the inbox
+		private volatile int size;
+		private volatile int read;
+		// how many messages, and which read marker, the outbox has taken; guarded by the inbox
+		private int written;
+		private int writtenRead;
+	}
+}
@@ -39,8 +39,7 @@ public class InternshipManager {
 	 */
 	public Internship createInternship(String title, String desc, InternshipLevel lvl, String preferredMajor, String openDate, String closeDate, String companyName, String cID, int slots) {
 		// Check if representative has reached the maximum limit
-		List<Internship> existingInternships = listByCompanyRep(cID);
-		if (existingInternships.size() >= MAX_INTERNSHIPS_PER_REPRESENTATIVE) {
+		if (repo.countInternshipsByCompanyRep(cID) >= MAX_INTERNSHIPS_PER_REPRESENTATIVE) {
 			throw new IllegalStateException("Maximum internships limit reached. Each representative can create up to " + MAX_INTERNSHIPS_PER_REPRESENTATIVE + " internships.");
 		}
 
@@ -64,11 +63,10 @@ public class InternshipManager {
 		return l;
 	}
 
-	public List<Internship> listByCompanyRep(String cID) {
-		List<Internship> l = new ArrayList<>();
-		for (Internship i : repo.getAllInternships()) { if (i.getCompanyRepID().equals(cID)) { l.add(i); } }
-		// sort by internship id
-		l.sort(Comparator.comparing(Internship::getInternshipID));
-		return l;
-	}
+	/**
+	 * Gets the internships of a company rep, sorted by internship ID.
+	 * @param cID company rep ID
+	 * @return list of the rep's internships
+	 */
+	public List<Internship> listByCompanyRep(String cID) { return repo.getInternshipsByCompanyRep(cID); }
 }
@@ -0,0 +1,107 @@
+package services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import entities.ReportSummary;
+import entities.Repository;
+import enums.ReportCategory;
+
+/**
+ * Caches generated reports by category and filters, so that generating the same
+ * report again on unchanged data returns the report already generated instead of
+ * counting and saving a new one.
+ *
+ * Each report is stored with the repository's data version it was generated at, and
+ * is only returned while the version is unchanged. Filters are compared by value,
+ * ignoring their order and any filter without a value. The least recently used
+ * report is evicted once the cache is full.
+ */
+public class ReportCache {
+	public static final int DEFAULT_CAPACITY = 64;
+
+	private record Key(ReportCategory category, SortedMap<String, String> filters) { }
+
+	private record Entry(long version, ReportSummary report) { }
+
+	private final Repository repo;
+	private final Map<Key, Entry> entries;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public ReportCache(Repository repo) { this(repo, DEFAULT_CAPACITY); }
+
+	/**
+	 * @param repo the repository reports are generated from
+	 * @param capacity maximum number of reports kept
+	 * @throws IllegalArgumentException if capacity is less than 1
+	 */
+	public ReportCache(Repository repo, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Report cache capacity must be at least 1: " + capacity);
+		}
+		this.repo = repo;
+		// access order, so the eldest entry is the least recently used
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) { return size() > capacity; }
+		};
+	}
+
+	/**
+	 * Gets the report for a category and filters. If one was generated since the data
+	 * last changed it is returned as it is; otherwise generator is called, outside the
+	 * cache lock, and its report is cached.
+	 * @param category the report category
+	 * @param filters the report filters; may be null
+	 * @param generator generates and saves the report on a miss
+	 * @return the cached or newly generated report
+	 */
+	public ReportSummary get(ReportCategory category, Map<String, String> filters, Supplier<ReportSummary> generator) {
+		Key key = new Key(category, normalize(filters));
+		// read before generating, so a change made meanwhile makes the new entry stale
+		long version = repo.getDataVersion();
+		synchronized (entries) {
+			Entry e = entries.get(key);
+			if (e != null && e.version() == version) {
+				hits.incrementAndGet();
+				return e.report();
+			}
+		}
+		misses.incrementAndGet();
+		ReportSummary report = generator.get();
+		synchronized (entries) {
+			entries.put(key, new Entry(version, report));
+		}
+		return report;
+	}
+
+	/** @return number of reports returned from the cache */
+	public long getHits() { return hits.get(); }
+
+	/** @return number of reports generated */
+	public long getMisses() { return misses.get(); }
+
+	/** @return number of reports kept, including stale ones not yet replaced or evicted */
+	public int size() {
+		synchronized (entries) { return entries.size(); }
+	}
+
+	public void clear() {
+		synchronized (entries) { entries.clear(); }
+	}
+
+	private static SortedMap<String, String> normalize(Map<String, String> filters) {
+		SortedMap<String, String> m = new TreeMap<>();
+		if (filters != null) {
+			filters.forEach((k, v) -> {
+				if (v != null && !v.isEmpty()) m.put(k, v);
+			});
+		}
+		return m;
+	}
+}
@@ -0,0 +1,43 @@
+package services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import entities.User;
+
+/**
+ * One logged-in user's session, identified by an unguessable token.
+ * Holds per-session state as named attributes, so that several users can work in
+ * one process without sharing anything but the repository. Thread-safe.
+ */
+public class Session {
+	private final String token;
+	private final User user;
+	private final SessionManager manager;
+	private final long createdMillis;
+	private volatile long lastAccessMillis;
+	private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+	Session(String token, User user, SessionManager manager, long nowMillis) {
+		this.token = token;
+		this.user = user;
+		this.manager = manager;
+		this.createdMillis = nowMillis;
+		this.lastAccessMillis = nowMillis;
+	}
+
+	public String getToken() { return token; }
+	public User getUser() { return user; }
+	public long getCreatedMillis() { return createdMillis; }
+	public long getLastAccessMillis() { return lastAccessMillis; }
+
+	public Object getAttribute(String name) { return attributes.get(name); }
+	public void setAttribute(String name, Object value) { attributes.put(name, value); }
+	public void removeAttribute(String name) { attributes.remove(name); }
+
+	/** Ends this session; its token is no longer accepted. */
+	public void invalidate() { manager.destroy(token); }
+
+	// Records activity; the expiry timer only reads it when it fires, so this is a single write
+	void touch(long nowMillis) { lastAccessMillis = nowMillis; }
+}
@@ -0,0 +1,146 @@
+package services;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import entities.User;
+import utils.TimingWheel;
+
+/**
+ * Registry of logged-in sessions, looked up by token in O(1).
+ * Sessions that stay idle for the idle timeout are expired by a hashed timing wheel:
+ * activity only records a timestamp, and when a session's timer fires it either
+ * expires the session or is rescheduled from the last activity. So neither lookups
+ * nor the background sweep cost more with thousands of open sessions. Thread-safe.
+ */
+public class SessionManager {
+	public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+	// ticks per idle timeout; a session expires at most 1/TICKS_PER_TIMEOUT of the timeout late
+	private static final int TICKS_PER_TIMEOUT = 64;
+	private static final int TOKEN_BYTES = 16;
+
+	private final long idleTimeoutMillis;
+	private final LongSupplier clock;
+	private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+	private final Map<String, TimingWheel.Timeout<Session>> timeouts = new ConcurrentHashMap<>();
+	private final TimingWheel<Session> wheel;
+	private final SecureRandom random = new SecureRandom();
+	private final ScheduledExecutorService ticker;
+	private final long tickMillis;
+	private final AtomicBoolean ticking = new AtomicBoolean();
+
+	public SessionManager() { this(DEFAULT_IDLE_TIMEOUT_MILLIS, System::currentTimeMillis); }
+
+	/**
+	 * @param idleTimeoutMillis inactivity after which a session expires
+	 * @param clock current time in milliseconds
+	 */
+	public SessionManager(long idleTimeoutMillis, LongSupplier clock) {
+		if (idleTimeoutMillis <= 0) {
+			throw new IllegalArgumentException("Idle timeout must be positive: " + idleTimeoutMillis);
+		}
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.clock = clock;
+		this.tickMillis = Math.max(1, idleTimeoutMillis / TICKS_PER_TIMEOUT);
+		this.wheel = new TimingWheel<>(tickMillis, TICKS_PER_TIMEOUT * 2, clock.getAsLong());
+		this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "session-expiry");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Opens a session for an authenticated user.
+	 * @param user the logged-in user
+	 * @return the new session
+	 */
+	public Session create(User user) {
+		long now = clock.getAsLong();
+		Session s;
+		do {
+			s = new Session(newToken(), user, this, now);
+		} while (sessions.putIfAbsent(s.getToken(), s) != null);
+		schedule(s, now + idleTimeoutMillis);
+		// the expiry thread only starts once there is something to expire
+		if (ticking.compareAndSet(false, true)) {
+			ticker.scheduleAtFixedRate(this::expireIdle, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+		}
+		return s;
+	}
+
+	/**
+	 * Looks up a session and records activity on it.
+	 * @param token session token
+	 * @return the session, or null if the token is unknown, logged out or expired
+	 */
+	public Session find(String token) {
+		if (token == null) return null;
+		Session s = sessions.get(token);
+		if (s == null) return null;
+		long now = clock.getAsLong();
+		// the timer may not have fired yet for a session that is already past its timeout
+		if (now - s.getLastAccessMillis() >= idleTimeoutMillis) {
+			destroy(token);
+			return null;
+		}
+		s.touch(now);
+		return s;
+	}
+
+	/**
+	 * Ends a session.
+	 * @param token session token
+	 * @return true if the session was open
+	 */
+	public boolean destroy(String token) {
+		if (sessions.remove(token) == null) return false;
+		TimingWheel.Timeout<Session> t = timeouts.remove(token);
+		if (t != null) { wheel.cancel(t); }
+		return true;
+	}
+
+	/** @return number of open sessions */
+	public int size() { return sessions.size(); }
+
+	/**
+	 * Expires the sessions whose idle timeout has passed. Runs periodically on a
+	 * background thread; callers only need it to force a sweep.
+	 */
+	public void expireIdle() { wheel.advance(clock.getAsLong(), this::timedOut); }
+
+	/** Stops the background expiry. Open sessions stay valid until looked up. */
+	public void close() { ticker.shutdownNow(); }
+
+	// A session's timer fired: expire it, or wait again if it was used in the meantime
+	private void timedOut(Session s) {
+		String token = s.getToken();
+		if (sessions.get(token) != s) return;
+		long deadline = s.getLastAccessMillis() + idleTimeoutMillis;
+		if (clock.getAsLong() >= deadline) {
+			destroy(token);
+		} else {
+			schedule(s, deadline);
+		}
+	}
+
+	private void schedule(Session s, long deadline) {
+		TimingWheel.Timeout<Session> t = wheel.schedule(s, deadline);
+		timeouts.put(s.getToken(), t);
+		// destroyed in the meantime: do not keep its timer
+		if (sessions.get(s.getToken()) != s && timeouts.remove(s.getToken(), t)) { wheel.cancel(t); }
+	}
+
+	private String newToken() {
+		byte[] b = new byte[TOKEN_BYTES];
+		random.nextBytes(b);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(b);
+	}
+}
@@ -0,0 +1,101 @@
+package utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * A fixed ring of slots, each with a sequence number that says whose turn it is:
+ * a producer claims a slot by advancing the tail with a CAS and publishes the item
+ * by bumping the slot's sequence; the consumer takes items in order and hands the
+ * slot back to producers one lap later. Producers never wait for each other except
+ * to retry a lost CAS, and a full queue is reported instead of blocking.
+ *
+ * offer() may be called from any thread; poll() and drainTo() only from one thread.
+ * @param <T> element type
+ */
+public class BoundedQueue<T> {
+	private final AtomicReferenceArray<T> items;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	private volatile long head;
+
+	/**
+	 * @param capacity maximum number of queued items, rounded up to a power of two
+	 */
+	public BoundedQueue(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+		this.items = new AtomicReferenceArray<>(size);
+		this.sequences = new AtomicLongArray(size);
+		this.mask = size - 1;
+		for (int i = 0; i < size; i++) { sequences.set(i, i); }
+	}
+
+	/**
+	 * Adds an item at the tail.
+	 * @param item the item, not null
+	 * @return false if the queue is full
+	 */
+	public boolean offer(T item) {
+		if (item == null) throw new IllegalArgumentException("Item must not be null");
+		while (true) {
+			long t = tail.get();
+			int slot = (int) t & mask;
+			long diff = sequences.get(slot) - t;
+			if (diff == 0) {
+				if (tail.compareAndSet(t, t + 1)) {
+					items.set(slot, item);
+					sequences.set(slot, t + 1);
+					return true;
+				}
+			} else if (diff < 0) {
+				// the slot from the previous lap has not been consumed yet
+				return false;
+			}
+			// another producer claimed this slot; retry with the new tail
+		}
+	}
+
+	/**
+	 * Removes the item at the head. Consumer thread only.
+	 * @return the item, or null if the queue is empty or the next item is still being published
+	 */
+	public T poll() {
+		long h = head;
+		int slot = (int) h & mask;
+		if (sequences.get(slot) != h + 1) return null;
+		T item = items.get(slot);
+		items.set(slot, null);
+		sequences.set(slot, h + mask + 1);
+		head = h + 1;
+		return item;
+	}
+
+	/**
+	 * Moves up to max items to a list, in order. Consumer thread only.
+	 * @param to destination
+	 * @param max largest number of items to move
+	 * @return number of items moved
+	 */
+	public int drainTo(List<? super T> to, int max) {
+		int n = 0;
+		T item;
+		while (n < max && (item = poll()) != null) {
+			to.add(item);
+			n++;
+		}
+		return n;
+	}
+
+	/** @return approximate number of queued items */
+	public int size() { return (int) Math.max(0, tail.get() - head); }
+
+	/** @return maximum number of queued items */
+	public int capacity() { return mask + 1; }
+}
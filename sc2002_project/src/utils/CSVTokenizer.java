@@ -0,0 +1,86 @@
+package utils;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Splits raw CSV lines into fields in a single pass over their bytes.
+ * One tokenizer is meant to be reused for every line of a file: its buffers are kept
+ * between lines, so a line costs only its field Strings and the returned array.
+ *
+ * Quoting rules are the ones FileHandler has always used: a pair of quotes is a literal
+ * quote (inside or outside a quoted section), a single quote toggles the quoted section,
+ * and commas outside quoted sections separate fields. The two characters \ and n are
+ * turned into a newline. Fields without quotes or escapes are decoded straight from the
+ * line; only the others are copied into the field buffer first.
+ *
+ * Works on any ASCII-compatible charset, since the bytes of ',', '"', '\' and 'n' never
+ * occur inside multi-byte characters there. Not thread-safe.
+ */
+public class CSVTokenizer {
+	private final Charset charset;
+	private byte[] field = new byte[256];
+	private String[] fields = new String[16];
+	private int count;
+
+	public CSVTokenizer() { this(Charset.defaultCharset()); }
+
+	public CSVTokenizer(Charset charset) { this.charset = charset; }
+
+	/**
+	 * Splits one line into its fields.
+	 * @param line buffer holding the line, without its line break
+	 * @param offset index of the first byte of the line
+	 * @param length number of bytes in the line
+	 * @return the fields, at least one
+	 */
+	public String[] tokenize(byte[] line, int offset, int length) {
+		int end = offset + length;
+		int start = offset; // first byte of the current field in the line
+		int len = -1; // bytes of the current field in the field buffer, -1 while it is a plain slice of the line
+		boolean inQuotes = false;
+		count = 0;
+		for (int i = offset; i < end; i++) {
+			byte b = line[i];
+			if (b == ',' && !inQuotes) {
+				add(len < 0 ? new String(line, start, i - start, charset) : new String(field, 0, len, charset));
+				start = i + 1;
+				len = -1;
+				continue;
+			}
+			if (len < 0) {
+				if (b != '"' && !(b == 'n' && i > start && line[i - 1] == '\\')) continue;
+				// first quote or escape of this field: copy what was sliced so far and unescape from here on
+				len = i - start;
+				ensureCapacity(len + (end - i));
+				System.arraycopy(line, start, field, 0, len);
+			}
+			if (b == '"') {
+				if (i + 1 < end && line[i + 1] == '"') {
+					field[len++] = '"';
+					i++; // Skip next quote
+				} else {
+					inQuotes = !inQuotes;
+				}
+			} else if (b == 'n' && len > 0 && field[len - 1] == '\\') {
+				field[len - 1] = '\n';
+			} else {
+				field[len++] = b;
+			}
+		}
+		add(len < 0 ? new String(line, start, end - start, charset) : new String(field, 0, len, charset));
+		String[] row = Arrays.copyOf(fields, count);
+		// do not keep the Strings of this line alive until the next one
+		Arrays.fill(fields, 0, count, null);
+		return row;
+	}
+
+	private void add(String s) {
+		if (count == fields.length) { fields = Arrays.copyOf(fields, count * 2); }
+		fields[count++] = s;
+	}
+
+	private void ensureCapacity(int n) {
+		if (n > field.length) { field = Arrays.copyOf(field, Math.max(n, field.length * 2)); }
+	}
+}
@@ -0,0 +1,17 @@
+package utils;
+
+import java.util.List;
+
+/**
+ * Prints notifications to standard output, one line each, with one write per batch.
+ */
+public class ConsoleSink implements NotificationSink {
+
+	@Override
+	public void deliver(List<String> messages) {
+		StringBuilder sb = new StringBuilder();
+		for (String m : messages) { sb.append(m).append(System.lineSeparator()); }
+		System.out.print(sb);
+		System.out.flush();
+	}
+}
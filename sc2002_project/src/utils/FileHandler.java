@@ -1,17 +1,34 @@
 package utils;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class FileHandler {
 
 	private static final String DATA_DIR = "data";
+	// Files are mapped and read in regions of this size, so a file of any size can be streamed
+	private static final int REGION_SIZE = 8 * 1024 * 1024;
+	// Windows keeps a mapped file locked until the mapping is garbage collected, which would make
+	// the atomic replace in writeCSV fail, so files are read through a buffer there instead
+	private static final boolean MAP_FILES = !System.getProperty("os.name", "").startsWith("Windows");
 
 	/**
 	 * Finds the project root directory by looking for .idea or .git folder
@@ -44,113 +61,274 @@ public class FileHandler {
 		return new File(dataDir, filename);
 	}
 
+	/**
+	 * Reads all rows of a CSV file, skipping the header row and blank lines.
+	 * A missing file is created empty. Prefer readCSV(String, Consumer) for large files.
+	 * @param path file name inside the data directory
+	 * @return the rows
+	 */
 	public static List<String[]> readCSV(String path) {
 		List<String[]> rows = new ArrayList<>();
+		readCSV(path, rows::add);
+		return rows;
+	}
+
+	/**
+	 * Streams the rows of a CSV file to a consumer one at a time, without building a list.
+	 * The header row and blank lines are skipped and a missing file is created empty,
+	 * as in readCSV(String). The file is memory-mapped and decoded line by line,
+	 * so only the current row is held on the heap.
+	 * @param path file name inside the data directory
+	 * @param consumer receives each row in file order
+	 */
+	public static void readCSV(String path, Consumer<String[]> consumer) {
 		File f = getDataFile(path);
 		if (!f.exists()) {
 			System.err.println("[ERROR] File does not exist: " + f.getAbsolutePath());
 			// Create parent directory if it doesn't exist
 			f.getParentFile().mkdirs();
 			try { f.createNewFile(); } catch (IOException e) {}
-			return rows;
+			return;
 		}
-		try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-			String line;
-			// skip header row
-			boolean firstLine = true;
-			
-			while ((line = br.readLine()) != null) {
-				if (line.trim().isEmpty()) { continue; }
-				if (firstLine) {
-					firstLine = false;
-					continue; // Skip header
+		LineSplitter lines = new LineSplitter(consumer);
+		try (FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+			long size = ch.size();
+			ByteBuffer buffer = MAP_FILES ? null : ByteBuffer.allocateDirect((int) Math.min(REGION_SIZE, Math.max(size, 1)));
+			for (long pos = 0; pos < size; pos += REGION_SIZE) {
+				int length = (int) Math.min(REGION_SIZE, size - pos);
+				ByteBuffer region;
+				if (MAP_FILES) {
+					region = ch.map(FileChannel.MapMode.READ_ONLY, pos, length);
+				} else {
+					buffer.clear().limit(length);
+					while (buffer.hasRemaining() && ch.read(buffer, pos + buffer.position()) > 0) { }
+					region = buffer.flip();
 				}
-				
-				String[] parts = parseCSVLine(line);
-				rows.add(parts);
+				lines.feed(region);
 			}
+			lines.finish();
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
-		return rows;
 	}
-	
-	// Simple CSV parser that handles quoted fields
-	private static String[] parseCSVLine(String line) {
-		List<String> fields = new ArrayList<>();
-		boolean inQuotes = false;
-		StringBuilder currentField = new StringBuilder();
-		
-		for (int i = 0; i < line.length(); i++) {
-			char c = line.charAt(i);
-			
-			if (c == '"') {
-				// Check for escaped quote
-				if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
-					currentField.append('"');
-					i++; // Skip next quote
+
+	/**
+	 * Splits raw file bytes into lines and hands each parsed row to a consumer.
+	 * Lines are split on '\n' and '\r' bytes and tokenized without being decoded as a whole,
+	 * which is safe for the ASCII-compatible charsets the data files are written in.
+	 */
+	private static class LineSplitter {
+		private final Consumer<String[]> consumer;
+		private final CSVTokenizer tokenizer = new CSVTokenizer();
+		private byte[] line = new byte[256];
+		private int length = 0;
+		private boolean header = true;
+
+		LineSplitter(Consumer<String[]> consumer) { this.consumer = consumer; }
+
+		void feed(ByteBuffer region) {
+			while (region.hasRemaining()) {
+				byte b = region.get();
+				if (b == '\n' || b == '\r') {
+					// a CRLF ending yields an extra empty line, which is skipped like any blank line
+					endLine();
 				} else {
-					// Toggle quote state
-					inQuotes = !inQuotes;
+					if (length == line.length) { line = Arrays.copyOf(line, length * 2); }
+					line[length++] = b;
 				}
-			} else if (c == ',' && !inQuotes) {
-				// End of field
-				fields.add(currentField.toString());
-				currentField = new StringBuilder();
-			} else {
-				currentField.append(c);
 			}
 		}
-		
-		// Add the last field
-		fields.add(currentField.toString());
-		
-		// Post-process fields to handle escaped newlines
-		for (int i = 0; i < fields.size(); i++) {
-			String field = fields.get(i);
-			field = field.replace("\\n", "\n");
-			fields.set(i, field);
+
+		void finish() { endLine(); }
+
+		private void endLine() {
+			int n = length;
+			length = 0;
+			if (isBlank(n)) return;
+			if (header) {
+				header = false;
+				return; // Skip header
+			}
+			consumer.accept(tokenizer.tokenize(line, 0, n));
 		}
-		
-		return fields.toArray(new String[0]);
-	}
 
+		// Same test as String.trim().isEmpty(): every byte is a control character or space
+		private boolean isBlank(int n) {
+			for (int i = 0; i < n; i++) {
+				if ((line[i] & 0xff) > ' ') return false;
+			}
+			return true;
+		}
+	}
+	
 	public static void writeCSV(String path, List<String[]> rows) {
 		writeCSV(path, rows, null);
 	}
 
+	/**
+	 * Rewrites a CSV file. The rows are written to a temporary file first and then
+	 * moved over the old file, so a crash never leaves a half-written file behind.
+	 * @param path file name inside the data directory
+	 * @param rows rows to write
+	 * @param header header row, or null for none
+	 */
 	public static void writeCSV(String path, List<String[]> rows, String[] header) {
 		File f = getDataFile(path);
+		File tmp = new File(f.getParentFile(), f.getName() + ".tmp");
 		// Create parent directory if it doesn't exist
 		f.getParentFile().mkdirs();
-		try (BufferedWriter bw = new BufferedWriter(new FileWriter(f))) {
+		try (BufferedWriter bw = new BufferedWriter(new FileWriter(tmp))) {
 			// Write header if provided
 			if (header != null) {
 				bw.write(String.join(",", header));
 				bw.newLine();
 			}
 
+			CSVEncoder encoder = new CSVEncoder();
 			for (String[] row : rows) {
-				// Process each field to escape newlines and wrap in quotes if needed
-				String[] processedRow = new String[row.length];
-				for (int i = 0; i < row.length; i++) {
-					String field = row[i];
-					if (field != null) {
-						// Escape newlines
-						field = field.replace("\n", "\\n");
-						// Wrap in quotes if field contains comma, newline or quote
-						if (field.contains(",") || field.contains("\\n") || field.contains("\"")) {
-							field = "\"" + field.replace("\"", "\"\"") + "\"";
-						}
-					}
-					processedRow[i] = field;
-				}
-				bw.write(String.join(",", processedRow));
+				encoder.write(row, bw);
+				bw.newLine();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		try {
+			Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Writes binary data to the data directory. Like writeCSV, the data goes to a temporary
+	 * file first, which then replaces the old file in one atomic move.
+	 * @param path file name inside the data directory
+	 * @param writer writes the content
+	 * @return true if the file was written
+	 */
+	public static boolean writeBinary(String path, BinaryWriter writer) {
+		File f = getDataFile(path);
+		File tmp = new File(f.getParentFile(), f.getName() + ".tmp");
+		f.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16))) {
+			writer.write(out);
+		} catch (IOException e) {
+			e.printStackTrace();
+			tmp.delete();
+			return false;
+		}
+		try {
+			Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Opens a binary file in the data directory for reading. The caller closes the stream.
+	 * @param path file name inside the data directory
+	 * @return the stream, or null if the file does not exist
+	 */
+	public static DataInputStream openBinary(String path) {
+		File f = getDataFile(path);
+		try {
+			return f.exists() ? new DataInputStream(new BufferedInputStream(new FileInputStream(f), 1 << 16)) : null;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/** Writes the content of a binary file, see writeBinary. */
+	public interface BinaryWriter {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	/**
+	 * Gets the last modification time of a file in the data directory.
+	 * @param path file name inside the data directory
+	 * @return time in milliseconds, or 0 if the file does not exist
+	 */
+	public static long lastModified(String path) { return getDataFile(path).lastModified(); }
+
+	/**
+	 * Checks whether a file exists in the data directory without creating it.
+	 * @param path file name inside the data directory
+	 * @return true if the file exists
+	 */
+	public static boolean exists(String path) { return getDataFile(path).exists(); }
+
+	/**
+	 * Appends rows to the end of a CSV file and forces them to disk.
+	 * The header is only written when the file does not exist yet.
+	 * Used for journals, where every record must survive a crash.
+	 * @param path file name inside the data directory
+	 * @param rows rows to append
+	 * @param header header row for a new file
+	 */
+	public static void appendCSV(String path, List<String[]> rows, String[] header) {
+		File f = getDataFile(path);
+		f.getParentFile().mkdirs();
+		boolean isNew = !f.exists() || f.length() == 0;
+		try (FileOutputStream out = new FileOutputStream(f, true);
+				BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out))) {
+			if (isNew && header != null) {
+				bw.write(String.join(",", header));
+				bw.newLine();
+			}
+			CSVEncoder encoder = new CSVEncoder();
+			for (String[] row : rows) {
+				encoder.write(row, bw);
+				bw.newLine();
+			}
+			bw.flush();
+			out.getFD().sync();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Appends lines that are already CSV-encoded to the end of a file, in one write,
+	 * and forces them to disk. The header is only written when the file does not exist yet.
+	 * Used to persist records in batches rather than one write each.
+	 * @param path file name inside the data directory
+	 * @param lines lines to append, without line breaks
+	 * @param header header row for a new file
+	 */
+	public static void appendLines(String path, List<String> lines, String[] header) {
+		File f = getDataFile(path);
+		f.getParentFile().mkdirs();
+		boolean isNew = !f.exists() || f.length() == 0;
+		try (FileOutputStream out = new FileOutputStream(f, true);
+				BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out))) {
+			if (isNew && header != null) {
+				bw.write(String.join(",", header));
 				bw.newLine();
 			}
+			for (String line : lines) {
+				bw.write(line);
+				bw.newLine();
+			}
+			bw.flush();
+			out.getFD().sync();
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
 	}
 
+	/**
+	 * Gets the journal file name that belongs to a CSV file,
+	 * e.g. applications.csv -> applications.journal
+	 * @param path CSV file name
+	 * @return journal file name
+	 */
+	public static String journalFile(String path) {
+		int dot = path.lastIndexOf('.');
+		return (dot < 0 ? path : path.substring(0, dot)) + ".journal";
+	}
+
 }
\ No newline at end of file
@@ -1,88 +1,95 @@
 package utils;
 
-import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Generates unique IDs for internships, applications, withdrawals, and reports.
- * Automatically initializes counters from existing CSV data to prevent duplicates.
+ * Counters are seeded from the IDs the Repository loads, or initialized from the CSV files
+ * and journals on first use, to prevent duplicates. Safe to call from several threads.
  * ID formats: Ixxx, Axxx, Wxxx, Rxxx (where xxx is a number)
  */
 public class IDGenerator {
-	private static int internshipCounter = 1000;
-	private static int applicationCounter = 2000;
-	private static int withdrawalCounter = 3000;
-	private static int reportCounter = 4000;
+	private static final AtomicInteger internshipCounter = new AtomicInteger(1000);
+	private static final AtomicInteger applicationCounter = new AtomicInteger(2000);
+	private static final AtomicInteger withdrawalCounter = new AtomicInteger(3000);
+	private static final AtomicInteger reportCounter = new AtomicInteger(4000);
 
-	private static boolean initialized = false;
+	private static volatile boolean initialized = false;
 
 	/**
-	 * Initialize counters by reading existing CSV files to find the maximum ID
+	 * Initialize counters by reading existing CSV files and their journals to find the maximum ID
 	 * This prevents ID collisions when the program restarts
 	 */
 	public static void initialize() {
 		if (initialized) return;
+		synchronized (IDGenerator.class) {
+			if (initialized) return;
 
-		// Read internships and find max ID
-		List<String[]> internships = FileHandler.readCSV("internships.csv");
-		for (String[] row : internships) {
-			if (row.length > 0 && row[0].startsWith("I")) {
-				try {
-					int id = Integer.parseInt(row[0].substring(1));
-					if (id >= internshipCounter) {
-						internshipCounter = id + 1;
-					}
-				} catch (NumberFormatException e) {
-					// Skip invalid IDs
-				}
-			}
-		}
+			raise(internshipCounter, maxIDInFile("internships.csv", "I", internshipCounter.get()));
+			raise(applicationCounter, maxIDInFile("applications.csv", "A", applicationCounter.get()));
+			raise(withdrawalCounter, maxIDInFile("withdrawals.csv", "W", withdrawalCounter.get()));
+			raise(reportCounter, maxIDInFile("reports.csv", "R", reportCounter.get()));
 
-		// Read applications and find max ID
-		List<String[]> applications = FileHandler.readCSV("applications.csv");
-		for (String[] row : applications) {
-			if (row.length > 0 && row[0].startsWith("A")) {
-				try {
-					int id = Integer.parseInt(row[0].substring(1));
-					if (id >= applicationCounter) {
-						applicationCounter = id + 1;
-					}
-				} catch (NumberFormatException e) {
-					// Skip invalid IDs
-				}
-			}
+			initialized = true;
 		}
+	}
 
-		// Read withdrawals and find max ID
-		List<String[]> withdrawals = FileHandler.readCSV("withdrawals.csv");
-		for (String[] row : withdrawals) {
-			if (row.length > 0 && row[0].startsWith("W")) {
-				try {
-					int id = Integer.parseInt(row[0].substring(1));
-					if (id >= withdrawalCounter) {
-						withdrawalCounter = id + 1;
-					}
-				} catch (NumberFormatException e) {
-					// Skip invalid IDs
-				}
-			}
+	/**
+	 * Seeds the counters from IDs that are already loaded, instead of reading the files again.
+	 * Counters are only ever raised, so IDs handed out earlier are not reused.
+	 * @param internshipIDs loaded internship IDs
+	 * @param applicationIDs loaded application IDs
+	 * @param withdrawalIDs loaded withdrawal IDs
+	 * @param reportIDs loaded report IDs
+	 */
+	public static void initialize(Iterable<String> internshipIDs, Iterable<String> applicationIDs, Iterable<String> withdrawalIDs, Iterable<String> reportIDs) {
+		raise(internshipCounter, maxID(internshipIDs, "I", internshipCounter.get()));
+		raise(applicationCounter, maxID(applicationIDs, "A", applicationCounter.get()));
+		raise(withdrawalCounter, maxID(withdrawalIDs, "W", withdrawalCounter.get()));
+		raise(reportCounter, maxID(reportIDs, "R", reportCounter.get()));
+		initialized = true;
+	}
+
+	// IDs may have been handed out while the maximum was computed, so never lower a counter
+	private static void raise(AtomicInteger counter, int next) { counter.accumulateAndGet(next, Math::max); }
+
+	/**
+	 * Finds the next free counter value for one ID prefix.
+	 * Looks at the ID column of the CSV file and, if present, of its journal,
+	 * where the ID follows the record type column.
+	 */
+	private static int maxIDInFile(String file, String prefix, int counter) {
+		// rows are streamed, so the running maximum lives in a one-element array
+		int[] next = {counter};
+		FileHandler.readCSV(file, row -> next[0] = maxID(row, 0, prefix, next[0]));
+		String journal = FileHandler.journalFile(file);
+		if (FileHandler.exists(journal)) {
+			FileHandler.readCSV(journal, row -> next[0] = maxID(row, 1, prefix, next[0]));
 		}
+		return next[0];
+	}
 
-		// Read reports and find max ID
-		List<String[]> reports = FileHandler.readCSV("reports.csv");
-		for (String[] row : reports) {
-			if (row.length > 0 && row[0].startsWith("R")) {
-				try {
-					int id = Integer.parseInt(row[0].substring(1));
-					if (id >= reportCounter) {
-						reportCounter = id + 1;
-					}
-				} catch (NumberFormatException e) {
-					// Skip invalid IDs (like "REP001")
+	private static int maxID(Iterable<String> ids, String prefix, int counter) {
+		for (String id : ids) { counter = maxID(id, prefix, counter); }
+		return counter;
+	}
+
+	private static int maxID(String[] row, int column, String prefix, int counter) {
+		return row.length > column ? maxID(row[column], prefix, counter) : counter;
+	}
+
+	private static int maxID(String value, String prefix, int counter) {
+		if (value.startsWith(prefix)) {
+			try {
+				int id = Integer.parseInt(value.substring(prefix.length()));
+				if (id >= counter) {
+					counter = id + 1;
 				}
+			} catch (NumberFormatException e) {
+				// Skip invalid IDs (like "REP001")
 			}
 		}
-
-		initialized = true;
+		return counter;
 	}
 
 	/**
@@ -91,7 +98,7 @@ public class IDGenerator {
 	 */
 	public static String nextInternshipID() {
 		initialize();
-		return "I" + (internshipCounter++);
+		return "I" + internshipCounter.getAndIncrement();
 	}
 
 	/**
@@ -100,7 +107,7 @@ public class IDGenerator {
 	 */
 	public static String nextApplicationID() {
 		initialize();
-		return "A" + (applicationCounter++);
+		return "A" + applicationCounter.getAndIncrement();
 	}
 
 	/**
@@ -109,7 +116,7 @@ public class IDGenerator {
 	 */
 	public static String nextWithdrawalID() {
 		initialize();
-		return "W" + (withdrawalCounter++);
+		return "W" + withdrawalCounter.getAndIncrement();
 	}
 
 	/**
@@ -118,6 +125,6 @@ public class IDGenerator {
 	 */
 	public static String nextReportID() {
 		initialize();
-		return "R" + (reportCounter++);
+		return "R" + reportCounter.getAndIncrement();
 	}
 }
@@ -1,9 +1,23 @@
 package utils;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
 public class InputValidator {
 	
 	public static boolean validStudentID(String id) { return id != null && id.matches("U\\d{7}[A-Za-z]"); }
 	
 	public static boolean validEmail(String email) { return email != null && email.contains("@"); }
 
+	public static boolean validDate(String date) {
+		if (date == null) return false;
+		try {
+			LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
+			return true;
+		} catch (DateTimeParseException e) {
+			return false;
+		}
+	}
+
 }
@@ -0,0 +1,153 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal JSON support for the HTTP API: quoting values for output, and parsing
+ * flat request bodies (one object of strings, numbers, booleans and nulls).
+ * Nested objects and arrays are not needed by any request and are rejected.
+ */
+public class Json {
+
+	/**
+	 * Quotes a string as a JSON string literal.
+	 * @param s the string, or null
+	 * @return the literal, or null
+	 */
+	public static String quote(String s) {
+		if (s == null) return "null";
+		StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+			case '"': sb.append("\\\""); break;
+			case '\\': sb.append("\\\\"); break;
+			case '\n': sb.append("\\n"); break;
+			case '\r': sb.append("\\r"); break;
+			case '\t': sb.append("\\t"); break;
+			default:
+				if (c < 0x20) { sb.append(String.format("\\u%04x", (int) c)); }
+				else { sb.append(c); }
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	/**
+	 * Formats a list as a JSON array.
+	 * @param items the elements
+	 * @param element formats one element as JSON
+	 * @return the array
+	 */
+	public static <T> String array(List<T> items, Function<T, String> element) {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < items.size(); i++) {
+			if (i > 0) sb.append(',');
+			sb.append(element.apply(items.get(i)));
+		}
+		return sb.append(']').toString();
+	}
+
+	/**
+	 * Parses a flat JSON object. Values are returned as their text: strings unquoted,
+	 * numbers and booleans as written, and null as a null value.
+	 * @param json the object; blank means an empty object
+	 * @return field names to values, in document order
+	 * @throws IllegalArgumentException if the text is not a flat JSON object
+	 */
+	public static Map<String, String> parseObject(String json) {
+		Map<String, String> fields = new LinkedHashMap<>();
+		if (json == null || json.isBlank()) return fields;
+		Parser p = new Parser(json);
+		p.expect('{');
+		if (!p.consume('}')) {
+			do {
+				String name = p.string();
+				p.expect(':');
+				fields.put(name, p.value());
+			} while (p.consume(','));
+			p.expect('}');
+		}
+		p.skipWhitespace();
+		if (p.pos < json.length()) throw p.error("Unexpected text after object");
+		return fields;
+	}
+
+	private static class Parser {
+		private final String s;
+		private int pos;
+
+		Parser(String s) { this.s = s; }
+
+		void skipWhitespace() {
+			while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+		}
+
+		boolean consume(char c) {
+			skipWhitespace();
+			if (pos < s.length() && s.charAt(pos) == c) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		void expect(char c) {
+			if (!consume(c)) throw error("Expected '" + c + "'");
+		}
+
+		String value() {
+			skipWhitespace();
+			if (pos >= s.length()) throw error("Expected a value");
+			char c = s.charAt(pos);
+			if (c == '"') return string();
+			if (c == '{' || c == '[') throw error("Nested values are not supported");
+			int start = pos;
+			while (pos < s.length() && ",} \t\r\n".indexOf(s.charAt(pos)) < 0) pos++;
+			String literal = s.substring(start, pos);
+			if (literal.equals("null")) return null;
+			if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) return literal;
+			throw error("Invalid value '" + literal + "'");
+		}
+
+		String string() {
+			expect('"');
+			StringBuilder sb = new StringBuilder();
+			while (pos < s.length()) {
+				char c = s.charAt(pos++);
+				if (c == '"') return sb.toString();
+				if (c != '\\') {
+					sb.append(c);
+					continue;
+				}
+				if (pos >= s.length()) break;
+				char e = s.charAt(pos++);
+				switch (e) {
+				case 'n': sb.append('\n'); break;
+				case 'r': sb.append('\r'); break;
+				case 't': sb.append('\t'); break;
+				case 'b': sb.append('\b'); break;
+				case 'f': sb.append('\f'); break;
+				case 'u':
+					if (pos + 4 > s.length()) throw error("Invalid unicode escape");
+					try {
+						sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+					} catch (NumberFormatException ex) {
+						throw error("Invalid unicode escape");
+					}
+					pos += 4;
+					break;
+				default: sb.append(e);
+				}
+			}
+			throw error("Unterminated string");
+		}
+
+		IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(message + " at position " + pos);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps notifications in memory, for tests that check what was sent. Thread-safe.
+ */
+public class MemorySink implements NotificationSink {
+	private final List<String> messages = new ArrayList<>();
+	private int batches;
+
+	@Override
+	public synchronized void deliver(List<String> batch) {
+		messages.addAll(batch);
+		batches++;
+	}
+
+	/** @return copy of the messages received so far, oldest first */
+	public synchronized List<String> getMessages() { return new ArrayList<>(messages); }
+
+	/** @return number of batches received so far */
+	public synchronized int getBatchCount() { return batches; }
+
+	public synchronized void clear() {
+		messages.clear();
+		batches = 0;
+	}
+}
@@ -1,15 +1,288 @@
 package utils;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import enums.OverflowPolicy;
+
 /**
- * Simple notification service that prints messages to console.
- * Used to display system notifications to users.
+ * Notification service that delivers system notifications to users.
+ * Sending only puts the message on a bounded lock-free queue; a background
+ * dispatcher takes messages off in batches and hands each batch to every sink
+ * (console, log file, memory...), so callers never wait for the output itself.
+ * Messages can be given as suppliers, which are only evaluated by the dispatcher,
+ * and not at all while there are no sinks.
+ *
+ * When the queue is full the overflow policy decides whether the caller waits or
+ * the message is dropped. The static notify methods use the default service,
+ * which prints to the console. Thread-safe.
  */
 public class NotificationService {
+	public static final int DEFAULT_CAPACITY = 4096;
+	private static final int MAX_BATCH = 256;
+	// the dispatcher is woken by senders, so this only bounds a missed wake-up
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+	private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private static final NotificationService DEFAULT = new NotificationService(DEFAULT_CAPACITY, OverflowPolicy.BLOCK, new ConsoleSink());
+
+	private final BoundedQueue<Object> queue;
+	private final List<NotificationSink> sinks = new CopyOnWriteArrayList<>();
+	private volatile OverflowPolicy policy;
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final Object progress = new Object();
+	private long dispatched; // guarded by progress
+	private volatile Thread dispatcher;
+	private volatile boolean idle;
+	private volatile boolean closed;
+	// taken to deliver what is left once the dispatcher has stopped, and to close the sinks
+	private final Object closing = new Object();
+	private boolean sinksClosed; // guarded by closing
+
+	/**
+	 * @param capacity maximum number of queued messages
+	 * @param policy what to do when the queue is full
+	 * @param sinks initial sinks
+	 */
+	public NotificationService(int capacity, OverflowPolicy policy, NotificationSink... sinks) {
+		this.queue = new BoundedQueue<>(capacity);
+		this.policy = policy;
+		Collections.addAll(this.sinks, sinks);
+	}
+
+	/** @return the service used by the static notify methods */
+	public static NotificationService getDefault() { return DEFAULT; }
 
 	/**
-	 * Displays a notification message.
+	 * Sends a notification through the default service.
 	 * @param message the message to display
 	 */
-	public static void notify(String message) { System.out.println(message); }
+	public static void notify(String message) { DEFAULT.publish(message); }
+
+	/**
+	 * Sends a notification through the default service, building the message only
+	 * if it is delivered.
+	 * @param message builds the message to display
+	 */
+	public static void notify(Supplier<String> message) { DEFAULT.publish(message); }
+
+	/**
+	 * Queues a message for delivery.
+	 * @param message the message
+	 */
+	public void publish(String message) { enqueue(message); }
+
+	/**
+	 * Queues a message that is built by the dispatcher when it is delivered.
+	 * @param message builds the message
+	 */
+	public void publish(Supplier<String> message) { enqueue(message); }
+
+	/**
+	 * Queues a message if there is room, without waiting, whatever the overflow policy.
+	 * A refused message is not counted as dropped, since the caller still has it.
+	 * @param message the message
+	 * @return false if the queue was full or the service is closed
+	 */
+	public boolean offer(String message) {
+		if (closed) return false;
+		startDispatcher();
+		if (!queue.offer(message)) {
+			LockSupport.unpark(dispatcher);
+			return false;
+		}
+		published.incrementAndGet();
+		if (closed) deliverLeftovers();
+		else if (idle) LockSupport.unpark(dispatcher);
+		return true;
+	}
+
+	public void addSink(NotificationSink sink) { sinks.add(sink); }
+	public void removeSink(NotificationSink sink) { sinks.remove(sink); }
+	public void setOverflowPolicy(OverflowPolicy policy) { this.policy = policy; }
+	public OverflowPolicy getOverflowPolicy() { return policy; }
+
+	/** @return number of messages dropped because the queue was full or the service closed */
+	public long getDroppedCount() { return dropped.get(); }
+
+	/**
+	 * Waits until every message sent before this call has been delivered, e.g. so
+	 * that console notifications appear before the next prompt.
+	 */
+	public void flush() {
+		long target = published.get();
+		Thread d = dispatcher;
+		if (d == null || Thread.currentThread() == d) return;
+		LockSupport.unpark(d);
+		synchronized (progress) {
+			while (dispatched < target && d.isAlive()) {
+				try {
+					progress.wait(100);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Delivers the queued messages, stops the dispatcher and closes the sinks.
+	 * Messages sent afterwards are dropped.
+	 */
+	public void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		awaitDispatcher();
+		synchronized (closing) {
+			// a sender may have queued after the dispatcher's last look at the queue
+			drainLeftovers();
+			sinksClosed = true;
+			for (NotificationSink sink : sinks) {
+				try {
+					sink.close();
+				} catch (IOException e) {
+					System.err.println("Error closing notification sink: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	private void enqueue(Object message) {
+		if (closed) {
+			dropped.incrementAndGet();
+			return;
+		}
+		startDispatcher();
+		if (!queue.offer(message)) {
+			// the dispatcher cannot wait for itself to make room
+			if (policy == OverflowPolicy.DROP || Thread.currentThread() == dispatcher) {
+				dropped.incrementAndGet();
+				return;
+			}
+			do {
+				LockSupport.unpark(dispatcher);
+				LockSupport.parkNanos(FULL_PARK_NANOS);
+			} while (!queue.offer(message));
+		}
+		published.incrementAndGet();
+		if (closed) deliverLeftovers();
+		else if (idle) LockSupport.unpark(dispatcher);
+	}
+
+	/**
+	 * Called by a sender that finds the service closed after queueing. The dispatcher may
+	 * already have made its final pass, so once it has stopped the sender delivers what is
+	 * left itself, or counts it as dropped if the sinks are closed too.
+	 */
+	private void deliverLeftovers() {
+		// the dispatcher is still running and will see the message before it stops
+		if (Thread.currentThread() == dispatcher) return;
+		awaitDispatcher();
+		synchronized (closing) {
+			drainLeftovers();
+		}
+	}
+
+	// Caller holds closing, and the dispatcher has stopped, so this is the queue's only consumer
+	private void drainLeftovers() {
+		List<Object> batch = new ArrayList<>(MAX_BATCH);
+		while (queue.drainTo(batch, MAX_BATCH) > 0) {
+			if (sinksClosed) {
+				dropped.addAndGet(batch.size());
+				published.addAndGet(-batch.size());
+			} else {
+				deliver(batch, new ArrayList<>(batch.size()));
+			}
+			batch.clear();
+		}
+	}
+
+	private void awaitDispatcher() {
+		Thread d = dispatcher;
+		if (d == null) return;
+		LockSupport.unpark(d);
+		boolean interrupted = false;
+		while (d.isAlive()) {
+			try {
+				d.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+	}
+
+	private void startDispatcher() {
+		if (dispatcher != null) return;
+		synchronized (this) {
+			// once closed, senders deliver what they queue themselves
+			if (dispatcher == null && !closed) {
+				Thread t = new Thread(this::dispatch, "notification-dispatcher");
+				t.setDaemon(true);
+				dispatcher = t;
+				t.start();
+			}
+		}
+	}
+
+	private void dispatch() {
+		List<Object> batch = new ArrayList<>(MAX_BATCH);
+		List<String> messages = new ArrayList<>(MAX_BATCH);
+		while (true) {
+			if (queue.drainTo(batch, MAX_BATCH) == 0) {
+				if (closed && queue.size() == 0) return;
+				idle = true;
+				// recheck after announcing idleness, so a sender that missed it has already queued
+				if (queue.size() == 0 && !closed) LockSupport.parkNanos(IDLE_PARK_NANOS);
+				idle = false;
+				continue;
+			}
+			deliver(batch, messages);
+			batch.clear();
+		}
+	}
+
+	// Hands a batch to every sink and records it as dispatched
+	private void deliver(List<Object> batch, List<String> messages) {
+		if (!sinks.isEmpty()) {
+			for (Object m : batch) {
+				String text = render(m);
+				if (text != null) messages.add(text);
+			}
+			List<String> view = Collections.unmodifiableList(messages);
+			for (NotificationSink sink : sinks) {
+				try {
+					sink.deliver(view);
+				} catch (IOException | RuntimeException e) {
+					System.err.println("Error delivering notifications to " + sink.getClass().getSimpleName() + ": " + e.getMessage());
+				}
+			}
+			messages.clear();
+		}
+		synchronized (progress) {
+			dispatched += batch.size();
+			progress.notifyAll();
+		}
+	}
 
+	@SuppressWarnings("unchecked")
+	private static String render(Object message) {
+		if (message instanceof String) return (String) message;
+		try {
+			return ((Supplier<String>) message).get();
+		} catch (RuntimeException e) {
+			System.err.println("Error building notification: " + e.getMessage());
+			return null;
+		}
+	}
 }
@@ -0,0 +1,24 @@
+package utils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of notifications. The dispatcher hands each sink the messages in
+ * batches, in the order they were sent, always from the same background thread.
+ */
+public interface NotificationSink {
+
+	/**
+	 * Delivers a batch of messages.
+	 * @param messages the messages, oldest first
+	 * @throws IOException if the messages could not be written
+	 */
+	void deliver(List<String> messages) throws IOException;
+
+	/**
+	 * Releases any resources held by the sink.
+	 * @throws IOException if closing fails
+	 */
+	default void close() throws IOException {}
+}
@@ -0,0 +1,80 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends notifications to a log file, one line each. When the file reaches its size
+ * limit it is renamed to file.1 (shifting file.1 to file.2 and so on) and a new file
+ * is started; only the newest maxFiles old files are kept.
+ */
+public class RollingFileSink implements NotificationSink {
+	private final Path file;
+	private final long maxBytes;
+	private final int maxFiles;
+	private BufferedWriter out;
+	private long size;
+
+	/**
+	 * @param file the log file; its directory is created if missing
+	 * @param maxBytes size at which the file is rolled
+	 * @param maxFiles number of rolled files to keep
+	 */
+	public RollingFileSink(Path file, long maxBytes, int maxFiles) {
+		if (maxBytes <= 0 || maxFiles < 0) {
+			throw new IllegalArgumentException("File size limit must be positive and file count not negative");
+		}
+		this.file = file;
+		this.maxBytes = maxBytes;
+		this.maxFiles = maxFiles;
+	}
+
+	@Override
+	public void deliver(List<String> messages) throws IOException {
+		if (out == null) open();
+		for (String m : messages) {
+			out.write(m);
+			out.newLine();
+			size += m.getBytes(StandardCharsets.UTF_8).length + System.lineSeparator().length();
+			if (size >= maxBytes) roll();
+		}
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (out != null) {
+			out.close();
+			out = null;
+		}
+	}
+
+	private void open() throws IOException {
+		Path dir = file.toAbsolutePath().getParent();
+		if (dir != null) Files.createDirectories(dir);
+		out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		size = Files.size(file);
+	}
+
+	private void roll() throws IOException {
+		close();
+		if (maxFiles == 0) {
+			Files.delete(file);
+		} else {
+			Files.deleteIfExists(rolled(maxFiles));
+			for (int n = maxFiles - 1; n >= 1; n--) {
+				if (Files.exists(rolled(n))) Files.move(rolled(n), rolled(n + 1), StandardCopyOption.REPLACE_EXISTING);
+			}
+			Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+		}
+		open();
+	}
+
+	private Path rolled(int n) { return file.resolveSibling(file.getFileName() + "." + n); }
+}
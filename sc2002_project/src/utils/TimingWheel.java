@@ -0,0 +1,111 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of timeouts that are rarely allowed to fire.
+ * Time is cut into ticks; a timeout due at tick t is kept in bucket t mod wheelSize,
+ * so scheduling and cancelling are O(1), and advancing the wheel only looks at the
+ * buckets of the ticks that passed. A bucket can hold timeouts from later rotations,
+ * which stay put until their own tick comes round.
+ *
+ * Timeouts fire at most one tick late, never early. Thread-safe.
+ * @param <T> item a timeout fires for
+ */
+public class TimingWheel<T> {
+	/** Handle of a scheduled timeout, used to cancel it. */
+	public static final class Timeout<T> {
+		private final T item;
+		private final long tick;
+
+		private Timeout(T item, long tick) {
+			this.item = item;
+			this.tick = tick;
+		}
+
+		public T item() { return item; }
+	}
+
+	private final long tickMillis;
+	private final long startMillis;
+	private final Set<Timeout<T>>[] buckets;
+	private final int mask;
+	private long currentTick; // next tick to process
+
+	/**
+	 * @param tickMillis length of one tick
+	 * @param wheelSize number of buckets, rounded up to a power of two
+	 * @param nowMillis current time, the start of tick 0
+	 */
+	@SuppressWarnings("unchecked")
+	public TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+		if (tickMillis <= 0 || wheelSize <= 0) {
+			throw new IllegalArgumentException("Tick length and wheel size must be positive");
+		}
+		int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+		this.tickMillis = tickMillis;
+		this.startMillis = nowMillis;
+		this.buckets = (Set<Timeout<T>>[]) new Set<?>[size];
+		for (int n = 0; n < size; n++) { buckets[n] = new HashSet<>(); }
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Schedules a timeout.
+	 * @param item item to fire
+	 * @param deadlineMillis time at or after which it fires
+	 * @return handle for cancel
+	 */
+	public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+		// round up, so that the timeout never fires before its deadline
+		long tick = Math.max(currentTick, Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis));
+		Timeout<T> t = new Timeout<>(item, tick);
+		buckets[(int) (tick & mask)].add(t);
+		return t;
+	}
+
+	/**
+	 * Cancels a timeout that has not fired yet.
+	 * @return true if it was still pending
+	 */
+	public synchronized boolean cancel(Timeout<T> t) { return buckets[(int) (t.tick & mask)].remove(t); }
+
+	/**
+	 * Fires every timeout whose tick has passed by nowMillis. The callback runs after the
+	 * wheel's lock is released, so it may schedule new timeouts.
+	 * @param nowMillis current time
+	 * @param fire called once for each expired item
+	 */
+	public void advance(long nowMillis, Consumer<T> fire) {
+		List<T> expired = new ArrayList<>();
+		synchronized (this) {
+			long lastTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+			if (lastTick - currentTick >= buckets.length) {
+				// more than a full rotation passed: sweep every bucket once instead of each tick
+				for (Set<Timeout<T>> bucket : buckets) { expire(bucket, lastTick, expired); }
+				currentTick = lastTick + 1;
+			}
+			for (; currentTick <= lastTick; currentTick++) {
+				expire(buckets[(int) (currentTick & mask)], currentTick, expired);
+			}
+		}
+		expired.forEach(fire);
+	}
+
+	// Moves the timeouts of a bucket that are due by tick into expired
+	private static <T> void expire(Set<Timeout<T>> bucket, long tick, List<T> expired) {
+		if (bucket.isEmpty()) return;
+		for (Iterator<Timeout<T>> it = bucket.iterator(); it.hasNext(); ) {
+			Timeout<T> t = it.next();
+			if (t.tick <= tick) {
+				it.remove();
+				expired.add(t.item);
+			}
+		}
+	}
+}
@@ -0,0 +1,121 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import boundary.ApiServer;
+import controller.SystemController;
+import entities.Repository;
+import utils.Json;
+
+/**
+ * Load test for the HTTP API: starts the server on a free port and drives it from
+ * localhost with many concurrent clients, each logged in with its own session and
+ * issuing the read-heavy mix a busy term produces (browse internships, check own
+ * applications, staff checking queues). Reports throughput and latency percentiles,
+ * and counts any response that is not a success.
+ *
+ * Only reads are issued, so the data files are left unchanged. The server runs on
+ * virtual threads where the JVM has them (Java 21+).
+ *
+ * Not part of the test suite. Run from sc2002_project after compiling the sources:
+ * javac -cp . -d . srcTest/ApiLoadBenchmark.java && java -cp . ApiLoadBenchmark [clients] [requestsPerClient]
+ */
+public class ApiLoadBenchmark {
+
+    private static final String[][] STUDENTS = {
+        {"U1234567A", "securePass"}, {"U5555555B", "pass9999"}, {"U2222222D", "password"}, {"U9876543Z", "myPassword"}
+    };
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        ApiServer server = new ApiServer(new SystemController(new Repository()), 0);
+        server.start();
+        // the server only listens on loopback, which localhost may not resolve to first
+        String base = new URI("http", null, server.getAddress().getHostAddress(), server.getPort(), null, null, null).toString();
+        System.out.println("=== API Load Benchmark (" + clients + " clients x " + requests + " requests, server on "
+            + (ApiServer.usesVirtualThreads() ? "virtual threads" : "platform threads") + ") ===\n");
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(8)).build();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            // warm-up round, then the measured one
+            run(client, base, pool, clients, Math.max(1, requests / 10));
+            long[] latencies = new long[clients * requests];
+            AtomicInteger failures = new AtomicInteger();
+            long start = System.nanoTime();
+            List<Future<?>> results = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                final int id = c;
+                results.add(pool.submit(() -> {
+                    String token = login(client, base, id);
+                    for (int r = 0; r < requests; r++) {
+                        long t = System.nanoTime();
+                        int status = client.send(request(base, path(id, r), token), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latencies[id * requests + r] = System.nanoTime() - t;
+                        if (status != 200) failures.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : results) { f.get(); }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("Throughput: %,.0f requests/s%n", latencies.length / seconds);
+            System.out.printf("Latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99), latencies[latencies.length - 1] / 1e6);
+            System.out.println("Failed responses: " + failures.get());
+        } finally {
+            pool.shutdownNow();
+            server.stop();
+        }
+        System.exit(0);
+    }
+
+    private static void run(HttpClient client, String base, ExecutorService pool, int clients, int requests) throws Exception {
+        List<Future<?>> results = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            final int id = c;
+            results.add(pool.submit(() -> {
+                String token = login(client, base, id);
+                for (int r = 0; r < requests; r++) {
+                    client.send(request(base, path(id, r), token), HttpResponse.BodyHandlers.discarding());
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : results) { f.get(); }
+    }
+
+    // Every tenth client is staff; students mostly browse and sometimes check their applications
+    private static String path(int client, int r) {
+        if (client % 10 == 9) return r % 2 == 0 ? "/api/staff/internships?status=PENDING" : "/api/staff/withdrawals/pending";
+        return r % 4 == 3 ? "/api/student/applications" : "/api/student/internships";
+    }
+
+    private static String login(HttpClient client, String base, int id) throws Exception {
+        String body = id % 10 == 9
+            ? "{\"id\":\"john.doe@ntu.edu.sg\",\"password\":\"adminPass123\",\"role\":\"STAFF\"}"
+            : "{\"id\":" + Json.quote(STUDENTS[id % STUDENTS.length][0]) + ",\"password\":" + Json.quote(STUDENTS[id % STUDENTS.length][1]) + ",\"role\":\"STUDENT\"}";
+        HttpRequest login = HttpRequest.newBuilder(URI.create(base + "/api/login"))
+            .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return Json.parseObject(client.send(login, HttpResponse.BodyHandlers.ofString()).body()).get("token");
+    }
+
+    private static HttpRequest request(String base, String path, String token) {
+        return HttpRequest.newBuilder(URI.create(base + path)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * p / 100)] / 1e6;
+    }
+}
@@ -0,0 +1,240 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import boundary.ApiServer;
+import controller.SystemController;
+import entities.Repository;
+import utils.DataUtility;
+import utils.Json;
+
+public class ApiServerTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    // applies are only accepted before the closing date, so it is kept in the future
+    private static final String CLOSING_DATE = LocalDate.now().plusYears(1).toString();
+
+    private static final HttpClient client = HttpClient.newHttpClient();
+    private static String base;
+
+    public static void main(String[] args) {
+        System.out.println("=== API Server Test ===\n");
+
+        ApiServer server = null;
+        try {
+            server = new ApiServer(new SystemController(new Repository()), 0);
+            server.start();
+            // the server only listens on loopback, which localhost may not resolve to first
+            base = new URI("http", null, server.getAddress().getHostAddress(), server.getPort(), null, null, null).toString();
+
+            // Run tests
+            testAuthentication();
+            testPlacementWorkflow();
+            testConcurrentClients();
+            testBindAddress(server);
+        } catch (Exception e) {
+            System.out.println("FAILED: Server could not start: " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            if (server != null) server.stop();
+        }
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: Endpoints require a valid token for the right role
+    private static void testAuthentication() {
+        System.out.println("Test 1: Login, tokens and roles");
+        try {
+            int badPassword = send("POST", "/api/login", null, "{\"id\":\"U1234567A\",\"password\":\"wrong\",\"role\":\"STUDENT\"}").statusCode();
+            int badJson = send("POST", "/api/login", null, "{\"id\":").statusCode();
+            String token = login("U1234567A", "securePass", "STUDENT");
+            int noToken = send("GET", "/api/student/internships", null, null).statusCode();
+            int ownRole = send("GET", "/api/student/internships", token, null).statusCode();
+            int otherRole = send("GET", "/api/staff/companies/pending", token, null).statusCode();
+            int unknown = send("GET", "/api/nothing", token, null).statusCode();
+            int logout = send("POST", "/api/logout", token, null).statusCode();
+            int afterLogout = send("GET", "/api/student/internships", token, null).statusCode();
+            System.out.println("   bad password " + badPassword + ", bad JSON " + badJson + ", no token " + noToken
+                + ", own role " + ownRole + ", other role " + otherRole + ", unknown " + unknown
+                + ", logout " + logout + ", after logout " + afterLogout);
+
+            if (badPassword == 401 && badJson == 400 && noToken == 401 && ownRole == 200 && otherRole == 403
+                && unknown == 404 && logout == 200 && afterLogout == 401) {
+                System.out.println("PASSED: Access follows the session and its role\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Unexpected status codes\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A full placement goes through the API: post, approve, apply, offer, accept
+    private static void testPlacementWorkflow() {
+        System.out.println("Test 2: Placement workflow over HTTP");
+        try {
+            String rep = login("john.doe@techcorp.com", "Pass123!", "COMPANY_REP");
+            String staff = login("john.doe@ntu.edu.sg", "adminPass123", "STAFF");
+            String student = login("U1234567A", "securePass", "STUDENT");
+
+            HttpResponse<String> created = send("POST", "/api/company/internships", rep,
+                "{\"title\":\"API Intern\",\"description\":\"Built over \\\"HTTP\\\"\",\"level\":\"BASIC\","
+                + "\"preferredMajor\":\"Data Science\",\"openingDate\":\"2025-01-01\",\"closingDate\":\"" + CLOSING_DATE + "\",\"slots\":2}");
+            String iID = Json.parseObject(created.body()).get("id");
+            int badDate = send("POST", "/api/company/internships", rep,
+                "{\"title\":\"T\",\"description\":\"D\",\"level\":\"BASIC\",\"preferredMajor\":\"M\","
+                + "\"openingDate\":\"soon\",\"closingDate\":\"" + CLOSING_DATE + "\",\"slots\":1}").statusCode();
+            int negativeSlots = send("PUT", "/api/company/internships/" + iID, rep,
+                "{\"title\":\"API Intern\",\"description\":\"D\",\"preferredMajor\":\"Data Science\","
+                + "\"openingDate\":\"2025-01-01\",\"closingDate\":\"" + CLOSING_DATE + "\",\"slots\":-1}").statusCode();
+            int approve = send("POST", "/api/staff/internships/" + iID + "/decision", staff, "{\"approve\":true}").statusCode();
+            int apply = send("POST", "/api/student/applications", student, "{\"internshipID\":\"" + iID + "\"}").statusCode();
+            int applyAgain = send("POST", "/api/student/applications", student, "{\"internshipID\":\"" + iID + "\"}").statusCode();
+
+            String listed = send("GET", "/api/company/internships/" + iID + "/applications", rep, null).body();
+            String aID = listed.replaceAll("^\\[\\{\"id\":\"([^\"]+)\".*", "$1");
+            int offer = send("POST", "/api/company/applications/" + aID + "/decision", rep, "{\"approve\":true}").statusCode();
+            int accept = send("POST", "/api/student/applications/" + aID + "/accept", student, null).statusCode();
+            String mine = send("GET", "/api/student/applications", student, null).body();
+            String posted = send("GET", "/api/company/internships", rep, null).body();
+            System.out.println("   created " + created.statusCode() + " (" + iID + "), bad date " + badDate + ", negative slots " + negativeSlots + ", approve " + approve
+                + ", apply " + apply + ", apply again " + applyAgain + ", offer " + offer + ", accept " + accept);
+
+            boolean accepted = mine.contains("\"id\":\"" + aID + "\",\"internshipID\":\"" + iID + "\"")
+                && mine.contains("\"status\":\"SUCCESSFUL\",\"applyDate\":\"" + DataUtility.currentDate() + "\",\"acceptedByStudent\":true");
+            boolean slotTaken = posted.contains("\"description\":\"Built over \\\"HTTP\\\"\"") && posted.contains("\"status\":\"APPROVED\",\"companyName\":\"TechCorp\",\"companyRepID\":\"john.doe@techcorp.com\",\"slots\":1");
+            if (created.statusCode() == 201 && badDate == 400 && negativeSlots == 400 && approve == 200 && apply == 201 && applyAgain == 409
+                && offer == 200 && accept == 200 && accepted && slotTaken) {
+                System.out.println("PASSED: Workflow completed through the API\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Workflow did not complete\n   " + mine + "\n   " + posted + "\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: Many clients at once are all served, and limits hold across requests
+    private static void testConcurrentClients() {
+        System.out.println("Test 3: Concurrent clients from localhost");
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            String student = login("U5555555B", "pass9999", "STUDENT");
+            // applications the student could make, more than the limit of 3 active ones
+            String visible = send("GET", "/api/student/internships", student, null).body();
+            List<String> ids = new ArrayList<>();
+            for (String part : visible.split("\\{\"id\":\"")) {
+                if (part.contains("\"status\":\"APPROVED\"")) ids.add(part.substring(0, part.indexOf('"')));
+            }
+
+            AtomicInteger ok = new AtomicInteger();
+            AtomicInteger applied = new AtomicInteger();
+            AtomicInteger unexpected = new AtomicInteger();
+            List<Future<?>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int c = 0; c < 32; c++) {
+                final int client = c;
+                results.add(pool.submit(() -> {
+                    String token = login("U1234567A", "securePass", "STUDENT");
+                    for (int r = 0; r < 50; r++) {
+                        int status = send("GET", r % 2 == 0 ? "/api/student/internships" : "/api/student/applications", token, null).statusCode();
+                        if (status == 200) ok.incrementAndGet(); else unexpected.incrementAndGet();
+                    }
+                    if (client < ids.size()) {
+                        int status = send("POST", "/api/student/applications", student, "{\"internshipID\":\"" + ids.get(client) + "\"}").statusCode();
+                        if (status == 201) applied.incrementAndGet(); else if (status != 409) unexpected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : results) { f.get(); }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("   " + ok.get() + " reads in " + millis + " ms, " + applied.get() + " of "
+                + Math.min(32, ids.size()) + " concurrent applications accepted, " + unexpected.get() + " unexpected responses");
+
+            if (ok.get() == 32 * 50 && unexpected.get() == 0 && ids.size() > 3 && applied.get() == 3) {
+                System.out.println("PASSED: Every request was served and the application limit held\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Requests failed or the limit was broken\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Test 4: The server listens on loopback only, unless it is given a host to bind
+    private static void testBindAddress(ApiServer server) {
+        System.out.println("Test 4: Bind address");
+        ApiServer everywhere = null;
+        try {
+            everywhere = new ApiServer(new SystemController(new Repository()), "0.0.0.0", 0);
+            System.out.println("   default " + server.getAddress().getHostAddress() + ", with a host " + everywhere.getAddress().getHostAddress());
+
+            if (server.getAddress().isLoopbackAddress() && everywhere.getAddress().isAnyLocalAddress()) {
+                System.out.println("PASSED: Loopback by default, the given host otherwise\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Server bound to the wrong address\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (everywhere != null) everywhere.stop();
+        }
+    }
+
+    private static String login(String id, String password, String role) throws Exception {
+        HttpResponse<String> r = send("POST", "/api/login", null,
+            "{\"id\":" + Json.quote(id) + ",\"password\":" + Json.quote(password) + ",\"role\":" + Json.quote(role) + "}");
+        Map<String, String> body = Json.parseObject(r.body());
+        if (r.statusCode() != 200) throw new IllegalStateException("Login failed for " + id + ": " + r.body());
+        return body.get("token");
+    }
+
+    private static HttpResponse<String> send(String method, String path, String token, String json) throws Exception {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(base + path))
+            .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        if (json != null) b.header("Content-Type", "application/json");
+        return client.send(b.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,85 @@
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import entities.Application;
+import entities.Internship;
+import entities.Repository;
+import enums.ApplicationStatus;
+import enums.CubeDimension;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.PersistenceMode;
+
+/**
+ * Compares a roll-up of the application cube with counting the same groups by joining
+ * every application to its internship (kept below as the reference), on a repository
+ * with generated applications. It first checks that both give the same counts, then
+ * reports the time per query of each.
+ *
+ * The applications are added to a WRITE_BEHIND repository, which writes them to the data
+ * files when it is closed; run restore_test_env.sh afterwards.
+ *
+ * Not part of the test suite. Run from sc2002_project after compiling the sources:
+ * javac -cp . -d . srcTest/ApplicationCubeBenchmark.java && java -cp . ApplicationCubeBenchmark [applications]
+ */
+public class ApplicationCubeBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final int RUNS = 10;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Repository repo = new Repository(PersistenceMode.WRITE_BEHIND);
+        try {
+            repo.setFlushWindow(60_000);
+            repo.updateInternship(new Internship("I9903", "Cube Internship", "Cube Description", InternshipLevel.INTERMEDIATE, "Computer Science",
+                "2025-01-01", "2025-12-31", InternshipStatus.APPROVED, "Cube Company", "cube.rep@company.com", 2, true));
+            for (int n = 0; n < count; n++) {
+                repo.updateApplication(new Application(String.format("A6%06d", n), "I9903", "U9090909J",
+                    ApplicationStatus.values()[n % 4], String.format("2025-%02d-%02d", 1 + n % 12, 1 + n % 28), false));
+            }
+            if (!rollUp(repo).equals(scan(repo))) {
+                throw new IllegalStateException("Roll-up differs from a scan");
+            }
+            System.out.println("=== Application Cube Benchmark (" + repo.getAllApplications().size() + " applications, "
+                + repo.getApplicationCube().getCellCount() + " cells) ===\n");
+            report("scan    (before)", () -> scan(repo));
+            report("roll-up (after) ", () -> rollUp(repo));
+        } finally {
+            repo.close();
+        }
+    }
+
+    // Runs a warm-up round, then reports the best of ROUNDS as the average time of one query
+    private static void report(String name, Supplier<Map<List<String>, Long>> query) {
+        for (int k = 0; k < RUNS; k++) { query.get(); }
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            for (int k = 0; k < RUNS; k++) { query.get(); }
+            best = Math.min(best, (System.nanoTime() - start) / RUNS);
+        }
+        System.out.printf("%s: %,10d us per query%n", name, best / 1000);
+    }
+
+    private static Map<List<String>, Long> rollUp(Repository repo) {
+        return repo.getApplicationCube().rollUp(null, null, CubeDimension.COMPANY, CubeDimension.WEEK, CubeDimension.LEVEL);
+    }
+
+    // Reference: applications per company per week by level, counted by joining every application to its internship
+    private static Map<List<String>, Long> scan(Repository repo) {
+        Map<List<String>, Long> counts = new HashMap<>();
+        for (Application a : repo.getAllApplications()) {
+            Internship i = repo.findInternship(a.getInternshipID());
+            String week = LocalDate.parse(a.getApplyDate()).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString();
+            counts.merge(Arrays.asList(i == null ? null : i.getCompanyName(), week, i == null ? null : i.getLevel().name()), 1L, Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,187 @@
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import entities.*;
+import enums.ApplicationStatus;
+import enums.CubeDimension;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.PersistenceMode;
+
+public class ApplicationCubeTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Application Cube Test ===\n");
+
+        // Run tests
+        testRollUpMatchesScan();
+        testCubeFollowsChanges();
+        testCubeAfterParallelLoad();
+        testRollUpDoesNotScan();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static Internship internship(String id, String company, InternshipLevel level) {
+        return new Internship(id, "Cube Internship", "Cube Description", level, "Computer Science",
+            "2025-01-01", "2025-12-31", InternshipStatus.APPROVED, company, "cube.rep@company.com", 2, true);
+    }
+
+    // Applications per company per week by level, counted by joining every application to its internship
+    private static Map<List<String>, Long> scan(Repository repo) {
+        Map<List<String>, Long> counts = new HashMap<>();
+        for (Application a : repo.getAllApplications()) {
+            Internship i = repo.findInternship(a.getInternshipID());
+            String week = LocalDate.parse(a.getApplyDate()).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString();
+            counts.merge(Arrays.asList(i == null ? null : i.getCompanyName(), week, i == null ? null : i.getLevel().name()), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    private static Map<List<String>, Long> rollUp(Repository repo) {
+        return repo.getApplicationCube().rollUp(null, null, CubeDimension.COMPANY, CubeDimension.WEEK, CubeDimension.LEVEL);
+    }
+
+    // Test 1: Roll-ups give the same counts as joining applications to internships
+    private static void testRollUpMatchesScan() {
+        System.out.println("Test 1: Roll-up matches a scan");
+        try {
+            Repository repo = new Repository();
+            repo.updateInternship(internship("I9901", "Cube Company", InternshipLevel.ADVANCED));
+            repo.updateApplication(new Application("A9901", "I9901", "U9090909J", ApplicationStatus.PENDING, "2025-06-04", false));
+            repo.updateApplication(new Application("A9902", "I9901", "U9191919K", ApplicationStatus.SUCCESSFUL, "2025-06-06", false));
+            ApplicationCube cube = repo.getApplicationCube();
+            Map<List<String>, Long> weekly = rollUp(repo);
+            Map<List<String>, Long> total = cube.rollUp(null, null);
+            System.out.println("   " + weekly.size() + " company/week/level groups, Cube Company: "
+                + weekly.get(Arrays.asList("Cube Company", "2025-06-02", "ADVANCED")));
+
+            if (weekly.equals(scan(repo)) && weekly.get(Arrays.asList("Cube Company", "2025-06-02", "ADVANCED")) == 2
+                    && total.get(List.of()) == repo.getStatistics().getApplicationCount()
+                    && cube.count("2025-06-05", "2025-06-30", "Cube Company", null, null) == 1
+                    && cube.rollUp("2025-06-01", "2025-06-30", CubeDimension.MONTH, CubeDimension.STATUS).get(Arrays.asList("2025-06", "SUCCESSFUL")) >= 1) {
+                System.out.println("PASSED: Same counts as a scan\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Roll-up differs from a scan\n" + weekly + "\n" + scan(repo));
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: Status changes, new applications and a changed internship move the counts
+    private static void testCubeFollowsChanges() {
+        System.out.println("Test 2: Cube follows changes");
+        try {
+            Repository repo = new Repository();
+            ApplicationCube cube = repo.getApplicationCube();
+            repo.updateInternship(internship("I9902", "Cube Company", InternshipLevel.BASIC));
+            repo.updateApplication(new Application("A9903", "I9902", "U9090909J", ApplicationStatus.PENDING, "2031-03-03", false));
+            long pending = cube.count("2031-03-03", "2031-03-03", null, null, ApplicationStatus.PENDING);
+            Application a = repo.findApplication("A9903");
+            a.setStatus(ApplicationStatus.SUCCESSFUL);
+            repo.updateApplication(a);
+            long pendingAfter = cube.count("2031-03-03", "2031-03-03", null, null, ApplicationStatus.PENDING);
+            long successful = cube.count("2031-03-03", "2031-03-03", null, null, ApplicationStatus.SUCCESSFUL);
+            repo.updateInternship(internship("I9902", "Renamed Company", InternshipLevel.INTERMEDIATE));
+            long moved = cube.count("2031-03-03", "2031-03-03", "Renamed Company", InternshipLevel.INTERMEDIATE, null);
+            long left = cube.count("2031-03-03", "2031-03-03", "Cube Company", null, null);
+            System.out.println("   Pending " + pending + " -> " + pendingAfter + ", successful " + successful + ", moved to renamed internship " + moved);
+
+            if (pending == 1 && pendingAfter == 0 && successful == 1 && moved == 1 && left == 0 && rollUp(repo).equals(scan(repo))) {
+                System.out.println("PASSED: Counts moved with the changes\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Stale counts\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: Tables loaded in parallel, in any order, still join applications to their internships
+    private static void testCubeAfterParallelLoad() {
+        System.out.println("Test 3: Cube after a parallel load");
+        try {
+            Repository repo = new Repository(PersistenceMode.WRITE_THROUGH, true);
+            Map<List<String>, Long> weekly = rollUp(repo);
+            System.out.println("   " + weekly.size() + " groups over " + repo.getAllApplications().size() + " applications");
+
+            if (weekly.equals(scan(repo))) {
+                System.out.println("PASSED: Cube rebuilt on load\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Cube wrong after load\n" + weekly + "\n" + scan(repo));
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 4: With 100,000 applications the cube holds one cell per day and status, not one per application
+    private static void testRollUpDoesNotScan() {
+        System.out.println("Test 4: Roll-up with 100,000 applications");
+        Repository repo = null;
+        try {
+            repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            repo.setFlushWindow(60_000);
+            repo.updateInternship(internship("I9903", "Cube Company", InternshipLevel.INTERMEDIATE));
+            int cellsBefore = repo.getApplicationCube().getCellCount();
+            Set<String> days = new HashSet<>();
+            for (int n = 0; n < 100_000; n++) {
+                String day = String.format("2025-%02d-%02d", 1 + n % 12, 1 + n % 28);
+                days.add(day);
+                repo.updateApplication(new Application(String.format("A6%06d", n), "I9903", "U9090909J",
+                    ApplicationStatus.values()[n % 4], day, false));
+            }
+            // all on one internship, so one company and level
+            int added = repo.getApplicationCube().getCellCount() - cellsBefore;
+            int bound = days.size() * ApplicationStatus.values().length;
+            System.out.println("   " + added + " cells added over " + days.size() + " days (at most " + bound + ")");
+
+            if (added > 0 && added <= bound && rollUp(repo).equals(scan(repo))) {
+                System.out.println("PASSED: Roll-up reads cells, not applications\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Cube grew with the applications or differs from a scan\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (repo != null) repo.close();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import utils.CSVEncoder;
+import utils.CSVTokenizer;
+
+/**
+ * Compares the CSV tokenizer and encoder with the line-by-line implementation FileHandler
+ * used before (kept below as the reference), on generated application and internship rows.
+ * First checks that both produce identical output, then reports throughput in MB/s and
+ * heap allocation per row for each. The tokenizer's remaining allocation is the field
+ * Strings and row array it returns; the encoder's is none.
+ *
+ * Not part of the test suite. Run from sc2002_project after compiling the sources:
+ * javac -cp . -d . srcTest/CSVCodecBenchmark.java && java -cp . CSVCodecBenchmark [rows]
+ */
+public class CSVCodecBenchmark {
+
+    private static final Charset CHARSET = Charset.defaultCharset();
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        List<String[]> rows = generateRows(count);
+        System.out.println("=== CSV Codec Benchmark (" + count + " rows) ===\n");
+
+        byte[] legacyBytes = encodeLegacy(rows);
+        byte[] bytes = encode(rows);
+        if (!Arrays.equals(legacyBytes, bytes)) {
+            throw new IllegalStateException("Encoder output differs from the reference");
+        }
+        List<byte[]> lines = splitLines(bytes);
+        for (int i = 0; i < lines.size(); i++) {
+            String[] expected = parseLegacy(new String(lines.get(i), CHARSET));
+            String[] actual = new CSVTokenizer().tokenize(lines.get(i), 0, lines.get(i).length);
+            if (!Arrays.equals(expected, actual)) {
+                throw new IllegalStateException("Tokenizer output differs on line " + i + ": " + Arrays.toString(actual));
+            }
+        }
+        System.out.println("Output identical to the reference: " + bytes.length + " bytes\n");
+
+        // encoding is timed into a discarding writer, so only the encoding itself allocates
+        Writer sink = Writer.nullWriter();
+        report("encode  (before)", bytes.length, count, () -> {
+            for (String[] row : rows) { sink.write(formatLegacy(row)); }
+        });
+        report("encode  (after) ", bytes.length, count, () -> {
+            CSVEncoder encoder = new CSVEncoder();
+            for (String[] row : rows) { encoder.write(row, sink); }
+        });
+        report("tokenize (before)", bytes.length, count, () -> {
+            for (byte[] line : lines) { parseLegacy(new String(line, CHARSET)); }
+        });
+        report("tokenize (after) ", bytes.length, count, () -> {
+            CSVTokenizer tokenizer = new CSVTokenizer();
+            for (byte[] line : lines) { tokenizer.tokenize(line, 0, line.length); }
+        });
+    }
+
+    private interface Task { void run() throws IOException; }
+
+    // Runs a warm-up round, then reports the best of ROUNDS
+    private static void report(String name, long bytes, int rows, Task task) throws IOException {
+        task.run();
+        long bestNanos = Long.MAX_VALUE;
+        long allocated = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            long before = allocatedBytes();
+            long start = System.nanoTime();
+            task.run();
+            long nanos = System.nanoTime() - start;
+            allocated = allocatedBytes() - before;
+            bestNanos = Math.min(bestNanos, nanos);
+        }
+        double mbPerSec = bytes / 1e6 / (bestNanos / 1e9);
+        System.out.printf("%s: %8.1f MB/s, %6.1f bytes allocated/row%n", name, mbPerSec, (double) allocated / rows);
+    }
+
+    // Bytes allocated by this thread so far, or 0 where the JVM does not track it
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static List<String[]> generateRows(int count) {
+        Random random = new Random(42);
+        String[] statuses = {"PENDING", "SUCCESSFUL", "UNSUCCESSFUL", "WITHDRAWN"};
+        List<String[]> rows = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            if (n % 4 == 0) {
+                rows.add(new String[] {"I" + n, "Software Engineer, Intern " + n, "Build \"services\"\nand tools",
+                    "BASIC", "Computer Science", "2025-06-01", "2025-12-31", "APPROVED", "Company " + random.nextInt(100),
+                    "rep" + n + "@company.com", String.valueOf(random.nextInt(10) + 1), "true"});
+            } else {
+                rows.add(new String[] {"A" + n, "I" + random.nextInt(count), "U" + (1000000 + random.nextInt(9000000)) + "A",
+                    statuses[random.nextInt(statuses.length)], "2025-06-01", String.valueOf(random.nextBoolean())});
+            }
+        }
+        return rows;
+    }
+
+    private static byte[] encode(List<String[]> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer w = new OutputStreamWriter(out, CHARSET)) {
+            CSVEncoder encoder = new CSVEncoder();
+            for (String[] row : rows) {
+                encoder.write(row, w);
+                w.write('\n');
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeLegacy(List<String[]> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer w = new OutputStreamWriter(out, CHARSET)) {
+            for (String[] row : rows) {
+                w.write(formatLegacy(row));
+                w.write('\n');
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static List<byte[]> splitLines(byte[] bytes) {
+        List<byte[]> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                lines.add(Arrays.copyOfRange(bytes, start, i));
+                start = i + 1;
+            }
+        }
+        return lines;
+    }
+
+    // Reference: FileHandler.parseCSVLine before the tokenizer
+    static String[] parseLegacy(String line) {
+        List<String> fields = new ArrayList<>();
+        boolean inQuotes = false;
+        StringBuilder currentField = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    currentField.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == ',' && !inQuotes) {
+                fields.add(currentField.toString());
+                currentField = new StringBuilder();
+            } else {
+                currentField.append(c);
+            }
+        }
+        fields.add(currentField.toString());
+        for (int i = 0; i < fields.size(); i++) {
+            fields.set(i, fields.get(i).replace("\\n", "\n"));
+        }
+        return fields.toArray(new String[0]);
+    }
+
+    // Reference: FileHandler.formatCSVLine before the encoder
+    static String formatLegacy(String[] row) {
+        String[] processedRow = new String[row.length];
+        for (int i = 0; i < row.length; i++) {
+            String field = row[i];
+            if (field != null) {
+                field = field.replace("\n", "\\n");
+                if (field.contains(",") || field.contains("\\n") || field.contains("\"")) {
+                    field = "\"" + field.replace("\"", "\"\"") + "\"";
+                }
+            }
+            processedRow[i] = field;
+        }
+        return String.join(",", processedRow);
+    }
+}
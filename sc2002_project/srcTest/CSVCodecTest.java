@@ -0,0 +1,116 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import utils.CSVEncoder;
+import utils.CSVTokenizer;
+
+public class CSVCodecTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== CSV Codec Test ===\n");
+
+        // Run tests
+        testTokenizerMatchesExpectedFields();
+        testEncoderMatchesExpectedLines();
+        testTokenizerReuseAcrossLines();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static String[] tokenize(CSVTokenizer tokenizer, String line) {
+        byte[] b = line.getBytes(StandardCharsets.UTF_8);
+        return tokenizer.tokenize(b, 0, b.length);
+    }
+
+    // Test 1: Quoting and escapes are parsed as FileHandler always parsed them
+    private static void testTokenizerMatchesExpectedFields() {
+        System.out.println("Test 1: Tokenizer parses quotes and escapes");
+        String[][] cases = {
+            {"a,b,c", "a", "b", "c"},
+            {"\"x,y\",z", "x,y", "z"},
+            {"\"he said \"\"hi\"\"\",2", "he said \"hi\"", "2"},
+            {"line1\\nline2,\"q\\n\"", "line1\nline2", "q\n"},
+            {"a\"\"b,c", "a\"b", "c"},
+            {"\"open,never closed", "open,never closed"},
+            {"\\\\n,n\\", "\\\n", "n\\"},
+            {",,", "", "", ""},
+            {"trailing,", "trailing", ""},
+            {"Café,naïve", "Café", "naïve"},
+        };
+        CSVTokenizer tokenizer = new CSVTokenizer(StandardCharsets.UTF_8);
+        int failures = 0;
+        for (String[] c : cases) {
+            String[] expected = Arrays.copyOfRange(c, 1, c.length);
+            String[] actual = tokenize(tokenizer, c[0]);
+            if (!Arrays.equals(expected, actual)) {
+                System.out.println("   Mismatch for " + c[0] + ": " + Arrays.toString(actual));
+                failures++;
+            }
+        }
+        if (failures == 0) {
+            System.out.println("PASSED: All " + cases.length + " lines parsed as expected\n");
+            testsPassed++;
+        } else {
+            System.out.println("FAILED: " + failures + " lines parsed differently\n");
+            testsFailed++;
+        }
+    }
+
+    // Test 2: Rows are written exactly as FileHandler always wrote them
+    private static void testEncoderMatchesExpectedLines() {
+        System.out.println("Test 2: Encoder quotes and escapes fields");
+        String[][] rows = {{"plain", "x"}, {"a,b", "c\"d"}, {"multi\nline", "back\\nslash"}, {null, ""}};
+        String[] expected = {"plain,x", "\"a,b\",\"c\"\"d\"", "\"multi\\nline\",\"back\\nslash\"", "null,"};
+        CSVEncoder encoder = new CSVEncoder();
+        int failures = 0;
+        for (int i = 0; i < rows.length; i++) {
+            String actual = encoder.format(rows[i]);
+            if (!actual.equals(expected[i])) {
+                System.out.println("   Expected " + expected[i] + " but got " + actual);
+                failures++;
+            }
+        }
+        if (failures == 0) {
+            System.out.println("PASSED: All rows encoded as expected\n");
+            testsPassed++;
+        } else {
+            System.out.println("FAILED: " + failures + " rows encoded differently\n");
+            testsFailed++;
+        }
+    }
+
+    // Test 3: One tokenizer can be reused for lines of different widths
+    private static void testTokenizerReuseAcrossLines() {
+        System.out.println("Test 3: Tokenizer can be reused across lines");
+        CSVTokenizer tokenizer = new CSVTokenizer(StandardCharsets.UTF_8);
+        StringBuilder wide = new StringBuilder("\"");
+        for (int i = 0; i < 1000; i++) wide.append("long \"\"field\"\" ");
+        wide.append("\"");
+        for (int i = 0; i < 40; i++) wide.append(",").append(i);
+
+        String[] first = tokenize(tokenizer, wide.toString());
+        String[] second = tokenize(tokenizer, "x,y");
+        System.out.println("   Fields: " + first.length + " then " + second.length);
+
+        if (first.length == 41 && first[0].startsWith("long \"field\" ") && Arrays.equals(second, new String[] {"x", "y"})) {
+            System.out.println("PASSED: Buffers grow and are reset between lines\n");
+            testsPassed++;
+        } else {
+            System.out.println("FAILED: Reused tokenizer returned wrong fields\n");
+            testsFailed++;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import utils.FileHandler;
+
+public class CSVStreamReaderTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    private static final String FILE = "csv_stream_test.csv";
+
+    public static void main(String[] args) {
+        System.out.println("=== CSV Stream Reader Test ===\n");
+
+        // Run tests
+        try {
+            testQuotedFieldsAndEscapes();
+            testLineEndingsAndBlankLines();
+            testFileLargerThanOneRegion();
+            testMissingFile();
+        } finally {
+            new File(dataDir(), FILE).delete();
+        }
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: Quoted commas, doubled quotes and \n escapes stream as the original reader parsed them
+    private static void testQuotedFieldsAndEscapes() {
+        System.out.println("Test 1: Quoted fields and escapes");
+        String content = "id,title,desc\n"
+            + "I1,\"Data, Analytics\",plain\n"
+            + "I2,\"He said \"\"hi\"\"\",\"line1\\nline2\"\n"
+            + "I3,,\"a,b,c\"\n"
+            + "I4,back\\\\nslash,trailing,\n";
+        check(content, "quoted and escaped fields");
+    }
+
+    // Test 2: CRLF, CR and LF endings, blank and whitespace-only lines, and a last line without an ending
+    private static void testLineEndingsAndBlankLines() {
+        System.out.println("Test 2: Line endings and blank lines");
+        String content = "\r\n  \n"
+            + "id,name\r\n"
+            + "U1,Alice\r\n"
+            + "\r\n"
+            + "U2,\"Bob, Jr.\"\r"
+            + "\t \r\n"
+            + "U3,Carol\n"
+            + "\n\n"
+            + "U4,\"Dan\\nSmith\"";
+        check(content, "mixed line endings");
+    }
+
+    // Test 3: Rows that straddle the boundary between two mapped regions are read whole
+    private static void testFileLargerThanOneRegion() {
+        System.out.println("Test 3: File larger than one mapped region");
+        StringBuilder content = new StringBuilder("id,title,desc,slots\r\n");
+        int i = 0;
+        // the reader maps 8 MB regions; go past two boundaries with rows of varying length
+        while (content.length() < 17 * 1024 * 1024) {
+            content.append('A').append(i).append(",\"Title, ").append(i).append("\",");
+            content.append("desc".repeat(i % 37)).append("\\nmore,").append(i % 5).append(i % 3 == 0 ? "\r\n" : "\n");
+            if (i % 1000 == 0) content.append("\n");
+            i++;
+        }
+        check(content.toString(), i + " rows");
+    }
+
+    // Test 4: A missing file streams no rows and is created empty, as readCSV(String) always did
+    private static void testMissingFile() {
+        System.out.println("Test 4: Missing file");
+        File f = new File(dataDir(), FILE);
+        f.delete();
+        int[] rows = {0};
+        FileHandler.readCSV(FILE, r -> rows[0]++);
+        System.out.println("   Rows: " + rows[0] + ", created: " + f.exists());
+
+        if (rows[0] == 0 && f.exists() && f.length() == 0) {
+            System.out.println("PASSED: No rows and an empty file\n");
+            testsPassed++;
+        } else {
+            System.out.println("FAILED: Missing file was not handled as before\n");
+            testsFailed++;
+        }
+    }
+
+    // Writes content to the test file and compares both FileHandler readers with the original reader
+    private static void check(String content, String what) {
+        File f = new File(dataDir(), FILE);
+        try {
+            Files.write(f.toPath(), content.getBytes(Charset.defaultCharset()));
+        } catch (IOException e) {
+            System.out.println("FAILED: Could not write test file: " + e.getMessage() + "\n");
+            testsFailed++;
+            return;
+        }
+        List<String[]> expected = readLegacy(f);
+        List<String[]> streamed = new ArrayList<>();
+        FileHandler.readCSV(FILE, streamed::add);
+        List<String[]> listed = FileHandler.readCSV(FILE);
+        System.out.println("   Expected " + expected.size() + " rows, streamed " + streamed.size() + ", listed " + listed.size());
+
+        int mismatch = firstMismatch(expected, streamed);
+        if (mismatch < 0 && firstMismatch(expected, listed) < 0) {
+            System.out.println("PASSED: Same rows as the original reader for " + what + "\n");
+            testsPassed++;
+        } else {
+            if (mismatch >= 0 && mismatch < Math.min(expected.size(), streamed.size())) {
+                System.out.println("   Row " + mismatch + ": expected " + Arrays.toString(expected.get(mismatch)) + " but got " + Arrays.toString(streamed.get(mismatch)));
+            }
+            System.out.println("FAILED: Rows differ from the original reader for " + what + "\n");
+            testsFailed++;
+        }
+    }
+
+    // Index of the first row that differs, the shorter size if one list is a prefix of the other, or -1
+    private static int firstMismatch(List<String[]> expected, List<String[]> actual) {
+        int n = Math.min(expected.size(), actual.size());
+        for (int i = 0; i < n; i++) {
+            if (!Arrays.equals(expected.get(i), actual.get(i))) return i;
+        }
+        return expected.size() == actual.size() ? -1 : n;
+    }
+
+    // Same directory lookup as FileHandler: the nearest ancestor with .idea, .git or data
+    private static File dataDir() {
+        File current = new File(System.getProperty("user.dir"));
+        while (current != null) {
+            if (new File(current, ".idea").exists() || new File(current, ".git").exists() || new File(current, "data").exists()) {
+                return new File(current, "data");
+            }
+            current = current.getParentFile();
+        }
+        return new File(System.getProperty("user.dir"), "data");
+    }
+
+    // Reference: FileHandler.readCSV before rows were streamed from a mapped file
+    private static List<String[]> readLegacy(File f) {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
+            String line;
+            boolean firstLine = true;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty()) { continue; }
+                if (firstLine) {
+                    firstLine = false;
+                    continue;
+                }
+                rows.add(parseLegacy(line));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return rows;
+    }
+
+    // Reference: FileHandler.parseCSVLine before the tokenizer
+    private static String[] parseLegacy(String line) {
+        List<String> fields = new ArrayList<>();
+        boolean inQuotes = false;
+        StringBuilder currentField = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    currentField.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == ',' && !inQuotes) {
+                fields.add(currentField.toString());
+                currentField = new StringBuilder();
+            } else {
+                currentField.append(c);
+            }
+        }
+        fields.add(currentField.toString());
+        for (int i = 0; i < fields.size(); i++) {
+            fields.set(i, fields.get(i).replace("\\n", "\n"));
+        }
+        return fields.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,359 @@
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import entities.*;
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.ChangeType;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.PersistenceMode;
+
+public class ChangeFeedTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Change Feed Test ===\n");
+
+        // Run tests
+        testTypedBeforeAndAfter();
+        testTransactionsAreConsecutive();
+        testResumeFromSequence();
+        testConcurrentWritersAreOrdered();
+        testCommitsAreNotInterleaved();
+        testSlowListenerDoesNotHoldUpWriters();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static Internship internship(String id) {
+        return new Internship(id, "Feed Internship", "Feed Description", InternshipLevel.BASIC, "Computer Science",
+            "2025-06-01", "2025-12-31", InternshipStatus.PENDING, "FeedCompany", "feed.rep@company.com", 2, false);
+    }
+
+    // Test 1: Inserts, in-place updates and removals carry the right images
+    private static void testTypedBeforeAndAfter() {
+        System.out.println("Test 1: Typed before and after images");
+        try {
+            Repository repo = new Repository();
+            ChangeFeed feed = repo.changes();
+            long start = feed.getLastSequence();
+            repo.updateInternship(internship("I9601"));
+            Internship stored = repo.findInternship("I9601");
+            stored.setStatus(InternshipStatus.APPROVED);
+            repo.updateInternship(stored);
+            repo.removeInternship("I9601");
+            repo.removeInternship("I9601");
+
+            List<ChangeEvent<?>> events = feed.readSince(start, 10);
+            for (ChangeEvent<?> e : events) { System.out.println("   " + e); }
+            ChangeEvent<Internship> update = events.get(1).as(Internship.class);
+            ChangeEvent<Internship> delete = events.get(2).as(Internship.class);
+
+            if (events.size() == 3
+                    && events.get(0).getType() == ChangeType.INSERT && events.get(0).getBefore() == null
+                    && update.getType() == ChangeType.UPDATE
+                    && update.getBefore().getStatus() == InternshipStatus.PENDING
+                    && update.getAfter().getStatus() == InternshipStatus.APPROVED
+                    && update.getAfter() != stored
+                    && delete.getType() == ChangeType.DELETE && delete.getAfter() == null
+                    && delete.getBefore().getStatus() == InternshipStatus.APPROVED
+                    && events.get(0).as(Application.class) == null
+                    && events.get(2).getSequence() == start + 3 && feed.getLastSequence() == start + 3) {
+                System.out.println("PASSED: Each change has its before and after image\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Events or images are wrong\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A transaction's changes are consecutive, and a conflicting one publishes nothing
+    private static void testTransactionsAreConsecutive() {
+        System.out.println("Test 2: Transactions in the feed");
+        try {
+            Repository repo = new Repository();
+            ChangeFeed feed = repo.changes();
+            repo.updateInternship(internship("I9602"));
+            long start = feed.getLastSequence();
+            repo.runInTransaction(tx -> {
+                Internship i = tx.findInternship("I9602");
+                i.setSlots(1);
+                tx.updateInternship(i);
+                tx.updateApplication(new Application("A9602", "I9602", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            });
+            long afterCommit = feed.getLastSequence();
+            boolean conflict = false;
+            try {
+                repo.runInTransaction(tx -> {
+                    Internship copy = tx.findInternship("I9602");
+                    Internship live = repo.findInternship("I9602");
+                    live.setSlots(3);
+                    repo.updateInternship(live);
+                    copy.setSlots(2);
+                    tx.updateInternship(copy);
+                });
+            } catch (ConflictException e) {
+                conflict = true;
+            }
+            List<ChangeEvent<?>> events = feed.readSince(start, 10);
+            for (ChangeEvent<?> e : events) { System.out.println("   " + e); }
+
+            if (afterCommit == start + 2 && conflict && events.size() == 3
+                    && events.get(0).getEntityType() == Internship.class
+                    && events.get(1).getEntityType() == Application.class
+                    && events.get(2).as(Internship.class).getAfter().getSlots() == 3) {
+                System.out.println("PASSED: Committed changes only, in order\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Transaction changes missing or extra\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: A consumer resumes from its last sequence and matches a full rescan
+    private static void testResumeFromSequence() {
+        System.out.println("Test 3: Resuming from a sequence");
+        Repository repo = null;
+        try {
+            repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            ChangeFeed feed = repo.changes();
+            StatusCounts counts = new StatusCounts(repo);
+            feed.subscribe(counts);
+            for (int n = 0; n < 50; n++) {
+                repo.updateApplication(new Application(String.format("A96%02d", n), "I9603", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            }
+            // the consumer stops, changes go on, and it picks up where it left off
+            feed.unsubscribe(counts);
+            long resumeFrom = counts.lastSeq;
+            for (int n = 0; n < 20; n++) {
+                Application a = repo.findApplication(String.format("A96%02d", n));
+                a.setStatus(n % 2 == 0 ? ApplicationStatus.SUCCESSFUL : ApplicationStatus.UNSUCCESSFUL);
+                repo.updateApplication(a);
+            }
+            feed.subscribe(resumeFrom, counts);
+            Map<ApplicationStatus, Integer> rescan = new StatusCounts(repo).counts;
+            System.out.println("   Incremental: " + counts.counts + ", rescan: " + rescan);
+
+            // a consumer further behind than the retention must rescan
+            for (int n = 0; n < ChangeFeed.DEFAULT_RETENTION; n++) {
+                Application a = repo.findApplication("A9649");
+                repo.updateApplication(a);
+            }
+            boolean tooOld = false;
+            try {
+                feed.readSince(resumeFrom, 10);
+            } catch (IllegalStateException e) {
+                tooOld = true;
+            }
+            System.out.println("   Oldest retained: " + feed.getOldestSequence() + ", last: " + feed.getLastSequence());
+
+            if (counts.counts.equals(rescan) && counts.lastSeq == resumeFrom + 20 + ChangeFeed.DEFAULT_RETENTION && tooOld) {
+                System.out.println("PASSED: Resumed without a rescan\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Resumed state does not match\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (repo != null) repo.close();
+        }
+    }
+
+    // Test 4: Writers on several tables get unique, consecutive sequence numbers
+    private static void testConcurrentWritersAreOrdered() {
+        System.out.println("Test 4: Concurrent writers");
+        Repository repo = null;
+        try {
+            repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            final Repository r = repo;
+            ChangeFeed feed = repo.changes();
+            List<ChangeEvent<?>> seen = new ArrayList<>();
+            feed.subscribe(seen::add);
+            long start = feed.getLastSequence();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                threads.add(new Thread(() -> {
+                    for (int n = 0; n < 500; n++) {
+                        if (thread % 2 == 0) {
+                            r.updateInternship(internship(String.format("I9%d%03d", thread + 6, n)));
+                        } else {
+                            r.updateApplication(new Application(String.format("A9%d%03d", thread + 6, n), "I9604", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+                        }
+                    }
+                }));
+            }
+            for (Thread t : threads) { t.start(); }
+            for (Thread t : threads) { t.join(); }
+            boolean consecutive = seen.size() == 2000;
+            for (int k = 0; k < seen.size(); k++) {
+                if (seen.get(k).getSequence() != start + k + 1) consecutive = false;
+            }
+            System.out.println("   Delivered " + seen.size() + " events, last sequence " + feed.getLastSequence());
+
+            if (consecutive && feed.getLastSequence() == start + 2000) {
+                System.out.println("PASSED: One gap-free sequence across tables\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Sequence has gaps or is out of order\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (repo != null) repo.close();
+        }
+    }
+
+    // Test 5: A plain writer on another table never gets between the events of a commit
+    private static void testCommitsAreNotInterleaved() {
+        System.out.println("Test 5: Commits are not interleaved with other writers");
+        Repository repo = null;
+        try {
+            repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            final Repository r = repo;
+            ChangeFeed feed = repo.changes();
+            List<ChangeEvent<?>> seen = new ArrayList<>();
+            feed.subscribe(seen::add);
+            int commits = 200;
+            Thread writer = new Thread(() -> {
+                for (int n = 0; n < 2000; n++) {
+                    r.updateWithdrawal(new WithdrawalRequest(String.format("W97%04d", n), "A9604", "U9090909J", ApprovalStatus.PENDING, "2025-06-01"));
+                }
+            });
+            writer.start();
+            for (int n = 0; n < commits; n++) {
+                String aID = String.format("A97%03d", n);
+                r.runInTransaction(tx -> {
+                    tx.updateInternship(internship("I9705"));
+                    tx.updateApplication(new Application(aID, "I9705", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+                });
+            }
+            writer.join();
+            int pairs = 0;
+            for (int k = 0; k < seen.size(); k++) {
+                if (seen.get(k).as(Internship.class) == null) continue;
+                ChangeEvent<Application> next = k + 1 < seen.size() ? seen.get(k + 1).as(Application.class) : null;
+                if (next != null && next.getID().startsWith("A97")) pairs++;
+            }
+            System.out.println("   " + seen.size() + " events, " + pairs + " of " + commits + " commits consecutive");
+
+            if (pairs == commits) {
+                System.out.println("PASSED: Every commit's events are consecutive\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Another writer's change fell inside a commit\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (repo != null) repo.close();
+        }
+    }
+
+    // Test 6: While a listener is busy with one table's change, a writer on another table still goes ahead
+    private static void testSlowListenerDoesNotHoldUpWriters() {
+        System.out.println("Test 6: A slow listener does not hold up writers on other tables");
+        Repository repo = null;
+        try {
+            repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            final Repository r = repo;
+            ChangeFeed feed = repo.changes();
+            long start = feed.getLastSequence();
+            CountDownLatch busy = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<Long> seen = new ArrayList<>();
+            feed.subscribe(e -> {
+                seen.add(e.getSequence());
+                if (e.as(Internship.class) != null) {
+                    busy.countDown();
+                    try { release.await(); } catch (InterruptedException ex) { Thread.currentThread().interrupt(); }
+                }
+            });
+            Thread slow = new Thread(() -> r.updateInternship(internship("I9806")));
+            slow.start();
+            busy.await();
+            // would time out if the listener were called under the feed's lock
+            Thread other = new Thread(() -> r.updateWithdrawal(new WithdrawalRequest("W9806", "A9604", "U9090909J", ApprovalStatus.PENDING, "2025-06-01")));
+            other.start();
+            other.join(10_000);
+            boolean wentAhead = !other.isAlive();
+            long numbered = feed.getLastSequence() - start;
+            release.countDown();
+            other.join();
+            slow.join();
+            System.out.println("   Withdrawal written while the listener was busy: " + wentAhead + ", delivered " + seen);
+
+            if (wentAhead && numbered == 2 && seen.equals(List.of(start + 1, start + 2))) {
+                System.out.println("PASSED: The writer went ahead and the listener got both events in order\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: The writer waited for the listener or an event was lost\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (repo != null) repo.close();
+        }
+    }
+
+    // Applications per status, kept up to date from the feed
+    private static class StatusCounts implements ChangeListener {
+        final Map<ApplicationStatus, Integer> counts = new EnumMap<>(ApplicationStatus.class);
+        long lastSeq;
+
+        StatusCounts(Repository repo) {
+            for (Application a : repo.getAllApplications()) { counts.merge(a.getStatus(), 1, Integer::sum); }
+            lastSeq = repo.changes().getLastSequence();
+        }
+
+        @Override
+        public void changed(ChangeEvent<?> event) {
+            ChangeEvent<Application> e = event.as(Application.class);
+            if (e != null) {
+                if (e.getBefore() != null) counts.merge(e.getBefore().getStatus(), -1, Integer::sum);
+                if (e.getAfter() != null) counts.merge(e.getAfter().getStatus(), 1, Integer::sum);
+                counts.values().removeIf(n -> n == 0);
+            }
+            lastSeq = event.getSequence();
+        }
+    }
+}
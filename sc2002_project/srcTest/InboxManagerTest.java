@@ -0,0 +1,253 @@
+import java.util.ArrayList;
+import java.util.List;
+
+import controller.CompanyController;
+import controller.StaffController;
+import controller.SystemController;
+import entities.*;
+import enums.ApplicationStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import services.InboxManager;
+
+public class InboxManagerTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Inbox Manager Test ===\n");
+
+        // Run tests
+        testDecisionsReachInboxes();
+        testPagingAndUnreadCount();
+        testInboxesArePersisted();
+        testConcurrentSendersKeepOrder();
+        testFullOutboxDoesNotBlock();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: Decisions written to the repository notify the student and the company representative
+    private static void testDecisionsReachInboxes() {
+        System.out.println("Test 1: Decisions reach the inboxes");
+        try {
+            Repository repo = new Repository();
+            SystemController sys = new SystemController(repo);
+            InboxManager inbox = sys.inbox();
+            String rep = "inbox.rep@company.com";
+            String student = "U9090909J";
+            repo.updateInternship(new Internship("I9701", "Inbox Internship", "Inbox Description", InternshipLevel.BASIC,
+                "Computer Science", "2025-06-01", "2025-12-31", InternshipStatus.PENDING, "InboxCompany", rep, 2, false));
+            new StaffController(sys).decideInternship("I9701", true);
+            repo.updateApplication(new Application("A9701", "I9701", student, ApplicationStatus.PENDING, "2025-06-01", false));
+            new CompanyController(sys).decideApplication("A9701", true);
+            Application a = repo.findApplication("A9701");
+            a.setAcceptedByStudent(true);
+            repo.updateApplication(a);
+            inbox.flush();
+
+            List<InboxMessage> repMessages = inbox.getPage(rep, 0, 10);
+            List<InboxMessage> studentMessages = inbox.getPage(student, 0, 10);
+            for (InboxMessage m : repMessages) { System.out.println("   " + rep + ": " + m.getMessage()); }
+            for (InboxMessage m : studentMessages) { System.out.println("   " + student + ": " + m.getMessage()); }
+            sys.inbox().close();
+
+            if (repMessages.size() == 3
+                    && repMessages.get(2).getMessage().contains("is now APPROVED")
+                    && repMessages.get(1).getMessage().startsWith("New application A9701")
+                    && repMessages.get(0).getMessage().contains("accepted the offer")
+                    && studentMessages.size() == 1
+                    && studentMessages.get(0).getMessage().contains("A9701")
+                    && studentMessages.get(0).getMessage().endsWith("SUCCESSFUL")
+                    && inbox.getUnreadCount(rep) == 3 && inbox.getUnreadCount(student) == 1) {
+                System.out.println("PASSED: Student and representative were notified\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Inbox messages missing or wrong\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: Pages run newest first and reading clears the unread count
+    private static void testPagingAndUnreadCount() {
+        System.out.println("Test 2: Paging and unread count");
+        try {
+            InboxManager inbox = new InboxManager(new Repository());
+            String user = "U9191919K";
+            for (int n = 1; n <= 25; n++) { inbox.send(user, "message " + n); }
+            int unreadBefore = inbox.getUnreadCount(user);
+            List<InboxMessage> first = inbox.getPage(user, 0, 10);
+            List<InboxMessage> last = inbox.getPage(user, 2, 10);
+            List<InboxMessage> past = inbox.getPage(user, 3, 10);
+            inbox.markAllRead(user);
+            int unreadAfter = inbox.getUnreadCount(user);
+            inbox.send(user, "message 26");
+            int unreadNew = inbox.getUnreadCount(user);
+            boolean rejected = false;
+            try {
+                inbox.getPage(user, -1, 10);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            System.out.println("   Unread: " + unreadBefore + " -> " + unreadAfter + " -> " + unreadNew
+                + ", first page " + first.get(0).getMessage() + ".." + first.get(9).getMessage()
+                + ", last page " + last.size() + " messages");
+            inbox.close();
+
+            if (unreadBefore == 25 && unreadAfter == 0 && unreadNew == 1
+                    && first.size() == 10 && first.get(0).getSequence() == 25 && first.get(9).getSequence() == 16
+                    && last.size() == 5 && last.get(4).getSequence() == 1 && past.isEmpty() && rejected
+                    && inbox.getUnreadCount("U0000000X") == 0) {
+                System.out.println("PASSED: Pages and unread counts are right\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Pages or unread counts are wrong\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: Messages and read markers survive a restart
+    private static void testInboxesArePersisted() {
+        System.out.println("Test 3: Inboxes are persisted");
+        try {
+            InboxManager inbox = new InboxManager(new Repository());
+            String user = "U9292929L";
+            inbox.send(user, "first, with a comma");
+            inbox.send(user, "second \"quoted\"");
+            inbox.markAllRead(user);
+            inbox.send(user, "third");
+            inbox.close();
+
+            SystemController reloaded = new SystemController(new Repository());
+            List<InboxMessage> l = reloaded.inbox().getPage(user, 0, 10);
+            int unread = reloaded.inbox().getUnreadCount(user);
+            System.out.println("   Reloaded " + l.size() + " messages, " + unread + " unread");
+            reloaded.inbox().close();
+
+            if (l.size() == 3 && unread == 1
+                    && l.get(0).getMessage().equals("third")
+                    && l.get(1).getMessage().equals("second \"quoted\"")
+                    && l.get(2).getMessage().equals("first, with a comma")) {
+                System.out.println("PASSED: Inbox reloaded with its read marker\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Inbox not reloaded correctly\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 4: Many senders are written in batches without losing or reordering a message
+    private static void testConcurrentSendersKeepOrder() {
+        System.out.println("Test 4: Concurrent senders");
+        try {
+            InboxManager inbox = new InboxManager(new Repository());
+            String[] users = {"U9393939M", "U9494949N"};
+            List<Thread> threads = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < 4; t++) {
+                final String user = users[t % 2];
+                threads.add(new Thread(() -> {
+                    for (int n = 0; n < 1000; n++) { inbox.send(user, "bulk " + n); }
+                }));
+            }
+            for (Thread t : threads) { t.start(); }
+            for (Thread t : threads) { t.join(); }
+            long sendMicros = (System.nanoTime() - start) / 1000;
+            inbox.close();
+
+            InboxManager reloaded = new InboxManager(new Repository());
+            int[] counts = {reloaded.getMessageCount(users[0]), reloaded.getMessageCount(users[1])};
+            boolean ordered = true;
+            for (String user : users) {
+                int seq = reloaded.getMessageCount(user);
+                for (InboxMessage m : reloaded.getPage(user, 0, 2000)) {
+                    if (m.getSequence() != seq--) ordered = false;
+                }
+            }
+            System.out.println("   Sent 4000 messages in " + sendMicros / 1000 + " ms; reloaded " + counts[0] + " + " + counts[1]);
+            reloaded.close();
+
+            if (counts[0] == 2000 && counts[1] == 2000 && ordered) {
+                System.out.println("PASSED: Every message was written in sequence\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Messages were lost or reordered\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 5: Sending far more than the outbox holds never waits, and every message still reaches the file
+    private static void testFullOutboxDoesNotBlock() {
+        System.out.println("Test 5: Full outbox");
+        try {
+            InboxManager inbox = new InboxManager(new Repository());
+            String[] users = {"U9595959P", "U9696969Q", "U9797979R"};
+            int perUser = 10000;
+            long start = System.nanoTime();
+            for (int n = 0; n < perUser; n++) {
+                for (String user : users) { inbox.send(user, "burst " + n); }
+                if (n == perUser / 2) { inbox.markAllRead(users[0]); }
+            }
+            long sendMillis = (System.nanoTime() - start) / 1_000_000;
+            inbox.close();
+
+            InboxManager reloaded = new InboxManager(new Repository());
+            boolean complete = true;
+            for (String user : users) {
+                int seq = perUser;
+                List<InboxMessage> l = reloaded.getPage(user, 0, perUser);
+                complete &= reloaded.getMessageCount(user) == perUser && l.size() == perUser;
+                for (InboxMessage m : l) {
+                    if (m.getSequence() != seq || !m.getMessage().equals("burst " + (seq - 1))) complete = false;
+                    seq--;
+                }
+            }
+            int unread = reloaded.getUnreadCount(users[0]);
+            System.out.println("   Sent " + perUser * users.length + " messages in " + sendMillis + " ms; unread after reload: " + unread);
+            reloaded.close();
+
+            if (complete && unread == perUser - (perUser / 2 + 1)) {
+                System.out.println("PASSED: Every message and read marker was written in sequence\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Messages were lost or reordered\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
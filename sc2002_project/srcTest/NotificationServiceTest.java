@@ -0,0 +1,262 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import enums.OverflowPolicy;
+import utils.MemorySink;
+import utils.NotificationService;
+import utils.NotificationSink;
+import utils.RollingFileSink;
+
+public class NotificationServiceTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Notification Service Test ===\n");
+
+        // Run tests
+        testBatchedDeliveryKeepsOrder();
+        testLazyMessages();
+        testOverflowPolicies();
+        testRollingFile();
+        testSendDuringClose();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: Messages from many threads all arrive, in batches, each thread's in order
+    private static void testBatchedDeliveryKeepsOrder() {
+        System.out.println("Test 1: Batched delivery from many threads");
+        try {
+            MemorySink sink = new MemorySink();
+            NotificationService service = new NotificationService(1024, OverflowPolicy.BLOCK, sink);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                threads.add(new Thread(() -> {
+                    for (int n = 0; n < 5000; n++) { service.publish(thread + ":" + n); }
+                }));
+            }
+            for (Thread t : threads) { t.start(); }
+            for (Thread t : threads) { t.join(); }
+            service.flush();
+            List<String> got = sink.getMessages();
+
+            int[] next = new int[8];
+            boolean ordered = true;
+            for (String m : got) {
+                int thread = Integer.parseInt(m.substring(0, m.indexOf(':')));
+                int n = Integer.parseInt(m.substring(m.indexOf(':') + 1));
+                if (n != next[thread]++) ordered = false;
+            }
+            System.out.println("   " + got.size() + " messages in " + sink.getBatchCount() + " batches, dropped " + service.getDroppedCount());
+            service.close();
+
+            if (got.size() == 40000 && ordered && sink.getBatchCount() < got.size() && service.getDroppedCount() == 0) {
+                System.out.println("PASSED: All messages delivered in order and in batches\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Messages were lost, reordered or not batched\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: Message suppliers are only evaluated when a sink will receive them
+    private static void testLazyMessages() {
+        System.out.println("Test 2: Lazy messages");
+        try {
+            AtomicInteger built = new AtomicInteger();
+            NotificationService service = new NotificationService(64, OverflowPolicy.BLOCK);
+            for (int n = 0; n < 10; n++) {
+                service.publish(() -> "built " + built.incrementAndGet());
+            }
+            service.flush();
+            int withoutSinks = built.get();
+
+            MemorySink sink = new MemorySink();
+            service.addSink(sink);
+            service.publish(() -> "built " + built.incrementAndGet());
+            service.flush();
+            System.out.println("   Built without sinks: " + withoutSinks + ", with a sink: " + built.get() + " " + sink.getMessages());
+            service.close();
+
+            if (withoutSinks == 0 && built.get() == 1 && sink.getMessages().equals(List.of("built 1"))) {
+                System.out.println("PASSED: Messages are only built for a reader\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Messages were built eagerly\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: A full queue drops messages under DROP and waits under BLOCK
+    private static void testOverflowPolicies() {
+        System.out.println("Test 3: Overflow policies");
+        try {
+            int[] delivered = new int[2];
+            long[] dropped = new long[2];
+            OverflowPolicy[] policies = {OverflowPolicy.DROP, OverflowPolicy.BLOCK};
+            for (int p = 0; p < 2; p++) {
+                CountDownLatch release = new CountDownLatch(1);
+                MemorySink sink = new MemorySink();
+                // holds up the dispatcher so that the queue fills
+                NotificationSink stalled = messages -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                };
+                NotificationService service = new NotificationService(16, policies[p], stalled, sink);
+                Thread sender = new Thread(() -> {
+                    for (int n = 0; n < 200; n++) { service.publish("m" + n); }
+                });
+                sender.start();
+                sender.join(p == 0 ? 10_000 : 300);
+                boolean senderWaited = sender.isAlive();
+                release.countDown();
+                sender.join();
+                service.flush();
+                delivered[p] = sink.getMessages().size();
+                dropped[p] = service.getDroppedCount();
+                System.out.println("   " + policies[p] + ": delivered " + delivered[p] + ", dropped " + dropped[p]
+                    + (senderWaited ? ", sender waited" : ""));
+                service.close();
+                if (p == 1 && !senderWaited) delivered[p] = -1;
+            }
+
+            if (dropped[0] > 0 && delivered[0] + dropped[0] == 200 && dropped[1] == 0 && delivered[1] == 200) {
+                System.out.println("PASSED: DROP discards and BLOCK waits\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Overflow policy not applied\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 4: The log file rolls over at its size limit and keeps a bounded history
+    private static void testRollingFile() {
+        System.out.println("Test 4: Rolling log file");
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("notifications");
+            Path log = dir.resolve("notifications.log");
+            NotificationService service = new NotificationService(256, OverflowPolicy.BLOCK, new RollingFileSink(log, 1000, 2));
+            for (int n = 0; n < 500; n++) { service.publish(String.format("notification %04d", n)); }
+            service.close();
+
+            long files;
+            try (Stream<Path> s = Files.list(dir)) { files = s.count(); }
+            List<String> current = Files.readAllLines(log);
+            List<String> previous = Files.readAllLines(dir.resolve("notifications.log.1"));
+            boolean small = Files.size(log) < 1000 && Files.size(dir.resolve("notifications.log.1")) < 1100;
+            boolean newestLast = current.isEmpty()
+                ? previous.get(previous.size() - 1).equals("notification 0499")
+                : current.get(current.size() - 1).equals("notification 0499");
+            System.out.println("   Files kept: " + files + ", lines in current file: " + current.size());
+
+            if (files == 3 && small && newestLast) {
+                System.out.println("PASSED: Log rolled and kept two old files\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Log did not roll as expected\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (dir != null) {
+                try (Stream<Path> s = Files.list(dir)) {
+                    for (Path f : (Iterable<Path>) s::iterator) { Files.delete(f); }
+                    Files.delete(dir);
+                } catch (Exception e) {
+                    // temporary files only
+                }
+            }
+        }
+    }
+
+    // Test 5: A message sent while the service closes is either delivered or counted as dropped
+    private static void testSendDuringClose() {
+        System.out.println("Test 5: Sending while the service closes");
+        try {
+            int rounds = 200;
+            int senders = 4;
+            int lost = 0;
+            long droppedTotal = 0;
+            for (int r = 0; r < rounds; r++) {
+                MemorySink sink = new MemorySink();
+                NotificationService service = new NotificationService(4096, OverflowPolicy.BLOCK, sink);
+                AtomicInteger sent = new AtomicInteger();
+                AtomicBoolean stop = new AtomicBoolean();
+                List<Thread> threads = new ArrayList<>();
+                for (int t = 0; t < senders; t++) {
+                    // keep sending until well after the close, so some sends race it
+                    Thread sender = new Thread(() -> {
+                        for (int n = 0; !stop.get() || n % 100 != 0; n++) {
+                            service.publish("m" + n);
+                            sent.incrementAndGet();
+                            if (n % 10 == 0) Thread.yield();
+                        }
+                    });
+                    threads.add(sender);
+                    sender.start();
+                }
+                while (sent.get() < 200) { Thread.yield(); }
+                service.close();
+                stop.set(true);
+                for (Thread sender : threads) { sender.join(); }
+                long dropped = service.getDroppedCount();
+                droppedTotal += dropped;
+                if (sink.getMessages().size() + dropped != sent.get()) lost++;
+            }
+            System.out.println("   " + rounds + " rounds, " + droppedTotal + " messages dropped after close, rounds with lost messages: " + lost);
+
+            if (lost == 0) {
+                System.out.println("PASSED: Every message was delivered or counted as dropped\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Messages were accepted but never delivered\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import entities.*;
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.PersistenceMode;
+import enums.ReportCategory;
+
+public class ParallelReportTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Parallel Report Test ===\n");
+
+        // Run tests
+        testParallelCountsMatchSequential();
+        testParallelReportsMatchSequential();
+        testParallelismSetting();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static final String[][] FILTERS = {
+        {"status", "PENDING"},
+        {"startDate", "2025-03-01", "endDate", "2025-08-31"},
+        {"level", "ADVANCED", "visible", "true"},
+        {"acceptedByStudent", "true", "status", "SUCCESSFUL"},
+        {"companyName", "company 1"}
+    };
+
+    private static Map<String, String> filters(String[] keysAndValues) {
+        Map<String, String> m = new HashMap<>();
+        for (int k = 0; k < keysAndValues.length; k += 2) { m.put(keysAndValues[k], keysAndValues[k + 1]); }
+        return m;
+    }
+
+    private static boolean sameCounts(ReportStatistics a, ReportStatistics b) {
+        if (a.getInternshipCount() != b.getInternshipCount() || a.getVisibleInternshipCount() != b.getVisibleInternshipCount()) return false;
+        for (InternshipStatus s : InternshipStatus.values()) { if (a.getInternshipCount(s) != b.getInternshipCount(s)) return false; }
+        for (InternshipLevel l : InternshipLevel.values()) { if (a.getInternshipCount(l) != b.getInternshipCount(l)) return false; }
+        if (a.getApplicationCount() != b.getApplicationCount() || a.getAcceptedApplicationCount() != b.getAcceptedApplicationCount()) return false;
+        for (ApplicationStatus s : ApplicationStatus.values()) { if (a.getApplicationCount(s) != b.getApplicationCount(s)) return false; }
+        for (ApprovalStatus s : ApprovalStatus.values()) { if (a.getWithdrawalCount(s) != b.getWithdrawalCount(s)) return false; }
+        return true;
+    }
+
+    private static String date(Random random) {
+        return String.format("2025-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28));
+    }
+
+    private static Internship internship(int n, Random random) {
+        return new Internship(String.format("I8%06d", n), "Parallel Internship", "Parallel Description",
+            InternshipLevel.values()[random.nextInt(3)], "Computer Science", "2024-12-31", date(random),
+            InternshipStatus.values()[random.nextInt(4)], "Company " + random.nextInt(20), "parallel.rep@company.com", 2, random.nextBoolean());
+    }
+
+    private static Application application(int n, Random random) {
+        return new Application(String.format("A8%06d", n), String.format("I8%06d", random.nextInt(1000)), "U9090909J",
+            ApplicationStatus.values()[random.nextInt(4)], date(random), random.nextInt(10) == 0);
+    }
+
+    // Test 1: Counting in chunks on a pool gives the same counts as one pass
+    private static void testParallelCountsMatchSequential() {
+        System.out.println("Test 1: Chunked counts match a single pass");
+        try {
+            Random random = new Random(7);
+            List<Internship> internships = new ArrayList<>();
+            List<Application> applications = new ArrayList<>();
+            List<WithdrawalRequest> withdrawals = new ArrayList<>();
+            for (int n = 0; n < 50_000; n++) { internships.add(internship(n, random)); }
+            for (int n = 0; n < 200_000; n++) { applications.add(application(n, random)); }
+            for (int n = 0; n < 50_000; n++) {
+                withdrawals.add(new WithdrawalRequest(String.format("W8%06d", n), String.format("A8%06d", n), "U9090909J",
+                    ApprovalStatus.values()[random.nextInt(3)], date(random)));
+            }
+            boolean same = true;
+            for (int parallelism : new int[] {2, 4}) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                for (String[] f : FILTERS) {
+                    ReportFilter filter = ReportFilter.compile(filters(f));
+                    same &= sameCounts(ReportStatistics.of(internships, applications, withdrawals, filter, pool),
+                        ReportStatistics.of(internships, applications, withdrawals, filter));
+                }
+                pool.shutdown();
+            }
+            System.out.println("   Compared " + FILTERS.length + " filters on 300,000 entities with 2 and 4 workers");
+
+            if (same) {
+                System.out.println("PASSED: Same counts\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Chunked counts differ\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: Reports from the repository read the same with one worker or several
+    private static void testParallelReportsMatchSequential() {
+        System.out.println("Test 2: Parallel reports match sequential ones");
+        Repository repo = null;
+        try {
+            repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            repo.setFlushWindow(60_000);
+            Random random = new Random(11);
+            for (int n = 0; n < 50_000; n++) { repo.updateApplication(application(n, random)); }
+            boolean same = true;
+            for (String[] f : FILTERS) {
+                repo.setReportParallelism(1);
+                ReportSummary sequential = new ReportSummary("R9601", ReportCategory.SUMMARY);
+                sequential.generate(repo, filters(f));
+                repo.setReportParallelism(4);
+                ReportSummary parallel = new ReportSummary("R9601", ReportCategory.SUMMARY);
+                parallel.generate(repo, filters(f));
+                same &= sequential.getContent().equals(parallel.getContent());
+            }
+            System.out.println("   Compared " + FILTERS.length + " reports over " + repo.getStatistics().getApplicationCount() + " applications");
+
+            if (same) {
+                System.out.println("PASSED: Identical reports\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Parallel report differs\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (repo != null) repo.close();
+        }
+    }
+
+    // Test 3: The number of workers can be changed, and must be positive
+    private static void testParallelismSetting() {
+        System.out.println("Test 3: Parallelism setting");
+        try {
+            Repository repo = new Repository();
+            int initial = repo.getReportParallelism();
+            repo.setReportParallelism(3);
+            int three = repo.getReportParallelism();
+            repo.setReportParallelism(1);
+            boolean rejected = false;
+            try {
+                repo.setReportParallelism(0);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            System.out.println("   Default " + initial + ", set " + three + ", zero rejected: " + rejected);
+
+            if (initial == 1 && three == 3 && repo.getReportParallelism() == 1 && rejected) {
+                System.out.println("PASSED: Parallelism is configurable\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Wrong parallelism\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
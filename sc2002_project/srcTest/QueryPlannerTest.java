@@ -0,0 +1,242 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import entities.*;
+import enums.AccessPath;
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+public class QueryPlannerTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Query Planner Test ===\n");
+
+        // Run tests
+        testStudentFilterUsesIndex();
+        testStatusFilterUsesPartition();
+        testNarrowDateRangeUsesIndex();
+        testUnindexedFilterScans();
+        testPlannedResultsMatchScan();
+        testInPlaceChangesMovePartition();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static ReportFilter filter(String... keysAndValues) {
+        Map<String, String> m = new HashMap<>();
+        for (int k = 0; k < keysAndValues.length; k += 2) { m.put(keysAndValues[k], keysAndValues[k + 1]); }
+        return ReportFilter.compile(m);
+    }
+
+    // The plan chosen for one entity type
+    private static QueryPlan<?> plan(Repository repo, ReportFilter filter, Class<?> type) {
+        for (QueryPlan<?> p : repo.explain(filter)) {
+            if (p.getEntityType() == type) return p;
+        }
+        throw new IllegalStateException("No plan for " + type.getSimpleName());
+    }
+
+    private static boolean sameCounts(ReportStatistics a, ReportStatistics b) {
+        if (a.getInternshipCount() != b.getInternshipCount() || a.getVisibleInternshipCount() != b.getVisibleInternshipCount()) return false;
+        for (InternshipStatus s : InternshipStatus.values()) { if (a.getInternshipCount(s) != b.getInternshipCount(s)) return false; }
+        if (a.getApplicationCount() != b.getApplicationCount() || a.getAcceptedApplicationCount() != b.getAcceptedApplicationCount()) return false;
+        for (ApplicationStatus s : ApplicationStatus.values()) { if (a.getApplicationCount(s) != b.getApplicationCount(s)) return false; }
+        for (ApprovalStatus s : ApprovalStatus.values()) { if (a.getWithdrawalCount(s) != b.getWithdrawalCount(s)) return false; }
+        return true;
+    }
+
+    // Test 1: A student filter reads only that student's applications
+    private static void testStudentFilterUsesIndex() {
+        System.out.println("Test 1: Student filter uses the student index");
+        try {
+            Repository repo = new Repository();
+            repo.updateApplication(new Application("A9601", "INT001", "U9696969K", ApplicationStatus.PENDING, "2025-06-01", false));
+            repo.updateApplication(new Application("A9602", "INT002", "U9696969K", ApplicationStatus.SUCCESSFUL, "2025-06-02", false));
+            repo.updateApplication(new Application("A9605", "INT002", "U9797979L", ApplicationStatus.PENDING, "2025-06-02", false));
+            QueryPlan<?> p = plan(repo, filter("studentID", "U9696969K"), Application.class);
+            QueryPlan<?> pair = plan(repo, filter("studentID", "U9696969K", "internshipID", "INT002"), Application.class);
+            QueryPlan<?> none = plan(repo, filter("studentID", "U0000000Z"), Application.class);
+            System.out.println("   " + p + "; " + pair + "; " + none);
+
+            if (p.getAccessPath() == AccessPath.ID_LOOKUP && p.getEstimatedRows() == 2
+                    && pair.getAccessPath() == AccessPath.ID_LOOKUP && pair.getEstimatedRows() == 1
+                    && none.getAccessPath() == AccessPath.ID_LOOKUP && none.getEstimatedRows() == 0) {
+                System.out.println("PASSED: Student index chosen\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Student index not chosen\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A status filter reads only the entities with that status
+    private static void testStatusFilterUsesPartition() {
+        System.out.println("Test 2: Status filter uses the status partitions");
+        try {
+            Repository repo = new Repository();
+            ReportFilter rejected = filter("status", "REJECTED");
+            QueryPlan<?> internships = plan(repo, rejected, Internship.class);
+            QueryPlan<?> applications = plan(repo, rejected, Application.class);
+            QueryPlan<?> withdrawals = plan(repo, rejected, WithdrawalRequest.class);
+            System.out.println("   " + internships + "; " + applications + "; " + withdrawals);
+
+            if (internships.getAccessPath() == AccessPath.STATUS_PARTITION
+                    && internships.getEstimatedRows() == repo.getStatistics().getInternshipCount(InternshipStatus.REJECTED)
+                    && applications.getAccessPath() == AccessPath.STATUS_PARTITION && applications.getEstimatedRows() == 0
+                    && withdrawals.getAccessPath() == AccessPath.STATUS_PARTITION
+                    && withdrawals.getEstimatedRows() == repo.getStatistics().getWithdrawalCount(ApprovalStatus.REJECTED)) {
+                System.out.println("PASSED: Status partitions chosen\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Status partitions not chosen\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: A date range smaller than a status partition reads the date index
+    private static void testNarrowDateRangeUsesIndex() {
+        System.out.println("Test 3: Narrow date range uses the date index");
+        try {
+            Repository repo = new Repository();
+            repo.updateApplication(new Application("A9603", "INT001", "U9696969K", ApplicationStatus.PENDING, "2031-01-15", false));
+            ReportFilter f = filter("status", "PENDING", "startDate", "2031-01-01", "endDate", "2031-01-31");
+            QueryPlan<?> p = plan(repo, f, Application.class);
+            ReportStatistics stats = repo.getStatistics(f);
+            System.out.println("   " + p + ", matched " + stats.getApplicationCount());
+
+            if (p.getAccessPath() == AccessPath.DATE_RANGE && p.getEstimatedRows() == 1 && stats.getApplicationCount() == 1) {
+                System.out.println("PASSED: Date index chosen\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Date index not chosen\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 4: Filters without an index, or matching everything, scan the table
+    private static void testUnindexedFilterScans() {
+        System.out.println("Test 4: Unindexed filters scan");
+        try {
+            Repository repo = new Repository();
+            List<QueryPlan<?>> plans = repo.explain(filter("companyName", "Company", "acceptedByStudent", "true"));
+            QueryPlan<?> everything = plan(repo, filter("startDate", "0000-01-01"), Application.class);
+            boolean scans = true;
+            for (QueryPlan<?> p : plans) {
+                System.out.println("   " + p);
+                scans &= p.getAccessPath() == AccessPath.SCAN && p.getKey().isEmpty();
+            }
+
+            if (scans && plans.size() == 3 && everything.getAccessPath() == AccessPath.SCAN) {
+                System.out.println("PASSED: Scans when no index helps\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Wrong fallback plan\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 5: Whatever the plan, the counts equal a scan of all entities
+    private static void testPlannedResultsMatchScan() {
+        System.out.println("Test 5: Planned counts match a scan");
+        try {
+            Repository repo = new Repository();
+            repo.updateInternship(new Internship("I9601", "Plan Internship", "Plan Description", InternshipLevel.BASIC, "Computer Science",
+                "2031-01-01", "2031-03-31", InternshipStatus.APPROVED, "Plan Company", "plan.rep@company.com", 2, true));
+            repo.updateWithdrawal(new WithdrawalRequest("W9601", "A9601", "U9696969K", ApprovalStatus.PENDING, "2031-02-01"));
+            ReportFilter[] filters = {
+                filter("status", "PENDING"),
+                filter("status", "APPROVED", "level", "BASIC"),
+                filter("studentID", "U9696969K", "status", "PENDING"),
+                filter("internshipID", "INT001"),
+                filter("startDate", "2025-01-01", "endDate", "2025-06-30"),
+                filter("startDate", "2031-01-01"),
+                filter("endDate", "2024-12-31", "status", "SUCCESSFUL"),
+                filter("startDate", "2031-01-01", "endDate", "2030-01-01")
+            };
+            boolean same = true;
+            for (ReportFilter f : filters) {
+                same &= sameCounts(repo.getStatistics(f), ReportStatistics.of(repo.getAllInternships(), repo.getAllApplications(), repo.getAllWithdrawals(), f));
+            }
+            System.out.println("   Compared " + filters.length + " filters");
+
+            if (same) {
+                System.out.println("PASSED: Same counts as a scan\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Planned counts differ from a scan\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 6: An application changed in place and saved moves to its new status and date
+    private static void testInPlaceChangesMovePartition() {
+        System.out.println("Test 6: In-place changes move between partitions");
+        try {
+            Repository repo = new Repository();
+            repo.updateApplication(new Application("A9604", "INT001", "U9696969K", ApplicationStatus.PENDING, "2032-05-05", false));
+            ReportFilter pending = filter("status", "PENDING", "startDate", "2032-05-05", "endDate", "2032-05-05");
+            ReportFilter withdrawn = filter("status", "WITHDRAWN", "startDate", "2032-05-05", "endDate", "2032-05-05");
+            long before = repo.getStatistics(pending).getApplicationCount();
+            Application a = repo.findApplication("A9604");
+            a.setStatus(ApplicationStatus.WITHDRAWN);
+            repo.updateApplication(a);
+            long pendingAfter = repo.getStatistics(pending).getApplicationCount();
+            long withdrawnAfter = repo.getStatistics(withdrawn).getApplicationCount();
+            System.out.println("   Pending " + before + " -> " + pendingAfter + ", withdrawn " + withdrawnAfter);
+
+            if (before == 1 && pendingAfter == 0 && withdrawnAfter == 1
+                    && sameCounts(repo.getStatistics(withdrawn), ReportStatistics.of(repo.getAllInternships(), repo.getAllApplications(), repo.getAllWithdrawals(), withdrawn))) {
+                System.out.println("PASSED: Partitions follow the change\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Stale partition\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import controller.StaffController;
+import controller.SystemController;
+import entities.*;
+import enums.ApplicationStatus;
+import enums.ReportCategory;
+import services.ReportCache;
+
+public class ReportCacheTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Report Cache Test ===\n");
+
+        // Run tests
+        testSameReportIsReused();
+        testDataChangeInvalidates();
+        testLeastRecentlyUsedIsEvicted();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static ReportSummary generate(Repository repo, ReportCategory category, Map<String, String> filters) {
+        ReportSummary r = new ReportSummary("R9701", category);
+        r.generate(repo, filters);
+        return r;
+    }
+
+    // Test 1: The same report on unchanged data is returned without saving a new one
+    private static void testSameReportIsReused() {
+        System.out.println("Test 1: Same report on unchanged data");
+        try {
+            Repository repo = new Repository();
+            SystemController sys = new SystemController(repo);
+            StaffController staff = new StaffController(sys);
+            Map<String, String> filters = new HashMap<>();
+            filters.put("status", "APPROVED");
+            filters.put("level", "BASIC");
+            Report first = staff.generateReport(ReportCategory.SUMMARY, filters);
+            int saved = repo.getAllReports().size();
+            // same filters in another order, plus one without a value
+            Map<String, String> same = new LinkedHashMap<>();
+            same.put("level", "BASIC");
+            same.put("companyName", "");
+            same.put("status", "APPROVED");
+            Report second = staff.generateReport(ReportCategory.SUMMARY, same);
+            System.out.println("   " + first.getID() + " then " + second.getID() + ", hits " + sys.reports().getHits() + ", misses " + sys.reports().getMisses());
+
+            if (second == first && repo.getAllReports().size() == saved
+                    && sys.reports().getHits() == 1 && sys.reports().getMisses() == 1) {
+                System.out.println("PASSED: Cached report returned\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Report generated again\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A change to the data makes the cached report stale; saving a report does not
+    private static void testDataChangeInvalidates() {
+        System.out.println("Test 2: Data changes invalidate cached reports");
+        try {
+            Repository repo = new Repository();
+            ReportCache cache = new ReportCache(repo);
+            Map<String, String> filters = new HashMap<>();
+            ReportSummary before = cache.get(ReportCategory.SUMMARY, filters, () -> generate(repo, ReportCategory.SUMMARY, filters));
+            repo.updateReport(before);
+            boolean hitAfterSave = cache.get(ReportCategory.SUMMARY, filters, () -> generate(repo, ReportCategory.SUMMARY, filters)) == before;
+            repo.updateApplication(new Application("A9701", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            ReportSummary after = cache.get(ReportCategory.SUMMARY, filters, () -> generate(repo, ReportCategory.SUMMARY, filters));
+            System.out.println("   Hit after saving a report: " + hitAfterSave + ", regenerated after a change: " + (after != before));
+
+            if (hitAfterSave && after != before && !after.getContent().equals(before.getContent())
+                    && after.getContent().equals(generate(repo, ReportCategory.SUMMARY, filters).getContent())
+                    && cache.getHits() == 1 && cache.getMisses() == 2) {
+                System.out.println("PASSED: Stale report regenerated\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Stale report returned\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: A full cache evicts the report used least recently, and must hold one
+    private static void testLeastRecentlyUsedIsEvicted() {
+        System.out.println("Test 3: Least recently used report is evicted");
+        try {
+            Repository repo = new Repository();
+            ReportCache cache = new ReportCache(repo, 2);
+            Map<String, String> a = Map.of("status", "PENDING");
+            Map<String, String> b = Map.of("status", "APPROVED");
+            Map<String, String> c = Map.of("status", "REJECTED");
+            cache.get(ReportCategory.SUMMARY, a, () -> generate(repo, ReportCategory.SUMMARY, a));
+            cache.get(ReportCategory.SUMMARY, b, () -> generate(repo, ReportCategory.SUMMARY, b));
+            cache.get(ReportCategory.SUMMARY, a, () -> generate(repo, ReportCategory.SUMMARY, a));
+            cache.get(ReportCategory.SUMMARY, c, () -> generate(repo, ReportCategory.SUMMARY, c));
+            long misses = cache.getMisses();
+            cache.get(ReportCategory.SUMMARY, a, () -> generate(repo, ReportCategory.SUMMARY, a));
+            boolean aKept = cache.getMisses() == misses;
+            cache.get(ReportCategory.SUMMARY, b, () -> generate(repo, ReportCategory.SUMMARY, b));
+            boolean bEvicted = cache.getMisses() == misses + 1;
+            boolean rejected = false;
+            try {
+                new ReportCache(repo, 0);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            System.out.println("   Size " + cache.size() + ", recently used kept: " + aKept + ", least recently used evicted: " + bEvicted);
+
+            if (aKept && bEvicted && cache.size() == 2 && rejected) {
+                System.out.println("PASSED: LRU eviction\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Wrong report evicted\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
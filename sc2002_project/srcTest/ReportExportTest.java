@@ -0,0 +1,161 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import entities.*;
+import enums.ApplicationStatus;
+import enums.ExportFormat;
+import enums.PersistenceMode;
+import utils.Json;
+
+public class ReportExportTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Report Export Test ===\n");
+
+        // Run tests
+        testCsvExport();
+        testJsonLinesExport();
+        testProgressAndCancellation();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static Map<String, String> filters(String... keysAndValues) {
+        Map<String, String> m = new HashMap<>();
+        for (int k = 0; k < keysAndValues.length; k += 2) { m.put(keysAndValues[k], keysAndValues[k + 1]); }
+        return m;
+    }
+
+    // Number of entities a filtered summary report counts
+    private static long matching(Repository repo, Map<String, String> filters) {
+        ReportStatistics stats = repo.getStatistics(ReportFilter.compile(filters));
+        return stats.getInternshipCount() + stats.getApplicationCount() + stats.getWithdrawalCount();
+    }
+
+    // Test 1: A CSV export has a section per type with the rows the report counts
+    private static void testCsvExport() {
+        System.out.println("Test 1: CSV export");
+        try {
+            Repository repo = new Repository();
+            repo.updateApplication(new Application("A9801", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            Map<String, String> filters = filters("status", "PENDING");
+            Path file = Files.createTempDirectory("export").resolve("pending.csv");
+            long rows = new ReportExport(repo).export(filters, ExportFormat.CSV, file, null);
+            List<String> lines = Files.readAllLines(file);
+            List<String> headers = new ArrayList<>();
+            int data = 0;
+            for (String line : lines) {
+                if (line.startsWith("type,")) headers.add(line);
+                else data++;
+            }
+            System.out.println("   " + rows + " rows, " + headers.size() + " sections, first: " + (lines.size() > 1 ? lines.get(1) : ""));
+
+            if (rows == matching(repo, filters) && data == rows && headers.size() == 3
+                    && headers.get(1).startsWith("type,aID,iID,sID,status") && lines.contains("Application,A9801,INT001,U9090909J,PENDING,2025-06-01,false,1")
+                    && !Files.exists(file.resolveSibling("pending.csv.part"))) {
+                System.out.println("PASSED: CSV rows match the report\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Wrong CSV export\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A JSON-lines export has one object per matching row, named by the data file columns
+    private static void testJsonLinesExport() {
+        System.out.println("Test 2: JSON lines export");
+        try {
+            Repository repo = new Repository();
+            repo.updateApplication(new Application("A9802", "INT002", "U9090909J", ApplicationStatus.SUCCESSFUL, "2030-02-02", true));
+            Map<String, String> filters = filters("startDate", "2030-01-01");
+            Path file = Files.createTempDirectory("export").resolve("recent.jsonl");
+            long rows = new ReportExport(repo).export(filters, ExportFormat.JSONL, file, null);
+            List<String> lines = Files.readAllLines(file);
+            boolean found = false;
+            for (String line : lines) {
+                Map<String, String> row = Json.parseObject(line);
+                found |= "Application".equals(row.get("type")) && "A9802".equals(row.get("aID")) && "true".equals(row.get("acceptedByStudent"));
+            }
+            System.out.println("   " + rows + " rows: " + (lines.isEmpty() ? "" : lines.get(lines.size() - 1)));
+
+            if (rows == matching(repo, filters) && lines.size() == rows && found) {
+                System.out.println("PASSED: JSON lines match the report\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Wrong JSON lines export\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: Progress is reported while exporting, and an interrupted export leaves no file
+    private static void testProgressAndCancellation() {
+        System.out.println("Test 3: Progress and cancellation");
+        Repository repo = null;
+        try {
+            repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            repo.setFlushWindow(60_000);
+            for (int n = 0; n < 25_000; n++) {
+                repo.updateApplication(new Application(String.format("A7%06d", n), "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            }
+            Path dir = Files.createTempDirectory("export");
+            List<Long> reported = new ArrayList<>();
+            long rows = new ReportExport(repo).export(null, ExportFormat.CSV, dir.resolve("all.csv"), (n, bytes) -> reported.add(n));
+
+            Path cancelled = dir.resolve("cancelled.csv");
+            boolean threw = false;
+            try {
+                new ReportExport(repo).export(null, ExportFormat.JSONL, cancelled, (n, bytes) -> Thread.currentThread().interrupt());
+            } catch (CancellationException e) {
+                threw = true;
+                System.out.println("   " + e.getMessage());
+            } finally {
+                Thread.interrupted();
+            }
+            System.out.println("   Exported " + rows + " rows, progress at " + reported);
+
+            if (rows >= 25_000 && reported.size() == rows / ReportExport.PROGRESS_ROWS + 1 && reported.get(0) == ReportExport.PROGRESS_ROWS
+                    && reported.get(reported.size() - 1) == rows && threw
+                    && !Files.exists(cancelled) && !Files.exists(dir.resolve("cancelled.csv.part"))) {
+                System.out.println("PASSED: Progress reported and cancellation cleaned up\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Wrong progress or leftover file\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (repo != null) repo.close();
+        }
+    }
+}
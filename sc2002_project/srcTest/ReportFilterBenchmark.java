@@ -0,0 +1,125 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import entities.Application;
+import entities.ReportFilter;
+import entities.ReportStatistics;
+import enums.ApplicationStatus;
+
+/**
+ * Compares the compiled report filter with the stream filters ReportSummary used before
+ * (kept below as the reference), on generated applications. For several filter sets it
+ * first checks that both give the same counts, then reports the rows per second each
+ * filters and counts.
+ *
+ * Not part of the test suite. Run from sc2002_project after compiling the sources:
+ * javac -cp . -d . srcTest/ReportFilterBenchmark.java && java -cp . ReportFilterBenchmark [applications]
+ */
+public class ReportFilterBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Application> applications = generate(count);
+        System.out.println("=== Report Filter Benchmark (" + count + " applications) ===\n");
+
+        List<Map<String, String>> filterSets = List.of(
+            Map.of("status", "SUCCESSFUL"),
+            Map.of("startDate", "2025-03-01", "endDate", "2025-08-31", "acceptedByStudent", "false"),
+            Map.of("status", "PENDING", "internshipID", "INT007", "startDate", "2025-01-01"));
+
+        for (Map<String, String> filters : filterSets) {
+            long[] expected = countLegacy(applications, filters);
+            ReportStatistics stats = ReportStatistics.of(List.of(), applications, List.of(), ReportFilter.compile(filters));
+            long[] actual = counts(stats);
+            if (!Arrays.equals(expected, actual)) {
+                throw new IllegalStateException("Counts differ for " + filters + ": " + Arrays.toString(actual) + " instead of " + Arrays.toString(expected));
+            }
+            System.out.println(new HashMap<>(filters) + " -> " + stats.getApplicationCount() + " applications");
+            report("  streams  (before)", count, () -> countLegacy(applications, filters));
+            report("  compiled (after) ", count, () -> ReportStatistics.of(List.of(), applications, List.of(), ReportFilter.compile(filters)));
+            System.out.println();
+        }
+    }
+
+    private static void report(String name, int rows, Runnable work) {
+        work.run(); // warm up
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            work.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%s: %,14.0f rows/s (%d ms)%n", name, rows / (best / 1e9), best / 1_000_000);
+    }
+
+    private static List<Application> generate(int count) {
+        Random random = new Random(42);
+        ApplicationStatus[] statuses = ApplicationStatus.values();
+        List<Application> l = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            String date = String.format("2025-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28));
+            l.add(new Application(String.format("A%07d", n), String.format("INT%03d", random.nextInt(50)), String.format("U%07dX", random.nextInt(20_000)),
+                statuses[random.nextInt(statuses.length)], date, random.nextInt(10) == 0));
+        }
+        return l;
+    }
+
+    // Counts by status, then accepted and total, as shown in the report
+    private static long[] counts(ReportStatistics stats) {
+        long[] l = new long[ApplicationStatus.values().length + 2];
+        for (ApplicationStatus s : ApplicationStatus.values()) { l[s.ordinal()] = stats.getApplicationCount(s); }
+        l[l.length - 2] = stats.getAcceptedApplicationCount();
+        l[l.length - 1] = stats.getApplicationCount();
+        return l;
+    }
+
+    // Reference: ReportSummary.filterApplications and appendApplicationBreakdown before the compiled filter
+    private static long[] countLegacy(List<Application> applications, Map<String, String> filters) {
+        List<Application> filtered = applications.stream()
+            .filter(a -> matchesFilter(filters, "status", a.getStatus().name()))
+            .filter(a -> matchesFilter(filters, "studentID", a.getStudentID()))
+            .filter(a -> matchesFilter(filters, "internshipID", a.getInternshipID()))
+            .filter(a -> matchesDateFilter(filters, a.getApplyDate()))
+            .filter(a -> matchesBooleanFilter(filters, "acceptedByStudent", a.isAcceptedByStudent()))
+            .collect(Collectors.toList());
+        long pending = filtered.stream().filter(a -> a.getStatus().name().equals("PENDING")).count();
+        long successful = filtered.stream().filter(a -> a.getStatus().name().equals("SUCCESSFUL")).count();
+        long unsuccessful = filtered.stream().filter(a -> a.getStatus().name().equals("UNSUCCESSFUL")).count();
+        long withdrawn = filtered.stream().filter(a -> a.getStatus().name().equals("WITHDRAWN")).count();
+        long accepted = filtered.stream().filter(Application::isAcceptedByStudent).count();
+        return new long[] {pending, successful, unsuccessful, withdrawn, accepted, filtered.size()};
+    }
+
+    private static boolean matchesFilter(Map<String, String> filters, String key, String value) {
+        if (!filters.containsKey(key)) return true;
+        String filterValue = filters.get(key);
+        if (filterValue == null || filterValue.isEmpty()) return true;
+        return filterValue.equals(value);
+    }
+
+    private static boolean matchesBooleanFilter(Map<String, String> filters, String key, boolean value) {
+        if (!filters.containsKey(key)) return true;
+        String filterValue = filters.get(key);
+        if (filterValue == null || filterValue.isEmpty()) return true;
+        return Boolean.parseBoolean(filterValue) == value;
+    }
+
+    private static boolean matchesDateFilter(Map<String, String> filters, String date) {
+        String startDate = filters.get("startDate");
+        String endDate = filters.get("endDate");
+        if (startDate != null && !startDate.isEmpty()) {
+            if (date.compareTo(startDate) < 0) return false;
+        }
+        if (endDate != null && !endDate.isEmpty()) {
+            if (date.compareTo(endDate) > 0) return false;
+        }
+        return true;
+    }
+}
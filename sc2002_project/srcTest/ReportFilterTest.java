@@ -0,0 +1,132 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import entities.*;
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+public class ReportFilterTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Report Filter Test ===\n");
+
+        // Run tests
+        testInternshipFilters();
+        testStatusAppliesPerType();
+        testEmptyValuesAreIgnored();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static final Internship INTERNSHIP = new Internship("I9401", "Filter Internship", "Filter Description", InternshipLevel.ADVANCED,
+        "Computer Science", "2025-03-01", "2025-05-31", InternshipStatus.APPROVED, "Filter Company Ltd", "filter.rep@company.com", 2, true);
+
+    private static ReportFilter filter(String... keysAndValues) {
+        Map<String, String> m = new HashMap<>();
+        for (int k = 0; k < keysAndValues.length; k += 2) { m.put(keysAndValues[k], keysAndValues[k + 1]); }
+        return ReportFilter.compile(m);
+    }
+
+    // Test 1: Level, company, visibility and the date range overlap work on internships
+    private static void testInternshipFilters() {
+        System.out.println("Test 1: Internship filters");
+        try {
+            boolean[] results = {
+                filter("level", "ADVANCED", "visible", "true").matches(INTERNSHIP),
+                filter("companyName", "company").matches(INTERNSHIP),
+                filter("startDate", "2025-05-31", "endDate", "2025-03-01").matches(INTERNSHIP),
+                !filter("level", "advanced").matches(INTERNSHIP),
+                !filter("visible", "yes").matches(INTERNSHIP),
+                !filter("startDate", "2025-06-01").matches(INTERNSHIP),
+                !filter("preferredMajor", "Biology").matches(INTERNSHIP)
+            };
+            boolean all = true;
+            for (boolean r : results) { all &= r; }
+            System.out.println("   Results: " + Arrays.toString(results));
+
+            if (all) {
+                System.out.println("PASSED: Internship filters behave as before\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: An internship filter changed behaviour\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: The status filter is matched against each type's own statuses
+    private static void testStatusAppliesPerType() {
+        System.out.println("Test 2: Status filter per entity type");
+        try {
+            Application a = new Application("A9401", "I9401", "U9090909J", ApplicationStatus.PENDING, "2025-04-01", false);
+            WithdrawalRequest w = new WithdrawalRequest("W9401", "A9401", "U9090909J", ApprovalStatus.APPROVED, "2025-04-02");
+            ReportFilter approved = filter("status", "APPROVED");
+            ReportFilter pending = filter("status", "PENDING");
+            boolean ok = approved.matches(INTERNSHIP) && !approved.matches(a) && approved.matches(w)
+                && !pending.matches(INTERNSHIP) && pending.matches(a) && !pending.matches(w)
+                && !filter("status", "SUCCESSFUL").matches(INTERNSHIP)
+                && filter("studentID", "U9090909J", "startDate", "2025-04-01", "endDate", "2025-04-01").matches(a)
+                && !filter("studentID", "U9090909J", "startDate", "2025-04-01", "endDate", "2025-04-01").matches(w);
+            System.out.println("   APPROVED: " + approved.matches(INTERNSHIP) + "/" + approved.matches(a) + "/" + approved.matches(w));
+
+            if (ok) {
+                System.out.println("PASSED: Each type is filtered on its own statuses\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Status filter applied wrongly\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: Filters without a value select everything, and select the repository's counts
+    private static void testEmptyValuesAreIgnored() {
+        System.out.println("Test 3: Empty filter values");
+        try {
+            ReportFilter blank = filter("status", "", "companyName", "");
+            Repository repo = new Repository();
+            ReportStatistics counted = ReportStatistics.of(repo.getAllInternships(), repo.getAllApplications(), repo.getAllWithdrawals(), filter("status", "APPROVED"));
+            ReportStatistics kept = repo.getStatistics(filter("status", "APPROVED"));
+            System.out.println("   Approved internships: " + kept.getInternshipCount() + ", blank filter empty: " + blank.isEmpty());
+
+            if (blank.isEmpty() && blank.matches(INTERNSHIP) && ReportFilter.compile(null).isEmpty()
+                    && !filter("status", "APPROVED").isEmpty()
+                    && kept.getInternshipCount() == counted.getInternshipCount()
+                    && kept.getInternshipCount() == repo.getStatistics().getInternshipCount(InternshipStatus.APPROVED)) {
+                System.out.println("PASSED: Empty values are ignored\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Empty values were applied\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+import java.util.HashMap;
+import java.util.Map;
+
+import entities.*;
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.PersistenceMode;
+import enums.ReportCategory;
+
+public class ReportStatisticsTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Report Statistics Test ===\n");
+
+        // Run tests
+        testCountsFollowChanges();
+        testCountsSurviveReload();
+        testUnfilteredReportMatchesScan();
+        testUnfilteredReportReadsTally();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static Internship internship(String id, InternshipLevel level) {
+        return new Internship(id, "Stats Internship", "Stats Description", level, "Computer Science",
+            "2025-06-01", "2025-12-31", InternshipStatus.PENDING, "StatsCompany", "stats.rep@company.com", 2, false);
+    }
+
+    // Every count kept by the repository, compared with a recount of all entities
+    private static boolean sameCounts(ReportStatistics a, ReportStatistics b) {
+        if (a.getInternshipCount() != b.getInternshipCount() || a.getVisibleInternshipCount() != b.getVisibleInternshipCount()) return false;
+        for (InternshipStatus s : InternshipStatus.values()) { if (a.getInternshipCount(s) != b.getInternshipCount(s)) return false; }
+        for (InternshipLevel l : InternshipLevel.values()) { if (a.getInternshipCount(l) != b.getInternshipCount(l)) return false; }
+        if (a.getApplicationCount() != b.getApplicationCount() || a.getAcceptedApplicationCount() != b.getAcceptedApplicationCount()) return false;
+        for (ApplicationStatus s : ApplicationStatus.values()) { if (a.getApplicationCount(s) != b.getApplicationCount(s)) return false; }
+        if (a.getWithdrawalCount() != b.getWithdrawalCount()) return false;
+        for (ApprovalStatus s : ApprovalStatus.values()) { if (a.getWithdrawalCount(s) != b.getWithdrawalCount(s)) return false; }
+        return true;
+    }
+
+    private static ReportStatistics recount(Repository repo) {
+        return ReportStatistics.of(repo.getAllInternships(), repo.getAllApplications(), repo.getAllWithdrawals());
+    }
+
+    // Test 1: Inserts, in-place changes, transactions and removals keep the counts exact
+    private static void testCountsFollowChanges() {
+        System.out.println("Test 1: Counts follow every change");
+        try {
+            Repository repo = new Repository();
+            long before = repo.getStatistics().getInternshipCount();
+            repo.updateInternship(internship("I9501", InternshipLevel.BASIC));
+            repo.updateInternship(internship("I9502", InternshipLevel.ADVANCED));
+            Internship i = repo.findInternship("I9501");
+            i.setStatus(InternshipStatus.APPROVED);
+            i.setVisible(true);
+            repo.updateInternship(i);
+            repo.updateApplication(new Application("A9501", "I9501", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            repo.runInTransaction(tx -> {
+                Application a = tx.findApplication("A9501");
+                a.setStatus(ApplicationStatus.SUCCESSFUL);
+                a.setAcceptedByStudent(true);
+                tx.updateApplication(a);
+                tx.updateWithdrawal(new WithdrawalRequest("W9501", "A9501", "U9090909J", ApprovalStatus.PENDING, "2025-06-01"));
+            });
+            repo.removeInternship("I9502");
+            ReportStatistics stats = repo.getStatistics();
+            System.out.println("   Internships: " + stats.getInternshipCount() + " (" + stats.getInternshipCount(InternshipStatus.APPROVED) + " approved)"
+                + ", accepted applications: " + stats.getAcceptedApplicationCount()
+                + ", pending withdrawals: " + stats.getWithdrawalCount(ApprovalStatus.PENDING));
+
+            if (sameCounts(stats, recount(repo)) && stats.getInternshipCount() == before + 1
+                    && stats.getAcceptedApplicationCount() >= 1 && stats.getWithdrawalCount(ApprovalStatus.PENDING) >= 1) {
+                System.out.println("PASSED: Counts match a recount\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Counts drifted from the data\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A reloaded repository, including replayed journals, starts with exact counts
+    private static void testCountsSurviveReload() {
+        System.out.println("Test 2: Counts after a reload");
+        try {
+            Repository repo = new Repository(PersistenceMode.JOURNALED);
+            repo.updateInternship(internship("I9503", InternshipLevel.INTERMEDIATE));
+            Internship i = repo.findInternship("I9503");
+            i.setStatus(InternshipStatus.REJECTED);
+            repo.updateInternship(i);
+
+            Repository reloaded = new Repository(PersistenceMode.JOURNALED);
+            ReportStatistics stats = reloaded.getStatistics();
+            System.out.println("   Reloaded " + stats.getInternshipCount() + " internships, " + stats.getInternshipCount(InternshipStatus.REJECTED) + " rejected");
+            reloaded.close();
+
+            if (sameCounts(stats, recount(reloaded)) && sameCounts(stats, repo.getStatistics())) {
+                System.out.println("PASSED: Counts rebuilt on load\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Counts wrong after reload\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: A summary of all data reads the same as one counted from the entities
+    private static void testUnfilteredReportMatchesScan() {
+        System.out.println("Test 3: Unfiltered report matches a scan");
+        try {
+            Repository repo = new Repository();
+            repo.updateApplication(new Application("A9504", "INT001", "U9090909J", ApplicationStatus.UNSUCCESSFUL, "2025-06-01", false));
+            ReportSummary all = new ReportSummary("R9501", ReportCategory.SUMMARY);
+            all.generate(repo, new HashMap<>());
+            // a filter that matches everything takes the scanning path
+            Map<String, String> everything = new HashMap<>();
+            everything.put("startDate", "0000-01-01");
+            ReportSummary scanned = new ReportSummary("R9502", ReportCategory.SUMMARY);
+            scanned.generate(repo, everything);
+            String scannedStats = scanned.getContent().substring(scanned.getContent().indexOf("=== Summary Statistics ==="));
+            System.out.println("   Report lines: " + all.getContent().split("\n").length);
+
+            if (all.getContent().equals(scannedStats) && all.getContent().contains("    - UNSUCCESSFUL: ")) {
+                System.out.println("PASSED: Same report either way\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Reports differ\n" + all.getContent() + "\n" + scannedStats);
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 4: The unfiltered summary reads the tally kept on update, not the entities
+    private static void testUnfilteredReportReadsTally() {
+        System.out.println("Test 4: Unfiltered report with 100,000 applications");
+        Repository repo = null;
+        try {
+            repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            repo.setFlushWindow(60_000);
+            for (int n = 0; n < 100_000; n++) {
+                repo.updateApplication(new Application(String.format("A8%06d", n), "INT001", "U9090909J",
+                    ApplicationStatus.values()[n % 4], "2025-06-01", n % 10 == 0));
+            }
+            Map<String, String> everything = new HashMap<>();
+            everything.put("startDate", "0000-01-01");
+            long withdrawn = repo.getStatistics().getApplicationCount(ApplicationStatus.WITHDRAWN);
+
+            // changed in place without updateApplication: only a scan of the table can see it
+            Application a = repo.findApplication("A8000000");
+            ApplicationStatus before = a.getStatus();
+            a.setStatus(ApplicationStatus.WITHDRAWN);
+            long unfiltered = repo.getStatistics(ReportFilter.compile(new HashMap<>())).getApplicationCount(ApplicationStatus.WITHDRAWN);
+            long scanned = repo.getStatistics(ReportFilter.compile(everything)).getApplicationCount(ApplicationStatus.WITHDRAWN);
+            a.setStatus(before);
+            System.out.println("   Withdrawn: " + withdrawn + ", unfiltered after an unrecorded change: " + unfiltered + ", scanned: " + scanned);
+
+            if (withdrawn >= 25_000 && repo.getStatistics().getApplicationCount() >= 100_000
+                    && unfiltered == withdrawn && scanned == withdrawn + 1) {
+                System.out.println("PASSED: Unfiltered report does not scan\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Unfiltered report read the applications\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        } finally {
+            if (repo != null) repo.close();
+        }
+    }
+}
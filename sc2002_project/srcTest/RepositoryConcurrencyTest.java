@@ -0,0 +1,331 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import entities.*;
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.PersistenceMode;
+import services.ApplicationManager;
+import utils.IDGenerator;
+
+public class RepositoryConcurrencyTest {
+
+    private static final int THREADS = 16;
+    // applies are checked against today's date, so the internships must still be open
+    private static final String OPENING_DATE = LocalDate.now().minusMonths(1).toString();
+    private static final String CLOSING_DATE = LocalDate.now().plusYears(1).toString();
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Repository Concurrency Test ===\n");
+
+        // Run tests
+        testConcurrentIDsAreUnique();
+        testConcurrentAppliesKeepLimit();
+        testReadsDuringWrites();
+        testSlotTransitions();
+        testConcurrentAcceptsNeverOversell();
+        testTransactionsOnOtherTablesDoNotWait();
+        testNullIDsAreNotFound();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: IDs generated from many threads at once are all distinct
+    private static void testConcurrentIDsAreUnique() {
+        System.out.println("Test 1: Concurrently generated IDs are unique");
+        try {
+            Set<String> ids = ConcurrentHashMap.newKeySet();
+            runConcurrently(t -> {
+                for (int n = 0; n < 1000; n++) { ids.add(IDGenerator.nextWithdrawalID()); }
+            });
+            System.out.println("   Distinct IDs: " + ids.size() + " of " + (THREADS * 1000));
+
+            if (ids.size() == THREADS * 1000) {
+                System.out.println("PASSED: No ID was handed out twice\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Duplicate IDs were generated\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A student applying to many internships at once still ends up with 3 active applications
+    private static void testConcurrentAppliesKeepLimit() {
+        System.out.println("Test 2: Concurrent applies respect the active application limit");
+        try {
+            Repository repo = new Repository(PersistenceMode.JOURNALED);
+            for (int t = 0; t < THREADS; t++) {
+                repo.updateInternship(new Internship("I97" + (10 + t), "Concurrent Internship", "Concurrent Description", InternshipLevel.BASIC,
+                    "Computer Science", OPENING_DATE, CLOSING_DATE, InternshipStatus.APPROVED, "ConcurrentCompany", "concurrent.rep@company.com", 1, true));
+            }
+            Student s = new Student("U9191919K", "Concurrent Student", "password", "concurrent@e.ntu.edu.sg", 2, "Computer Science");
+            ApplicationManager am = new ApplicationManager(repo);
+            AtomicInteger accepted = new AtomicInteger();
+            runConcurrently(t -> {
+                if (am.applyForInternship(s, "I97" + (10 + t))) { accepted.incrementAndGet(); }
+            });
+
+            long active = repo.getApplicationsByStudent(s.getID()).stream()
+                .filter(a -> a.getStatus() == ApplicationStatus.PENDING || a.getStatus() == ApplicationStatus.SUCCESSFUL).count();
+            System.out.println("   Applies accepted: " + accepted.get() + ", active applications: " + active);
+            repo.close();
+
+            if (accepted.get() == 3 && active == 3) {
+                System.out.println("PASSED: Exactly 3 applies went through\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: The limit of 3 active applications was broken\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: Readers iterate tables and indexes while writers change them, and see every write in the end
+    private static void testReadsDuringWrites() {
+        System.out.println("Test 3: Tables and indexes can be read during writes");
+        try {
+            Repository repo = new Repository(PersistenceMode.JOURNALED);
+            int before = repo.getAllApplications().size();
+            AtomicBoolean writing = new AtomicBoolean(true);
+            AtomicInteger reads = new AtomicInteger();
+            ExecutorService readers = Executors.newFixedThreadPool(2);
+            List<Future<?>> readResults = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readResults.add(readers.submit(() -> {
+                    while (writing.get()) {
+                        for (Application a : repo.getAllApplications()) { a.getStatus(); }
+                        repo.getApplicationsByStudent("U9292929L");
+                        repo.getInternshipsByStatus(InternshipStatus.PENDING);
+                        reads.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            runConcurrently(t -> {
+                for (int n = 0; n < 50; n++) {
+                    repo.updateApplication(new Application("A98" + t + "-" + n, "INT001", "U9292929L", ApplicationStatus.PENDING, "2025-06-01", false));
+                }
+            });
+            writing.set(false);
+            for (Future<?> f : readResults) { f.get(); }
+            readers.shutdown();
+
+            int added = repo.getAllApplications().size() - before;
+            int indexed = repo.getApplicationsByStudent("U9292929L").size();
+            System.out.println("   Reads: " + reads.get() + ", applications added: " + added + ", indexed: " + indexed);
+            repo.close();
+
+            if (added == THREADS * 50 && indexed == THREADS * 50) {
+                System.out.println("PASSED: Reads succeeded and every write is visible\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Writes were lost\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 4: Taking the last slot fills an internship and freeing one reopens it
+    private static void testSlotTransitions() {
+        System.out.println("Test 4: Slot reservations switch between APPROVED and FILLED");
+        try {
+            Internship i = new Internship("I9730", "Slot Internship", "Slot Description", InternshipLevel.BASIC,
+                "Computer Science", OPENING_DATE, CLOSING_DATE, InternshipStatus.APPROVED, "SlotCompany", "slot.rep@company.com", 2, true);
+            boolean ok = i.reserveSlot() && i.getStatus() == InternshipStatus.APPROVED;
+            ok &= i.reserveSlot() && i.getStatus() == InternshipStatus.FILLED && i.getSlots() == 0;
+            ok &= !i.reserveSlot() && i.getSlots() == 0;
+            i.releaseSlot();
+            ok &= i.getStatus() == InternshipStatus.APPROVED && i.getSlots() == 1;
+            System.out.println("   Final status: " + i.getStatus() + ", slots: " + i.getSlots());
+
+            if (ok) {
+                System.out.println("PASSED: Status follows the remaining slots\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Status and slots disagree\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 5: More students accept offers at once than there are slots
+    private static void testConcurrentAcceptsNeverOversell() {
+        System.out.println("Test 5: Concurrent offer acceptances never oversell slots");
+        try {
+            Repository repo = new Repository(PersistenceMode.JOURNALED);
+            repo.updateInternship(new Internship("I9740", "Popular Internship", "Popular Description", InternshipLevel.BASIC,
+                "Computer Science", OPENING_DATE, CLOSING_DATE, InternshipStatus.APPROVED, "PopularCompany", "popular.rep@company.com", 3, true));
+            List<Student> students = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Student s = new Student("U94" + (10000 + t) + "M", "Popular Student", "password", "popular@e.ntu.edu.sg", 2, "Computer Science");
+                students.add(s);
+                repo.updateApplication(new Application("A974" + t, "I9740", s.getID(), ApplicationStatus.SUCCESSFUL, "2025-06-01", false));
+            }
+            ApplicationManager am = new ApplicationManager(repo);
+            AtomicInteger accepted = new AtomicInteger();
+            runConcurrently(t -> {
+                if (am.studentAcceptOffer(students.get(t), "A974" + t)) { accepted.incrementAndGet(); }
+            });
+
+            long marked = repo.getApplicationsByInternship("I9740").stream().filter(Application::isAcceptedByStudent).count();
+            Internship i = repo.findInternship("I9740");
+            System.out.println("   Accepted: " + accepted.get() + ", marked accepted: " + marked + ", slots left: " + i.getSlots() + ", status: " + i.getStatus());
+            repo.close();
+
+            if (accepted.get() == 3 && marked == 3 && i.getSlots() == 0 && i.getStatus() == InternshipStatus.FILLED) {
+                System.out.println("PASSED: Exactly as many offers were accepted as there were slots\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Slots were oversold or lost\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 6: A transaction holding the internship table does not hold up one on withdrawals
+    private static void testTransactionsOnOtherTablesDoNotWait() {
+        System.out.println("Test 6: Transactions on other tables run alongside an open transaction");
+        try {
+            Repository repo = new Repository(PersistenceMode.JOURNALED);
+            repo.updateInternship(new Internship("I9750", "Locked Internship", "Locked Description", InternshipLevel.BASIC,
+                "Computer Science", OPENING_DATE, CLOSING_DATE, InternshipStatus.PENDING, "LockedCompany", "locked.rep@company.com", 1, false));
+            CountDownLatch holding = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            boolean otherCommitted;
+            long waitedMillis;
+            try {
+                Future<?> open = pool.submit(() -> repo.runInTransaction(tx -> {
+                    Internship i = tx.findInternship("I9750");
+                    i.setVisible(true);
+                    tx.updateInternship(i);
+                    holding.countDown();
+                    try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                }));
+                holding.await();
+                long start = System.nanoTime();
+                // would time out if transactions on other tables waited for the open one
+                pool.submit(() -> repo.runInTransaction(tx -> tx.updateWithdrawal(
+                    new WithdrawalRequest("W9750", "A9750", "U9090909J", ApprovalStatus.PENDING, OPENING_DATE)))).get(10, TimeUnit.SECONDS);
+                waitedMillis = (System.nanoTime() - start) / 1_000_000;
+                otherCommitted = repo.findWithdrawal("W9750") != null && !repo.findInternship("I9750").isVisible();
+                release.countDown();
+                open.get();
+            } finally {
+                release.countDown();
+                pool.shutdown();
+            }
+            boolean bothCommitted = otherCommitted && repo.findInternship("I9750").isVisible();
+            System.out.println("   Withdrawal transaction took " + waitedMillis + " ms while the internship transaction was open");
+            repo.close();
+
+            if (bothCommitted) {
+                System.out.println("PASSED: Only transactions on the same table wait\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: The second transaction waited or was lost\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 7: A null ID is reported as not found, as the tables did before they became concurrent
+    private static void testNullIDsAreNotFound() {
+        System.out.println("Test 7: Lookups with a null ID find nothing");
+        try {
+            Repository repo = new Repository();
+            ApplicationManager am = new ApplicationManager(repo);
+            Student s = new Student("U9080808K", "Null Student", "password", "null@e.ntu.edu.sg", 2, "Computer Science");
+            boolean notFound = repo.findApplication(null) == null && repo.findInternship(null) == null
+                && repo.inTransaction(tx -> tx.findApplication(null) == null)
+                && !am.studentAcceptOffer(s, null);
+            repo.close();
+
+            if (notFound) {
+                System.out.println("PASSED: Null IDs are not found\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: A null ID found an entity\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    private interface ThreadTask { void run(int thread) throws Exception; }
+
+    // Starts THREADS threads together and waits for all of them, rethrowing the first failure
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : results) { f.get(); }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
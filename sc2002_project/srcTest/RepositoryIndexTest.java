@@ -0,0 +1,184 @@
+import java.util.List;
+
+import entities.*;
+import enums.ApplicationStatus;
+import enums.ApprovalStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+public class RepositoryIndexTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Repository Index Test ===\n");
+
+        // Run tests
+        testApplicationIndexesMatchScan();
+        testApplicationIndexesFollowUpdates();
+        testCompanyRepIndexFollowsCreateAndRemove();
+        testStatusPartitionsFollowPersistedStatus();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: Indexed lookups return the same applications as a full scan
+    private static void testApplicationIndexesMatchScan() {
+        System.out.println("Test 1: Application indexes match a full scan after loading");
+        try {
+            Repository repo = new Repository();
+            boolean ok = true;
+            for (Application a : repo.getAllApplications()) {
+                int byStudent = 0, byInternship = 0, byPair = 0;
+                for (Application b : repo.getAllApplications()) {
+                    if (b.getStudentID().equals(a.getStudentID())) byStudent++;
+                    if (b.getInternshipID().equals(a.getInternshipID())) byInternship++;
+                    if (b.getStudentID().equals(a.getStudentID()) && b.getInternshipID().equals(a.getInternshipID())) byPair++;
+                }
+                ok &= repo.getApplicationsByStudent(a.getStudentID()).size() == byStudent;
+                ok &= repo.getApplicationsByInternship(a.getInternshipID()).size() == byInternship;
+                ok &= repo.getApplicationsByStudentAndInternship(a.getStudentID(), a.getInternshipID()).size() == byPair;
+            }
+            System.out.println("   Applications checked: " + repo.getAllApplications().size());
+
+            if (ok) {
+                System.out.println("PASSED: Every indexed lookup matches the scan\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: An indexed lookup differs from the scan\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: Updates, transactions and rollbacks keep the indexes current
+    private static void testApplicationIndexesFollowUpdates() {
+        System.out.println("Test 2: Application indexes follow updates and rollbacks");
+        try {
+            Repository repo = new Repository();
+            repo.updateApplication(new Application("A9501", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            repo.runInTransaction(tx -> {
+                tx.updateApplication(new Application("A9502", "INT002", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            });
+            try {
+                repo.runInTransaction(tx -> {
+                    tx.updateApplication(new Application("A9503", "INT003", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+                    if (tx.findApplication("A9503") != null) {
+                        throw new IllegalStateException("abort");
+                    }
+                });
+            } catch (IllegalStateException expected) {
+                // rolled back on purpose
+            }
+
+            List<Application> byStudent = repo.getApplicationsByStudent("U9090909J");
+            System.out.println("   Applications of U9090909J: " + byStudent.size());
+            boolean ok = byStudent.size() == 2
+                && repo.getApplicationsByStudentAndInternship("U9090909J", "INT002").size() == 1
+                && repo.getApplicationsByStudentAndInternship("U9090909J", "INT003").isEmpty()
+                && repo.getApplicationsByInternship("INT001").contains(repo.findApplication("A9501"));
+
+            if (ok) {
+                System.out.println("PASSED: Indexes contain exactly the committed applications\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Indexes are out of date\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: The company rep index stays sorted and its count follows creates and removals
+    private static void testCompanyRepIndexFollowsCreateAndRemove() {
+        System.out.println("Test 3: Company rep index follows creates and removals");
+        try {
+            Repository repo = new Repository();
+            String rep = "index.rep@company.com";
+            for (String id : new String[] {"I9603", "I9601", "I9602"}) {
+                repo.updateInternship(new Internship(id, "Index Internship", "Index Description", InternshipLevel.BASIC,
+                    "Computer Science", "2025-06-01", "2025-12-31", InternshipStatus.PENDING, "IndexCompany", rep, 1, false));
+            }
+            repo.removeInternship("I9602");
+
+            List<Internship> l = repo.getInternshipsByCompanyRep(rep);
+            System.out.println("   Internships of rep: " + l.size() + ", count: " + repo.countInternshipsByCompanyRep(rep));
+            boolean ok = l.size() == 2 && repo.countInternshipsByCompanyRep(rep) == 2
+                && l.get(0).getInternshipID().equals("I9601") && l.get(1).getInternshipID().equals("I9603");
+
+            if (ok) {
+                System.out.println("PASSED: Index is sorted and the count is current\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Company rep index is out of date\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 4: Persisted status changes move entries between partitions, and PENDING is FIFO
+    private static void testStatusPartitionsFollowPersistedStatus() {
+        System.out.println("Test 4: Status partitions follow persisted status changes");
+        try {
+            Repository repo = new Repository();
+            int pendingBefore = repo.getWithdrawalsByStatus(ApprovalStatus.PENDING).size();
+            WithdrawalRequest first = new WithdrawalRequest("W9701", "A9701", "U9090909J", ApprovalStatus.PENDING, "2025-06-01");
+            WithdrawalRequest second = new WithdrawalRequest("W9702", "A9702", "U9090909J", ApprovalStatus.PENDING, "2025-06-01");
+            repo.updateWithdrawal(first);
+            repo.updateWithdrawal(second);
+            // re-saving without a status change keeps the queue position
+            repo.updateWithdrawal(first);
+
+            List<WithdrawalRequest> pending = repo.getWithdrawalsByStatus(ApprovalStatus.PENDING);
+            boolean fifo = pending.size() == pendingBefore + 2
+                && pending.get(pending.size() - 2) == first && pending.get(pending.size() - 1) == second;
+
+            first.setStatus(ApprovalStatus.APPROVED);
+            boolean movedBeforeSave = !repo.getWithdrawalsByStatus(ApprovalStatus.APPROVED).contains(first);
+            repo.updateWithdrawal(first);
+            boolean moved = !repo.getWithdrawalsByStatus(ApprovalStatus.PENDING).contains(first)
+                && repo.getWithdrawalsByStatus(ApprovalStatus.APPROVED).contains(first);
+
+            boolean scanMatches = true;
+            for (ApprovalStatus st : ApprovalStatus.values()) {
+                long scanned = repo.getAllWithdrawals().stream().filter(w -> w.getStatus() == st).count();
+                scanMatches &= repo.getWithdrawalsByStatus(st).size() == scanned;
+            }
+            System.out.println("   FIFO: " + fifo + ", moved on save: " + moved + ", matches scan: " + scanMatches);
+
+            if (fifo && movedBeforeSave && moved && scanMatches) {
+                System.out.println("PASSED: Partitions are FIFO and follow persisted changes\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Status partitions are out of date\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
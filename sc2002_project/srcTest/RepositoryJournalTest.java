@@ -0,0 +1,176 @@
+import entities.*;
+import enums.ApplicationStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.PersistenceMode;
+import utils.FileHandler;
+
+public class RepositoryJournalTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Repository Journal Test ===\n");
+
+        // Run tests
+        testUpdateAppendsToJournalOnly();
+        testJournalReplayedOnStartup();
+        testRemovalReplayedOnStartup();
+        testCheckpointFoldsJournalIntoCSV();
+        testWriteThroughFoldsLeftoverJournal();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: An update in JOURNALED mode appends to the journal and leaves the CSV untouched
+    private static void testUpdateAppendsToJournalOnly() {
+        System.out.println("Test 1: Update in JOURNALED mode appends to the journal only");
+        try {
+            Repository repo = new Repository(PersistenceMode.JOURNALED);
+            int csvRowsBefore = FileHandler.readCSV("applications.csv").size();
+
+            repo.updateApplication(new Application("A9001", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+
+            int csvRowsAfter = FileHandler.readCSV("applications.csv").size();
+            int journalSize = repo.getJournalSize("applications.csv");
+            System.out.println("   CSV rows before/after: " + csvRowsBefore + "/" + csvRowsAfter);
+            System.out.println("   Journal records: " + journalSize);
+
+            if (csvRowsBefore == csvRowsAfter && journalSize == 1) {
+                System.out.println("PASSED: Change was journaled without rewriting the CSV\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Expected unchanged CSV and 1 journal record\n");
+                testsFailed++;
+            }
+            repo.checkpoint();
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A new repository sees journaled changes
+    private static void testJournalReplayedOnStartup() {
+        System.out.println("Test 2: Journaled changes are replayed on startup");
+        try {
+            Repository repo = new Repository(PersistenceMode.JOURNALED);
+            Application a = new Application("A9002", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false);
+            repo.updateApplication(a);
+            a.setStatus(ApplicationStatus.SUCCESSFUL);
+            repo.updateApplication(a);
+
+            Repository reloaded = new Repository(PersistenceMode.JOURNALED);
+            Application found = reloaded.findApplication("A9002");
+            System.out.println("   Reloaded status: " + (found == null ? "not found" : found.getStatus()));
+
+            if (found != null && found.getStatus() == ApplicationStatus.SUCCESSFUL) {
+                System.out.println("PASSED: Latest journaled state was replayed\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Replayed state does not match last update\n");
+                testsFailed++;
+            }
+            reloaded.checkpoint();
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: A journaled removal is replayed on startup
+    private static void testRemovalReplayedOnStartup() {
+        System.out.println("Test 3: Journaled removal is replayed on startup");
+        try {
+            Repository repo = new Repository(PersistenceMode.JOURNALED);
+            Internship i = new Internship("I9001", "Journal Internship", "Journal Description", InternshipLevel.BASIC,
+                "Computer Science", "2025-06-01", "2025-12-31", InternshipStatus.PENDING, "JournalCompany",
+                "journal@company.com", 1, false);
+            repo.updateInternship(i);
+            repo.removeInternship("I9001");
+
+            Repository reloaded = new Repository(PersistenceMode.JOURNALED);
+            if (reloaded.findInternship("I9001") == null) {
+                System.out.println("PASSED: Removed internship stays removed\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Removed internship came back after replay\n");
+                testsFailed++;
+            }
+            reloaded.checkpoint();
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 4: A checkpoint writes the CSV and empties the journal
+    private static void testCheckpointFoldsJournalIntoCSV() {
+        System.out.println("Test 4: Checkpoint folds the journal into the CSV");
+        try {
+            Repository repo = new Repository(PersistenceMode.JOURNALED);
+            repo.updateApplication(new Application("A9003", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            repo.checkpoint();
+
+            boolean inCSV = false;
+            for (String[] row : FileHandler.readCSV("applications.csv")) {
+                if (row[0].equals("A9003")) inCSV = true;
+            }
+            int journalRows = FileHandler.readCSV(FileHandler.journalFile("applications.csv")).size();
+            System.out.println("   In CSV: " + inCSV + ", journal rows: " + journalRows);
+
+            if (inCSV && journalRows == 0 && repo.getJournalSize("applications.csv") == 0) {
+                System.out.println("PASSED: Checkpoint persisted the row and emptied the journal\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Checkpoint did not fold the journal\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 5: A WRITE_THROUGH repository folds a leftover journal into the CSV
+    private static void testWriteThroughFoldsLeftoverJournal() {
+        System.out.println("Test 5: WRITE_THROUGH mode folds a leftover journal");
+        try {
+            Repository journaled = new Repository(PersistenceMode.JOURNALED);
+            journaled.updateApplication(new Application("A9004", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+
+            Repository repo = new Repository();
+            boolean inCSV = false;
+            for (String[] row : FileHandler.readCSV("applications.csv")) {
+                if (row[0].equals("A9004")) inCSV = true;
+            }
+
+            if (repo.findApplication("A9004") != null && inCSV && repo.getJournalSize("applications.csv") == 0) {
+                System.out.println("PASSED: Leftover journal was replayed and folded\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Leftover journal was not folded\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import entities.*;
+import enums.ApplicationStatus;
+import enums.PersistenceMode;
+import utils.FileHandler;
+import utils.IDGenerator;
+
+public class RepositoryLoadTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Repository Load Test ===\n");
+
+        // Large enough to be split into several parse chunks
+        writeApplications(10000);
+
+        // Run tests
+        testParallelLoadMatchesSequential();
+        testLoadTimesReported();
+        testIDsSeededFromLoadedData();
+        testSnapshotRoundTrip();
+        testStaleSnapshotIgnored();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    private static void writeApplications(int count) {
+        List<String[]> rows = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            rows.add(new String[] {"A" + (20000 + n), "INT00" + (n % 5 + 1), "U9090909J", "PENDING", "2025-06-01", "false"});
+        }
+        // one invalid row in the middle, which both loaders must skip
+        rows.add(count / 2, new String[] {"A1", "INT001", "U9090909J", "NOT_A_STATUS", "2025-06-01", "false"});
+        FileHandler.writeCSV("applications.csv", rows, new String[] {"aID", "iID", "sID", "status", "applyDate", "acceptedByStudent"});
+    }
+
+    private static List<String> rows(List<String[]> l) {
+        List<String> out = new ArrayList<>();
+        for (String[] r : l) { out.add(Arrays.toString(r)); }
+        return out;
+    }
+
+    // Test 1: A parallel load produces the same tables, in the same order, as a sequential load
+    private static void testParallelLoadMatchesSequential() {
+        System.out.println("Test 1: Parallel load matches sequential load");
+        try {
+            Repository sequential = new Repository(PersistenceMode.WRITE_THROUGH, false);
+            Repository parallel = new Repository(PersistenceMode.WRITE_THROUGH, true);
+
+            List<String> a = new ArrayList<>(), b = new ArrayList<>();
+            for (Application x : sequential.getAllApplications()) a.add(Arrays.toString(x.toCSVRow()));
+            for (Application x : parallel.getAllApplications()) b.add(Arrays.toString(x.toCSVRow()));
+            List<String[]> si = new ArrayList<>(), pi = new ArrayList<>();
+            for (Internship x : sequential.getAllInternships()) si.add(x.toCSVRow());
+            for (Internship x : parallel.getAllInternships()) pi.add(x.toCSVRow());
+            List<String[]> ss = new ArrayList<>(), ps = new ArrayList<>();
+            for (Student x : sequential.getAllStudents()) ss.add(x.toCSVRow());
+            for (Student x : parallel.getAllStudents()) ps.add(x.toCSVRow());
+            System.out.println("   Applications loaded: " + a.size() + " / " + b.size());
+
+            if (a.size() == 10000 && a.equals(b) && rows(si).equals(rows(pi)) && rows(ss).equals(rows(ps))
+                    && parallel.getApplicationsByStudent("U9090909J").size() == 10000) {
+                System.out.println("PASSED: Both loads produced identical tables\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Parallel load differs from sequential load\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: Every table has a load time
+    private static void testLoadTimesReported() {
+        System.out.println("Test 2: Load time is reported per table");
+        try {
+            Map<String, Long> times = new Repository(PersistenceMode.WRITE_THROUGH, true).getLoadTimes();
+            times.forEach((file, millis) -> System.out.println("   " + file + ": " + millis + " ms"));
+
+            if (times.size() == 7 && times.containsKey("applications.csv")) {
+                System.out.println("PASSED: All seven tables were timed\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Expected a load time for each of the seven tables\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: New IDs continue after the highest loaded ID
+    private static void testIDsSeededFromLoadedData() {
+        System.out.println("Test 3: ID counters are seeded from loaded data");
+        try {
+            new Repository(PersistenceMode.WRITE_THROUGH, true);
+            String next = IDGenerator.nextApplicationID();
+            System.out.println("   Next application ID: " + next);
+
+            if (Integer.parseInt(next.substring(1)) >= 20000 + 10000) {
+                System.out.println("PASSED: Next ID is above every loaded ID\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Next ID collides with loaded data\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    private static List<String> allRows(Repository repo) {
+        List<String> l = new ArrayList<>();
+        for (Student x : repo.getAllStudents()) l.add(Arrays.toString(x.toCSVRow()));
+        for (CompanyRepresentative x : repo.getAllCompanyReps()) l.add(Arrays.toString(x.toCSVRow()));
+        for (Staff x : repo.getAllStaffMembers()) l.add(Arrays.toString(x.toCSVRow()));
+        for (Internship x : repo.getAllInternships()) l.add(Arrays.toString(x.toCSVRow()));
+        for (Application x : repo.getAllApplications()) l.add(Arrays.toString(x.toCSVRow()));
+        for (WithdrawalRequest x : repo.getAllWithdrawals()) l.add(Arrays.toString(x.toCSVRow()));
+        for (Report x : repo.getAllReports()) l.add(Arrays.toString(x.toCSVRow()));
+        return l;
+    }
+
+    // Test 4: A fresh snapshot is loaded instead of the CSV files and holds the same data
+    private static void testSnapshotRoundTrip() {
+        System.out.println("Test 4: Snapshot is loaded when newer than the CSV files");
+        try {
+            Repository fromCSV = new Repository();
+            boolean written = fromCSV.writeSnapshot();
+            Repository fromSnapshot = new Repository();
+            System.out.println("   Written: " + written + ", loaded from snapshot: " + fromSnapshot.isLoadedFromSnapshot());
+
+            if (written && !fromCSV.isLoadedFromSnapshot() && fromSnapshot.isLoadedFromSnapshot()
+                    && allRows(fromCSV).equals(allRows(fromSnapshot))) {
+                System.out.println("PASSED: Snapshot load matches the CSV load\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Snapshot was not used or differs from the CSV data\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 5: Changing a CSV file after the snapshot makes the repository load the CSV files
+    private static void testStaleSnapshotIgnored() {
+        System.out.println("Test 5: Stale snapshot is ignored");
+        try {
+            Repository repo = new Repository();
+            repo.writeSnapshot();
+            repo.updateApplication(new Application("A9801", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+
+            Repository reloaded = new Repository();
+            if (!reloaded.isLoadedFromSnapshot() && reloaded.findApplication("A9801") != null) {
+                System.out.println("PASSED: Newer CSV data was loaded\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Stale snapshot hid a newer change\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+import entities.*;
+import enums.ApplicationStatus;
+import enums.InternshipStatus;
+import utils.FileHandler;
+
+public class RepositoryTransactionTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Repository Transaction Test ===\n");
+
+        // Run tests
+        testCommitIsVisibleAfterReload();
+        testRollbackRestoresState();
+        testCommittedLogIsReplayed();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: Changes to two tables in one transaction are both persisted
+    private static void testCommitIsVisibleAfterReload() {
+        System.out.println("Test 1: Committed changes span several tables");
+        try {
+            Repository repo = new Repository();
+            Internship i = repo.getAllInternships().get(0);
+            int slots = i.getSlots();
+
+            repo.runInTransaction(tx -> {
+                Internship t = tx.findInternship(i.getInternshipID());
+                t.setSlots(slots + 1);
+                tx.updateInternship(t);
+                tx.updateApplication(new Application("A9401", t.getInternshipID(), "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            });
+
+            Repository reloaded = new Repository();
+            boolean ok = reloaded.findApplication("A9401") != null
+                && reloaded.findInternship(i.getInternshipID()).getSlots() == slots + 1
+                && FileHandler.readCSV("transactions.journal").isEmpty();
+
+            if (ok) {
+                System.out.println("PASSED: Both changes were persisted and the log was cleared\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Committed changes were not all persisted\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: An exception inside the transaction undoes in-place changes and writes nothing
+    private static void testRollbackRestoresState() {
+        System.out.println("Test 2: Failed transaction is rolled back");
+        try {
+            Repository repo = new Repository();
+            Internship i = repo.getAllInternships().get(0);
+            int slots = i.getSlots();
+            InternshipStatus status = i.getStatus();
+
+            try {
+                repo.runInTransaction(tx -> {
+                    Internship t = tx.findInternship(i.getInternshipID());
+                    t.setSlots(0);
+                    t.setStatus(InternshipStatus.FILLED);
+                    tx.updateInternship(t);
+                    tx.updateApplication(new Application("A9402", t.getInternshipID(), "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+                    if (t.getSlots() == 0) {
+                        throw new IllegalStateException("abort");
+                    }
+                });
+            } catch (IllegalStateException expected) {
+                System.out.println("   Transaction aborted: " + expected.getMessage());
+            }
+
+            Internship inMemory = repo.findInternship(i.getInternshipID());
+            Repository reloaded = new Repository();
+            boolean ok = inMemory.getSlots() == slots && inMemory.getStatus() == status
+                && repo.findApplication("A9402") == null
+                && reloaded.findApplication("A9402") == null
+                && reloaded.findInternship(i.getInternshipID()).getSlots() == slots;
+
+            if (ok) {
+                System.out.println("PASSED: Memory and files are unchanged after rollback\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Rolled back changes are still visible\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: A committed transaction left in the log is applied on startup
+    private static void testCommittedLogIsReplayed() {
+        System.out.println("Test 3: Committed transaction log is replayed on startup");
+        try {
+            Application a = new Application("A9403", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false);
+            java.util.List<String[]> log = new java.util.ArrayList<>();
+            String[] row = a.toCSVRow();
+            String[] record = new String[row.length + 3];
+            record[0] = "T1";
+            record[1] = "applications.csv";
+            record[2] = "U";
+            System.arraycopy(row, 0, record, 3, row.length);
+            log.add(record);
+            log.add(new String[]{"T1", "COMMIT"});
+            // an uncommitted transaction must be ignored
+            String[] partial = record.clone();
+            partial[0] = "T2";
+            partial[3] = "A9404";
+            log.add(partial);
+            FileHandler.appendCSV("transactions.journal", log, new String[]{"txID", "file", "op", "fields"});
+
+            Repository repo = new Repository();
+            if (repo.findApplication("A9403") != null && repo.findApplication("A9404") == null) {
+                System.out.println("PASSED: Only the committed transaction was applied\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Transaction log replay was incorrect\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
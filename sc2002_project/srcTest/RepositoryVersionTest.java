@@ -0,0 +1,142 @@
+import entities.*;
+import enums.ApplicationStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+
+public class RepositoryVersionTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Repository Version Test ===\n");
+
+        // Run tests
+        testVersionsArePersisted();
+        testStaleCopyIsRejected();
+        testConflictIsRetried();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: Each committed change advances the version, and the version survives a reload
+    private static void testVersionsArePersisted() {
+        System.out.println("Test 1: Versions advance on every write and are persisted");
+        try {
+            Repository repo = new Repository();
+            Application a = new Application("A9801", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false);
+            repo.updateApplication(a);
+            a.setStatus(ApplicationStatus.SUCCESSFUL);
+            repo.updateApplication(a);
+            repo.runInTransaction(tx -> {
+                Application t = tx.findApplication("A9801");
+                t.setAcceptedByStudent(true);
+                tx.updateApplication(t);
+            });
+            int version = repo.findApplication("A9801").getVersion();
+
+            Repository reloaded = new Repository();
+            int reloadedVersion = reloaded.findApplication("A9801").getVersion();
+            Application legacy = Application.fromCSVRow(new String[] {"A9802", "INT001", "U9090909J", "PENDING", "2025-06-01", "false"});
+            System.out.println("   Version after 3 writes: " + version + ", after reload: " + reloadedVersion + ", legacy row: " + legacy.getVersion());
+
+            if (version == 3 && reloadedVersion == 3 && legacy.getVersion() == 1) {
+                System.out.println("PASSED: Versions are counted and stored\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Versions were not counted or stored\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A transaction whose copy went stale fails without writing anything
+    private static void testStaleCopyIsRejected() {
+        System.out.println("Test 2: Stale writes are rejected with a conflict");
+        try {
+            Repository repo = new Repository();
+            repo.updateInternship(new Internship("I9801", "Version Internship", "Version Description", InternshipLevel.BASIC,
+                "Computer Science", "2025-06-01", "2025-12-31", InternshipStatus.PENDING, "VersionCompany", "version.rep@company.com", 2, false));
+            boolean conflict = false;
+            try {
+                repo.runInTransaction(tx -> {
+                    Internship copy = tx.findInternship("I9801");
+                    // another staff member decides first
+                    Internship stored = repo.findInternship("I9801");
+                    stored.setStatus(InternshipStatus.REJECTED);
+                    repo.updateInternship(stored);
+
+                    copy.setStatus(InternshipStatus.APPROVED);
+                    tx.updateInternship(copy);
+                });
+            } catch (ConflictException e) {
+                conflict = true;
+                System.out.println("   " + e.getMessage());
+            }
+            InternshipStatus status = new Repository().findInternship("I9801").getStatus();
+            System.out.println("   Stored status: " + status);
+
+            if (conflict && status == InternshipStatus.REJECTED) {
+                System.out.println("PASSED: The first decision was kept\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: The first decision was silently overwritten\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: retryOnConflict runs the transaction again on fresh data
+    private static void testConflictIsRetried() {
+        System.out.println("Test 3: Conflicting transactions are retried on fresh data");
+        try {
+            Repository repo = new Repository();
+            repo.updateInternship(new Internship("I9802", "Version Internship", "Version Description", InternshipLevel.BASIC,
+                "Computer Science", "2025-06-01", "2025-12-31", InternshipStatus.PENDING, "VersionCompany", "version.rep@company.com", 2, false));
+            int[] attempts = {0};
+            Repository.retryOnConflict(() -> repo.runInTransaction(tx -> {
+                Internship copy = tx.findInternship("I9802");
+                if (attempts[0]++ == 0) {
+                    // a concurrent edit lands between the read and the commit
+                    Internship stored = repo.findInternship("I9802");
+                    stored.setTitle("Edited Concurrently");
+                    repo.updateInternship(stored);
+                }
+                copy.setVisible(true);
+                tx.updateInternship(copy);
+            }));
+            Internship i = new Repository().findInternship("I9802");
+            System.out.println("   Attempts: " + attempts[0] + ", title: " + i.getTitle() + ", visible: " + i.isVisible());
+
+            if (attempts[0] == 2 && i.getTitle().equals("Edited Concurrently") && i.isVisible()) {
+                System.out.println("PASSED: Both changes were kept\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: A change was lost\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
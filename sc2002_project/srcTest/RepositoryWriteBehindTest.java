@@ -0,0 +1,118 @@
+import entities.*;
+import enums.ApplicationStatus;
+import enums.PersistenceMode;
+
+public class RepositoryWriteBehindTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Repository Write-Behind Test ===\n");
+
+        // Run tests
+        testUpdatesAreCoalesced();
+        testCloseMakesChangesDurable();
+        testBackgroundFlushAfterWindow();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: Many updates within one window cost one write per table
+    private static void testUpdatesAreCoalesced() {
+        System.out.println("Test 1: Updates within one window are coalesced");
+        try {
+            Repository repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            repo.setFlushWindow(60_000);
+            long writesBefore = repo.getWritesPerformed();
+            long coalescedBefore = repo.getCoalescedWrites();
+
+            for (int n = 0; n < 10; n++) {
+                repo.updateApplication(new Application("A91" + n, "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            }
+            repo.flush();
+
+            long writes = repo.getWritesPerformed() - writesBefore;
+            long coalesced = repo.getCoalescedWrites() - coalescedBefore;
+            System.out.println("   Writes requested: " + repo.getWritesRequested());
+            System.out.println("   Writes performed: " + writes);
+            System.out.println("   Writes coalesced: " + coalesced);
+
+            if (writes == 1 && coalesced == 9) {
+                System.out.println("PASSED: 10 updates were written with a single CSV write\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Expected 1 write and 9 coalesced updates\n");
+                testsFailed++;
+            }
+            repo.close();
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: close() writes pending changes before returning
+    private static void testCloseMakesChangesDurable() {
+        System.out.println("Test 2: close() makes pending changes durable");
+        try {
+            Repository repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            repo.setFlushWindow(60_000);
+            repo.updateApplication(new Application("A9201", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+            repo.close();
+
+            Repository reloaded = new Repository();
+            if (reloaded.findApplication("A9201") != null) {
+                System.out.println("PASSED: Pending change was written on close\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Pending change was lost\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: The background flusher writes without an explicit flush
+    private static void testBackgroundFlushAfterWindow() {
+        System.out.println("Test 3: Background flusher writes after the window");
+        try {
+            Repository repo = new Repository(PersistenceMode.WRITE_BEHIND);
+            repo.setFlushWindow(50);
+            repo.updateApplication(new Application("A9301", "INT001", "U9090909J", ApplicationStatus.PENDING, "2025-06-01", false));
+
+            Application found = null;
+            for (int attempt = 0; attempt < 40 && found == null; attempt++) {
+                Thread.sleep(50);
+                found = new Repository().findApplication("A9301");
+            }
+
+            if (found != null) {
+                System.out.println("PASSED: Change was flushed in the background\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Change was not flushed within 2 seconds\n");
+                testsFailed++;
+            }
+            repo.close();
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import controller.LoginController;
+import controller.LogoutController;
+import controller.SystemController;
+import entities.Repository;
+import entities.Student;
+import entities.User;
+import enums.UserRole;
+import services.Session;
+import services.SessionManager;
+
+public class SessionManagerTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Session Manager Test ===\n");
+
+        // Run tests
+        testLoginAndLogoutManageSessions();
+        testIdleSessionsExpire();
+        testManyConcurrentSessions();
+
+        // Print summary
+        System.out.println("\n=== Test Summary ===");
+        System.out.println("Tests Passed: " + testsPassed);
+        System.out.println("Tests Failed: " + testsFailed);
+        System.out.println("Total Tests: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\nPASSED: All tests passed!");
+        } else {
+            System.out.println("\nFAILED: Some tests failed!");
+        }
+    }
+
+    // Test 1: Logging in opens a session that is found by token; logging out ends it
+    private static void testLoginAndLogoutManageSessions() {
+        System.out.println("Test 1: Login and logout create and destroy sessions");
+        try {
+            SystemController sys = new SystemController(new Repository());
+            LoginController login = new LoginController(sys.accounts(), sys.sessions());
+            Session student = login.startSession("U1234567A", "securePass", UserRole.STUDENT);
+            Session staff = login.startSession("john.doe@ntu.edu.sg", "adminPass123", UserRole.STAFF);
+            Session wrong = login.startSession("U1234567A", "wrongPassword", UserRole.STUDENT);
+            student.setAttribute("page", "applications");
+
+            boolean ok = wrong == null && sys.sessions().size() == 2
+                && sys.sessions().find(student.getToken()) == student
+                && sys.sessions().find(staff.getToken()).getUser().getRole() == UserRole.STAFF
+                && "applications".equals(student.getAttribute("page")) && staff.getAttribute("page") == null;
+            LogoutController.logout(student);
+            ok &= sys.sessions().find(student.getToken()) == null && sys.sessions().find(staff.getToken()) == staff;
+            System.out.println("   Open sessions after logout: " + sys.sessions().size());
+
+            if (ok && sys.sessions().size() == 1) {
+                System.out.println("PASSED: Sessions are separate and end on logout\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Sessions were not created or destroyed correctly\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 2: A session expires after the idle timeout unless it is used
+    private static void testIdleSessionsExpire() {
+        System.out.println("Test 2: Idle sessions expire, active ones stay");
+        try {
+            AtomicLong now = new AtomicLong(1_000_000);
+            SessionManager sessions = new SessionManager(60_000, now::get);
+            User u = new Student("U9393939N", "Idle Student", "password", "idle@e.ntu.edu.sg", 2, "Computer Science");
+            Session idle = sessions.create(u);
+            Session active = sessions.create(u);
+
+            now.addAndGet(40_000);
+            sessions.find(active.getToken());
+            now.addAndGet(30_000);
+            sessions.expireIdle();
+            boolean firstSweep = sessions.size() == 1 && sessions.find(active.getToken()) == active;
+            System.out.println("   After 70s: " + sessions.size() + " open");
+
+            now.addAndGet(61_000);
+            sessions.expireIdle();
+            boolean secondSweep = sessions.size() == 0 && sessions.find(idle.getToken()) == null;
+            System.out.println("   After another 61s idle: " + sessions.size() + " open");
+            sessions.close();
+
+            if (firstSweep && secondSweep) {
+                System.out.println("PASSED: Only idle sessions expired\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Expiry did not follow activity\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+
+    // Test 3: Thousands of sessions opened from many threads are all distinct and found
+    private static void testManyConcurrentSessions() {
+        System.out.println("Test 3: Thousands of concurrent sessions");
+        try {
+            SessionManager sessions = new SessionManager();
+            User u = new Student("U9494949P", "Busy Student", "password", "busy@e.ntu.edu.sg", 2, "Computer Science");
+            Set<String> tokens = ConcurrentHashMap.newKeySet();
+            ExecutorService pool = Executors.newFixedThreadPool(16);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                results.add(pool.submit(() -> {
+                    for (int n = 0; n < 500; n++) {
+                        Session s = sessions.create(u);
+                        tokens.add(s.getToken());
+                        if (sessions.find(s.getToken()) != s) throw new IllegalStateException("Session not found");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : results) { f.get(); }
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+            int open = sessions.size();
+            for (String token : tokens) { sessions.destroy(token); }
+            System.out.println("   Distinct tokens: " + tokens.size() + ", open: " + open + ", after destroy: " + sessions.size());
+            sessions.close();
+
+            if (tokens.size() == 8000 && open == 8000 && sessions.size() == 0) {
+                System.out.println("PASSED: Every session was distinct and found\n");
+                testsPassed++;
+            } else {
+                System.out.println("FAILED: Sessions were lost or shared\n");
+                testsFailed++;
+            }
+        } catch (Exception e) {
+            System.out.println("FAILED: " + e.getMessage() + "\n");
+            e.printStackTrace();
+            testsFailed++;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import entities.Application;
+import entities.Internship;
+import entities.Repository;
+import entities.Student;
+import enums.ApplicationStatus;
+import enums.InternshipLevel;
+import enums.InternshipStatus;
+import enums.PersistenceMode;
+import services.ApplicationManager;
+
+/**
+ * Measures slot reservation on one popular internship under heavy contention: many
+ * threads accept offers at the same moment, twice as many as there are slots.
+ * Runs the read-modify-write that studentAcceptOffer used before, unguarded (as it was
+ * outside a transaction), and Internship.reserveSlot under a lock, as a transaction
+ * serializes it. Reports throughput and how many slots each one oversold.
+ *
+ * These first figures only time the reservation on a shared Internship. In the application
+ * the reservation runs on the transaction's copy while studentAcceptOffer holds the
+ * application and internship table locks and commits to disk, so the last figure times
+ * studentAcceptOffer end to end on a JOURNALED repository. That one writes applications and
+ * an internship to the data files; run restore_test_env.sh afterwards.
+ *
+ * Uses one virtual thread per acceptance where the JVM has them (Java 21+), and a
+ * pool of platform threads otherwise.
+ *
+ * Not part of the test suite. Run from sc2002_project after compiling the sources:
+ * javac -cp . -d . srcTest/SlotContentionBenchmark.java && java -cp . SlotContentionBenchmark [acceptances] [endToEndAcceptances]
+ */
+public class SlotContentionBenchmark {
+
+    private static final int ROUNDS = 5;
+    // internship dates relative to today, so the benchmark rows look like current ones
+    private static final String OPENING_DATE = LocalDate.now().minusMonths(1).toString();
+    private static final String CLOSING_DATE = LocalDate.now().plusYears(1).toString();
+
+    public static void main(String[] args) throws Exception {
+        int acceptances = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int endToEnd = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int slots = acceptances / 2;
+        System.out.println("=== Slot Contention Benchmark (" + acceptances + " acceptances, " + slots + " slots, "
+            + (virtualThreadsAvailable() ? "virtual threads" : "platform threads") + ") ===\n");
+
+        report("read-modify-write (before)", acceptances, slots, SlotContentionBenchmark::reserveLegacy);
+        report("locked reserveSlot        ", acceptances, slots, i -> {
+            synchronized (i) { return i.reserveSlot(); }
+        });
+        reportEndToEnd(endToEnd);
+    }
+
+    // Runs a warm-up round, then reports the best of ROUNDS of studentAcceptOffer calls
+    private static void reportEndToEnd(int acceptances) throws Exception {
+        int slots = acceptances / 2;
+        System.out.println("\nstudentAcceptOffer end to end (" + acceptances + " acceptances, " + slots + " slots, JOURNALED):");
+        Repository repo = new Repository(PersistenceMode.JOURNALED);
+        try {
+            ApplicationManager am = new ApplicationManager(repo);
+            long bestNanos = Long.MAX_VALUE;
+            int oversold = 0;
+            String state = "";
+            for (int r = 0; r <= ROUNDS; r++) {
+                String iID = "I99" + (50 + r);
+                repo.updateInternship(new Internship(iID, "Popular Internship", "Popular Description", InternshipLevel.BASIC,
+                    "Computer Science", OPENING_DATE, CLOSING_DATE, InternshipStatus.APPROVED, "PopularCompany", "popular.rep@company.com", slots, true));
+                List<Student> students = new ArrayList<>(acceptances);
+                for (int n = 0; n < acceptances; n++) {
+                    Student s = new Student("U99" + r + n + "E", "Popular Student", "password", "popular@e.ntu.edu.sg", 2, "Computer Science");
+                    students.add(s);
+                    repo.updateApplication(new Application(applicationID(r, n), iID, s.getID(), ApplicationStatus.SUCCESSFUL, OPENING_DATE, false));
+                }
+                int round = r;
+                AtomicInteger accepted = new AtomicInteger();
+                long start = System.nanoTime();
+                runAll(acceptances, n -> {
+                    if (am.studentAcceptOffer(students.get(n), applicationID(round, n))) { accepted.incrementAndGet(); }
+                });
+                long nanos = System.nanoTime() - start;
+                // round 0 is the warm-up
+                if (r > 0) {
+                    bestNanos = Math.min(bestNanos, nanos);
+                    oversold = Math.max(oversold, accepted.get() - slots);
+                    Internship i = repo.findInternship(iID);
+                    state = i.getStatus() + " with " + i.getSlots() + " slots left";
+                }
+            }
+            double perSec = acceptances / (bestNanos / 1e9);
+            System.out.printf("studentAcceptOffer        : %,12.0f acceptances/s, oversold %d, ended %s%n", perSec, oversold, state);
+        } finally {
+            repo.close();
+        }
+    }
+
+    private static String applicationID(int round, int n) { return "A99" + round + "-" + n; }
+
+    private interface Reservation { boolean reserve(Internship i); }
+
+    // Runs a warm-up round, then reports the best of ROUNDS and the worst overselling seen
+    private static void report(String name, int acceptances, int slots, Reservation reservation) throws Exception {
+        run(acceptances, slots, reservation, new AtomicInteger());
+        long bestNanos = Long.MAX_VALUE;
+        int oversold = 0;
+        String state = "";
+        for (int r = 0; r < ROUNDS; r++) {
+            AtomicInteger accepted = new AtomicInteger();
+            long start = System.nanoTime();
+            Internship i = run(acceptances, slots, reservation, accepted);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            oversold = Math.max(oversold, accepted.get() - slots);
+            state = i.getStatus() + " with " + i.getSlots() + " slots left";
+        }
+        double perSec = acceptances / (bestNanos / 1e9);
+        System.out.printf("%s: %,12.0f acceptances/s, oversold %d, ended %s%n", name, perSec, oversold, state);
+    }
+
+    private static Internship run(int acceptances, int slots, Reservation reservation, AtomicInteger accepted) throws Exception {
+        Internship i = new Internship("I9900", "Popular Internship", "Popular Description", InternshipLevel.BASIC,
+            "Computer Science", OPENING_DATE, CLOSING_DATE, InternshipStatus.APPROVED, "PopularCompany", "popular.rep@company.com", slots, true);
+        runAll(acceptances, n -> {
+            if (reservation.reserve(i)) { accepted.incrementAndGet(); }
+        });
+        return i;
+    }
+
+    private interface Acceptance { void accept(int n); }
+
+    // Starts one task per acceptance, releases them together and waits for all of them
+    private static void runAll(int acceptances, Acceptance acceptance) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>(acceptances);
+        ExecutorService executor = newExecutor();
+        try {
+            for (int n = 0; n < acceptances; n++) {
+                int task = n;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    acceptance.accept(task);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : results) { f.get(); }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Reference: the slot update in ApplicationManager.studentAcceptOffer before reserveSlot
+    private static boolean reserveLegacy(Internship i) {
+        if (i.getSlots() == 0) return false;
+        i.setSlots(Math.max(0, i.getSlots() - 1));
+        if (i.getSlots() == 0) i.setStatus(InternshipStatus.FILLED);
+        return true;
+    }
+
+    private static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // Looked up reflectively, so the benchmark also compiles on JDKs before 21
+    private static ExecutorService newExecutor() throws ReflectiveOperationException {
+        if (virtualThreadsAvailable()) {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4);
+    }
+}